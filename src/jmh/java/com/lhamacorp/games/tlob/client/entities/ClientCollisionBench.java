@@ -0,0 +1,83 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.maps.Biome;
+import com.lhamacorp.games.tlob.client.maps.MapGenerator;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import com.lhamacorp.games.tlob.core.Constants;
+import com.lhamacorp.games.tlob.core.world.CollisionCases;
+import com.lhamacorp.games.tlob.core.world.CollisionCases.Case;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client collision primitives on a generated level of each {@link Biome} (biomes differ in
+ * wall density and in tile ids, which changes how far {@link TileMap#isWall} scans):
+ * - tileMapIsWall: the four corner tiles of a box, as a collision test reads them.
+ * - entityCollidesWithMap: {@link Entity#collidesWithMap} for a Soldier-sized box.
+ *
+ * ./gradlew jmh -Pjmh=ClientCollisionBench -PjmhArgs=-p,biome=CAVE
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ClientCollisionBench {
+
+    private static final long SEED = 42L;
+    private static final int TS = Constants.TILE_SIZE;
+
+    @Param({"MEADOWS", "FOREST", "CAVE", "DESERT", "VULCAN"})
+    public Biome biome;
+
+    @Param({"OPEN", "SLIDE", "CORNER"})
+    public Case scenario;
+
+    private TileMap map;
+    private Soldier soldier;
+    private int half;
+    private CollisionCases.Probes probes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new TileMap(new MapGenerator(80, 60, biome, new Random(SEED)).generate(), biome, new Random(SEED));
+        soldier = new Soldier(0, 0, new Sword(2, 28, 12, 10, 16));
+        half = Math.max(soldier.width, soldier.height) / 2;
+        probes = CollisionCases.probes(scenario, map::isWall, map.getWidth(), map.getHeight(), half, SEED, 1024);
+    }
+
+    @Benchmark
+    public int tileMapIsWall() {
+        int i = probes.next();
+        double x = probes.x[i] + probes.dx[i], y = probes.y[i] + probes.dy[i];
+        int l = (int) Math.floor((x - half) / TS), r = (int) Math.floor((x + half) / TS);
+        int t = (int) Math.floor((y - half) / TS), b = (int) Math.floor((y + half) / TS);
+        int walls = 0;
+        if (map.isWall(l, t)) walls++;
+        if (map.isWall(r, t)) walls++;
+        if (map.isWall(l, b)) walls++;
+        if (map.isWall(r, b)) walls++;
+        return walls;
+    }
+
+    @Benchmark
+    public boolean entityCollidesWithMap() {
+        int i = probes.next();
+        return soldier.collidesWithMap(probes.x[i] + probes.dx[i], probes.y[i] + probes.dy[i], map);
+    }
+}
@@ -0,0 +1,294 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.managers.AudioManager;
+import com.lhamacorp.games.tlob.client.maps.Biome;
+import com.lhamacorp.games.tlob.client.maps.MapGenerator;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.Bow;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import com.lhamacorp.games.tlob.core.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one client tick of enemy AI (every enemy's {@code update()}), per behavior, for
+ * 100/1k/5k enemies of each type on a generated 80x60 level. Score is time per tick; divide
+ * by {@code count} for the per-enemy cost.
+ *
+ * Each benchmark sets up the situation that drives enemies into one branch of update():
+ * - approach: everyone within aggression range of a visible player (chase, melee, charge/stomp).
+ * - groupWander: player out of range, enemies list and grid passed as SinglePlayerGameManager
+ *   does, so each enemy queries its allies and group-wanders when it prefers to.
+ *   groupWanderScan is the same without the grid: every enemy scans the list (O(n^2)).
+ * - wander: player out of range, no list (as GameWorld runs them), so each enemy runs its own
+ *   wander personality: random, patrol, circular, linear or idle.
+ * - patrol: the wander situation with every soldier/Golen rolled as a patroller (archers
+ *   have no patrol personality), walking its three patrol points.
+ * - arrows: archers 60..120px from the player, shooting and flying arrows (ignores type).
+ * - phaseSerial / phaseParallel: the approach situation through {@link EnemyPhase}, as
+ *   SinglePlayerGameManager runs it: intents on this thread or split over the common
+ *   ForkJoin pool, then the commit. Compare the two for the parallel speedup on this box.
+ * - phaseGroupWander / phaseGroupWanderScan: the groupWander situation through EnemyPhase
+ *   (serial), with and without the grid.
+ *
+ * Enemies are never killed and the player can't die, so populations stay constant. Unlike in
+ * the game, personalities are rolled from {@code SEED} rather than the clock, so every run
+ * benchmarks the same enemies.
+ *
+ * ./gradlew jmh -Pjmh=EnemyAiBench -PjmhArgs=-p,count=1000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Djava.awt.headless=true"})
+public class EnemyAiBench {
+
+    private static final long SEED = 42L;
+    private static final int TS = Constants.TILE_SIZE;
+    /** Below the smallest aggression radius (220px), so every enemy engages. */
+    private static final double NEAR_PX = 200;
+    /** Above the largest aggression radius (360px), as SpawnManager places them. */
+    private static final int FAR_PX = 12 * TS;
+
+    private static final EnemyPhase SERIAL = new EnemyPhase();
+    private static final EnemyPhase PARALLEL = new EnemyPhase(1, ForkJoinPool.commonPool());
+
+    public enum Type {SOLDIER, ARCHER, GOLEN}
+
+    @State(Scope.Thread)
+    public abstract static class Population {
+        @Param({"100", "1000", "5000"})
+        public int count;
+
+        TileMap map;
+        Player player;
+        final EnemyStore enemies = new EnemyStore();
+        final EntityGrid grid = new EntityGrid();
+        final UpdateContext ctx = new UpdateContext();
+        long tick;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            AudioManager.setEnabled(false);
+            map = new TileMap(new MapGenerator(80, 60, Biome.MEADOWS, new Random(SEED)).generate(), Biome.MEADOWS, new Random(SEED));
+            int[] spawn = visibleSpawnTile(map);
+            player = new Player(spawn[0] * TS + TS / 2.0, spawn[1] * TS + TS / 2.0, new Sword(2, 28, 10, 10, 16));
+            // enemies hit the player every tick; keep it alive so no branch turns off mid-run
+            player.maxHealth = player.health = 1e18;
+
+            Random r = new Random(SEED);
+            for (int i = 0; i < count; i++) {
+                double[] p = place(r);
+                Entity e = enemy(type(), p[0], p[1]);
+                int seed = r.nextInt();
+                do {
+                    roll(e, seed++);
+                } while (!accepts(e));
+                enemies.add(e);
+            }
+            grid.rebuild(enemies, map.getWidth() * TS, map.getHeight() * TS);
+        }
+
+        abstract Type type();
+
+        /** World position of the next enemy. */
+        abstract double[] place(Random r);
+
+        /** False to re-roll the enemy's personality with the next seed. */
+        boolean accepts(Entity e) {
+            return true;
+        }
+    }
+
+    public abstract static class Typed extends Population {
+        @Param({"SOLDIER", "ARCHER", "GOLEN"})
+        public Type type;
+
+        @Override
+        Type type() {
+            return type;
+        }
+    }
+
+    /** Enemies within engagement range of the player. */
+    public static class Near extends Typed {
+        @Override
+        double[] place(Random r) {
+            return around(map, player, r, 0, NEAR_PX);
+        }
+    }
+
+    /** Enemies out of the player's reach, like a fresh level. */
+    public static class Far extends Typed {
+        @Override
+        double[] place(Random r) {
+            int[] t = map.randomFloorTileFarFrom(player.getX(), player.getY(), FAR_PX);
+            if (t == null) t = map.getRandomFloorTile();
+            return new double[]{t[0] * TS + TS / 2.0, t[1] * TS + TS / 2.0};
+        }
+    }
+
+    /** Far enemies that all patrol. */
+    public static class Patrol extends Population {
+        @Param({"SOLDIER", "GOLEN"})
+        public Type type;
+
+        @Override
+        Type type() {
+            return type;
+        }
+
+        @Override
+        double[] place(Random r) {
+            int[] t = map.randomFloorTileFarFrom(player.getX(), player.getY(), FAR_PX);
+            if (t == null) t = map.getRandomFloorTile();
+            return new double[]{t[0] * TS + TS / 2.0, t[1] * TS + TS / 2.0};
+        }
+
+        @Override
+        boolean accepts(Entity e) {
+            return (e instanceof Soldier s) ? s.patrols() : ((Golen) e).patrols();
+        }
+    }
+
+    /** Archers in bow range (60..120px) of the player. */
+    public static class Archers extends Population {
+        @Override
+        Type type() {
+            return Type.ARCHER;
+        }
+
+        @Override
+        double[] place(Random r) {
+            return around(map, player, r, 70, 110);
+        }
+    }
+
+    /** What the update context carries besides player and map. */
+    enum Args {GRID, LIST, NONE}
+
+    @Benchmark
+    public int approach(Near s) {
+        return tick(s, Args.GRID);
+    }
+
+    @Benchmark
+    public int groupWander(Far s) {
+        return tick(s, Args.GRID);
+    }
+
+    @Benchmark
+    public int groupWanderScan(Far s) {
+        return tick(s, Args.LIST);
+    }
+
+    @Benchmark
+    public int wander(Far s) {
+        return tick(s, Args.NONE);
+    }
+
+    @Benchmark
+    public int patrol(Patrol s) {
+        return tick(s, Args.NONE);
+    }
+
+    @Benchmark
+    public int arrows(Archers s) {
+        return tick(s, Args.GRID);
+    }
+
+    @Benchmark
+    public int phaseSerial(Near s) {
+        return phase(s, SERIAL, s.grid);
+    }
+
+    @Benchmark
+    public int phaseParallel(Near s) {
+        return phase(s, PARALLEL, s.grid);
+    }
+
+    @Benchmark
+    public int phaseGroupWander(Far s) {
+        return phase(s, SERIAL, s.grid);
+    }
+
+    @Benchmark
+    public int phaseGroupWanderScan(Far s) {
+        return phase(s, SERIAL, null);
+    }
+
+    private static int phase(Population s, EnemyPhase phase, EntityGrid grid) {
+        phase.run(s.ctx.begin(s.tick++, s.player, s.map, s.enemies, grid).perceive());
+        return s.enemies.size();
+    }
+
+    /** One tick of bare update() calls, back to front; returns the number of enemies that moved off their tile. */
+    private static int tick(Population s, Args args) {
+        List<Entity> enemies = s.enemies;
+        UpdateContext ctx = s.ctx.begin(s.tick++, s.player, s.map,
+            (args == Args.NONE) ? null : enemies, (args == Args.GRID) ? s.grid : null).perceive();
+        int moved = 0;
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Entity e = enemies.get(i);
+            int tx = (int) e.x / TS, ty = (int) e.y / TS;
+            e.update(ctx);
+            if (args == Args.GRID) s.grid.move(e);
+            if ((int) e.x / TS != tx || (int) e.y / TS != ty) moved++;
+        }
+        return moved;
+    }
+
+    static Entity enemy(Type type, double x, double y) {
+        return switch (type) {
+            case SOLDIER -> new Soldier(x, y, new Sword(2, 15, 5, 6, 60));
+            case ARCHER -> new Archer(x, y, new Bow(1, 120, 5, 8, 90));
+            case GOLEN -> new Golen(x, y, new Sword(2, 28, 12, 10, 16));
+        };
+    }
+
+    /** Rolls the enemy's personality from {@code seed} alone, where the game also mixes in the clock. */
+    static void roll(Entity e, int seed) {
+        switch (e) {
+            case Soldier s -> s.roll(seed);
+            case Archer a -> a.roll(seed);
+            case Golen g -> g.roll(seed);
+            default -> throw new IllegalArgumentException(e.getClass().getName());
+        }
+    }
+
+    /** Random floor position whose distance to the player is in [minPx, maxPx]. */
+    static double[] around(TileMap map, Player player, Random r, double minPx, double maxPx) {
+        for (int attempts = 0; attempts < 10_000; attempts++) {
+            double a = r.nextDouble() * 2 * Math.PI, d = minPx + r.nextDouble() * (maxPx - minPx);
+            double x = player.getX() + Math.cos(a) * d, y = player.getY() + Math.sin(a) * d;
+            if (!map.isWall((int) Math.floor(x / TS), (int) Math.floor(y / TS))) return new double[]{x, y};
+        }
+        throw new IllegalStateException("no floor around the player");
+    }
+
+    /** Floor tile nearest the map center that isn't a hiding tile, so enemies can see the player. */
+    static int[] visibleSpawnTile(TileMap map) {
+        int cx = map.getWidth() / 2, cy = map.getHeight() / 2;
+        for (int radius = 0; radius < Math.max(cx, cy); radius++)
+            for (int y = cy - radius; y <= cy + radius; y++)
+                for (int x = cx - radius; x <= cx + radius; x++)
+                    if (!map.isWall(x, y) && !TileMap.isHidingTileId(map.getTileAt(x, y))) return new int[]{x, y};
+        return map.findSpawnTile();
+    }
+}
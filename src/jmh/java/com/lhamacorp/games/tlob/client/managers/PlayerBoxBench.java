@@ -0,0 +1,76 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import com.lhamacorp.games.tlob.client.maps.Biome;
+import com.lhamacorp.games.tlob.client.maps.MapGenerator;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.core.net.Protocol;
+import com.lhamacorp.games.tlob.core.world.CollisionCases;
+import com.lhamacorp.games.tlob.core.world.CollisionCases.Case;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The multiplayer client's predicted-movement test, {@link MultiplayerGameManager#collidesPlayerBox},
+ * against both of its sources: the server's wall grid (MapData) and the local TileMap fallback.
+ * Both are built from the same generated level of each {@link Biome}.
+ *
+ * ./gradlew jmh -Pjmh=PlayerBoxBench
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class PlayerBoxBench {
+
+    private static final long SEED = 42L;
+    private static final int HALF = 11;
+
+    @Param({"MEADOWS", "FOREST", "CAVE", "DESERT", "VULCAN"})
+    public Biome biome;
+
+    @Param({"OPEN", "SLIDE", "CORNER"})
+    public Case scenario;
+
+    private TileMap map;
+    private Protocol.MapData serverMap;
+    private CollisionCases.Probes probes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new TileMap(new MapGenerator(80, 60, biome, new Random(SEED)).generate(), biome, new Random(SEED));
+        serverMap = new Protocol.MapData();
+        serverMap.w = map.getWidth();
+        serverMap.h = map.getHeight();
+        serverMap.walls = new boolean[serverMap.h][serverMap.w];
+        for (int y = 0; y < serverMap.h; y++)
+            for (int x = 0; x < serverMap.w; x++) serverMap.walls[y][x] = map.isWall(x, y);
+        probes = CollisionCases.probes(scenario, map::isWall, map.getWidth(), map.getHeight(), HALF, SEED, 1024);
+    }
+
+    @Benchmark
+    public boolean serverMap() {
+        int i = probes.next();
+        return MultiplayerGameManager.collidesPlayerBox(probes.x[i] + probes.dx[i], probes.y[i] + probes.dy[i], serverMap, null);
+    }
+
+    @Benchmark
+    public boolean localMap() {
+        int i = probes.next();
+        return MultiplayerGameManager.collidesPlayerBox(probes.x[i] + probes.dx[i], probes.y[i] + probes.dy[i], null, map);
+    }
+}
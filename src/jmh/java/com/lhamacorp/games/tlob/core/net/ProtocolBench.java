@@ -0,0 +1,200 @@
+package com.lhamacorp.games.tlob.core.net;
+
+import com.lhamacorp.games.tlob.core.Constants;
+import com.lhamacorp.games.tlob.core.net.Protocol.EnemySnap;
+import com.lhamacorp.games.tlob.core.net.Protocol.PlayerSnap;
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+import com.lhamacorp.games.tlob.core.world.GridMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the network protocol: snapshot encode/decode per {@link SnapshotFormat},
+ * INPUT line parsing and map transfer. Run with the gc profiler (the jmh Gradle task does)
+ * for allocation rate; gc.alloc.rate.norm is bytes allocated per operation.
+ *
+ * Snapshot benchmarks also count payload bytes, reported as "bytes" ops/s next to the score.
+ * delta=true is the frame the server sends between full ones (edelta=1): every player, but only
+ * the enemies that changed since the last broadcast, here one in eight.
+ *
+ * ./gradlew jmh -Pjmh=ProtocolBench
+ * ./gradlew jmh -Pjmh=ProtocolBench.decode -PjmhArgs=-p,players=256,-p,enemies=10000
+ * ./gradlew jmh -Pjmh=ProtocolBench.encode -PjmhArgs=-p,delta=true
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ProtocolBench {
+
+    private static final long SEED = 42L;
+    private static final int MAP_W = 80, MAP_H = 60;
+
+    @State(Scope.Thread)
+    public static class Snapshots {
+        @Param({"TEXT"})
+        public SnapshotFormat format;
+
+        @Param({"1", "16", "256"})
+        public int players;
+
+        @Param({"10", "1000", "10000"})
+        public int enemies;
+
+        @Param({"false", "true"})
+        public boolean delta;
+
+        Snapshot snapshot;
+        SnapshotFormat.Codec codec;
+        int size;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            snapshot = delta ? enemyDelta(snapshot(players, enemies, SEED)) : snapshot(players, enemies, SEED);
+            codec = format.open();
+            size = codec.encode(snapshot);
+            codec.feed(codec.encoded());
+            Snapshot back = codec.decode();
+            if (back.players.size() != players || back.enemies.size() != snapshot.enemies.size()
+                || back.enemiesDelta != delta) {
+                throw new IllegalStateException(format + " round trip lost entities");
+            }
+        }
+    }
+
+    /** Encoded bytes per second, reported alongside ops/s. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Payload {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            bytes = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Inputs {
+        final String line = "INPUT t=123456 dx=-1 dy=1 sprint=1 attack=0 facing=5";
+        final Protocol.Input reused = new Protocol.Input();
+    }
+
+    @State(Scope.Thread)
+    public static class Maps {
+        GridMap grid;
+        String text;
+        final StringWriter out = new StringWriter(MAP_W * MAP_H + 1024);
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            grid = new GridMap(MAP_W, MAP_H, SEED);
+            StringWriter w = new StringWriter();
+            Protocol.writeMap(MAP_W, MAP_H, grid::isWallTile, w);
+            text = w.toString();
+        }
+    }
+
+    // ---------- Snapshots ----------
+
+    @Benchmark
+    public int encodeSnapshot(Snapshots s, Payload p) throws IOException {
+        int n = s.codec.encode(s.snapshot);
+        p.bytes += n;
+        return n;
+    }
+
+    @Benchmark
+    public Snapshot decodeSnapshot(Snapshots s, Payload p) throws IOException {
+        p.bytes += s.size;
+        return s.codec.decode();
+    }
+
+    // ---------- INPUT lines ----------
+
+    @Benchmark
+    public Protocol.Input parseInputLine(Inputs s) {
+        return Protocol.parseInputLine(s.line);
+    }
+
+    @Benchmark
+    public Protocol.Input parseInputLineReused(Inputs s) {
+        Protocol.parseInputLine(s.line, s.reused);
+        return s.reused;
+    }
+
+    // ---------- Map transfer ----------
+
+    @Benchmark
+    public int writeMap(Maps s) throws IOException {
+        s.out.getBuffer().setLength(0);
+        Protocol.writeMap(MAP_W, MAP_H, s.grid::isWallTile, s.out);
+        return s.out.getBuffer().length();
+    }
+
+    @Benchmark
+    public Protocol.MapData readMap(Maps s) throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader(s.text));
+        return Protocol.readMap(in, in.readLine());
+    }
+
+    /**
+     * A full (non-delta) snapshot as the server sends it: players spread over the map with
+     * URL-encoded names, enemies mostly alive with fractional positions and hp.
+     */
+    static Snapshot snapshot(int players, int enemies, long seed) {
+        Random r = new Random(seed);
+        double maxX = MAP_W * Constants.TILE_SIZE, maxY = MAP_H * Constants.TILE_SIZE;
+        Snapshot s = new Snapshot();
+        s.tick = 123456;
+        for (int i = 1; i <= players; i++) {
+            PlayerSnap ps = new PlayerSnap();
+            ps.id = i;
+            ps.x = r.nextDouble() * maxX;
+            ps.y = r.nextDouble() * maxY;
+            ps.hp = 1 + r.nextInt(10);
+            ps.st = r.nextDouble() * 10;
+            ps.sh = r.nextInt(3);
+            ps.facing = r.nextInt(8);
+            ps.alive = r.nextInt(10) != 0;
+            ps.name = "Player " + i;
+            s.players.put(ps.id, ps);
+        }
+        for (int i = 1; i <= enemies; i++) {
+            EnemySnap es = new EnemySnap();
+            es.id = i;
+            es.x = r.nextDouble() * maxX;
+            es.y = r.nextDouble() * maxY;
+            es.hp = r.nextInt(4) + r.nextDouble();
+            es.alive = r.nextInt(5) != 0;
+            s.enemies.put(es.id, es);
+        }
+        return s;
+    }
+
+    /** The same frame as an enemy delta: flagged edelta=1 and keeping every eighth enemy. */
+    static Snapshot enemyDelta(Snapshot full) {
+        full.enemiesDelta = true;
+        full.enemies.keySet().removeIf(id -> id % 8 != 0);
+        return full;
+    }
+}
@@ -0,0 +1,110 @@
+package com.lhamacorp.games.tlob.core.net;
+
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Snapshot wire formats under benchmark. A new format only needs a constant here;
+ * {@link ProtocolBench} runs every benchmark once per constant.
+ *
+ * Codecs are long-lived like a connection's streams, so per-snapshot allocation is
+ * what the format itself costs, not the setup of readers and writers.
+ */
+enum SnapshotFormat {
+
+    /** The current line-based format: SNAPSHOT header, one "P"/"E" line per entity, END. */
+    TEXT {
+        @Override
+        Codec open() {
+            return new Codec() {
+                private final Bytes buf = new Bytes();
+                private final Writer out = new BufferedWriter(new OutputStreamWriter(buf, StandardCharsets.UTF_8));
+                private Looping source;
+                private BufferedReader in;
+
+                @Override
+                public int encode(Snapshot s) throws IOException {
+                    buf.reset();
+                    Protocol.writeSnapshot(s, out);
+                    return buf.size();
+                }
+
+                @Override
+                public byte[] encoded() {
+                    return buf.toByteArray();
+                }
+
+                @Override
+                public void feed(byte[] data) {
+                    source = new Looping(data);
+                    in = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public Snapshot decode() throws IOException {
+                    return Protocol.readSnapshot(in);
+                }
+            };
+        }
+    };
+
+    /** A fresh encoder/decoder pair; not thread-safe. */
+    abstract Codec open();
+
+    interface Codec {
+        /** Encodes into the codec's reused buffer; returns the encoded size in bytes. */
+        int encode(Snapshot s) throws IOException;
+
+        /** Copy of the bytes of the last {@link #encode}. */
+        byte[] encoded();
+
+        /** Sets the bytes {@link #decode} reads, replayed endlessly like a stream of identical snapshots. */
+        void feed(byte[] data);
+
+        /** Decodes the next snapshot from the fed bytes. */
+        Snapshot decode() throws IOException;
+    }
+
+    /** Presized output buffer; reset() keeps the capacity, so steady-state encodes don't regrow it. */
+    static final class Bytes extends ByteArrayOutputStream {
+        Bytes() {
+            super(1 << 16);
+        }
+    }
+
+    /** Serves the same bytes over and over; never reaches end of stream. */
+    static final class Looping extends InputStream {
+        private final byte[] data;
+        private int pos;
+
+        Looping(byte[] data) {
+            if (data.length == 0) throw new IllegalArgumentException("empty payload");
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            int b = data[pos] & 0xFF;
+            pos = (pos + 1 == data.length) ? 0 : pos + 1;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            int n = Math.min(len, data.length - pos);
+            System.arraycopy(data, pos, b, off, n);
+            pos = (pos + n == data.length) ? 0 : pos + n;
+            return n;
+        }
+    }
+}
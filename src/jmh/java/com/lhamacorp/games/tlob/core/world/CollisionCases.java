@@ -0,0 +1,131 @@
+package com.lhamacorp.games.tlob.core.world;
+
+import com.lhamacorp.games.tlob.core.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiPredicate;
+
+/**
+ * Probe positions for collision benchmarks, picked from a real map so every case exercises
+ * the branch it names:
+ * - OPEN: box in the middle of floor, moving freely (every test misses).
+ * - SLIDE: box pressed against a straight wall, moving into it and along it.
+ * - CORNER: box pressed into an inner corner, moving into both walls.
+ * Positions cycle through {@link Probes#next} so one lucky tile can't dominate a result.
+ */
+public final class CollisionCases {
+
+    public enum Case {OPEN, SLIDE, CORNER}
+
+    private static final int TS = Constants.TILE_SIZE;
+    private static final double STEP = 2.0;
+    private static final int[][] CARDINALS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private CollisionCases() {
+    }
+
+    /** Box centers (x, y) and the attempted move (dx, dy) per probe; n is rounded up to a power of two. */
+    public static final class Probes {
+        public final double[] x, y, dx, dy;
+        private final int mask;
+        private int i;
+
+        Probes(int n) {
+            x = new double[n];
+            y = new double[n];
+            dx = new double[n];
+            dy = new double[n];
+            mask = n - 1;
+        }
+
+        /** Index of the next probe, wrapping around. */
+        public int next() {
+            return i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * {@code n} probes of the given case for a box of half-size {@code half} on a w x h tile map.
+     * Throws if the map has no tile that fits the case.
+     */
+    public static Probes probes(Case c, BiPredicate<Integer, Integer> wall, int w, int h, int half, long seed, int n) {
+        int size = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+        List<int[]> spots = spots(c, wall, w, h);
+        if (spots.isEmpty()) throw new IllegalStateException("no " + c + " tiles on this map");
+
+        Random r = new Random(seed);
+        Probes p = new Probes(size);
+        double slack = TS / 2.0 - half - 1;
+        for (int k = 0; k < size; k++) {
+            int[] s = spots.get(r.nextInt(spots.size()));
+            double cx = s[0] * TS + TS / 2.0, cy = s[1] * TS + TS / 2.0;
+            switch (c) {
+                case OPEN -> {
+                    double a = r.nextDouble() * 2 * Math.PI;
+                    p.x[k] = cx + (r.nextDouble() * 2 - 1) * slack;
+                    p.y[k] = cy + (r.nextDouble() * 2 - 1) * slack;
+                    p.dx[k] = Math.cos(a) * STEP;
+                    p.dy[k] = Math.sin(a) * STEP;
+                }
+                case SLIDE -> {
+                    // s = {tx, ty, wallDx, wallDy, alongDx, alongDy}
+                    p.x[k] = (s[2] != 0) ? pressed(cx, s[2], half) : cx;
+                    p.y[k] = (s[3] != 0) ? pressed(cy, s[3], half) : cy;
+                    p.dx[k] = (s[2] + s[4]) * STEP;
+                    p.dy[k] = (s[3] + s[5]) * STEP;
+                }
+                case CORNER -> {
+                    // s = {tx, ty, wallDx, wallDy}
+                    p.x[k] = pressed(cx, s[2], half);
+                    p.y[k] = pressed(cy, s[3], half);
+                    p.dx[k] = s[2] * STEP;
+                    p.dy[k] = s[3] * STEP;
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Center coordinate that leaves the box 1px short of the tile edge in direction d. */
+    private static double pressed(double center, int d, int half) {
+        return center + d * (TS / 2.0 - half - 1);
+    }
+
+    private static List<int[]> spots(Case c, BiPredicate<Integer, Integer> wall, int w, int h) {
+        List<int[]> out = new ArrayList<>();
+        for (int ty = 1; ty < h - 1; ty++) {
+            for (int tx = 1; tx < w - 1; tx++) {
+                if (wall.test(tx, ty)) continue;
+                switch (c) {
+                    case OPEN -> {
+                        boolean clear = true;
+                        for (int oy = -1; oy <= 1 && clear; oy++)
+                            for (int ox = -1; ox <= 1 && clear; ox++) clear = !wall.test(tx + ox, ty + oy);
+                        if (clear) out.add(new int[]{tx, ty});
+                    }
+                    case SLIDE -> {
+                        for (int[] d : CARDINALS) {
+                            if (!wall.test(tx + d[0], ty + d[1])) continue;
+                            // along = perpendicular floor tile whose own neighbour in d is also wall
+                            int ax = d[1], ay = d[0];
+                            for (int sign = -1; sign <= 1; sign += 2) {
+                                int px = tx + sign * ax, py = ty + sign * ay;
+                                if (!wall.test(px, py) && wall.test(px + d[0], py + d[1])) {
+                                    out.add(new int[]{tx, ty, d[0], d[1], sign * ax, sign * ay});
+                                }
+                            }
+                        }
+                    }
+                    case CORNER -> {
+                        for (int sx = -1; sx <= 1; sx += 2)
+                            for (int sy = -1; sy <= 1; sy += 2)
+                                if (wall.test(tx + sx, ty) && wall.test(tx, ty + sy)) out.add(new int[]{tx, ty, sx, sy});
+                    }
+                }
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,96 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EnemyKernels} batches, scalar against vector, over 1k/10k enemies spread across the
+ * session's 80x60 map (2560x1920 px) and 16 players, as -Dtlob.server.enemyKernels runs them:
+ * - nearestPlayer: the targeting pre-pass, every enemy against every player.
+ * - withinRadius: the aggro test on its output (radii 200-300 px, about a third inside).
+ * - capsuleHits: one sword swing against all enemies, about 1% hit (dense swarm).
+ * "vector" falls back to scalar (and says so) without --add-modules jdk.incubator.vector.
+ *
+ * ./gradlew jmh -Pjmh=EnemyKernelsBench
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class EnemyKernelsBench {
+
+    private static final long SEED = 42L;
+    private static final int PLAYERS = 16;
+    private static final double W = 2560, H = 1920;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    private EnemyKernels kernels;
+    private double[] ex, ey, r2, dist2, px, py;
+    private int[] nearest, hits;
+    private boolean[] inside;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernels = EnemyKernels.create(impl);
+        Random r = new Random(SEED);
+        ex = new double[n];
+        ey = new double[n];
+        r2 = new double[n];
+        for (int i = 0; i < n; i++) {
+            // half the swarm packed around the map centre, so swings land on some
+            boolean swarm = (i & 1) == 0;
+            ex[i] = swarm ? W / 2 + r.nextGaussian() * 60 : r.nextDouble() * W;
+            ey[i] = swarm ? H / 2 + r.nextGaussian() * 60 : r.nextDouble() * H;
+            double aggro = 200 + r.nextDouble() * 100;
+            r2[i] = aggro * aggro;
+        }
+        px = new double[PLAYERS];
+        py = new double[PLAYERS];
+        for (int j = 0; j < PLAYERS; j++) {
+            px[j] = r.nextDouble() * W;
+            py[j] = r.nextDouble() * H;
+        }
+        dist2 = new double[n];
+        nearest = new int[n];
+        inside = new boolean[n];
+        hits = new int[n];
+        kernels.nearestPlayer(ex, ey, n, px, py, PLAYERS, nearest, dist2); // withinRadius input
+    }
+
+    @Benchmark
+    public int nearestPlayer() {
+        kernels.nearestPlayer(ex, ey, n, px, py, PLAYERS, nearest, dist2);
+        return nearest[n - 1];
+    }
+
+    @Benchmark
+    public int withinRadius() {
+        return kernels.withinRadius(dist2, r2, n, inside);
+    }
+
+    @Benchmark
+    public int capsuleHits() {
+        // a swing to the right from the middle of the swarm: reach 30, radius 8 + 10
+        return kernels.capsuleHits(ex, ey, n, W / 2, H / 2, W / 2 + 30, H / 2, 18 * 18, hits);
+    }
+}
@@ -0,0 +1,168 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.math.Dir8;
+import com.lhamacorp.games.tlob.core.math.Fixed;
+import com.lhamacorp.games.tlob.core.math.FixedTrig;
+import com.lhamacorp.games.tlob.core.math.FixedVec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What -Dtlob.server.fixedPoint costs, 16.16 against double:
+ * - capsule: the sword hit test per enemy, as {@link GameSession}'s swing loop runs it
+ *   (the fixed one converts the enemy's position first, like the server does).
+ * - len: distance to a player, {@link Math#hypot} against {@link FixedVec#len}.
+ * - tick: full {@link GameSession#advance()} steps with 64 bots and 1k enemies in each mode; a fresh
+ *   session per iteration, timed over its first {@link #TICKS} ticks (divide by TICKS for a tick).
+ * capsule and len are per enemy.
+ *
+ * ./gradlew jmh -Pjmh=FixedPointBench
+ */
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FixedPointBench {
+
+    private static final long SEED = 42L;
+    private static final int N = 1024;
+    static final int TICKS = 600;
+
+    // GameSession's sword: reach, and blade half-width plus enemy half-size as the capsule radius
+    private static final double REACH = 30, RADIUS = 8.0 + GameSession.ENEMY_HALF;
+
+    @State(Scope.Thread)
+    public static class Points {
+        final double[] x = new double[N], y = new double[N];
+        final double[] dx = new double[N], dy = new double[N];
+        final int[] fdx = new int[N], fdy = new int[N];
+        int facing;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random r = new Random(SEED);
+            for (int i = 0; i < N; i++) {
+                // enemies around a player at (400, 300), about a third inside the swing capsule
+                x[i] = Fixed.quantize(400 + (r.nextDouble() - 0.5) * 96);
+                y[i] = Fixed.quantize(300 + (r.nextDouble() - 0.5) * 96);
+                dx[i] = Fixed.quantize((r.nextDouble() - 0.5) * 800);
+                dy[i] = Fixed.quantize((r.nextDouble() - 0.5) * 600);
+                fdx[i] = Fixed.fromDouble(dx[i]);
+                fdy[i] = Fixed.fromDouble(dy[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        @Param({"false", "true"})
+        public boolean fixed;
+
+        GameSession session;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            session = new GameSession(SEED, 60, fixed);
+            session.spawnEnemies(1000 - session.enemyCount());
+            session.addBots(64);
+            session.advance(); // bots join at the first tick start
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            session.stop();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @OperationsPerInvocation(N)
+    public int capsuleDouble(Points p) {
+        p.facing = (p.facing + 1) & 7;
+        double ang = Dir8.octantToAngle(p.facing);
+        double x0 = 400, y0 = 300;
+        double x1 = x0 + Math.cos(ang) * REACH, y1 = y0 + Math.sin(ang) * REACH;
+        double r2 = RADIUS * RADIUS;
+        int hits = 0;
+        for (int i = 0; i < N; i++) {
+            double vx = x1 - x0, vy = y1 - y0;
+            double wx = p.x[i] - x0, wy = p.y[i] - y0;
+            double vv = vx * vx + vy * vy;
+            double t = (vv <= 1e-9) ? 0.0 : (wx * vx + wy * vy) / vv;
+            if (t < 0.0) t = 0.0;
+            else if (t > 1.0) t = 1.0;
+            double ddx = p.x[i] - (x0 + t * vx), ddy = p.y[i] - (y0 + t * vy);
+            if (ddx * ddx + ddy * ddy <= r2) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @OperationsPerInvocation(N)
+    public int capsuleFixed(Points p) {
+        p.facing = (p.facing + 1) & 7;
+        int ang = FixedTrig.octant(p.facing);
+        int reach = Fixed.fromDouble(REACH);
+        int x0 = Fixed.fromInt(400), y0 = Fixed.fromInt(300);
+        int x1 = x0 + Fixed.mul(FixedTrig.cos(ang), reach), y1 = y0 + Fixed.mul(FixedTrig.sin(ang), reach);
+        long r2 = FixedVec.sq(Fixed.fromDouble(RADIUS));
+        int hits = 0;
+        for (int i = 0; i < N; i++) {
+            if (FixedVec.segmentDist2(Fixed.fromDouble(p.x[i]), Fixed.fromDouble(p.y[i]), x0, y0, x1, y1) <= r2) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @OperationsPerInvocation(N)
+    public double lenDouble(Points p) {
+        double sum = 0;
+        for (int i = 0; i < N; i++) sum += Math.hypot(p.dx[i], p.dy[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @OperationsPerInvocation(N)
+    public long lenFixed(Points p) {
+        long sum = 0;
+        for (int i = 0; i < N; i++) sum += FixedVec.len(p.fdx[i], p.fdy[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, batchSize = TICKS)
+    @Measurement(iterations = 5, batchSize = TICKS)
+    public int tick(Session s) {
+        s.session.advance();
+        return s.session.enemyCount();
+    }
+}
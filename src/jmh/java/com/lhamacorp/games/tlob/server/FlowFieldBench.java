@@ -0,0 +1,102 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.world.FlowField;
+import com.lhamacorp.games.tlob.core.world.GridMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow-field chasing at scale, 64 players on the session's 80x60 map:
+ * - rebuild: one {@link FlowField} BFS from 64 player tiles. Every call moves the players
+ *   one tile, so the field always rebuilds (in a session it only does when someone changed tile).
+ * - tick: full {@link GameSession#advance()} steps with 64 bots and 1k/4k enemies. Bots move,
+ *   so the field rebuilds most ticks, then every awake enemy follows it. Each iteration starts
+ *   a fresh session and times its first {@link #TICKS} ticks (10 s of play), so every run sees
+ *   the same fights; score is time per batch, divide by TICKS for a tick.
+ *
+ * ./gradlew jmh -Pjmh=FlowFieldBench
+ */
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FlowFieldBench {
+
+    private static final long SEED = 42L;
+    private static final int PLAYERS = 64;
+    static final int TICKS = 600;
+
+    @State(Scope.Thread)
+    public static class Field {
+        FlowField field;
+        int[] here = new int[PLAYERS], moved = new int[PLAYERS];
+        boolean flip;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            GridMap grid = new GridMap(80, 60, SEED);
+            field = new FlowField(grid);
+            Random r = new Random(SEED);
+            int w = grid.width();
+            for (int i = 0; i < PLAYERS; i++) {
+                int[] t = grid.randomFloorTileFarFrom(0, 0, 0, r);
+                here[i] = t[1] * w + t[0];
+                // a floor neighbour, or the same tile if boxed in (the set still differs overall)
+                int nx = !grid.isWallTile(t[0] + 1, t[1]) ? t[0] + 1 : !grid.isWallTile(t[0] - 1, t[1]) ? t[0] - 1 : t[0];
+                moved[i] = t[1] * w + nx;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        @Param({"1000", "4096"})
+        public int enemies;
+
+        GameSession session;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            session = new GameSession(SEED, 60);
+            session.spawnEnemies(enemies - session.enemyCount());
+            session.addBots(PLAYERS);
+            session.advance(); // bots join at the first tick start
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            session.stop();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public boolean rebuild(Field s) {
+        s.flip = !s.flip;
+        return s.field.update(s.flip ? s.moved : s.here, PLAYERS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, batchSize = TICKS)
+    @Measurement(iterations = 5, batchSize = TICKS)
+    public int tick(Session s) {
+        s.session.advance();
+        return s.session.enemyCount();
+    }
+}
@@ -0,0 +1,65 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.world.CollisionCases;
+import com.lhamacorp.games.tlob.core.world.CollisionCases.Case;
+import com.lhamacorp.games.tlob.core.world.GridMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server collision primitives on the session's generated GridMap (the server has no biomes):
+ * one {@link GridMap#collidesBox} test, and a full two-axis {@link GameSession#moveAxis} step
+ * as players and enemies take it every tick. See {@link CollisionCases} for the cases.
+ *
+ * ./gradlew jmh -Pjmh=ServerCollisionBench
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ServerCollisionBench {
+
+    private static final long SEED = 42L;
+
+    @Param({"OPEN", "SLIDE", "CORNER"})
+    public Case scenario;
+
+    private GameSession session;
+    private GridMap grid;
+    private CollisionCases.Probes probes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        session = new GameSession(SEED, 60);
+        grid = new GridMap(80, 60, SEED); // the same map the session generated from SEED
+        probes = CollisionCases.probes(scenario, grid::isWallTile, grid.width(), grid.height(), GameSession.PLAYER_HALF, SEED, 1024);
+    }
+
+    @Benchmark
+    public boolean gridCollidesBox() {
+        int i = probes.next();
+        return grid.collidesBox(probes.x[i] + probes.dx[i], probes.y[i] + probes.dy[i], GameSession.PLAYER_HALF);
+    }
+
+    @Benchmark
+    public double moveAxis() {
+        int i = probes.next();
+        double x = session.moveAxis(probes.x[i], probes.y[i], probes.dx[i], true, GameSession.PLAYER_HALF);
+        double y = session.moveAxis(x, probes.y[i], probes.dy[i], false, GameSession.PLAYER_HALF);
+        return x + y;
+    }
+}
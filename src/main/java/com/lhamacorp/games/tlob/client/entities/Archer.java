@@ -7,10 +7,9 @@ import com.lhamacorp.games.tlob.client.weapons.Weapon;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.List;
 
-public class Archer extends Entity {
+public class Archer extends Entity implements Poolable {
 
     private static final int ARCHER_SIZE = 18;
     private static final double ARCHER_BASE_SPEED = 3.0;
@@ -50,27 +49,27 @@ public class Archer extends Entity {
     private double wanderDx = 0, wanderDy = 0;
 
     // Enhanced wandering behavior for archers
-    private final ArcherWanderBehavior wanderBehavior;
+    private ArcherWanderBehavior wanderBehavior;
     private int tacticalTimer = 0;
-    private final double preferredDistance;
-    private final double tacticalRadius;
-    private final boolean prefersHighGround;
-    private final double retreatChance;
-    private final double flankingTendency;
-    private final double coverSeeking;
-    private final boolean isTactical;
-    private final boolean isCowardly;
-    private final double precisionLevel;
+    private double preferredDistance;
+    private double tacticalRadius;
+    private boolean prefersHighGround;
+    private double retreatChance;
+    private double flankingTendency;
+    private double coverSeeking;
+    private boolean isTactical;
+    private boolean isCowardly;
+    private double precisionLevel;
 
     private int lcg;
-    private final double speedScale;
-    private final double aimNoiseRad;
-    private final double strafeStrength;
-    private final double strafeFreqHz;
-    private final double strafePhase;
-    private final double aggressionRadius;
-    private final int baseAttackCooldown;
-    private final int baseAttackDuration;
+    private double speedScale;
+    private double aimNoiseRad;
+    private double strafeStrength;
+    private double strafeFreqHz;
+    private double strafePhase;
+    private double aggressionRadius;
+    private int baseAttackCooldown;
+    private int baseAttackDuration;
     private int ageTicks = 0;
 
     // Archer-specific wander behavior types
@@ -87,14 +86,48 @@ public class Archer extends Entity {
      */
     public Archer(double x, double y, Weapon weapon) {
         super(x, y, ARCHER_SIZE, ARCHER_SIZE, ARCHER_BASE_SPEED, ARCHER_MAX_HP, ARCHER_MAX_STAMINA, ARCHER_MAX_MANA, 0, 0, weapon, "Archer", Alignment.FOE);
+        roll(x, y);
+    }
+
+    /**
+     * Re-initializes a pooled archer as if newly constructed at (x, y) with {@code weapon}.
+     */
+    @Override
+    public void reset(double x, double y, Weapon weapon) {
+        resetEntity(x, y, ARCHER_BASE_SPEED, ARCHER_MAX_HP, ARCHER_MAX_STAMINA, ARCHER_MAX_MANA, 0, 0, weapon);
+        hurtTimer = 0;
+        attackCooldown = 0;
+        attackTimer = 0;
+        arrowTimer = 0;
+        animTimeMs = 0L;
+        movedThisTick = false;
+        arrowX = 0;
+        arrowY = 0;
+        arrowTargetX = 0;
+        arrowTargetY = 0;
+        wanderTimer = 0;
+        tacticalTimer = 0;
+        ageTicks = 0;
+        roll(x, y);
+    }
 
+    /** Seeds the AI from the position, the clock and the object hash, then rolls the personality. */
+    private void roll(double x, double y) {
         // Improved seed generation with more entropy
         int seed = (int) ((Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y)) ^ 0x9E3779B9);
-        lcg = (seed == 0) ? 1 : seed;
 
         // Add additional entropy based on current time and object hash
-        lcg ^= System.nanoTime() & 0xFFFF;
-        lcg ^= this.hashCode() & 0xFFFF;
+        seed ^= (int) (System.nanoTime() & 0xFFFF);
+        seed ^= this.hashCode() & 0xFFFF;
+        roll(seed);
+    }
+
+    /**
+     * Seeds the AI with {@code seed} alone and rolls the personality: what makes each archer move
+     * and fight differently. Benchmarks and tests call it for repeatable enemies.
+     */
+    void roll(int seed) {
+        lcg = (seed == 0) ? 1 : seed;
 
         speedScale = 0.50 + 0.30 * rand01();
         aimNoiseRad = Math.toRadians((rand01() - 0.5) * 14.0);
@@ -137,17 +170,14 @@ public class Archer extends Entity {
     }
 
     @Override
-    public void update(Object... args) {
+    public void update(UpdateContext ctx) {
         if (!isAlive()) return;
-        Player player = (Player) args[0];
-        TileMap map = (TileMap) args[1];
+        Player player = ctx.player;
 
         // Check for group behavior if enemies list is provided
         List<Entity> nearbyAllies = null;
-        if (args.length > 2 && args[2] instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<Entity> enemies = (List<Entity>) args[2];
-            nearbyAllies = findNearbyAllies(enemies);
+        if (ctx.enemies != null) {
+            nearbyAllies = findNearbyAllies(ctx.enemies, ctx.grid);
         }
 
         if (hurtTimer > 0) hurtTimer--;
@@ -161,20 +191,19 @@ public class Archer extends Entity {
             double currentArrowX = arrowX + (arrowTargetX - arrowX) * progress;
             double currentArrowY = arrowY + (arrowTargetY - arrowY) * progress;
 
-            double arrowToPlayerDist = Math.hypot(currentArrowX - player.getX(), currentArrowY - player.getY());
+            double arrowToPlayerDist = Math.hypot(currentArrowX - ctx.playerX, currentArrowY - ctx.playerY);
 
             if (arrowToPlayerDist <= 25) {
-                player.damage(ARROW_DAMAGE);
-                player.applyKnockback(arrowX, arrowY);
+                hitPlayer(player, ARROW_DAMAGE, arrowX, arrowY);
                 arrowTimer = 0;
             }
         }
 
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
-        boolean playerHidden = map.isHidingAtWorld(player.getX(), player.getY());
+        boolean playerHidden = ctx.playerHidden;
 
         if (!playerHidden && distToP <= ATTACK_RANGE && distToP >= MIN_ATTACK_RANGE &&
             attackCooldown == 0 && attackTimer == 0 && arrowTimer == 0) {
@@ -184,8 +213,8 @@ public class Archer extends Entity {
 
             arrowX = x;
             arrowY = y;
-            arrowTargetX = player.getX();
-            arrowTargetY = player.getY();
+            arrowTargetX = ctx.playerX;
+            arrowTargetY = ctx.playerY;
             arrowTimer = ARROW_TRAVEL_TICKS;
         }
 
@@ -193,16 +222,16 @@ public class Archer extends Entity {
             movedThisTick = false;
         } else if (!playerHidden && distToP <= aggressionRadius) {
             if (distToP < MIN_ATTACK_RANGE) {
-                backAwayFromPlayer(player, map);
+                backAwayFromPlayer(ctx);
             } else {
-                approachPlayer(player, map);
+                approachPlayer(ctx);
             }
         } else {
             // Use tactical group behavior if allies are nearby
             if (nearbyAllies != null && !nearbyAllies.isEmpty() && isTactical) {
-                tacticalGroupWander(map, player, nearbyAllies);
+                tacticalGroupWander(ctx, nearbyAllies);
             } else {
-                enhancedWander(map, player);
+                enhancedWander(ctx);
             }
         }
 
@@ -211,22 +240,12 @@ public class Archer extends Entity {
         ageTicks++;
     }
 
-    private List<Entity> findNearbyAllies(List<Entity> enemies) {
-        List<Entity> allies = new ArrayList<>();
+    private List<Entity> findNearbyAllies(List<Entity> enemies, EntityGrid grid) {
         double groupRadius = 80.0; // Archers have longer tactical range
-
-        for (Entity enemy : enemies) {
-            if (enemy != this && enemy.isAlive() && enemy.getAlignment() == Alignment.FOE) {
-                double dist = Math.hypot(enemy.getX() - x, enemy.getY() - y);
-                if (dist <= groupRadius) {
-                    allies.add(enemy);
-                }
-            }
-        }
-        return allies;
+        return nearbyFoes(enemies, grid, groupRadius);
     }
 
-    private void tacticalGroupWander(TileMap map, Player player, List<Entity> allies) {
+    private void tacticalGroupWander(UpdateContext ctx, List<Entity> allies) {
         if (tacticalTimer <= 0) {
             // Tactical group behavior: position for crossfire or support
             if (!allies.isEmpty()) {
@@ -235,7 +254,7 @@ public class Archer extends Entity {
                 double closestDist = Double.POSITIVE_INFINITY;
 
                 for (Entity ally : allies) {
-                    double dist = Math.hypot(ally.getX() - x, ally.getY() - y);
+                    double dist = Math.hypot(xOf(ally) - x, yOf(ally) - y);
                     if (dist < closestDist) {
                         closestDist = dist;
                         closestAlly = ally;
@@ -244,10 +263,10 @@ public class Archer extends Entity {
 
                 if (closestAlly != null) {
                     // Position for tactical advantage (crossfire, support, etc.)
-                    double playerX = player.getX();
-                    double playerY = player.getY();
-                    double allyX = closestAlly.getX();
-                    double allyY = closestAlly.getY();
+                    double playerX = ctx.playerX;
+                    double playerY = ctx.playerY;
+                    double allyX = xOf(closestAlly);
+                    double allyY = yOf(closestAlly);
 
                     // Calculate tactical position (perpendicular to ally-player line)
                     double dxToPlayer = playerX - allyX;
@@ -291,14 +310,14 @@ public class Archer extends Entity {
             tacticalTimer--;
             double moveSpeed = speed * speedScale * 0.3;
 
-            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
             movedThisTick = true;
         }
     }
 
-    private void approachPlayer(Player player, TileMap map) {
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+    private void approachPlayer(UpdateContext ctx) {
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
         if (distToP > 0) {
@@ -325,15 +344,15 @@ public class Archer extends Entity {
                 noisyDy /= totalDist;
 
                 double moveSpeed = speed * speedScale * 0.5;
-                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, map, player);
+                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
         }
     }
 
-    private void backAwayFromPlayer(Player player, TileMap map) {
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+    private void backAwayFromPlayer(UpdateContext ctx) {
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
         if (distToP > 0) {
@@ -354,44 +373,44 @@ public class Archer extends Entity {
                 awayDy /= totalDist;
 
                 double moveSpeed = speed * speedScale * 0.7;
-                moveWithCollision(awayDx * moveSpeed, awayDy * moveSpeed, map, player);
+                moveWithCollision(awayDx * moveSpeed, awayDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
         }
     }
 
-    private void enhancedWander(TileMap map, Player player) {
+    private void enhancedWander(UpdateContext ctx) {
         switch (wanderBehavior) {
             case TACTICAL:
-                tacticalWander(map, player);
+                tacticalWander(ctx);
                 break;
             case COVER_SEEKING:
-                coverSeekingWander(map, player);
+                coverSeekingWander(ctx);
                 break;
             case FLANKING:
-                flankingWander(map, player);
+                flankingWander(ctx);
                 break;
             case RETREAT:
-                retreatWander(map, player);
+                retreatWander(ctx);
                 break;
             case AMBUSH:
-                ambushWander(map, player);
+                ambushWander(ctx);
                 break;
         }
     }
 
-    private void tacticalWander(TileMap map, Player player) {
+    private void tacticalWander(UpdateContext ctx) {
         if (tacticalTimer <= 0) {
-            double distToP = Math.hypot(x - player.getX(), y - player.getY());
+            double distToP = Math.hypot(x - ctx.playerX, y - ctx.playerY);
             if (distToP < preferredDistance) {
                 // If too close, back away
-                backAwayFromPlayer(player, map);
+                backAwayFromPlayer(ctx);
             } else if (distToP > preferredDistance + tacticalRadius) {
                 // If too far, approach
-                approachPlayer(player, map);
+                approachPlayer(ctx);
             } else {
                 // If at preferred distance, make small tactical movements
-                double angle = Math.atan2(player.getY() - y, player.getX() - x) + (rand01() - 0.5) * Math.PI / 4;
+                double angle = Math.atan2(ctx.playerY - y, ctx.playerX - x) + (rand01() - 0.5) * Math.PI / 4;
                 wanderDx = Math.cos(angle) * 0.3;
                 wanderDy = Math.sin(angle) * 0.3;
                 double moveSpeed = speed * speedScale * 0.2;
@@ -399,7 +418,7 @@ public class Archer extends Entity {
                 // Tactical archers move more precisely
                 if (isTactical) moveSpeed *= 0.8;
 
-                moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+                moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
             // Tactical archers adjust position more frequently
@@ -410,11 +429,11 @@ public class Archer extends Entity {
         }
     }
 
-    private void coverSeekingWander(TileMap map, Player player) {
+    private void coverSeekingWander(UpdateContext ctx) {
         if (wanderTimer <= 0) {
             // Try to find cover by moving perpendicular to player direction
-            double dxToP = player.getX() - x;
-            double dyToP = player.getY() - y;
+            double dxToP = ctx.playerX - x;
+            double dyToP = ctx.playerY - y;
             double distToP = Math.hypot(dxToP, dyToP);
 
             if (distToP > 0) {
@@ -436,23 +455,23 @@ public class Archer extends Entity {
             // Cover-seeking archers move more carefully
             if (coverSeeking > 0.7) moveSpeed *= 0.8;
 
-            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
             movedThisTick = true;
         }
     }
 
-    private void flankingWander(TileMap map, Player player) {
+    private void flankingWander(UpdateContext ctx) {
         if (wanderTimer <= 0) {
             // Try to move to player's sides for flanking
-            double dxToP = player.getX() - x;
-            double dyToP = player.getY() - y;
+            double dxToP = ctx.playerX - x;
+            double dyToP = ctx.playerY - y;
             double distToP = Math.hypot(dxToP, dyToP);
 
             if (distToP > 0) {
                 // Calculate flanking position (to the side of the player)
                 double flankAngle = Math.atan2(dyToP, dxToP) + (rand01() < 0.5 ? Math.PI / 2 : -Math.PI / 2);
-                double flankX = player.getX() + Math.cos(flankAngle) * preferredDistance;
-                double flankY = player.getY() + Math.sin(flankAngle) * preferredDistance;
+                double flankX = ctx.playerX + Math.cos(flankAngle) * preferredDistance;
+                double flankY = ctx.playerY + Math.sin(flankAngle) * preferredDistance;
 
                 // Move towards flanking position
                 double dx = flankX - x;
@@ -481,19 +500,19 @@ public class Archer extends Entity {
             // High flanking tendency means faster movement
             if (flankingTendency > 0.7) moveSpeed *= 1.1;
 
-            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
             movedThisTick = true;
         }
     }
 
-    private void retreatWander(TileMap map, Player player) {
+    private void retreatWander(UpdateContext ctx) {
         if (wanderTimer <= 0) {
-            double distToP = Math.hypot(x - player.getX(), y - player.getY());
+            double distToP = Math.hypot(x - ctx.playerX, y - ctx.playerY);
             // Cowardly archers retreat more often
             double actualRetreatChance = isCowardly ? retreatChance * 1.5 : retreatChance;
             if (distToP < preferredDistance && rand01() < actualRetreatChance) {
                 // Retreat away from player
-                double retreatAngle = Math.atan2(y - player.getY(), x - player.getX());
+                double retreatAngle = Math.atan2(y - ctx.playerY, x - ctx.playerX);
                 wanderDx = Math.cos(retreatAngle);
                 wanderDy = Math.sin(retreatAngle);
                 wanderTimer = 90 + (int) (rand01() * 120);
@@ -511,17 +530,17 @@ public class Archer extends Entity {
             // Cowardly archers retreat faster
             if (isCowardly) moveSpeed *= 1.2;
 
-            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+            moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
             movedThisTick = true;
         }
     }
 
-    private void ambushWander(TileMap map, Player player) {
+    private void ambushWander(UpdateContext ctx) {
         if (wanderTimer <= 0) {
-            double distToP = Math.hypot(x - player.getX(), y - player.getY());
+            double distToP = Math.hypot(x - ctx.playerX, y - ctx.playerY);
             if (distToP > preferredDistance + 20) {
                 // If too far, move closer
-                approachPlayer(player, map);
+                approachPlayer(ctx);
                 wanderTimer = 30 + (int) (rand01() * 60);
             } else {
                 // Stay still and wait for opportunities
@@ -535,7 +554,7 @@ public class Archer extends Entity {
             if (wanderTimer < 30 && rand01() < 0.1) {
                 pickNewWanderDir();
                 double moveSpeed = speed * speedScale * 0.15;
-                moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, map, player);
+                moveWithCollision(wanderDx * moveSpeed, wanderDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
         }
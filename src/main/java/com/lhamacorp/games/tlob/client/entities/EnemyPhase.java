@@ -0,0 +1,111 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Enemy half of a client tick, in two phases (same scheme as the server's enemy phase):
+ * 1. Intents: every enemy updates against a read-only view of the tick (the player and map
+ *    as they are, other enemies where they stood when the phase began) and only writes
+ *    itself. Hits on the player are recorded ({@link Entity#hitPlayer}), not applied.
+ *    With at least {@code parallelMin} enemies this runs split over a ForkJoin pool.
+ * 2. Commit, on the calling thread, back to front (the order enemies always updated in):
+ *    recorded hits land on the player (damage, knockback, death), dead enemies leave the
+ *    list (swap-remove in an {@link EnemyStore}) and the grid, and go back to the pools if there are any; survivors
+ *    are re-bucketed.
+ * Nothing in phase 1 depends on which thread ran which enemy, so serial and parallel runs
+ * end every tick in the same state.
+ */
+public final class EnemyPhase {
+
+    /** Enemies per ForkJoin leaf task. */
+    private static final int LEAF = 32;
+
+    private final int parallelMin;
+    private final ForkJoinPool pool;
+    private EnemyPools pools;
+
+    /** Serial only. */
+    public EnemyPhase() {
+        this(0, null);
+    }
+
+    /** Parallel from {@code parallelMin} enemies up (0 = never), on {@code pool}. */
+    public EnemyPhase(int parallelMin, ForkJoinPool pool) {
+        this.parallelMin = (pool != null) ? parallelMin : 0;
+        this.pool = pool;
+    }
+
+    /** Returns dead enemies to {@code pools} (null = leave them to the GC); returns this. */
+    public EnemyPhase recycleInto(EnemyPools pools) {
+        this.pools = pools;
+        return this;
+    }
+
+    /** True if a phase over {@code enemies} enemies would run in parallel. */
+    public boolean parallelFor(int enemies) {
+        return parallelMin > 0 && enemies >= parallelMin;
+    }
+
+    /**
+     * Runs the enemy phase over {@code ctx.enemies()} (perceived, see {@link UpdateContext#perceive()}),
+     * keeping {@code ctx.grid()} in step when there is one.
+     */
+    public void run(UpdateContext ctx) {
+        List<Entity> enemies = ctx.enemies;
+        int n = enemies.size();
+        for (int i = 0; i < n; i++) {
+            Entity e = enemies.get(i);
+            e.seenX = e.x;
+            e.seenY = e.y;
+            e.inPhase = true;
+        }
+
+        if (parallelFor(n)) pool.invoke(new Intents(enemies, ctx, 0, n));
+        else updateRange(enemies, ctx, 0, n);
+
+        // Back to front: in an EnemyStore a dead enemy's slot is refilled by the last one, which is already committed
+        Player player = ctx.player;
+        EntityGrid grid = ctx.grid;
+        for (int i = n - 1; i >= 0; i--) {
+            Entity e = enemies.get(i);
+            e.inPhase = false;
+            e.applyHits(player);
+            if (!e.isAlive()) {
+                enemies.remove(i);
+                if (grid != null) grid.remove(e);
+                if (pools != null) pools.release(e);
+            } else if (grid != null) {
+                grid.move(e);
+            }
+        }
+    }
+
+    private static void updateRange(List<Entity> enemies, UpdateContext ctx, int from, int to) {
+        for (int i = to - 1; i >= from; i--) enemies.get(i).update(ctx);
+    }
+
+    private static final class Intents extends RecursiveAction {
+        private final List<Entity> enemies;
+        private final UpdateContext ctx;
+        private final int from, to;
+
+        Intents(List<Entity> enemies, UpdateContext ctx, int from, int to) {
+            this.enemies = enemies;
+            this.ctx = ctx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF) {
+                updateRange(enemies, ctx, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Intents(enemies, ctx, from, mid), new Intents(enemies, ctx, mid, to));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.weapons.Weapon;
+
+import java.util.List;
+
+/**
+ * One {@link EntityPool} per enemy kind. Spawners acquire from it; what leaves the game goes
+ * back: the previous wave when a level is (re)spawned, and the dead as the enemy phase
+ * removes them.
+ */
+public final class EnemyPools {
+
+    private final EntityPool<Soldier> soldiers = new EntityPool<>(Soldier.class, Soldier::new);
+    private final EntityPool<Archer> archers = new EntityPool<>(Archer.class, Archer::new);
+    private final EntityPool<Golen> golens = new EntityPool<>(Golen.class, Golen::new);
+
+    public Soldier soldier(double x, double y, Weapon weapon) {
+        return soldiers.acquire(x, y, weapon);
+    }
+
+    public Archer archer(double x, double y, Weapon weapon) {
+        return archers.acquire(x, y, weapon);
+    }
+
+    public Golen golen(double x, double y, Weapon weapon) {
+        return golens.acquire(x, y, weapon);
+    }
+
+    /** Takes {@code e} back into its kind's pool; other kinds are left to the GC. */
+    public void release(Entity e) {
+        if (!soldiers.release(e) && !archers.release(e)) golens.release(e);
+    }
+
+    /** Empties {@code enemies} into the pools (last first, so an EnemyStore never shifts). */
+    public void releaseAll(List<Entity> enemies) {
+        for (int i = enemies.size() - 1; i >= 0; i--) release(enemies.remove(i));
+    }
+
+    /** Entities waiting to be reused, all kinds. */
+    public int free() {
+        return soldiers.free() + archers.free() + golens.free();
+    }
+
+    /** Entities constructed so far, all kinds. */
+    public long created() {
+        return soldiers.created() + archers.created() + golens.created();
+    }
+
+    /** Acquisitions served from the free lists so far, all kinds. */
+    public long reused() {
+        return soldiers.reused() + archers.reused() + golens.reused();
+    }
+}
@@ -0,0 +1,115 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The single-player enemy population: a {@code List<Entity>}, so spawners, the level manager
+ * and the renderer use it as before, except that:
+ * - deletion is swap-remove: O(1), the last enemy takes the freed slot, so order after
+ *   deaths is not spawn order (but it is deterministic);
+ * - each entity knows its slot, so indexOf/contains/remove(Object) are O(1) too;
+ * - an entity belongs to at most one store at a time.
+ * The enemies' state stays on the objects (see {@link EnemyPhase} for what the phase shares).
+ * Only the game loop thread mutates it.
+ */
+public final class EnemyStore extends AbstractList<Entity> implements RandomAccess {
+
+    private Entity[] entities = new Entity[16];
+    private int size;
+
+    @Override
+    public Entity get(int index) {
+        return entities[checkIndex(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Entity e) {
+        attach(e, size);
+        if (size == entities.length) entities = Arrays.copyOf(entities, size * 2);
+        entities[size++] = e;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Entity set(int index, Entity e) {
+        Entity old = entities[checkIndex(index)];
+        if (old == e) return old;
+        attach(e, index);
+        detach(old);
+        entities[index] = e;
+        return old;
+    }
+
+    /** Swap-remove: the last enemy moves into {@code index}. */
+    @Override
+    public Entity remove(int index) {
+        Entity old = entities[checkIndex(index)];
+        int last = --size;
+        if (index != last) {
+            Entity moved = entities[last];
+            entities[index] = moved;
+            moved.slot = index;
+        }
+        entities[last] = null;
+        detach(old);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0) return false;
+        remove(i);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return (o instanceof Entity e && e.store == this) ? e.slot : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            detach(entities[i]);
+            entities[i] = null;
+        }
+        size = 0;
+        modCount++;
+    }
+
+    private void attach(Entity e, int slot) {
+        if (e.store != null) throw new IllegalArgumentException(e.getName() + " is already in a store");
+        e.store = this;
+        e.slot = slot;
+    }
+
+    private static void detach(Entity e) {
+        e.store = null;
+        e.slot = -1;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return index;
+    }
+}
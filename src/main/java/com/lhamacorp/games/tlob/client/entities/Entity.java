@@ -5,6 +5,9 @@ import com.lhamacorp.games.tlob.client.maps.TileMap;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public abstract class Entity {
 
@@ -62,6 +65,27 @@ public abstract class Entity {
     private boolean wasAlive = true;
     private DeathListener deathListener;
 
+    // Spatial index bookkeeping (owned by EntityGrid; -1 = not in a grid)
+    int gridCell = -1;
+    int gridSlot = -1;
+
+    /** Reused result buffer for proximity queries made during this entity's own update. */
+    protected final List<Entity> nearby = new ArrayList<>(0);
+
+    // Two-phase enemy update (see EnemyPhase): where the others see this entity, and the
+    // player hits it recorded, to be applied in order by the commit
+    boolean inPhase;
+    double seenX, seenY;
+    private double[] hits;
+    private int hitCount;
+
+    // Enemy store membership (owned by EnemyStore; null/-1 = not in a store)
+    EnemyStore store;
+    int slot = -1;
+
+    /** True while the entity sits unused in an EntityPool. */
+    boolean pooled;
+
     public enum Direction {UP, DOWN, LEFT, RIGHT, UP_LEFT, UP_RIGHT, DOWN_LEFT, DOWN_RIGHT}
 
     /**
@@ -75,10 +99,22 @@ public abstract class Entity {
      * Creates an entity with specified parameters.
      */
     public Entity(double x, double y, int width, int height, double speed, double maxHealth, double maxStamina, double maxMana, double maxShield, double maxArmor, Weapon weapon, String name, Alignment alignment) {
-        this.x = x;
-        this.y = y;
         this.width = width;
         this.height = height;
+        this.name = name;
+        this.alignment = alignment;
+        resetEntity(x, y, speed, maxHealth, maxStamina, maxMana, maxShield, maxArmor, weapon);
+    }
+
+    /**
+     * Puts the entity back in the state its constructor leaves it in, at (x, y) with the given
+     * base stats and weapon: no perks, no knockback, no death listener. Size, name and alignment
+     * are kept; grid and store membership are left to their owners.
+     */
+    protected final void resetEntity(double x, double y, double speed, double maxHealth, double maxStamina,
+                                     double maxMana, double maxShield, double maxArmor, Weapon weapon) {
+        this.x = x;
+        this.y = y;
         this.speed = speed;
         this.maxHealth = maxHealth;
         this.health = maxHealth;
@@ -90,8 +126,26 @@ public abstract class Entity {
         this.maxShield = maxShield;
         this.shield = maxShield;
         this.armor = maxArmor;
-        this.name = name;
-        this.alignment = alignment;
+        this.alive = true;
+        this.wasAlive = true;
+        this.deathListener = null;
+        this.damageMultiplier = 1.0;
+        this.speedMultiplier = 1.0;
+        this.staminaRegenRateMult = 1.0;
+        this.manaRegenRateMult = 1.0;
+        this.perkCount = 0;
+        this.hasHealthPerk = false;
+        this.hasSpeedPerk = false;
+        this.hasDamagePerk = false;
+        this.hasStaminaPerk = false;
+        this.hasRangePerk = false;
+        this.hasWidthPerk = false;
+        this.hasArmorPerk = false;
+        this.facing = Direction.DOWN;
+        this.knockbackX = 0;
+        this.knockbackY = 0;
+        this.knockbackTimer = 0;
+        nearby.clear();
     }
 
     /**
@@ -231,6 +285,7 @@ public abstract class Entity {
      */
     public void increaseWeaponRangeByPercent(double pct) {
         if (weapon != null) {
+            Weapon weapon = ownWeapon();
             weapon.setReach((int) Math.ceil(weapon.getReach() * (1.0 + pct)));
             if (!hasRangePerk) {
                 hasRangePerk = true;
@@ -244,6 +299,7 @@ public abstract class Entity {
      */
     public void increaseWeaponWidth(int amount) {
         if (weapon != null) {
+            Weapon weapon = ownWeapon();
             weapon.setWidth(weapon.getWidth() + amount);
             if (!hasWidthPerk) {
                 hasWidthPerk = true;
@@ -252,6 +308,12 @@ public abstract class Entity {
         }
     }
 
+    /** The weapon to modify: a shared prototype is first swapped for this entity's own copy. */
+    private Weapon ownWeapon() {
+        if (weapon.isShared()) weapon = weapon.copy();
+        return weapon;
+    }
+
     /**
      * Increases armor by the specified amount.
      */
@@ -633,15 +695,76 @@ public abstract class Entity {
         return entityBounds.intersects(playerBounds);
     }
 
+    /**
+     * Damages the player and knocks it back from (fromX, fromY). Inside a two-phase enemy
+     * update the hit is only recorded, and {@link #applyHits} lands it in the commit.
+     */
+    protected void hitPlayer(Player player, double amount, double fromX, double fromY) {
+        if (!inPhase) {
+            player.damage(amount);
+            player.applyKnockback(fromX, fromY);
+            return;
+        }
+        if (hits == null) hits = new double[3];
+        else if (hitCount * 3 == hits.length) hits = Arrays.copyOf(hits, hits.length * 2);
+        hits[hitCount * 3] = amount;
+        hits[hitCount * 3 + 1] = fromX;
+        hits[hitCount * 3 + 2] = fromY;
+        hitCount++;
+    }
+
+    /** Lands the hits recorded by {@link #hitPlayer} during the phase, in the order they were made. */
+    void applyHits(Player player) {
+        for (int i = 0; i < hitCount; i++) {
+            player.damage(hits[i * 3]);
+            player.applyKnockback(hits[i * 3 + 1], hits[i * 3 + 2]);
+        }
+        hitCount = 0;
+    }
+
+    /** X of {@code other} as this entity should see it: at the phase start inside a two-phase update. */
+    protected double xOf(Entity other) {
+        return inPhase ? other.seenX : other.x;
+    }
+
+    /** Y of {@code other} as this entity should see it: at the phase start inside a two-phase update. */
+    protected double yOf(Entity other) {
+        return inPhase ? other.seenY : other.y;
+    }
+
     protected void applyKnockbackMovement() {
         x += knockbackX;
         y += knockbackY;
     }
 
     /**
-     * Updates the entity's state.
+     * Living foes other than this one within {@code radius} of this entity, in the reused
+     * {@link #nearby} buffer (valid until the next call). Uses the grid when given, else scans {@code all}.
+     * Inside a two-phase update, positions are the ones at the phase start.
+     */
+    protected List<Entity> nearbyFoes(List<Entity> all, EntityGrid grid, double radius) {
+        if (grid != null) {
+            grid.queryRadius(x, y, radius, this, nearby, inPhase);
+            for (int i = nearby.size() - 1; i >= 0; i--) {
+                if (nearby.get(i).getAlignment() != Alignment.FOE) nearby.remove(i);
+            }
+            return nearby;
+        }
+        nearby.clear();
+        double r2 = radius * radius;
+        for (Entity e : all) {
+            if (e != this && e.isAlive() && e.getAlignment() == Alignment.FOE) {
+                double dx = xOf(e) - x, dy = yOf(e) - y;
+                if (dx * dx + dy * dy <= r2) nearby.add(e);
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Updates the entity's state for one tick.
      */
-    public abstract void update(Object... args);
+    public abstract void update(UpdateContext ctx);
 
     /**
      * Draws the entity on the graphics context.
@@ -0,0 +1,209 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform-grid spatial index over entity centers, for proximity queries on the client.
+ * - Each entity sits in the cell under its center; {@link #move} re-buckets it only when it
+ *   crossed a cell edge, and both move and {@link #remove} are O(1) (swap-remove, with the
+ *   cell and slot kept on the entity). An entity belongs to at most one grid at a time.
+ * - Positions outside the world clamp to the border cells, so nothing is ever lost.
+ * - Queries skip dead entities and append into a caller-owned list they clear first, so a
+ *   tick of queries allocates nothing. Results come in grid order, not list order.
+ * - Queries are read-only and safe to run concurrently; updates are not.
+ */
+public final class EntityGrid {
+
+    /** Default cell edge: two tiles, about the radius enemies look for allies in. */
+    public static final int DEFAULT_CELL_PX = 64;
+
+    private final int cellPx;
+    private int cols = 1, rows = 1;
+    private Entity[][] cells = new Entity[1][];
+    private int[] counts = new int[1];
+    private int size;
+    /** Largest half extent of any member, so rectangle queries can widen their cell range. */
+    private int maxHalf;
+
+    public EntityGrid() {
+        this(DEFAULT_CELL_PX);
+    }
+
+    public EntityGrid(int cellPx) {
+        this.cellPx = Math.max(1, cellPx);
+        cells[0] = new Entity[4];
+    }
+
+    /** Resizes the grid for a world of the given pixel size and re-inserts the living {@code entities}. */
+    public void rebuild(List<? extends Entity> entities, int worldWidthPx, int worldHeightPx) {
+        clear();
+        int c = Math.max(1, (worldWidthPx + cellPx - 1) / cellPx);
+        int r = Math.max(1, (worldHeightPx + cellPx - 1) / cellPx);
+        if (c != cols || r != rows) {
+            cols = c;
+            rows = r;
+            cells = new Entity[c * r][];
+            counts = new int[c * r];
+        }
+        maxHalf = 0;
+        for (Entity e : entities) if (e.isAlive()) insert(e);
+    }
+
+    /** Removes every member. */
+    public void clear() {
+        for (int i = 0; i < counts.length; i++) {
+            Entity[] cell = cells[i];
+            for (int k = 0; k < counts[i]; k++) {
+                cell[k].gridCell = -1;
+                cell[k] = null;
+            }
+            counts[i] = 0;
+        }
+        size = 0;
+    }
+
+    public void insert(Entity e) {
+        if (e.gridCell >= 0) return;
+        maxHalf = Math.max(maxHalf, Math.max(e.width, e.height) / 2 + 1);
+        add(e, cellAt(e.x, e.y));
+        size++;
+    }
+
+    public void remove(Entity e) {
+        if (e.gridCell < 0) return;
+        take(e);
+        e.gridCell = -1;
+        size--;
+    }
+
+    /** Call after {@code e} moved; inserts it if it isn't a member yet. */
+    public void move(Entity e) {
+        if (e.gridCell < 0) {
+            insert(e);
+            return;
+        }
+        int cell = cellAt(e.x, e.y);
+        if (cell == e.gridCell) return;
+        take(e);
+        add(e, cell);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Living members other than {@code exclude} whose center is within {@code r} of (x,y).
+     * Clears {@code out}, appends the matches and returns how many there are.
+     */
+    public int queryRadius(double x, double y, double r, Entity exclude, List<Entity> out) {
+        return queryRadius(x, y, r, exclude, out, false);
+    }
+
+    /**
+     * Same, optionally against the positions members had when the current two-phase enemy
+     * update began (members are not moved in the grid until its commit).
+     */
+    int queryRadius(double x, double y, double r, Entity exclude, List<Entity> out, boolean phaseStart) {
+        out.clear();
+        double r2 = r * r;
+        int c0 = col(x - r), c1 = col(x + r), r0 = row(y - r), r1 = row(y + r);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int i = cy * cols + cx;
+                Entity[] cell = cells[i];
+                for (int k = 0, n = counts[i]; k < n; k++) {
+                    Entity e = cell[k];
+                    if (e == exclude || !e.isAlive()) continue;
+                    double dx = (phaseStart ? e.seenX : e.x) - x, dy = (phaseStart ? e.seenY : e.y) - y;
+                    if (dx * dx + dy * dy <= r2) out.add(e);
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Living members whose bounds ({@link Entity#getBounds}) intersect {@code rect}.
+     * Clears {@code out}, appends the matches and returns how many there are.
+     */
+    public int queryRect(Rectangle2D rect, Entity exclude, List<Entity> out) {
+        out.clear();
+        double minX = rect.getMinX(), minY = rect.getMinY(), maxX = rect.getMaxX(), maxY = rect.getMaxY();
+        int c0 = col(minX - maxHalf), c1 = col(maxX + maxHalf), r0 = row(minY - maxHalf), r1 = row(maxY + maxHalf);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int i = cy * cols + cx;
+                Entity[] cell = cells[i];
+                for (int k = 0, n = counts[i]; k < n; k++) {
+                    Entity e = cell[k];
+                    if (e == exclude || !e.isAlive()) continue;
+                    if (boundsIntersect(e, minX, minY, maxX, maxY)) out.add(e);
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /** True if some living member other than {@code exclude} has bounds intersecting {@code r}; allocation-free. */
+    public boolean anyIntersecting(Rectangle r, Entity exclude) {
+        int c0 = col(r.x - maxHalf), c1 = col(r.x + r.width + maxHalf), r0 = row(r.y - maxHalf), r1 = row(r.y + r.height + maxHalf);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int i = cy * cols + cx;
+                Entity[] cell = cells[i];
+                for (int k = 0, n = counts[i]; k < n; k++) {
+                    Entity e = cell[k];
+                    if (e != exclude && e.isAlive() && boundsIntersect(e, r.x, r.y, r.x + r.width, r.y + r.height)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Same test as {@code e.getBounds().intersects(rect)}, without the Rectangle. */
+    private static boolean boundsIntersect(Entity e, double minX, double minY, double maxX, double maxY) {
+        long bx = Math.round(e.x - e.width / 2), by = Math.round(e.y - e.height / 2);
+        return e.width > 0 && e.height > 0 && maxX > minX && maxY > minY
+            && bx < maxX && by < maxY && bx + e.width > minX && by + e.height > minY;
+    }
+
+    private void add(Entity e, int cell) {
+        Entity[] c = cells[cell];
+        if (c == null) c = cells[cell] = new Entity[4];
+        else if (counts[cell] == c.length) c = cells[cell] = Arrays.copyOf(c, c.length * 2);
+        int slot = counts[cell]++;
+        c[slot] = e;
+        e.gridCell = cell;
+        e.gridSlot = slot;
+    }
+
+    private void take(Entity e) {
+        int cell = e.gridCell, slot = e.gridSlot;
+        Entity[] c = cells[cell];
+        int last = --counts[cell];
+        if (slot != last) {
+            Entity moved = c[last];
+            c[slot] = moved;
+            moved.gridSlot = slot;
+        }
+        c[last] = null;
+    }
+
+    private int cellAt(double x, double y) {
+        return row(y) * cols + col(x);
+    }
+
+    private int col(double x) {
+        int c = (int) Math.floor(x / cellPx);
+        return (c < 0) ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor(y / cellPx);
+        return (r < 0) ? 0 : Math.min(r, rows - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.weapons.Weapon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Free list of one enemy kind, so level changes recycle entities instead of allocating them.
+ * - Reset on acquire: a released entity keeps its old state until {@link #acquire} hands it
+ *   out again, re-initialized as if just constructed ({@link Poolable#reset}).
+ * - Only entities of exactly {@code type} are kept (a subclass would come back as the base
+ *   kind); others are dropped for the GC. Releasing an entity twice is an error.
+ * - A released entity must not be referenced anymore: it is out of every list, store and
+ *   grid, and it will come back as a different enemy.
+ * Game loop thread only.
+ */
+public final class EntityPool<T extends Entity & Poolable> {
+
+    /** Constructor of the pooled kind. */
+    @FunctionalInterface
+    public interface Factory<T> {
+        T create(double x, double y, Weapon weapon);
+    }
+
+    private final Class<T> type;
+    private final Factory<T> factory;
+    private final List<T> free = new ArrayList<>();
+    private long created, reused;
+
+    public EntityPool(Class<T> type, Factory<T> factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /** An entity of this kind at (x, y) with {@code weapon}: a recycled one if any is free, else a new one. */
+    public T acquire(double x, double y, Weapon weapon) {
+        if (free.isEmpty()) {
+            created++;
+            return factory.create(x, y, weapon);
+        }
+        T e = free.remove(free.size() - 1);
+        e.pooled = false;
+        e.reset(x, y, weapon);
+        reused++;
+        return e;
+    }
+
+    /** Takes {@code e} back if it is of this kind; returns false (and leaves it to the GC) otherwise. */
+    public boolean release(Entity e) {
+        if (e.getClass() != type) return false;
+        if (e.pooled) throw new IllegalStateException(e.getName() + " is already pooled");
+        if (e.store != null) throw new IllegalArgumentException(e.getName() + " is still in a store");
+        e.pooled = true;
+        free.add(type.cast(e));
+        return true;
+    }
+
+    /** Entities waiting to be reused. */
+    public int free() {
+        return free.size();
+    }
+
+    /** Entities constructed so far (pool misses). */
+    public long created() {
+        return created;
+    }
+
+    /** Acquisitions served from the free list so far. */
+    public long reused() {
+        return reused;
+    }
+}
@@ -5,10 +5,9 @@ import com.lhamacorp.games.tlob.client.maps.TileMap;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
 
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 
-public class Golen extends Entity {
+public class Golen extends Entity implements Poolable {
 
     private static final int GOLEN_SIZE = 80;
     private static final double GOLEN_BASE_SPEED = 1.0;
@@ -56,30 +55,30 @@ public class Golen extends Entity {
     private double wanderDx = 0, wanderDy = 0;
 
     // Enhanced wandering behavior
-    private final WanderBehavior wanderBehavior;
+    private WanderBehavior wanderBehavior;
     private int patrolTimer = 0;
     private int patrolPointIndex = 0;
-    private final double[] patrolPointsX = new double[3];
-    private final double[] patrolPointsY = new double[3];
-    private final double wanderSpeedVariation;
-    private final double wanderDirectionChangeChance;
-    private final boolean prefersStraightPaths;
-    private final double idleTimeVariation;
-    private final boolean isAggressive;
-    private final boolean isCautious;
-    private final double curiosityLevel;
-    private final boolean prefersGroupMovement;
+    /** Allocated by the first PATROL roll (see setupPatrolPoints); kept across pool resets. */
+    private double[] patrolPointsX, patrolPointsY;
+    private double wanderSpeedVariation;
+    private double wanderDirectionChangeChance;
+    private boolean prefersStraightPaths;
+    private double idleTimeVariation;
+    private boolean isAggressive;
+    private boolean isCautious;
+    private double curiosityLevel;
+    private boolean prefersGroupMovement;
 
     private int lcg;
-    private final double baseSpeedScale; // Base speed scale (final)
+    private double baseSpeedScale; // Base speed scale (rolled)
     private double speedScale; // Current speed scale (modifiable for rage mode)
-    private final double aimNoiseRad;
-    private final double strafeStrength;
-    private final double strafeFreqHz;
-    private final double strafePhase;
-    private double aggressionRadius; // Made non-final for rage mode modifications
-    private final int baseAttackCooldown;
-    private final int baseAttackDuration;
+    private double aimNoiseRad;
+    private double strafeStrength;
+    private double strafeFreqHz;
+    private double strafePhase;
+    private double aggressionRadius; // Modified by rage mode
+    private int baseAttackCooldown;
+    private int baseAttackDuration;
     private int ageTicks = 0;
 
     // Wander behavior types
@@ -96,14 +95,51 @@ public class Golen extends Entity {
      */
     public Golen(double x, double y, Weapon weapon) {
         super(x, y, GOLEN_SIZE, GOLEN_SIZE, GOLEN_BASE_SPEED, GOLEN_MAX_HP, GOLEN_MAX_STAMINA, GOLEN_MAX_MANA, 0, 0, weapon, "Golen", Alignment.FOE);
+        roll(x, y);
+    }
 
+    /**
+     * Re-initializes a pooled Golen as if newly constructed at (x, y) with {@code weapon}.
+     */
+    @Override
+    public void reset(double x, double y, Weapon weapon) {
+        resetEntity(x, y, GOLEN_BASE_SPEED, GOLEN_MAX_HP, GOLEN_MAX_STAMINA, GOLEN_MAX_MANA, 0, 0, weapon);
+        hurtTimer = 0;
+        attackCooldown = 0;
+        attackTimer = 0;
+        postAttackSlowdownTimer = 0;
+        chargeUpTimer = 0;
+        stompCooldown = 0;
+        stompTimer = 0;
+        isRageMode = false;
+        rageModeTimer = 0;
+        hasStompedThisLevel = false;
+        animTimeMs = 0L;
+        movedThisTick = false;
+        wanderTimer = 0;
+        patrolTimer = 0;
+        patrolPointIndex = 0;
+        ageTicks = 0;
+        roll(x, y);
+    }
+
+    /** Seeds the AI from the position, the clock and the object hash, then rolls the personality. */
+    private void roll(double x, double y) {
         // Improved seed generation with more entropy
         int seed = (int) ((Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y)) ^ 0x9E3779B9);
-        lcg = (seed == 0) ? 1 : seed;
 
         // Add additional entropy based on current time and object hash
-        lcg ^= System.nanoTime() & 0xFFFF;
-        lcg ^= this.hashCode() & 0xFFFF;
+        seed ^= (int) (System.nanoTime() & 0xFFFF);
+        seed ^= this.hashCode() & 0xFFFF;
+        roll(seed);
+    }
+
+    /**
+     * Seeds the AI with {@code seed} alone and rolls the personality: what makes each Golen move
+     * and fight differently. Benchmarks and tests call it for repeatable enemies.
+     */
+    void roll(int seed) {
+        lcg = (seed == 0) ? 1 : seed;
 
         baseSpeedScale = 0.30 + 0.20 * rand01(); // Golen are slower
         speedScale = baseSpeedScale; // Initialize current speed scale
@@ -150,17 +186,15 @@ public class Golen extends Entity {
     }
 
     @Override
-    public void update(Object... args) {
+    public void update(UpdateContext ctx) {
         if (!isAlive()) return;
-        Player player = (Player) args[0];
-        TileMap map = (TileMap) args[1];
+        Player player = ctx.player;
+        TileMap map = ctx.map;
 
         // Check for group behavior if enemies list is provided
         List<Entity> nearbyAllies = null;
-        if (args.length > 2 && args[2] instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<Entity> enemies = (List<Entity>) args[2];
-            nearbyAllies = findNearbyAllies(enemies);
+        if (ctx.enemies != null) {
+            nearbyAllies = findNearbyAllies(ctx.enemies, ctx.grid);
         }
 
         if (hurtTimer > 0) hurtTimer--;
@@ -182,11 +216,11 @@ public class Golen extends Entity {
             exitRageMode();
         }
 
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
-        boolean playerHidden = map.isHidingAtWorld(player.getX(), player.getY());
+        boolean playerHidden = ctx.playerHidden;
 
         // Golen unique attack logic with multiple attack types
         if (!playerHidden && distToP <= ATTACK_RANGE && attackCooldown == 0 && attackTimer == 0 && chargeUpTimer == 0) {
@@ -206,20 +240,19 @@ public class Golen extends Entity {
             attackTimer = baseAttackDuration;
             attackCooldown = baseAttackCooldown;
             postAttackSlowdownTimer = POST_ATTACK_SLOWDOWN_TICKS;
-            player.damage(ATTACK_DAMAGE);
-            player.applyKnockback(x, y);
+            hitPlayer(player, ATTACK_DAMAGE, x, y);
         }
 
         if (stompTimer == 1) { // End of stomp, apply area damage
             // Area damage to all nearby entities (including player)
-            applyStompDamage(player);
+            applyStompDamage(ctx);
             stompTimer = 0;
         }
 
         if (attackTimer > 0 || chargeUpTimer > 0) {
             movedThisTick = false;
         } else if (!playerHidden && distToP <= aggressionRadius) {
-            approachPlayer(player, map);
+            approachPlayer(ctx);
         } else {
             // Use group behavior if allies are nearby
             if (nearbyAllies != null && !nearbyAllies.isEmpty() && prefersGroupMovement) {
@@ -234,19 +267,9 @@ public class Golen extends Entity {
         ageTicks++;
     }
 
-    private List<Entity> findNearbyAllies(List<Entity> enemies) {
-        List<Entity> allies = new ArrayList<>();
+    private List<Entity> findNearbyAllies(List<Entity> enemies, EntityGrid grid) {
         double groupRadius = 80.0; // Larger group radius due to size
-
-        for (Entity enemy : enemies) {
-            if (enemy != this && enemy.isAlive() && enemy.getAlignment() == Alignment.FOE) {
-                double dist = Math.hypot(enemy.getX() - x, enemy.getY() - y);
-                if (dist <= groupRadius) {
-                    allies.add(enemy);
-                }
-            }
-        }
-        return allies;
+        return nearbyFoes(enemies, grid, groupRadius);
     }
 
     private void groupWander(TileMap map, Player player, List<Entity> allies) {
@@ -255,8 +278,8 @@ public class Golen extends Entity {
             if (!allies.isEmpty()) {
                 double centerX = 0, centerY = 0;
                 for (Entity ally : allies) {
-                    centerX += ally.getX();
-                    centerY += ally.getY();
+                    centerX += xOf(ally);
+                    centerY += yOf(ally);
                 }
                 centerX /= allies.size();
                 centerY /= allies.size();
@@ -293,9 +316,9 @@ public class Golen extends Entity {
         }
     }
 
-    private void approachPlayer(Player player, TileMap map) {
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+    private void approachPlayer(UpdateContext ctx) {
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
         if (distToP > 0) {
@@ -329,15 +352,24 @@ public class Golen extends Entity {
                     moveSpeed *= 0.3; // More slowdown after attack
                 }
 
-                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, map, player);
+                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
         }
     }
 
+    /** True if the rolled wander personality is PATROL. */
+    boolean patrols() {
+        return wanderBehavior == WanderBehavior.PATROL;
+    }
+
     private void setupPatrolPoints() {
         // Create patrol points around the initial position - larger radius due to size
         double radius = 60 + 30 * rand01();
+        if (patrolPointsX == null) {
+            patrolPointsX = new double[3];
+            patrolPointsY = new double[3];
+        }
         for (int i = 0; i < 3; i++) {
             double angle = (i * 2 * Math.PI / 3) + rand01() * Math.PI / 4;
             patrolPointsX[i] = x + Math.cos(angle) * radius;
@@ -571,17 +603,16 @@ public class Golen extends Entity {
      * Applies area damage from ground stomp attack.
      * Damages all entities within stomp radius.
      */
-    private void applyStompDamage(Player player) {
+    private void applyStompDamage(UpdateContext ctx) {
         // Area damage effect - this would need to be implemented with entity lists
         // For now, just damage the player if they're close
         double stompRadius = 50.0; // Stomp affects area around Golen
-        double distToPlayer = Math.hypot(player.getX() - x, player.getY() - y);
+        double distToPlayer = Math.hypot(ctx.playerX - x, ctx.playerY - y);
 
         if (distToPlayer <= stompRadius) {
             // Stomp does more damage than regular attack
             double stompDamage = ATTACK_DAMAGE * 1.5;
-            player.damage(stompDamage);
-            player.applyKnockback(x, y);
+            hitPlayer(ctx.player, stompDamage, x, y);
         }
     }
 
@@ -3,12 +3,10 @@ package com.lhamacorp.games.tlob.client.entities;
 import com.lhamacorp.games.tlob.client.inventory.Inventory;
 import com.lhamacorp.games.tlob.client.managers.AudioManager;
 import com.lhamacorp.games.tlob.client.managers.BaseGameManager;
-import com.lhamacorp.games.tlob.client.managers.KeyManager;
 import com.lhamacorp.games.tlob.client.managers.TextureManager;
 import com.lhamacorp.games.tlob.client.maps.TileMap;
 import com.lhamacorp.games.tlob.client.weapons.Bow;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
-import com.lhamacorp.games.tlob.client.world.InputState;
 import com.lhamacorp.games.tlob.client.world.PlayerInputView;
 
 import java.awt.*;
@@ -475,122 +473,15 @@ public class Player extends Entity {
     }
 
     @Override
-    public void update(Object... args) {
-        final PlayerInputView input;
-        Object k0 = (args.length > 0) ? args[0] : null;
-
-        if (k0 instanceof PlayerInputView piv) {
-            input = piv;
-        } else if (k0 instanceof InputState is) {
-            input = new PlayerInputView() {
-                public boolean left() {
-                    return is.left;
-                }
-
-                public boolean right() {
-                    return is.right;
-                }
-
-                public boolean up() {
-                    return is.up;
-                }
-
-                public boolean down() {
-                    return is.down;
-                }
-
-                public boolean sprint() {
-                    return is.shift;
-                }
-
-                public boolean attack() {
-                    return is.attack;
-                }
-
-                public boolean defense() {
-                    return is.defense;
-                }
-                
-                public boolean dash() {
-                    return is.dash;
-                }
-            };
-        } else if (k0 instanceof KeyManager km) {
-            input = new PlayerInputView() {
-                public boolean left() {
-                    return km.left;
-                }
-
-                public boolean right() {
-                    return km.right;
-                }
-
-                public boolean up() {
-                    return km.up;
-                }
-
-                public boolean down() {
-                    return km.down;
-                }
-
-                public boolean sprint() {
-                    return km.shift;
-                }
-
-                public boolean attack() {
-                    return km.attack;
-                }
-
-                public boolean defense() {
-                    return km.defense;
-                }
-                
-                public boolean dash() {
-                    return km.dash;
-                }
-            };
-        } else {
-            input = new PlayerInputView() {
-                public boolean left() {
-                    return false;
-                }
-
-                public boolean right() {
-                    return false;
-                }
-
-                public boolean up() {
-                    return false;
-                }
-
-                public boolean down() {
-                    return false;
-                }
-
-                public boolean sprint() {
-                    return false;
-                }
-
-                public boolean attack() {
-                    return false;
-                }
-
-                public boolean defense() {
-                    return false;
-                }
-                
-                public boolean dash() {
-                    return false;
-                }
-            };
-        }
-
-        TileMap map = (TileMap) args[1];
-        @SuppressWarnings("unchecked") List<Entity> enemies = (List<Entity>) args[2];
+    public void update(UpdateContext ctx) {
+        final PlayerInputView input = ctx.input;
+        TileMap map = ctx.map;
+        List<Entity> enemies = ctx.enemies;
 
         // Optional mouse-aim point in WORLD coords
-        Point aimPoint = null;
-        if (args.length >= 4 && args[3] instanceof Point p) aimPoint = p;
+        Point aimPoint = ctx.aim;
+        // Optional spatial index over enemies; without it the enemy list is scanned
+        EntityGrid grid = ctx.grid;
 
         // Update aim direction tracking
         if (aimPoint != null) {
@@ -747,7 +638,7 @@ public class Player extends Entity {
 
         // --- Knockback & movement ---
         updateKnockbackWithMap(map);
-        if (knockbackTimer == 0 && dashMovementTimer == 0) moveWithCollision(dx * speed, dy * speed, map, enemies);
+        if (knockbackTimer == 0 && dashMovementTimer == 0) moveWithCollision(dx * speed, dy * speed, map, enemies, grid);
 
         // --- Block mechanism ---
         boolean defensePressed = input.defense();
@@ -786,7 +677,12 @@ public class Player extends Entity {
 
             // Check collision with enemies
             double dmg = getEffectiveAttackDamage();
-            for (Entity e : enemies) {
+            List<Entity> candidates = enemies;
+            if (grid != null) {
+                grid.queryRadius(currentArrowX, currentArrowY, ARROW_COLLISION_RADIUS, this, nearby);
+                candidates = nearby;
+            }
+            for (Entity e : candidates) {
                 if (e.isAlive()) {
                     double dist = Math.hypot(currentArrowX - e.getX(), currentArrowY - e.getY());
                     if (dist <= ARROW_COLLISION_RADIUS) {
@@ -840,7 +736,7 @@ public class Player extends Entity {
                 performBowAttack(aimPoint, enemies);
             } else {
                 // SWORD ATTACK: Immediate melee collision (existing code)
-                performSwordAttack(map, enemies);
+                performSwordAttack(map, enemies, grid);
             }
         }
 
@@ -848,7 +744,7 @@ public class Player extends Entity {
         animTimeMs += TICK_MS;
     }
 
-    private void performSwordAttack(TileMap map, List<Entity> enemies) {
+    private void performSwordAttack(TileMap map, List<Entity> enemies, EntityGrid grid) {
         // Initialize attack swing animation
         attackSwingPhase = ATTACK_SWING_DURATION;
         attackSwingAngle = facingAngle;
@@ -859,8 +755,13 @@ public class Player extends Entity {
 
         double dmg = getEffectiveAttackDamage();
 
-        // Damage enemies
-        for (Entity e : enemies) {
+        // Damage enemies (with a grid, only those near the swing's bounding box are tested)
+        List<Entity> candidates = enemies;
+        if (grid != null) {
+            grid.queryRect(swing.getBounds2D(), this, nearby);
+            candidates = nearby;
+        }
+        for (Entity e : candidates) {
             if (e.isAlive() && swing.intersects(e.getBounds())) {
                 e.damage(dmg);
                 e.applyKnockback(x, y);
@@ -917,26 +818,27 @@ public class Player extends Entity {
         return (int) Math.round(ticksAt60 * (TICKS_PER_SECOND / 60.0));
     }
 
-    private void moveWithCollision(double dx, double dy, TileMap map, List<Entity> enemies) {
+    private void moveWithCollision(double dx, double dy, TileMap map, List<Entity> enemies, EntityGrid grid) {
         double newX = x + dx, newY = y + dy;
 
-        if (!collidesWithMap(newX, y, map) && !collidesWithEnemies(newX, y, enemies)) x = newX;
+        if (!collidesWithMap(newX, y, map) && !collidesWithEnemies(newX, y, enemies, grid)) x = newX;
         else {
             int step = (int) Math.signum(dx);
-            while (step != 0 && !collidesWithMap(x + step, y, map) && !collidesWithEnemies(x + step, y, enemies))
+            while (step != 0 && !collidesWithMap(x + step, y, map) && !collidesWithEnemies(x + step, y, enemies, grid))
                 x += step;
         }
 
-        if (!collidesWithMap(x, newY, map) && !collidesWithEnemies(x, newY, enemies)) y = newY;
+        if (!collidesWithMap(x, newY, map) && !collidesWithEnemies(x, newY, enemies, grid)) y = newY;
         else {
             int step = (int) Math.signum(dy);
-            while (step != 0 && !collidesWithMap(x, y + step, map) && !collidesWithEnemies(x, y + step, enemies))
+            while (step != 0 && !collidesWithMap(x, y + step, map) && !collidesWithEnemies(x, y + step, enemies, grid))
                 y += step;
         }
     }
 
-    private boolean collidesWithEnemies(double cx, double cy, List<Entity> enemies) {
+    private boolean collidesWithEnemies(double cx, double cy, List<Entity> enemies, EntityGrid grid) {
         Rectangle playerBounds = getBoundsAt(cx, cy);
+        if (grid != null) return grid.anyIntersecting(playerBounds, this);
         for (Entity enemy : enemies) {
             if (enemy.isAlive() && playerBounds.intersects(enemy.getBounds())) return true;
         }
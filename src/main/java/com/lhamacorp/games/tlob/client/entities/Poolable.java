@@ -0,0 +1,16 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.weapons.Weapon;
+
+/**
+ * An entity kind that {@link EntityPool} can recycle. Implemented by the enemy kinds that
+ * spawners acquire from {@link EnemyPools}: Soldier, Archer and Golen.
+ */
+public interface Poolable {
+
+    /**
+     * Re-initializes this entity as if it had just been constructed at (x, y) with
+     * {@code weapon}. Called by the pool when it hands the entity out again.
+     */
+    void reset(double x, double y, Weapon weapon);
+}
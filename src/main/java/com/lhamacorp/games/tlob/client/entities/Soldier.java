@@ -8,10 +8,9 @@ import com.lhamacorp.games.tlob.core.Constants;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.List;
 
-public class Soldier extends Entity {
+public class Soldier extends Entity implements Poolable {
 
     private static final int SOLDIER_SIZE = 20;
     private static final double SOLDIER_BASE_SPEED = 3;
@@ -45,29 +44,29 @@ public class Soldier extends Entity {
     private double wanderDx = 0, wanderDy = 0;
     
     // Enhanced wandering behavior
-    private final WanderBehavior wanderBehavior;
+    private WanderBehavior wanderBehavior;
     private int patrolTimer = 0;
     private int patrolPointIndex = 0;
-    private final double[] patrolPointsX = new double[3];
-    private final double[] patrolPointsY = new double[3];
-    private final double wanderSpeedVariation;
-    private final double wanderDirectionChangeChance;
-    private final boolean prefersStraightPaths;
-    private final double idleTimeVariation;
-    private final boolean isAggressive;
-    private final boolean isCautious;
-    private final double curiosityLevel;
-    private final boolean prefersGroupMovement;
+    /** Allocated by the first PATROL roll (see setupPatrolPoints); kept across pool resets. */
+    private double[] patrolPointsX, patrolPointsY;
+    private double wanderSpeedVariation;
+    private double wanderDirectionChangeChance;
+    private boolean prefersStraightPaths;
+    private double idleTimeVariation;
+    private boolean isAggressive;
+    private boolean isCautious;
+    private double curiosityLevel;
+    private boolean prefersGroupMovement;
 
     private int lcg;
-    private final double speedScale;
-    private final double aimNoiseRad;
-    private final double strafeStrength;
-    private final double strafeFreqHz;
-    private final double strafePhase;
-    private final double aggressionRadius;
-    private final int baseAttackCooldown;
-    private final int baseAttackDuration;
+    private double speedScale;
+    private double aimNoiseRad;
+    private double strafeStrength;
+    private double strafeFreqHz;
+    private double strafePhase;
+    private double aggressionRadius;
+    private int baseAttackCooldown;
+    private int baseAttackDuration;
     private int ageTicks = 0;
     
     // Wander behavior types
@@ -84,14 +83,45 @@ public class Soldier extends Entity {
      */
     public Soldier(double x, double y, Weapon weapon) {
         super(x, y, SOLDIER_SIZE, SOLDIER_SIZE, SOLDIER_BASE_SPEED, SOLDIER_MAX_HP, SOLDIER_MAX_STAMINA, SOLDIER_MAX_MANA, 0, 0, weapon, "Soldier", Alignment.FOE);
+        roll(x, y);
+    }
+
+    /**
+     * Re-initializes a pooled soldier as if newly constructed at (x, y) with {@code weapon}.
+     */
+    @Override
+    public void reset(double x, double y, Weapon weapon) {
+        resetEntity(x, y, SOLDIER_BASE_SPEED, SOLDIER_MAX_HP, SOLDIER_MAX_STAMINA, SOLDIER_MAX_MANA, 0, 0, weapon);
+        hurtTimer = 0;
+        attackCooldown = 0;
+        attackTimer = 0;
+        postAttackSlowdownTimer = 0;
+        animTimeMs = 0L;
+        movedThisTick = false;
+        wanderTimer = 0;
+        patrolTimer = 0;
+        patrolPointIndex = 0;
+        ageTicks = 0;
+        roll(x, y);
+    }
 
+    /** Seeds the AI from the position, the clock and the object hash, then rolls the personality. */
+    private void roll(double x, double y) {
         // Improved seed generation with more entropy
         int seed = (int) ((Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y)) ^ 0x9E3779B9);
-        lcg = (seed == 0) ? 1 : seed;
-        
+
         // Add additional entropy based on current time and object hash
-        lcg ^= System.nanoTime() & 0xFFFF;
-        lcg ^= this.hashCode() & 0xFFFF;
+        seed ^= (int) (System.nanoTime() & 0xFFFF);
+        seed ^= this.hashCode() & 0xFFFF;
+        roll(seed);
+    }
+
+    /**
+     * Seeds the AI with {@code seed} alone and rolls the personality: what makes each soldier move
+     * and fight differently. Benchmarks and tests call it for repeatable enemies.
+     */
+    void roll(int seed) {
+        lcg = (seed == 0) ? 1 : seed;
 
         speedScale = 0.50 + 0.30 * rand01();
         aimNoiseRad = Math.toRadians((rand01() - 0.5) * 14.0);
@@ -138,17 +168,15 @@ public class Soldier extends Entity {
     }
 
     @Override
-    public void update(Object... args) {
+    public void update(UpdateContext ctx) {
         if (!isAlive()) return;
-        Player player = (Player) args[0];
-        TileMap map = (TileMap) args[1];
+        Player player = ctx.player;
+        TileMap map = ctx.map;
         
         // Check for group behavior if enemies list is provided
         List<Entity> nearbyAllies = null;
-        if (args.length > 2 && args[2] instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<Entity> enemies = (List<Entity>) args[2];
-            nearbyAllies = findNearbyAllies(enemies);
+        if (ctx.enemies != null) {
+            nearbyAllies = findNearbyAllies(ctx.enemies, ctx.grid);
         }
 
         if (hurtTimer > 0) hurtTimer--;
@@ -156,24 +184,23 @@ public class Soldier extends Entity {
         if (attackTimer > 0) attackTimer--;
         if (postAttackSlowdownTimer > 0) postAttackSlowdownTimer--;
 
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
-        boolean playerHidden = map.isHidingAtWorld(player.getX(), player.getY());
+        boolean playerHidden = ctx.playerHidden;
 
         if (!playerHidden && distToP <= ATTACK_RANGE && attackCooldown == 0 && attackTimer == 0) {
             attackTimer = baseAttackDuration;
             attackCooldown = baseAttackCooldown;
             postAttackSlowdownTimer = POST_ATTACK_SLOWDOWN_TICKS;
-            player.damage(1.0);
-            player.applyKnockback(x, y);
+            hitPlayer(player, 1.0, x, y);
         }
 
         if (attackTimer > 0) {
             movedThisTick = false;
         } else if (!playerHidden && distToP <= aggressionRadius) {
-            approachPlayer(player, map);
+            approachPlayer(ctx);
         } else {
             // Use group behavior if allies are nearby
             if (nearbyAllies != null && !nearbyAllies.isEmpty() && prefersGroupMovement) {
@@ -188,19 +215,9 @@ public class Soldier extends Entity {
         ageTicks++;
     }
     
-    private List<Entity> findNearbyAllies(List<Entity> enemies) {
-        List<Entity> allies = new ArrayList<>();
+    private List<Entity> findNearbyAllies(List<Entity> enemies, EntityGrid grid) {
         double groupRadius = 60.0; // Distance to consider allies
-        
-        for (Entity enemy : enemies) {
-            if (enemy != this && enemy.isAlive() && enemy.getAlignment() == Alignment.FOE) {
-                double dist = Math.hypot(enemy.getX() - x, enemy.getY() - y);
-                if (dist <= groupRadius) {
-                    allies.add(enemy);
-                }
-            }
-        }
-        return allies;
+        return nearbyFoes(enemies, grid, groupRadius);
     }
     
     private void groupWander(TileMap map, Player player, List<Entity> allies) {
@@ -209,8 +226,8 @@ public class Soldier extends Entity {
             if (!allies.isEmpty()) {
                 double centerX = 0, centerY = 0;
                 for (Entity ally : allies) {
-                    centerX += ally.getX();
-                    centerY += ally.getY();
+                    centerX += xOf(ally);
+                    centerY += yOf(ally);
                 }
                 centerX /= allies.size();
                 centerY /= allies.size();
@@ -247,9 +264,9 @@ public class Soldier extends Entity {
         }
     }
 
-    private void approachPlayer(Player player, TileMap map) {
-        double dxToP = player.getX() - x;
-        double dyToP = player.getY() - y;
+    private void approachPlayer(UpdateContext ctx) {
+        double dxToP = ctx.playerX - x;
+        double dyToP = ctx.playerY - y;
         double distToP = Math.hypot(dxToP, dyToP);
 
         if (distToP > 0) {
@@ -283,7 +300,7 @@ public class Soldier extends Entity {
                     moveSpeed *= 0.5;
                 }
                 
-                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, map, player);
+                moveWithCollision(noisyDx * moveSpeed, noisyDy * moveSpeed, ctx.map, ctx.player);
                 movedThisTick = true;
             }
         }
@@ -308,9 +325,18 @@ public class Soldier extends Entity {
         }
     }
     
+    /** True if the rolled wander personality is PATROL. */
+    boolean patrols() {
+        return wanderBehavior == WanderBehavior.PATROL;
+    }
+
     private void setupPatrolPoints() {
         // Create patrol points around the initial position
         double radius = 40 + 20 * rand01();
+        if (patrolPointsX == null) {
+            patrolPointsX = new double[3];
+            patrolPointsY = new double[3];
+        }
         for (int i = 0; i < 3; i++) {
             double angle = (i * 2 * Math.PI / 3) + rand01() * Math.PI / 4;
             patrolPointsX[i] = x + Math.cos(angle) * radius;
@@ -0,0 +1,167 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.managers.BaseGameManager;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.world.PlayerInputView;
+
+import java.awt.*;
+import java.util.List;
+
+/**
+ * What every {@link Entity#update(UpdateContext)} gets for one tick. The game loop owns one
+ * instance and refills it each tick, so entity updates allocate nothing:
+ * 1. {@link #begin} with the tick's player, map, enemies and index (and {@link #input} for the player),
+ * 2. update the player,
+ * 3. {@link #perceive()} to snapshot the player-derived facts every enemy reads,
+ * 4. update the enemies.
+ * Perception stays valid for the rest of the tick: enemies only push knockback onto the
+ * player, which moves it on its own next update.
+ */
+public final class UpdateContext {
+
+    private static final PlayerInputView NO_INPUT = new PlayerInputView() {
+        public boolean left() {
+            return false;
+        }
+
+        public boolean right() {
+            return false;
+        }
+
+        public boolean up() {
+            return false;
+        }
+
+        public boolean down() {
+            return false;
+        }
+
+        public boolean sprint() {
+            return false;
+        }
+
+        public boolean attack() {
+            return false;
+        }
+
+        public boolean defense() {
+            return false;
+        }
+
+        public boolean dash() {
+            return false;
+        }
+    };
+
+    long tick;
+    Player player;
+    TileMap map;
+    /** Enemies of this tick, or null when entities should act alone (no group behavior). */
+    List<Entity> enemies;
+    /** Spatial index over {@link #enemies}, or null to scan the list. */
+    EntityGrid grid;
+
+    // Player-only
+    PlayerInputView input = NO_INPUT;
+    /** Mouse-aim point in world coords, or null. */
+    Point aim;
+
+    // Perception, refreshed by perceive()
+    double playerX, playerY;
+    /** Player displacement since the previous perceive() of the same player, in px/tick. */
+    double playerVx, playerVy;
+    int playerTileX, playerTileY;
+    boolean playerHidden;
+
+    private Player lastPlayer;
+    private long lastTick;
+    private double lastX, lastY;
+
+    /** Starts a tick; clears the player input and aim. */
+    public UpdateContext begin(long tick, Player player, TileMap map, List<Entity> enemies, EntityGrid grid) {
+        this.tick = tick;
+        this.player = player;
+        this.map = map;
+        this.enemies = enemies;
+        this.grid = grid;
+        this.input = NO_INPUT;
+        this.aim = null;
+        return this;
+    }
+
+    /** Player input for this tick; null means no keys held. */
+    public UpdateContext input(PlayerInputView input, Point aim) {
+        this.input = (input != null) ? input : NO_INPUT;
+        this.aim = aim;
+        return this;
+    }
+
+    /** Snapshots where the player is and whether enemies can see it; call after the player's update. */
+    public UpdateContext perceive() {
+        playerX = player.getX();
+        playerY = player.getY();
+        playerTileX = (int) Math.floor(playerX / BaseGameManager.TILE_SIZE);
+        playerTileY = (int) Math.floor(playerY / BaseGameManager.TILE_SIZE);
+        playerHidden = map.isHidingAtWorld(playerX, playerY);
+
+        if (player == lastPlayer && tick == lastTick + 1) {
+            playerVx = playerX - lastX;
+            playerVy = playerY - lastY;
+        } else {
+            playerVx = playerVy = 0;
+        }
+        lastPlayer = player;
+        lastTick = tick;
+        lastX = playerX;
+        lastY = playerY;
+        return this;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public Player player() {
+        return player;
+    }
+
+    public TileMap map() {
+        return map;
+    }
+
+    public List<Entity> enemies() {
+        return enemies;
+    }
+
+    public EntityGrid grid() {
+        return grid;
+    }
+
+    public double playerX() {
+        return playerX;
+    }
+
+    public double playerY() {
+        return playerY;
+    }
+
+    public double playerVx() {
+        return playerVx;
+    }
+
+    public double playerVy() {
+        return playerVy;
+    }
+
+    public int playerTileX() {
+        return playerTileX;
+    }
+
+    public int playerTileY() {
+        return playerTileY;
+    }
+
+    public boolean playerHidden() {
+        return playerHidden;
+    }
+}
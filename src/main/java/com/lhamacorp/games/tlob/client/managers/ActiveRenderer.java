@@ -0,0 +1,94 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Active rendering: a {@link Canvas} flipped through a {@link BufferStrategy} by a dedicated
+ * "Render" thread, instead of {@code repaint()} and Swing's paint coalescing on the EDT.
+ * - The game loop calls {@link #requestFrame()} after each batch of sim ticks; the render
+ *   thread draws one frame per request (requests made while it is drawing collapse into one).
+ * - Lost or restored buffer contents are redrawn before showing, per the BufferStrategy contract.
+ * The canvas is heavyweight, so it gets the input listeners and the focus, not the panel under it.
+ */
+final class ActiveRenderer implements Runnable {
+
+    interface Frame {
+        void render(Graphics2D g2);
+    }
+
+    private final Canvas canvas = new Canvas();
+    private final Frame frame;
+    private final Object signal = new Object();
+    private long requested, drawn;
+    private volatile boolean running;
+    private Thread thread;
+
+    ActiveRenderer(int width, int height, Frame frame) {
+        this.frame = frame;
+        canvas.setPreferredSize(new Dimension(width, height));
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(true);
+        canvas.setBackground(Color.BLACK);
+    }
+
+    Canvas canvas() {
+        return canvas;
+    }
+
+    /** Creates the buffers and starts the render thread; the canvas must be displayable (window shown). */
+    void start() {
+        if (running) return;
+        canvas.createBufferStrategy(2);
+        running = true;
+        thread = new Thread(this, "Render");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("[Render] Active rendering (BufferStrategy)");
+    }
+
+    void stop() {
+        synchronized (signal) {
+            running = false;
+            signal.notifyAll();
+        }
+    }
+
+    /** Asks for a frame with the current world state. */
+    void requestFrame() {
+        synchronized (signal) {
+            requested++;
+            signal.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy bs = canvas.getBufferStrategy();
+        while (running) {
+            synchronized (signal) {
+                while (running && requested == drawn) {
+                    try {
+                        signal.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                drawn = requested;
+            }
+            if (!running) return;
+            do {
+                do {
+                    Graphics2D g2 = (Graphics2D) bs.getDrawGraphics();
+                    try {
+                        frame.render(g2);
+                    } finally {
+                        g2.dispose();
+                    }
+                } while (bs.contentsRestored());
+                bs.show();
+            } while (bs.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Debug telemetry for allocation and GC, shown by the F4 overlay and optionally logged to CSV.
+ * - Bytes allocated per sim tick (game loop thread) and per rendered frame (the EDT, where
+ *   Swing paints), from the per-thread counters of {@code com.sun.management.ThreadMXBean}.
+ *   Callers take a {@link #mark()} before the work and hand it back when done.
+ * - Frame draw time and the longest gap between frames, to compare the repaint() and
+ *   active rendering paths ({@code -Dtlob.render.active}).
+ * - GC pauses (count, total and longest duration) from the GC beans' notifications.
+ *   Beans that report concurrent work (ZGC/Shenandoah "Cycles", "G1 Concurrent GC") are
+ *   skipped: they don't stop the game.
+ * - Every second the window is rolled into the overlay lines and, with
+ *   {@code -Dtlob.telemetry.csv=<file>}, one CSV row.
+ * Counters are only read while the overlay is shown or a CSV is being written, so it costs
+ * nothing otherwise. Recording is guarded by this object's monitor (three threads feed it).
+ */
+public final class AllocTelemetry {
+
+    static final String CSV_HEADER = "epoch_ms,sim_tick,ticks,tick_bytes_avg,tick_bytes_max,"
+        + "frames,frame_bytes_avg,frame_bytes_max,gc_pauses,gc_pause_ms,gc_pause_max_ms,heap_used_mb,"
+        + "frame_ms_avg,frame_ms_max,frame_gap_ms_max,render";
+
+    private static final long WINDOW_NS = 1_000_000_000L;
+    private static AllocTelemetry instance;
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Path csvPath;
+    private BufferedWriter csv;
+    private boolean csvFailed;
+    private volatile boolean overlay;
+    private volatile String renderMode = "repaint";
+
+    // Current window
+    private long windowStartNs = Long.MIN_VALUE;
+    private long ticks, tickBytes, tickMax;
+    private long frames, frameBytes, frameMax;
+    private long frameNs, frameNsMax, frameGapNsMax, lastFrameEndNs;
+    private long gcPauses;
+    private double gcMs, gcMaxMs;
+
+    private volatile String[] lines = {"Alloc: measuring..."};
+
+    AllocTelemetry(Path csvPath) {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean t = (mx instanceof com.sun.management.ThreadMXBean sun) ? sun : null;
+        if (t != null && t.isThreadAllocatedMemorySupported()) {
+            if (!t.isThreadAllocatedMemoryEnabled()) t.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            t = null;
+        }
+        this.threads = t;
+        this.csvPath = csvPath;
+        listenForGc();
+    }
+
+    public static synchronized AllocTelemetry getInstance() {
+        if (instance == null) {
+            String csv = System.getProperty("tlob.telemetry.csv");
+            instance = new AllocTelemetry((csv != null && !csv.isBlank()) ? Paths.get(csv.trim()) : null);
+        }
+        return instance;
+    }
+
+    /** Shows or hides the overlay (F4); showing it starts a fresh window. */
+    public synchronized void setOverlay(boolean on) {
+        if (on == overlay) return;
+        overlay = on;
+        if (on && csvPath == null) {
+            reset(Long.MIN_VALUE);
+            lastFrameEndNs = 0;
+        }
+    }
+
+    /** How frames are delivered, for the overlay and CSV ("repaint" or "active"). */
+    public void setRenderMode(String mode) {
+        renderMode = mode;
+    }
+
+    public boolean isOverlay() {
+        return overlay;
+    }
+
+    /** True while anything consumes the numbers. */
+    public boolean active() {
+        return overlay || csvPath != null;
+    }
+
+    /** Bytes allocated so far by the calling thread (0 when unsupported), or -1 when inactive. */
+    public long mark() {
+        if (!active()) return -1;
+        return (threads != null) ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private long allocatedSince(long mark) {
+        return (threads != null) ? threads.getCurrentThreadAllocatedBytes() - mark : 0;
+    }
+
+    /** Ends a sim tick begun at {@code mark} on this thread, and rolls the window when a second is up. */
+    public void tickDone(long mark, long simTick, long nowNs) {
+        if (mark >= 0) {
+            long bytes = allocatedSince(mark);
+            synchronized (this) {
+                ticks++;
+                tickBytes += bytes;
+                tickMax = Math.max(tickMax, bytes);
+            }
+        }
+        if (active()) roll(simTick, nowNs);
+    }
+
+    /** Ends a rendered frame begun at {@code mark} and {@code startNs} (System.nanoTime) on this thread. */
+    public void frameDone(long mark, long startNs) {
+        if (mark < 0) return;
+        long bytes = allocatedSince(mark);
+        long now = System.nanoTime();
+        synchronized (this) {
+            frames++;
+            frameBytes += bytes;
+            frameMax = Math.max(frameMax, bytes);
+            frameNs += now - startNs;
+            frameNsMax = Math.max(frameNsMax, now - startNs);
+            if (lastFrameEndNs != 0) frameGapNsMax = Math.max(frameGapNsMax, now - lastFrameEndNs);
+            lastFrameEndNs = now;
+        }
+    }
+
+    /** One GC pause of {@code ms}. */
+    synchronized void onGcPause(double ms) {
+        gcPauses++;
+        gcMs += ms;
+        gcMaxMs = Math.max(gcMaxMs, ms);
+    }
+
+    /** Short lines for the overlay; rebuilt once per window, so drawing them allocates nothing. */
+    public String[] overlayLines() {
+        return lines;
+    }
+
+    void roll(long simTick, long nowNs) {
+        String row;
+        synchronized (this) {
+            if (windowStartNs == Long.MIN_VALUE) {
+                windowStartNs = nowNs;
+                return;
+            }
+            if (nowNs - windowStartNs < WINDOW_NS) return;
+            double secs = (nowNs - windowStartNs) / 1e9;
+            long heapMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+            long tickAvg = (ticks > 0) ? tickBytes / ticks : 0;
+            long frameAvg = (frames > 0) ? frameBytes / frames : 0;
+            double frameMsAvg = (frames > 0) ? frameNs / 1e6 / frames : 0;
+
+            String na = (threads == null) ? "n/a" : null;
+            lines = new String[]{
+                "Alloc/tick: " + ((na != null) ? na : kb(tickAvg) + " avg, " + kb(tickMax) + " max"),
+                "Alloc/frame: " + ((na != null) ? na : kb(frameAvg) + " avg, " + kb(frameMax) + " max"),
+                String.format(Locale.ROOT, "Rate: %s (%.0f ticks/s, %.0f fps)",
+                    (na != null) ? na : mb((tickBytes + frameBytes) / secs) + "/s", ticks / secs, frames / secs),
+                String.format(Locale.ROOT, "Frame: %.2f ms avg, %.2f max, gap %.1f max (%s)",
+                    frameMsAvg, frameNsMax / 1e6, frameGapNsMax / 1e6, renderMode),
+                String.format(Locale.ROOT, "GC: %d pauses, %.1f ms (max %.1f)", gcPauses, gcMs, gcMaxMs),
+                "Heap: " + heapMb + " MB"
+            };
+            row = String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%d,%.3f,%.3f,%.3f,%s",
+                System.currentTimeMillis(), simTick, ticks, tickAvg, tickMax, frames, frameAvg, frameMax,
+                gcPauses, gcMs, gcMaxMs, heapMb, frameMsAvg, frameNsMax / 1e6, frameGapNsMax / 1e6, renderMode);
+
+            reset(nowNs);
+        }
+        if (csvPath != null) writeRow(row);
+    }
+
+    private void reset(long startNs) {
+        windowStartNs = startNs;
+        ticks = tickBytes = tickMax = 0;
+        frames = frameBytes = frameMax = 0;
+        frameNs = frameNsMax = frameGapNsMax = 0;
+        gcPauses = 0;
+        gcMs = gcMaxMs = 0;
+    }
+
+    private synchronized void writeRow(String row) {
+        if (csvFailed) return;
+        try {
+            if (csv == null) {
+                Path parent = csvPath.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                csv = Files.newBufferedWriter(csvPath);
+                csv.write(CSV_HEADER);
+                csv.newLine();
+                System.out.println("[Telemetry] Writing " + csvPath.toAbsolutePath());
+            }
+            csv.write(row);
+            csv.newLine();
+            csv.flush();
+        } catch (IOException e) {
+            System.out.println("[Telemetry] CSV disabled: " + e.getMessage());
+            csvFailed = true;
+            close();
+        }
+    }
+
+    /** Closes the CSV, if one is open. */
+    public synchronized void close() {
+        if (csv == null) return;
+        try {
+            csv.close();
+        } catch (IOException ignored) {
+        }
+        csv = null;
+    }
+
+    private void listenForGc() {
+        NotificationListener listener = (Notification n, Object handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+            String name = info.getGcName();
+            if (name.endsWith("Cycles") || name.contains("Concurrent")) return;
+            if (active()) onGcPause(info.getGcInfo().getDuration());
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) emitter.addNotificationListener(listener, null, null);
+        }
+    }
+
+    private static String kb(long bytes) {
+        return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    }
+
+    private static String mb(double bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
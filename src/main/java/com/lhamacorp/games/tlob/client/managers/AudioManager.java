@@ -21,6 +21,18 @@ public class AudioManager {
     private static boolean isMuted = false;
     private static final float MUTED_VOLUME_DB = -80.0f; // Very quiet when muted
 
+    // Headless runs (soak tests, no sound device) skip audio entirely: -Dtlob.audio.off=true
+    private static volatile boolean enabled = !Boolean.getBoolean("tlob.audio.off");
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        if (!on) stopMusic();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
     public static void playRandomMusic(float volumeDb) {
         int index = (int) (Math.random() * PLAYLIST.length);
         playMusic(PLAYLIST[index], volumeDb);
@@ -28,6 +40,7 @@ public class AudioManager {
 
     public static void playMusic(String filename, float volumeDb) {
         stopMusic();
+        if (!enabled) return;
 
         try (InputStream audioStream = AudioManager.class.getResourceAsStream(SOUND_ASSETS_DIR + filename)) {
 
@@ -50,7 +63,8 @@ public class AudioManager {
 
             musicClip.loop(Clip.LOOP_CONTINUOUSLY);
             musicClip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
+            // IllegalArgumentException: no mixer supports clips (e.g. no sound device)
             System.err.println("Error playing music: " + filename);
         }
     }
@@ -95,6 +109,7 @@ public class AudioManager {
     }
 
     public static void playSound(String filename, float volumeDb) {
+        if (!enabled) return;
         try (InputStream audioStream = AudioManager.class.getResourceAsStream(SOUND_ASSETS_DIR + filename)) {
 
             if (audioStream == null) {
@@ -111,8 +126,12 @@ public class AudioManager {
                 gainControl.setValue(volumeDb);
             }
 
+            // one-shot: release the line when done, or every sound keeps a native line open forever
+            clip.addLineListener(ev -> {
+                if (ev.getType() == LineEvent.Type.STOP) ev.getLine().close();
+            });
             clip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
             System.err.println("Error playing sound: " + filename);
         }
     }
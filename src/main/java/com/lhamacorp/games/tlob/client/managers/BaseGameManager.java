@@ -1,6 +1,9 @@
 package com.lhamacorp.games.tlob.client.managers;
 
+import com.lhamacorp.games.tlob.client.entities.EnemyPools;
+import com.lhamacorp.games.tlob.client.entities.EnemyStore;
 import com.lhamacorp.games.tlob.client.entities.Entity;
+import com.lhamacorp.games.tlob.client.entities.EntityGrid;
 import com.lhamacorp.games.tlob.client.entities.Player;
 import com.lhamacorp.games.tlob.client.managers.renderers.GameOverRenderer;
 import com.lhamacorp.games.tlob.client.managers.renderers.HudRenderer;
@@ -10,6 +13,7 @@ import com.lhamacorp.games.tlob.client.managers.renderers.StatsRenderer;
 import com.lhamacorp.games.tlob.client.managers.renderers.VictoryScreenRenderer;
 import com.lhamacorp.games.tlob.client.maps.TileMap;
 import com.lhamacorp.games.tlob.client.perks.PerkManager;
+import com.lhamacorp.games.tlob.client.weapons.EnemyWeapons;
 import com.lhamacorp.games.tlob.client.weapons.Sword;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
 import com.lhamacorp.games.tlob.client.world.InputState;
@@ -24,6 +28,8 @@ import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public abstract class BaseGameManager extends JPanel implements Runnable, Player.LevelUpListener {
 
@@ -35,6 +41,24 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     private static final float VOLUME_DB_MIN = -40.0f;
     private static final float VOLUME_DB_MAX = 0.0f;
     private static final int CHECKSUM_EVERY_TICKS = Integer.getInteger("tlob.cs.every", 120);
+    /** Draw on a Canvas with a BufferStrategy from a render thread, instead of repaint(). */
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("tlob.render.active");
+    private static final double SIM_HZ = 60.0;
+    /** Frames per second while playing; 0 = uncapped (render on every loop pass, the old behavior). */
+    private static final int TARGET_FPS = Integer.getInteger("tlob.fps", 60);
+    /** Frames per second on the pause, game over and victory screens. */
+    private static final int IDLE_FPS = Integer.getInteger("tlob.idleFps", 20);
+    /** Sim steps run back to back after a stall before the rest of the backlog is dropped. */
+    private static final int MAX_CATCH_UP = Integer.getInteger("tlob.maxCatchUp", 5);
+    /** Generates upcoming levels (and loads textures) off the game thread; see LevelManager. */
+    private static final ExecutorService LEVEL_PREGEN = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "LevelPregen");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    private static final Font TELEMETRY_FONT = new Font("Monospaced", Font.PLAIN, 11);
+    private static final Color TELEMETRY_TEXT = new Color(200, 255, 200);
 
     protected enum GameState {PLAYING, PAUSED, VICTORY, GAME_OVER}
 
@@ -42,6 +66,17 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
 
     private Thread gameThread;
     private volatile boolean running = false;
+    /** Null when Swing paints the panel (the default). */
+    private final ActiveRenderer activeRenderer;
+    /**
+     * Held by the sim for each tick, by rendering while it copies a frame's state into
+     * {@link #frame} and by UI handlers that change the world, so a frame never sees a
+     * half-updated tick (the render thread or EDT would otherwise race the GameLoop thread
+     * over {@link #enemies}).
+     */
+    protected final Object worldLock = new Object();
+    /** What the frame being drawn shows; only the rendering thread touches it. */
+    protected final FrameSnapshot frame = new FrameSnapshot();
 
     protected final InputState input = new InputState();
     protected int animTick60 = 0;
@@ -64,6 +99,7 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     protected final GameOverRenderer gameOverRenderer = new GameOverRenderer(new Font("Arial", Font.BOLD, 48));
     protected final StatsRenderer statsRenderer = new StatsRenderer();
     protected final InventoryRenderer inventoryRenderer = new InventoryRenderer();
+    protected final AllocTelemetry telemetry = AllocTelemetry.getInstance();
 
     protected long worldSeed = 0L;
     private Random rootRng;
@@ -74,8 +110,12 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     protected BiomeEnemySpawner enemySpawner;
 
     protected Player player;
-    protected final List<Entity> enemies = new ArrayList<>();
+    protected final EnemyStore enemies = new EnemyStore();
+    /** Enemies that left the game, recycled by the spawner on the next wave. */
+    protected final EnemyPools enemyPools = new EnemyPools();
     protected int enemiesAtLevelStart = 0;
+    /** Spatial index over {@link #enemies}; rebuilt on level changes, moved incrementally each tick. */
+    protected final EntityGrid enemyGrid = new EntityGrid();
 
     // Level-up perk selection state
     protected boolean hasLevelUpPerk = false;
@@ -89,17 +129,29 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         setPreferredSize(new Dimension(SCREEN_WIDTH, SCREEN_HEIGHT));
         setBackground(Color.BLACK);
         setDoubleBuffered(true);
-
-        addKeyListener(keyManager);
-        addMouseListener(keyManager);
         setFocusable(true);
 
+        // The heavyweight canvas sits on top of the panel and gets all input
+        Component input = this;
+        if (ACTIVE_RENDERING) {
+            activeRenderer = new ActiveRenderer(SCREEN_WIDTH, SCREEN_HEIGHT, this::renderFrame);
+            setLayout(new BorderLayout());
+            add(activeRenderer.canvas(), BorderLayout.CENTER);
+            input = activeRenderer.canvas();
+        } else {
+            activeRenderer = null;
+        }
+        telemetry.setRenderMode(ACTIVE_RENDERING ? "active" : "repaint");
+
+        input.addKeyListener(keyManager);
+        input.addMouseListener(keyManager);
+
         UIMouseHandler mouseHandler = new UIMouseHandler();
-        addMouseMotionListener(mouseHandler);
-        addMouseListener(mouseHandler);
+        input.addMouseMotionListener(mouseHandler);
+        input.addMouseListener(mouseHandler);
 
-        addMouseListener(new UIMouseClickHandler());
-        addKeyListener(new GlobalKeyHandler());
+        input.addMouseListener(new UIMouseClickHandler());
+        input.addKeyListener(new GlobalKeyHandler());
         
         // Initialize music volume from config
         initializeMusicVolume();
@@ -131,35 +183,75 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         }
     }
 
+    /** Stops the render thread when the panel leaves its window (the window is disposed or the panel replaced). */
+    @Override
+    public void removeNotify() {
+        if (activeRenderer != null) activeRenderer.stop();
+        super.removeNotify();
+    }
+
     public void startGameThread() {
         if (running) return;
         running = true;
+        if (activeRenderer != null) activeRenderer.start();
         gameThread = new Thread(this, "GameLoop");
         gameThread.start();
     }
 
+    @Override
+    public boolean requestFocusInWindow() {
+        return (activeRenderer != null) ? activeRenderer.canvas().requestFocusInWindow() : super.requestFocusInWindow();
+    }
+
     @Override
     public void run() {
-        final double simHz = 60.0;
-        final double stepNs = 1_000_000_000.0 / simHz;
-        long last = System.nanoTime();
-        double acc = 0.0;
+        FramePacer pacer = new FramePacer(SIM_HZ, MAX_CATCH_UP, System.nanoTime());
+        long dropped = 0;
 
         while (running) {
             long now = System.nanoTime();
-            acc += (now - last);
-            last = now;
+            for (int steps = pacer.stepsDue(now); steps > 0; steps--) {
+                long mark = telemetry.mark();
+                synchronized (worldLock) {
+                    update();
+                }
+                telemetry.tickDone(mark, simTick, System.nanoTime());
+            }
+            if (pacer.droppedTicks() != dropped) {
+                System.out.printf("[Loop] Stalled: dropped %d sim ticks%n", pacer.droppedTicks() - dropped);
+                dropped = pacer.droppedTicks();
+            }
 
-            while (acc >= stepNs) {
-                update();
-                acc -= stepNs;
+            // Nothing to draw for while hidden, minimized or in the background; the sim keeps going
+            boolean visible = isRenderTargetVisible();
+            int fps = (state == GameState.PLAYING || TARGET_FPS > 0 && TARGET_FPS < IDLE_FPS) ? TARGET_FPS : IDLE_FPS;
+            if (visible && pacer.frameDue(now, fps)) {
+                if (activeRenderer == null) repaint();
+                else activeRenderer.requestFrame();
+            }
+
+            if (visible && fps <= 0) {
+                Thread.yield();
+            } else {
+                long wake = pacer.nextTickNs();
+                if (visible) wake = Math.min(wake, pacer.nextFrameNs());
+                FramePacer.sleepUntil(wake);
             }
-            repaint();
-            Thread.yield();
         }
     }
 
+    /** False while the window is hidden, minimized or not focused. */
+    private boolean isRenderTargetVisible() {
+        if (!isShowing()) return false;
+        Window w = SwingUtilities.getWindowAncestor(this);
+        if (w == null) return true;
+        if (w instanceof Frame f && (f.getExtendedState() & Frame.ICONIFIED) != 0) return false;
+        return w.isFocused();
+    }
+
     private void update() {
+        telemetry.setOverlay(keyManager.allocOverlay);
+
         if (keyManager.mute != musicMuted) {
             musicMuted = keyManager.mute;
             if (musicMuted) {
@@ -232,8 +324,9 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         this.mapsRoot = new Random(rootRng.nextLong());
         this.spawnsRoot = new Random(rootRng.nextLong());
 
-        levelManager = new LevelManager(80, 60, mapsRoot);
-        enemySpawner = new BiomeEnemySpawner(new Sword(2, 28, 12, 10, 16), new Random(spawnsRoot.nextLong()));
+        LEVEL_PREGEN.execute(TextureManager::preload);
+        levelManager = new LevelManager(80, 60, mapsRoot, LEVEL_PREGEN);
+        enemySpawner = new BiomeEnemySpawner(EnemyWeapons.SWORD, new Random(spawnsRoot.nextLong()), enemyPools);
 
         TileMap map = levelManager.map();
         int[] spawn = map.findSpawnTile();
@@ -312,6 +405,7 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         enemySpawner.reseed(new Random(new Random(worldSeed).nextLong()));
         levelManager.restart(player, enemySpawner, enemies, TILE_SIZE);
         enemiesAtLevelStart = enemies.size();
+        rebuildEnemyGrid();
 
         animTick60 = 0;
         simTick = 0;
@@ -335,6 +429,7 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         levelManager.nextLevel(player, enemySpawner, enemies, TILE_SIZE);
         state = GameState.PLAYING;
         enemiesAtLevelStart = enemies.size();
+        rebuildEnemyGrid();
 
         animTick60 = 0;
         simTick = 0;
@@ -349,6 +444,12 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         AudioManager.playRandomMusic(musicVolumeDb);
     }
 
+    /** Re-indexes {@link #enemies} for the current map; call after the list is repopulated. */
+    protected void rebuildEnemyGrid() {
+        TileMap map = levelManager.map();
+        enemyGrid.rebuild(enemies, map.getWidth() * TILE_SIZE, map.getHeight() * TILE_SIZE);
+    }
+
     protected void applyPerkAndContinue(int index) {
         var applied = perkManager.applyChoice(index, player);
         if (applied != null) {
@@ -401,22 +502,56 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (activeRenderer != null) return;
         Graphics2D g2 = (Graphics2D) g.create();
+        renderFrame(g2);
+        g2.dispose();
+    }
 
+    /**
+     * Draws one whole frame; called on the EDT (paintComponent) or the render thread (active rendering).
+     * Only the snapshot is taken under {@link #worldLock}; the drawing runs without it, so a slow
+     * frame no longer holds up the sim.
+     */
+    private void renderFrame(Graphics2D g2) {
+        long allocMark = telemetry.mark();
+        long startNs = System.nanoTime();
+        synchronized (worldLock) {
+            captureFrame(frame);
+        }
+        drawFrame(g2);
+        telemetry.frameDone(allocMark, startNs);
+    }
+
+    /** Copies what the next frame draws; called under {@link #worldLock}. */
+    protected void captureFrame(FrameSnapshot f) {
+        f.player = player;
+        f.map = (levelManager != null) ? levelManager.map() : null;
+        f.camX = camera.offsetX();
+        f.camY = camera.offsetY();
+        f.animTick = animTick60;
+        f.state = state;
+        f.inventoryOpen = inventoryPageOpen;
+        f.completed = (levelManager != null) ? levelManager.completed() : 0;
+        f.enemiesAtLevelStart = enemiesAtLevelStart;
+        f.enemies.clear();
+        for (int i = 0; i < enemies.size(); i++) f.enemies.add(enemies.get(i));
+        f.saveIndicator = (this instanceof SinglePlayerGameManager sp && sp.isSaveIndicatorVisible())
+            ? sp.getSaveIndicatorAlpha() : -1f;
+    }
+
+    private void drawFrame(Graphics2D g2) {
         g2.setColor(BG_DARK);
         g2.fillRect(0, 0, getWidth(), getHeight());
 
         drawWorld(g2);
 
-        if (player != null) {
-            hudRenderer.draw(g2, player, 8, 8);
-            
-            // Draw save indicator if this is a SinglePlayerGameManager
-            if (this instanceof SinglePlayerGameManager) {
-                SinglePlayerGameManager spManager = (SinglePlayerGameManager) this;
-                if (spManager.isSaveIndicatorVisible()) {
-                    hudRenderer.drawSaveIndicator(g2, getWidth(), getHeight(), spManager.getSaveIndicatorAlpha());
-                }
+        if (frame.player != null) {
+            hudRenderer.draw(g2, frame.player, 8, 8);
+
+            // Save indicator (single player only)
+            if (frame.saveIndicator >= 0f) {
+                hudRenderer.drawSaveIndicator(g2, getWidth(), getHeight(), frame.saveIndicator);
             }
         } else {
             g2.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -427,22 +562,18 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
 
         drawLevelCounters(g2);
         drawOverlays(g2);
-
-        g2.dispose();
     }
 
     protected void drawWorld(Graphics2D g2) {
-        if (levelManager == null || player == null) return;
-        TileMap map = levelManager.map();
-        map.draw(g2, camera.offsetX(), camera.offsetY(), getWidth(), getHeight(), animTick60);
+        if (frame.map == null || frame.player == null) return;
+        frame.map.draw(g2, frame.camX, frame.camY, getWidth(), getHeight(), frame.animTick);
 
-        drawRemotePlayers(g2, camera.offsetX(), camera.offsetY());
-        drawRemoteEnemies(g2, camera.offsetX(), camera.offsetY());
+        drawRemotePlayers(g2, frame.camX, frame.camY);
+        drawRemoteEnemies(g2, frame.camX, frame.camY);
 
-        // Create a defensive copy to avoid ConcurrentModificationException
-        List<Entity> enemiesCopy = new ArrayList<>(enemies);
-        for (Entity e : enemiesCopy) e.draw(g2, camera.offsetX(), camera.offsetY());
-        player.draw(g2, camera.offsetX(), camera.offsetY(), enemiesCopy);
+        // The snapshot's list, so the sim can add and remove enemies while we walk it
+        for (int i = 0; i < frame.enemies.size(); i++) frame.enemies.get(i).draw(g2, frame.camX, frame.camY);
+        frame.player.draw(g2, frame.camX, frame.camY, frame.enemies);
     }
 
     /** SP no-op; MP overrides. */
@@ -455,13 +586,14 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
 
     private void drawOverlays(Graphics2D g2) {
         drawSeedOverlay(g2);
+        if (telemetry.isOverlay()) drawTelemetryOverlay(g2);
 
         // Draw inventory page if open
-        if (inventoryPageOpen && player != null) {
-            inventoryRenderer.draw(g2, player);
+        if (frame.inventoryOpen && frame.player != null) {
+            inventoryRenderer.draw(g2, frame.player);
         }
 
-        switch (state) {
+        switch (frame.state) {
             case PAUSED -> {
                 GameConfig config = GameConfig.getInstance();
                 pauseMenuRenderer.draw(g2, config.getMusicVolumeDb(), config.isShowEnemyBehaviorIndicators());
@@ -474,12 +606,12 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     }
 
     protected void drawLevelCounters(Graphics2D g2) {
-        if (levelManager == null) return;
+        if (frame.map == null) return;
 
         final int pad = 10;
-        int completed = levelManager.completed();
-        int left = enemies.size();
-        int total = Math.max(enemiesAtLevelStart, left);
+        int completed = frame.completed;
+        int left = frame.enemies.size();
+        int total = Math.max(frame.enemiesAtLevelStart, left);
 
         String line1 = "Maps: " + completed;
         String line2 = "Enemies: " + left + "/" + total;
@@ -556,6 +688,40 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         g2.setColor(oldCol);
     }
 
+    /** F4: allocation and GC telemetry, bottom-left. */
+    private void drawTelemetryOverlay(Graphics2D g2) {
+        String[] lines = telemetry.overlayLines();
+
+        Font oldF = g2.getFont();
+        Composite oldC = g2.getComposite();
+        Color oldCol = g2.getColor();
+
+        g2.setFont(TELEMETRY_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        int w = 0;
+        for (String line : lines) w = Math.max(w, fm.stringWidth(line));
+        w += 12;
+        int h = fm.getHeight() * lines.length + 8;
+        int x = 10;
+        int y = getHeight() - h - 10;
+
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
+        g2.setColor(Color.BLACK);
+        g2.fillRoundRect(x, y, w, h, 10, 10);
+
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.9f));
+        g2.setColor(TELEMETRY_TEXT);
+        int ty = y + fm.getAscent() + 4;
+        for (String line : lines) {
+            g2.drawString(line, x + 6, ty);
+            ty += fm.getHeight();
+        }
+
+        g2.setFont(oldF);
+        g2.setComposite(oldC);
+        g2.setColor(oldCol);
+    }
+
     private void logChecksumIfDue() {
         if (CHECKSUM_EVERY_TICKS <= 0) return;
         if ((simTick % CHECKSUM_EVERY_TICKS) != 0) return;
@@ -588,6 +754,26 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
         return h;
     }
 
+    /**
+     * A frame's view of the world, refilled by {@link #captureFrame} each frame (no allocation once
+     * the list has grown). Entities are shared with the sim, not copied: one may move or take a hit
+     * while the frame draws it, so a frame can mix two adjacent ticks. That is only ever visual, and
+     * the list itself is the frame's own, so the sim can add and remove enemies meanwhile.
+     */
+    protected static final class FrameSnapshot {
+        protected Player player;
+        protected TileMap map;
+        protected int camX, camY;
+        protected int animTick;
+        protected GameState state = GameState.PLAYING;
+        protected boolean inventoryOpen;
+        protected int completed;
+        protected int enemiesAtLevelStart;
+        protected final List<Entity> enemies = new ArrayList<>();
+        /** Save indicator alpha, or negative when it isn't showing. */
+        protected float saveIndicator = -1f;
+    }
+
     private class GlobalKeyHandler extends KeyAdapter {
         @Override
         public void keyPressed(KeyEvent e) {
@@ -640,6 +826,12 @@ public abstract class BaseGameManager extends JPanel implements Runnable, Player
     private class UIMouseClickHandler extends MouseAdapter {
         @Override
         public void mouseClicked(MouseEvent e) {
+            synchronized (worldLock) {
+                onClick(e);
+            }
+        }
+
+        private void onClick(MouseEvent e) {
             switch (state) {
                 case GAME_OVER -> {
                     if (gameOverRenderer.hitTryAgain(e.getPoint())) {
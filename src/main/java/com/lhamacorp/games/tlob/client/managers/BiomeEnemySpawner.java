@@ -1,10 +1,8 @@
 package com.lhamacorp.games.tlob.client.managers;
 
-import com.lhamacorp.games.tlob.client.entities.Archer;
+import com.lhamacorp.games.tlob.client.entities.EnemyPools;
 import com.lhamacorp.games.tlob.client.entities.Entity;
-import com.lhamacorp.games.tlob.client.entities.Golen;
 import com.lhamacorp.games.tlob.client.entities.Player;
-import com.lhamacorp.games.tlob.client.entities.Soldier;
 import com.lhamacorp.games.tlob.client.maps.Biome;
 import com.lhamacorp.games.tlob.client.maps.TileMap;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
@@ -73,8 +71,12 @@ public class BiomeEnemySpawner extends SpawnManager {
         super(enemyWeapon, rng);
     }
     
+    public BiomeEnemySpawner(Weapon enemyWeapon, Random rng, EnemyPools pools) {
+        super(enemyWeapon, rng, pools);
+    }
+    
     @Override
-    public void spawn(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize) {
+    public Wave begin(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize) {
         Biome biome = map.getBiome();
         
         // Calculate base enemy count (same as SpawnManager)
@@ -85,43 +87,53 @@ public class BiomeEnemySpawner extends SpawnManager {
         // Apply biome-specific adjustments
         totalCount = applyBiomeAdjustments(totalCount, biome);
         
-        out.clear();
+        pools.releaseAll(out);
+        return new BiomeWave(map, player, out, completedMaps, tileSize, biome, totalCount);
+    }
+    
+    /**
+     * Golen first (if any), then the biome's mix of Soldiers and Archers.
+     */
+    private final class BiomeWave extends Wave {
+        private final Biome biome;
+        private final int golenCount;
+        private final int regularEnemyCount;
+        private int golens, regulars;
         
-        // Determine Golen spawning logic
-        int golenCount = calculateGolenSpawnCount(totalCount);
-        // Each Golen replaces 10 regular enemies
-        int regularEnemyCount = totalCount - (golenCount * getGolenReplacementRatio());
+        BiomeWave(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize, Biome biome, int totalCount) {
+            super(map, player, out, completedMaps, tileSize);
+            this.biome = biome;
+            // Determine Golen spawning logic
+            this.golenCount = calculateGolenSpawnCount(totalCount);
+            // Each Golen replaces 10 regular enemies
+            this.regularEnemyCount = totalCount - (golenCount * getGolenReplacementRatio());
+        }
         
-        // Spawn Golen enemies first (if any)
-        for (int i = 0; i < golenCount; i++) {
-            int[] pos = map.randomFloorTileFarFrom(player.getX(), player.getY(), 12 * tileSize);
-            if (pos == null) pos = map.getRandomFloorTile();
-            if (pos != null && !map.isWall(pos[0], pos[1])) {
-                double x = pos[0] * tileSize + tileSize / 2.0;
-                double y = pos[1] * tileSize + tileSize / 2.0;
-                
-                Entity golen = new Golen(x, y, getEnemyWeapon());
-                // Golen get 5 perks by default to make them elite enemies
-                applyGolenPerks(golen, completedMaps);
-                out.add(golen);
-            }
+        @Override
+        public boolean done() {
+            return golens >= golenCount && regulars >= regularEnemyCount;
         }
         
-        // Spawn regular enemies (Soldiers and Archers)
-        for (int i = 0; i < regularEnemyCount; i++) {
-            int[] pos = map.randomFloorTileFarFrom(player.getX(), player.getY(), 12 * tileSize);
-            if (pos == null) pos = map.getRandomFloorTile();
-            if (pos != null && !map.isWall(pos[0], pos[1])) {
-                double x = pos[0] * tileSize + tileSize / 2.0;
-                double y = pos[1] * tileSize + tileSize / 2.0;
-                
-                Entity enemy = spawnBiomeEnemy(biome, x, y);
-                
-                // Apply perks based on map completion
-                applyEnemyPerks(enemy, completedMaps);
-                
-                out.add(enemy);
+        @Override
+        protected Entity next() {
+            // Spawn Golen enemies first (if any)
+            if (golens < golenCount) {
+                golens++;
+                if (!findPosition()) return null;
+                Entity golen = pools.golen(x, y, enemyWeapon());
+                // Golen get 5 perks by default to make them elite enemies
+                applyGolenPerks(golen, completedMaps);
+                return golen;
             }
+            
+            // Spawn regular enemies (Soldiers and Archers)
+            regulars++;
+            if (!findPosition()) return null;
+            Entity enemy = spawnBiomeEnemy(biome, x, y);
+            
+            // Apply perks based on map completion
+            applyEnemyPerks(enemy, completedMaps);
+            return enemy;
         }
     }
     
@@ -147,9 +159,9 @@ public class BiomeEnemySpawner extends SpawnManager {
         double soldierProb = soldierWeight / totalWeight;
         
         if (rand < soldierProb) {
-            return new Soldier(x, y, getEnemyWeapon());
+            return pools.soldier(x, y, enemyWeapon());
         } else {
-            return new Archer(x, y, getEnemyWeapon());
+            return pools.archer(x, y, enemyWeapon());
         }
     }
     
@@ -162,15 +174,6 @@ public class BiomeEnemySpawner extends SpawnManager {
     
 
     
-    /**
-     * Gets the enemy weapon for spawning.
-     */
-    private Weapon getEnemyWeapon() {
-        // This is a workaround since we can't access the private field
-        // In a real implementation, we'd need to make this field protected in SpawnManager
-        return new com.lhamacorp.games.tlob.client.weapons.Sword(2, 28, 12, 10, 16);
-    }
-    
     // ===== Configuration methods for easy tweaking =====
     
     /**
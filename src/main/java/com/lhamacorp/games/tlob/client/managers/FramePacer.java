@@ -0,0 +1,78 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clocks for the client loop: a fixed-step sim clock and a paced frame clock, both on
+ * System.nanoTime. The loop asks what is due, does it, then sleeps until the next deadline.
+ * - Sim steps are never skipped in normal running, but after a stall (GC pause, debugger,
+ *   suspended laptop) at most {@code maxCatchUp} steps run back to back; the rest of the
+ *   backlog is dropped, so a slow tick can't snowball into ever more ticks.
+ * - Frames are paced to a target rate. After a stall the frame clock restarts from now
+ *   instead of bursting the missed frames.
+ * Times are passed in so the logic can be tested without sleeping.
+ */
+final class FramePacer {
+
+    /** Below this much time left, sleepUntil() yields instead of parking (parks overshoot). */
+    private static final long SPIN_NS = 1_000_000L;
+
+    private final long stepNs;
+    private final int maxCatchUp;
+    private long nextTickNs;
+    private long nextFrameNs;
+    private long droppedTicks;
+
+    FramePacer(double simHz, int maxCatchUp, long nowNs) {
+        this.stepNs = Math.round(1_000_000_000.0 / simHz);
+        this.maxCatchUp = Math.max(1, maxCatchUp);
+        this.nextTickNs = nowNs;
+        this.nextFrameNs = nowNs;
+    }
+
+    /** Sim steps to run now (0 when the next one isn't due yet). */
+    int stepsDue(long nowNs) {
+        if (nowNs < nextTickNs) return 0;
+        long due = (nowNs - nextTickNs) / stepNs + 1;
+        if (due > maxCatchUp) {
+            droppedTicks += due - maxCatchUp;
+            nextTickNs = nowNs + stepNs;
+            return maxCatchUp;
+        }
+        nextTickNs += due * stepNs;
+        return (int) due;
+    }
+
+    /** True when a frame at {@code fps} is due now, and moves the frame clock on; fps <= 0 means every call. */
+    boolean frameDue(long nowNs, int fps) {
+        if (fps <= 0) return true;
+        if (nowNs < nextFrameNs) return false;
+        long frameNs = 1_000_000_000L / fps;
+        nextFrameNs += frameNs;
+        if (nextFrameNs <= nowNs) nextFrameNs = nowNs + frameNs;
+        return true;
+    }
+
+    long nextTickNs() {
+        return nextTickNs;
+    }
+
+    long nextFrameNs() {
+        return nextFrameNs;
+    }
+
+    /** Sim steps dropped after stalls so far. */
+    long droppedTicks() {
+        return droppedTicks;
+    }
+
+    /** Sleeps until {@code deadlineNs}: parks for the bulk of the wait, yields for the last millisecond. */
+    static void sleepUntil(long deadlineNs) {
+        while (true) {
+            long left = deadlineNs - System.nanoTime();
+            if (left <= 0) return;
+            if (left > 2 * SPIN_NS) LockSupport.parkNanos(left - SPIN_NS);
+            else Thread.yield();
+        }
+    }
+}
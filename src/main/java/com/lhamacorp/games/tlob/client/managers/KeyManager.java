@@ -26,6 +26,8 @@ public class KeyManager implements KeyListener, MouseListener {
     private static final int KEY_I = KeyEvent.VK_I;
     private static final int KEY_1 = KeyEvent.VK_1;
     private static final int KEY_2 = KeyEvent.VK_2;
+    private static final int KEY_F3 = KeyEvent.VK_F3;
+    private static final int KEY_F4 = KeyEvent.VK_F4;
 
     public volatile boolean up;
     public volatile boolean down;
@@ -38,6 +40,8 @@ public class KeyManager implements KeyListener, MouseListener {
     public volatile boolean shift;
     public volatile boolean dash;
     public volatile boolean mute = false;
+    public volatile boolean netOverlay = false;
+    public volatile boolean allocOverlay = false;
     public volatile boolean i;
     public volatile boolean weaponSwitch1;
     public volatile boolean weaponSwitch2;
@@ -50,6 +54,8 @@ public class KeyManager implements KeyListener, MouseListener {
     private volatile boolean escapePressedOnce;
     private volatile boolean enterPressedOnce;
     private volatile boolean mDown;
+    private volatile boolean f3Down;
+    private volatile boolean f4Down;
 
     private void updateAttack() {
         attack = attackKey || attackMouse;
@@ -120,6 +126,18 @@ public class KeyManager implements KeyListener, MouseListener {
             case KEY_2:
                 weaponSwitch2 = true;
                 break;
+            case KEY_F3:
+                if (!f3Down) {
+                    netOverlay = !netOverlay;
+                    f3Down = true;
+                }
+                break;
+            case KEY_F4:
+                if (!f4Down) {
+                    allocOverlay = !allocOverlay;
+                    f4Down = true;
+                }
+                break;
             default:
         }
     }
@@ -176,6 +194,12 @@ public class KeyManager implements KeyListener, MouseListener {
             case KEY_2:
                 weaponSwitch2 = false;
                 break;
+            case KEY_F3:
+                f3Down = false;
+                break;
+            case KEY_F4:
+                f4Down = false;
+                break;
             default:
         }
     }
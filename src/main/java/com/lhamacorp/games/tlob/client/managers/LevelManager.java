@@ -8,15 +8,33 @@ import com.lhamacorp.games.tlob.client.maps.TileMap;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * Level progression and map building. Given a {@code background} executor, the next level's map
+ * is generated there while the current one is played, and swapped in when the level changes:
+ * - Its seeds are drawn from {@code mapsRoot} right after the current map's, in the same order
+ *   a synchronous build draws them, so the map is identical either way.
+ * - It is generated for the biome of the next level. A restart (back to meadows) or any other
+ *   biome rebuilds it on the calling thread from the same seeds; a level change before it is
+ *   done waits for it.
+ * Spawning stays on the calling thread: it draws from the spawner's RNG, whose state is only
+ * known at the level change. Callers that spawn on their own use the overloads without a spawner.
+ */
 public final class LevelManager {
 
     private final int width, height;
     private final Random mapsRoot;
+    private final Executor background;
 
     private TileMap current;
     private int completed;
     private Biome currentBiome;
+    /** The next map, being generated in the background; null without a background executor. */
+    private NextMap next;
 
     // Back-compat ctor (non-deterministic)
     public LevelManager(int width, int height) {
@@ -24,20 +42,36 @@ public final class LevelManager {
     }
 
     public LevelManager(int width, int height, Random mapsRoot) {
+        this(width, height, mapsRoot, null);
+    }
+
+    /** Builds maps from {@code mapsRoot}, generating the next one on {@code background} (null = on demand). */
+    public LevelManager(int width, int height, Random mapsRoot, Executor background) {
         this.width = width;
         this.height = height;
         this.mapsRoot = (mapsRoot != null) ? mapsRoot : new Random();
+        this.background = background;
         this.currentBiome = Biome.MEADOWS;
         this.current = buildNewMap();
         this.completed = 0;
     }
 
     private TileMap buildNewMap() {
+        NextMap n = next;
+        next = null;
         // derive independent substreams so generator and map helpers don't interfere
-        Random genRng = new Random(mapsRoot.nextLong());
-        Random tileRng = new Random(mapsRoot.nextLong());
-        int[][] tiles = new MapGenerator(width, height, currentBiome, genRng).generate();
-        return new TileMap(tiles, currentBiome, tileRng);
+        if (n == null) n = new NextMap(mapsRoot.nextLong(), mapsRoot.nextLong(), currentBiome);
+        TileMap map = n.take(currentBiome);
+        if (background != null) {
+            next = new NextMap(mapsRoot.nextLong(), mapsRoot.nextLong(), getBiomeForLevel(completed + 1));
+            next.start(background);
+        }
+        return map;
+    }
+
+    private TileMap generate(long genSeed, long tileSeed, Biome biome) {
+        int[][] tiles = new MapGenerator(width, height, biome, new Random(genSeed)).generate();
+        return new TileMap(tiles, biome, new Random(tileSeed));
     }
 
     public TileMap map() {
@@ -63,22 +97,32 @@ public final class LevelManager {
     }
 
     public void restart(Player player, SpawnManager spawner, List<Entity> enemies, int tileSize) {
+        restart(player, tileSize);
+        spawner.spawn(current, player, enemies, completed, tileSize);
+    }
+
+    /** Same restart without spawning: the caller spawns the level's wave (e.g. through a SpawnScheduler). */
+    public void restart(Player player, int tileSize) {
         this.completed = 0;
         this.currentBiome = Biome.MEADOWS;
         this.current = buildNewMap();
         placePlayer(player, tileSize);
         player.heal();
-        spawner.spawn(current, player, enemies, completed, tileSize);
     }
 
     public void nextLevel(Player player, SpawnManager spawner,
                          List<Entity> enemies, int tileSize) {
+        nextLevel(player, tileSize);
+        spawner.spawn(current, player, enemies, completed, tileSize);
+    }
+
+    /** Same level change without spawning: the caller spawns the level's wave (e.g. through a SpawnScheduler). */
+    public void nextLevel(Player player, int tileSize) {
         this.completed++;
         this.currentBiome = getBiomeForLevel(completed);
         this.current = buildNewMap();
         placePlayer(player, tileSize);
         player.restoreAll();
-        spawner.spawn(current, player, enemies, completed, tileSize);
     }
 
     private void placePlayer(Player player, int tileSize) {
@@ -86,4 +130,36 @@ public final class LevelManager {
         player.setPosition(spawn[0] * tileSize + tileSize / 2.0,
             spawn[1] * tileSize + tileSize / 2.0);
     }
+
+    /** One map's seeds, and its generation for the biome guessed when it was started. */
+    private final class NextMap {
+        final long genSeed, tileSeed;
+        final Biome biome;
+        CompletableFuture<TileMap> map;
+
+        NextMap(long genSeed, long tileSeed, Biome biome) {
+            this.genSeed = genSeed;
+            this.tileSeed = tileSeed;
+            this.biome = biome;
+        }
+
+        void start(Executor executor) {
+            try {
+                map = CompletableFuture.supplyAsync(() -> generate(genSeed, tileSeed, biome), executor);
+            } catch (RejectedExecutionException e) {
+                map = null; // built on demand instead
+            }
+        }
+
+        /** The map for {@code wanted}: the pre-generated one if it was for that biome, else built now. */
+        TileMap take(Biome wanted) {
+            if (map == null || wanted != biome) return generate(genSeed, tileSeed, wanted);
+            try {
+                return map.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@
 package com.lhamacorp.games.tlob.client.managers;
 
 import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.core.net.NetStats;
 import com.lhamacorp.games.tlob.core.net.Protocol;
 import com.lhamacorp.games.tlob.core.net.Protocol.EnemySnap;
 import com.lhamacorp.games.tlob.core.net.Protocol.PlayerSnap;
@@ -48,6 +49,8 @@ public class MultiplayerGameManager extends BaseGameManager {
 
     // simple local animation clock for remote sprites
     private static final int TICK_MS = 1000 / 60;
+    // latency probe cadence (client ticks)
+    private static final int PING_EVERY_TICKS = 30;
 
     public MultiplayerGameManager(String host, int port, String heroName) {
         super();
@@ -87,8 +90,9 @@ public class MultiplayerGameManager extends BaseGameManager {
         sock.setSoTimeout(8000);
         sock.setTcpNoDelay(true);
 
-        var out = new BufferedWriter(new OutputStreamWriter(sock.getOutputStream(), StandardCharsets.UTF_8));
-        var in = new BufferedReader(new InputStreamReader(sock.getInputStream(), StandardCharsets.UTF_8));
+        NetStats stats = new NetStats();
+        var out = new BufferedWriter(new OutputStreamWriter(stats.countOut(sock.getOutputStream()), StandardCharsets.UTF_8));
+        var in = new BufferedReader(new InputStreamReader(stats.countIn(sock.getInputStream()), StandardCharsets.UTF_8));
 
         long seed = 0L;
         int tick = 60;
@@ -128,6 +132,7 @@ public class MultiplayerGameManager extends BaseGameManager {
         nc.sock = sock;
         nc.in = in;
         nc.out = out;
+        nc.stats = stats;
         nc.seed = seed;
         nc.tickrate = tick;
         nc.myId = myId;
@@ -150,11 +155,21 @@ public class MultiplayerGameManager extends BaseGameManager {
             String line;
             while (nc.running && (line = nc.in.readLine()) != null) {
                 line = line.trim();
+                long arrivedNs = System.nanoTime();
+                if (line.startsWith("PING")) {
+                    netSend(nc, Protocol.pong(Protocol.parseProbeTime(line)));
+                    continue;
+                }
+                if (line.startsWith("PONG")) {
+                    nc.stats.onPong(Protocol.parseProbeTime(line), arrivedNs);
+                    continue;
+                }
                 if (!line.startsWith("SNAPSHOT")) continue;
 
                 // Let Protocol read the rest of the block (until END) from nc.in:
                 Snapshot snap = Protocol.readSnapshot(nc.in, line);
                 if (snap == null) continue;
+                nc.stats.onSnapshot(snap.tick, arrivedNs);
 
                 // --- my authoritative state ---
                 if (snap.players.containsKey(nc.myId) && player != null) {
@@ -251,7 +266,8 @@ public class MultiplayerGameManager extends BaseGameManager {
                         return prev;
                     });
                 }
-                remoteEnemies.keySet().removeIf(id -> !seenE.contains(id));
+                // delta frames omit unchanged (sleeping) enemies, so only full frames prune
+                if (!snap.enemiesDelta) remoteEnemies.keySet().removeIf(id -> !seenE.contains(id));
 
                 // --- Enemy counter & map completion tracking (client-side, MP only) ---
                 int left = remoteEnemies.size();
@@ -286,8 +302,13 @@ public class MultiplayerGameManager extends BaseGameManager {
 
     @Override
     protected void updatePlaying(Point aimWorld) {
-        // 1) send input each tick
+        // 1) send input each tick (+ a latency probe every PING_EVERY_TICKS)
         sendInputToServer(aimWorld);
+        if (net != null && net.running && (simTick % PING_EVERY_TICKS) == 0) {
+            long now = System.nanoTime();
+            net.stats.roll(now);
+            netSend(net, Protocol.ping(now));
+        }
 
         // 2) smooth my local player toward last server target, but NEVER through walls
         if (player != null && !Double.isNaN(meTargetX)) {
@@ -325,7 +346,16 @@ public class MultiplayerGameManager extends BaseGameManager {
 
     @Override
     protected String[] topRightExtraLines() {
-        return new String[]{"Net: " + serverTickrate + " Hz"};
+        String head = "Net: " + serverTickrate + " Hz";
+        NetConn nc = net;
+        if (!keyManager.netOverlay || nc == null) return new String[]{head};
+
+        // F3: link stats overlay
+        String[] stats = nc.stats.overlayLines();
+        String[] lines = new String[1 + stats.length];
+        lines[0] = head;
+        System.arraycopy(stats, 0, lines, 1, stats.length);
+        return lines;
     }
 
     @Override
@@ -396,14 +426,14 @@ public class MultiplayerGameManager extends BaseGameManager {
 
     @Override
     protected void drawWorld(Graphics2D g2) {
-        if (serverMap == null || player == null) {
+        if (serverMap == null || frame.player == null) {
             super.drawWorld(g2);
             return;
         }
 
         final int ts = TILE_SIZE;
-        final int camX = camera.offsetX();
-        final int camY = camera.offsetY();
+        final int camX = frame.camX;
+        final int camY = frame.camY;
 
         int w = serverMap.w, h = serverMap.h;
         int startX = Math.max(0, camX / ts);
@@ -432,7 +462,7 @@ public class MultiplayerGameManager extends BaseGameManager {
         // Remote entities then local player
         drawRemotePlayers(g2, camX, camY);
         drawRemoteEnemies(g2, camX, camY);
-                    player.draw(g2, camX, camY, enemies);
+        frame.player.draw(g2, camX, camY, frame.enemies);
     }
 
 
@@ -462,13 +492,7 @@ public class MultiplayerGameManager extends BaseGameManager {
             " attack=" + (atk ? 1 : 0) +
             " facing=" + facing;
 
-        try {
-            net.out.write(msg);
-            net.out.write("\n");
-            net.out.flush();
-        } catch (IOException e) {
-            net.running = false;
-        }
+        netSend(net, msg);
 
         if (player != null) player.setFacingOctant(facing);
         if (atk && !prevAttack && player != null) {
@@ -482,11 +506,15 @@ public class MultiplayerGameManager extends BaseGameManager {
 
     /** Client-side AABB vs tile grid for my player. Prefer serverMap if present. */
     private boolean collidesPlayerBox(double cx, double cy) {
+        return collidesPlayerBox(cx, cy, this.serverMap, (levelManager != null) ? levelManager.map() : null);
+    }
+
+    /** Player box vs the authoritative grid {@code sm} if present, else the local map {@code m} (null: no collision). */
+    static boolean collidesPlayerBox(double cx, double cy, Protocol.MapData sm, TileMap m) {
         final int half = 11;
         final int ts = TILE_SIZE;
 
         // If we have the authoritative grid, use it (treat out-of-bounds as solid)
-        Protocol.MapData sm = this.serverMap;
         if (sm != null && sm.walls != null) {
             int left = (int) Math.floor((cx - half) / ts);
             int right = (int) Math.floor((cx + half - 1) / ts);
@@ -503,8 +531,6 @@ public class MultiplayerGameManager extends BaseGameManager {
         }
 
         // Fallback to local map (SP path) if server map not yet received
-        if (levelManager == null) return false;
-        TileMap m = levelManager.map();
         if (m == null) return false;
 
         int left = (int) Math.floor((cx - half) / ts);
@@ -691,6 +717,19 @@ public class MultiplayerGameManager extends BaseGameManager {
         }
     }
 
+    /** Writes one line; the game loop (INPUT/PING) and the reader thread (PONG) share the socket. */
+    private static void netSend(NetConn nc, String s) {
+        synchronized (nc.out) {
+            try {
+                nc.out.write(s);
+                nc.out.write("\n");
+                nc.out.flush();
+            } catch (IOException e) {
+                nc.running = false;
+            }
+        }
+    }
+
     private static void sendLine(Writer out, String s) throws IOException {
         out.write(s);
         out.write("\n");
@@ -715,6 +754,7 @@ public class MultiplayerGameManager extends BaseGameManager {
         BufferedWriter out;
         Thread reader;
         volatile boolean running = true;
+        NetStats stats;
         long seed;
         int tickrate = 60;
         int myId = -1;
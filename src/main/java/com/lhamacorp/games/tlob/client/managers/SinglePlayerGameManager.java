@@ -5,10 +5,14 @@ import com.lhamacorp.games.tlob.client.save.SaveState;
 import com.lhamacorp.games.tlob.client.save.ActivePerks;
 import com.lhamacorp.games.tlob.client.save.AppliedPerk;
 import com.lhamacorp.games.tlob.client.perks.Perk;
+import com.lhamacorp.games.tlob.client.entities.EnemyPhase;
 import com.lhamacorp.games.tlob.client.entities.Entity;
+import com.lhamacorp.games.tlob.client.entities.UpdateContext;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
 
 import java.awt.*;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class SinglePlayerGameManager extends BaseGameManager {
 
@@ -16,6 +20,18 @@ public class SinglePlayerGameManager extends BaseGameManager {
     private final ActivePerks activePerks;
     private int saveIndicatorTicks = 0;
     private static final int SAVE_INDICATOR_DURATION = 120; // 2 seconds at 60 FPS
+    /** Refilled every tick and shared by all entity updates. */
+    private final UpdateContext tickContext = new UpdateContext();
+    /** Enemy count from which the enemy phase runs on the common ForkJoin pool; 0 = always serial. */
+    private static final int PARALLEL_ENEMIES = Integer.getInteger("tlob.sim.parallelMin", 128);
+    private final EnemyPhase enemyPhase = ((PARALLEL_ENEMIES > 0 && ForkJoinPool.getCommonPoolParallelism() > 1)
+        ? new EnemyPhase(PARALLEL_ENEMIES, ForkJoinPool.commonPool())
+        : new EnemyPhase()).recycleInto(enemyPools);
+    /** Time per tick spent placing a new level's enemies (microseconds); 0 = the whole wave at once. */
+    private static final int SPAWN_BUDGET_US = Integer.getInteger("tlob.spawn.budgetUs", 2000);
+    /** Staged entry: enemies that may arrive per tick; 0 = as many as the budget allows. */
+    private static final int SPAWN_PER_TICK = Integer.getInteger("tlob.spawn.perTick", 0);
+    private final SpawnScheduler spawnScheduler = new SpawnScheduler(SPAWN_BUDGET_US * 1000L, SPAWN_PER_TICK, this::enemyEntered);
 
     public SinglePlayerGameManager() {
         this(readSeed());
@@ -27,11 +43,7 @@ public class SinglePlayerGameManager extends BaseGameManager {
         this.activePerks = new ActivePerks();
         initWorld(seed); // builds map & player
         // now populate SP enemies
-        enemySpawner.spawn(levelManager.map(), player, enemies, levelManager.completed(), TILE_SIZE);
-        enemiesAtLevelStart = enemies.size();
-        
-        // Set up death notifications for initial enemies
-        setupDeathNotifications();
+        spawnEnemiesWithDeathNotifications();
     }
 
     /**
@@ -50,9 +62,9 @@ public class SinglePlayerGameManager extends BaseGameManager {
         // Restore player XP and level from save
         player.setXPAndLevel(saveState.getPlayerXP(), saveState.getPlayerLevel());
         
-        // Set the completed maps count from save
+        // Set the completed maps count from save (the current level's wave is spawned below)
         for (int i = 0; i < saveState.getCompletedMaps(); i++) {
-            levelManager.nextLevel(player, enemySpawner, enemies, TILE_SIZE);
+            levelManager.nextLevel(player, TILE_SIZE);
         }
         
         // Restore active perks from save and apply them to the player
@@ -64,12 +76,8 @@ public class SinglePlayerGameManager extends BaseGameManager {
             applyActivePerksToPlayer();
         }
         
-        // Spawn enemies for the current level
-        enemySpawner.spawn(levelManager.map(), player, enemies, levelManager.completed(), TILE_SIZE);
-        enemiesAtLevelStart = enemies.size();
-        
-        // Set up death notifications for XP gain
-        setupDeathNotifications();
+        // Spawn enemies for the current level, with death notifications for XP gain
+        spawnEnemiesWithDeathNotifications();
     }
 
     /**
@@ -95,14 +103,17 @@ public class SinglePlayerGameManager extends BaseGameManager {
     @Override
     protected void updatePlaying(Point aimWorld) {
         if (!player.isAlive()) { enterGameOver(); return; }
-        if (enemies.isEmpty()) { enterVictory(); return; }
+        spawnScheduler.tick();
+        if (enemies.isEmpty() && !spawnScheduler.pending()) { enterVictory(); return; }
 
-        player.update(input, levelManager.map(), enemies, aimWorld);
-        for (int i = enemies.size() - 1; i >= 0; i--) {
-            var e = enemies.get(i);
-            e.update(player, levelManager.map(), enemies);
-            if (!e.isAlive()) enemies.remove(i);
-        }
+        // the list was repopulated somewhere that didn't re-index it
+        if (enemyGrid.size() != enemies.size()) rebuildEnemyGrid();
+
+        TileMap map = levelManager.map();
+        tickContext.begin(simTick, player, map, enemies, enemyGrid).input(input, aimWorld);
+        player.update(tickContext);
+        tickContext.perceive();
+        enemyPhase.run(tickContext);
         
         // Update save indicator
         if (saveIndicatorTicks > 0) {
@@ -306,12 +317,15 @@ public class SinglePlayerGameManager extends BaseGameManager {
             // We need to advance to the correct level based on completed maps
             int targetCompletedMaps = saveState.getCompletedMaps();
             
-            // Start from level 0 and advance to the target
-            levelManager.restart(player, enemySpawner, enemies, TILE_SIZE);
+            // Start from level 0 and advance to the target, then spawn the target level's wave
+            // from a reseeded spawner, as a restart does
+            spawnScheduler.cancel();
+            enemySpawner.reseed(new Random(new Random(worldSeed).nextLong()));
+            levelManager.restart(player, TILE_SIZE);
             
             // Advance through all completed maps to reach the target level
             for (int i = 0; i < targetCompletedMaps; i++) {
-                levelManager.nextLevel(player, enemySpawner, enemies, TILE_SIZE);
+                levelManager.nextLevel(player, TILE_SIZE);
             }
             
             // Restore player XP and level from save
@@ -319,7 +333,7 @@ public class SinglePlayerGameManager extends BaseGameManager {
             
             // Reset game state
             state = GameState.PLAYING;
-            enemiesAtLevelStart = enemies.size();
+            spawnEnemiesWithDeathNotifications();
             animTick60 = 0;
             simTick = 0;
             
@@ -335,29 +349,31 @@ public class SinglePlayerGameManager extends BaseGameManager {
     }
 
     /**
-     * Sets up death notifications for all enemies so the player can gain XP when they die.
+     * Sets up the death notification of an enemy that just entered, so the player can gain XP
+     * when it dies, and adds it to the grid and the level's enemy count.
      */
-    private void setupDeathNotifications() {
-        for (Entity enemy : enemies) {
-            enemy.setDeathListener(player::onEnemyKilled);
-        }
+    private void enemyEntered(Entity enemy) {
+        enemy.setDeathListener(player::onEnemyKilled);
+        enemyGrid.insert(enemy);
+        enemiesAtLevelStart++;
     }
 
     /**
-     * Spawns new enemies and sets up death notifications for XP gain.
+     * Spawns new enemies, with death notifications for XP gain. Large waves enter over the
+     * next ticks within the spawn budget (see SpawnScheduler).
      */
     private void spawnEnemiesWithDeathNotifications() {
-        enemySpawner.spawn(levelManager.map(), player, enemies, levelManager.completed(), TILE_SIZE);
-        enemiesAtLevelStart = enemies.size();
-        
-        // Set up death notifications for new enemies
-        setupDeathNotifications();
+        SpawnManager.Wave wave = enemySpawner.begin(levelManager.map(), player, enemies, levelManager.completed(), TILE_SIZE);
+        enemiesAtLevelStart = 0;
+        rebuildEnemyGrid();
+        spawnScheduler.start(wave);
     }
 
     @Override
     protected void startNextLevel() {
+        spawnScheduler.cancel();
         enemySpawner.reseed(new Random(new Random(worldSeed).nextLong()));
-        levelManager.nextLevel(player, enemySpawner, enemies, TILE_SIZE);
+        levelManager.nextLevel(player, TILE_SIZE);
         state = GameState.PLAYING;
         
         // Spawn enemies and set up death notifications
@@ -379,8 +395,9 @@ public class SinglePlayerGameManager extends BaseGameManager {
     @Override
     protected void restartGame() {
         state = GameState.PLAYING;
+        spawnScheduler.cancel();
         enemySpawner.reseed(new Random(new Random(worldSeed).nextLong()));
-        levelManager.restart(player, enemySpawner, enemies, TILE_SIZE);
+        levelManager.restart(player, TILE_SIZE);
         
         // Spawn enemies and set up death notifications
         spawnEnemiesWithDeathNotifications();
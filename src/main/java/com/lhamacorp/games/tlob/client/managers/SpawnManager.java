@@ -2,9 +2,8 @@ package com.lhamacorp.games.tlob.client.managers;
 
 import com.lhamacorp.games.tlob.client.entities.*;
 import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.EnemyWeapons;
 import com.lhamacorp.games.tlob.client.weapons.Weapon;
-import com.lhamacorp.games.tlob.client.weapons.Bow;
-import com.lhamacorp.games.tlob.client.weapons.Sword;
 
 import java.util.List;
 import java.util.Random;
@@ -12,6 +11,7 @@ import java.util.Random;
 public class SpawnManager {
 
     private final Weapon enemyWeapon;
+    protected final EnemyPools pools;
     protected Random rng;
 
     // Enemy perk system constants
@@ -35,8 +35,31 @@ public class SpawnManager {
      * Creates a spawn manager with the specified random number generator.
      */
     public SpawnManager(Weapon enemyWeapon, Random rng) {
-        this.enemyWeapon = enemyWeapon;
+        this(enemyWeapon, rng, new EnemyPools());
+    }
+
+    /**
+     * Creates a spawn manager that recycles enemies through {@code pools}. The enemy weapon is
+     * shared by every enemy it spawns (a shared copy is made if it isn't a prototype already).
+     */
+    public SpawnManager(Weapon enemyWeapon, Random rng, EnemyPools pools) {
+        this.enemyWeapon = (enemyWeapon == null || enemyWeapon.isShared()) ? enemyWeapon : enemyWeapon.copy().share();
         this.rng = (rng != null) ? rng : new Random();
+        this.pools = pools;
+    }
+
+    /**
+     * Gets the pools this spawner acquires enemies from.
+     */
+    public EnemyPools pools() {
+        return pools;
+    }
+
+    /**
+     * Gets the shared weapon of spawned enemies.
+     */
+    protected Weapon enemyWeapon() {
+        return enemyWeapon;
     }
 
     /**
@@ -50,91 +73,156 @@ public class SpawnManager {
      * Spawns enemies on the map based on completion level.
      * Golen enemies only spawn on maps with more than 60 foes and replace some regular enemies.
      * High-perk enemies (with more than 10 perks) replace 20 low-perk enemies each.
+     * Whatever {@code out} held before goes back to the pools.
      */
     public void spawn(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize) {
-        out.clear();
+        begin(map, player, out, completedMaps, tileSize).finish();
+    }
+
+    /**
+     * Starts the wave {@link #spawn} places, to be placed one enemy per {@link Wave#step()}
+     * (see {@link SpawnScheduler}). Same enemies, same order, as long as nothing else draws from
+     * this spawner or the map until the wave is done.
+     */
+    public Wave begin(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize) {
+        pools.releaseAll(out);
         int base = 3 + rng.nextInt(6); // 3..8
         double mult = Math.pow(1.4, completedMaps);
         int totalCount = Math.max(1, (int) (base * mult));
+        return new PerkWave(map, player, out, completedMaps, tileSize, totalCount);
+    }
 
-        int golenCount = calculateGolenSpawnCount(totalCount);
-        int regularEnemyCount = totalCount - (golenCount * getGolenReplacementRatio());
+    /**
+     * A wave of enemies being placed. Each step draws a position far from where the player
+     * stood when the wave began, builds the enemy and appends it to the output list.
+     */
+    public abstract class Wave {
+        private TileMap map;
+        private final double px, py;
+        private final List<Entity> out;
+        protected final int completedMaps;
+        protected final int tileSize;
+        private boolean frozen;
+        private int placed;
+        /** Position found by the last {@link #findPosition()}, in world pixels. */
+        protected double x, y;
+
+        protected Wave(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize) {
+            this.map = map;
+            this.px = player.getX();
+            this.py = player.getY();
+            this.out = out;
+            this.completedMaps = completedMaps;
+            this.tileSize = tileSize;
+        }
 
-        // Spawn Golen enemies first
-        for (int i = 0; i < golenCount; i++) {
-            int[] pos = map.randomFloorTileFarFrom(player.getX(), player.getY(), 12 * tileSize);
-            if (pos == null) pos = map.getRandomFloorTile();
-            if (pos != null && !map.isWall(pos[0], pos[1])) {
-                double x = pos[0] * tileSize + tileSize / 2.0;
-                double y = pos[1] * tileSize + tileSize / 2.0;
-
-                Entity golen = new Golen(x, y, enemyWeapon);
-                // Golen get 5 perks by default to make them elite enemies
-                applyGolenPerks(golen, completedMaps);
-                out.add(golen);
+        /** True when every enemy of the wave has been placed (or failed to find a floor tile). */
+        public abstract boolean done();
+
+        /** Builds the next enemy, or returns null if it found no position; only called while not done. */
+        protected abstract Entity next();
+
+        /** Places the next enemy; returns it, or null if it found no position. */
+        public Entity step() {
+            if (done()) throw new IllegalStateException("wave already placed");
+            Entity e = next();
+            if (e != null) {
+                out.add(e);
+                placed++;
             }
+            return e;
         }
 
-        // Calculate how many high-perk enemies we can spawn
-        // Each high-perk enemy replaces 20 low-perk enemies, so we need to calculate
-        // how many we can afford to replace while maintaining a minimum enemy count
-        int highPerkEnemyCount = calculateHighPerkEnemyCount(regularEnemyCount, completedMaps);
-        
-        // Calculate how many low-perk enemies we can spawn after replacements
-        // If we spawn 2 high-perk enemies, they replace 40 low-perk enemies
-        // So we can only spawn (regularEnemyCount - 40) low-perk enemies
-        int lowPerkEnemyCount = Math.max(0, regularEnemyCount - (highPerkEnemyCount * HIGH_PERK_REPLACEMENT_RATIO));
-        
+        /** Places the rest of the wave. */
+        public void finish() {
+            while (!done()) step();
+        }
 
+        /** Enemies placed so far. */
+        public int placed() {
+            return placed;
+        }
 
-        // Spawn high-perk enemies (Soldiers and Archers with 6+ perks)
-        for (int i = 0; i < highPerkEnemyCount; i++) {
-            int[] pos = map.randomFloorTileFarFrom(player.getX(), player.getY(), 12 * tileSize);
+        /**
+         * Places the rest of the wave against the map as it is now, so walls destroyed meanwhile
+         * don't change where enemies go. Call before handing the game back with the wave unfinished.
+         */
+        public void freeze() {
+            if (frozen) return;
+            map = map.snapshot();
+            frozen = true;
+        }
+
+        /** Draws a spawn position into x/y; false if there is none. */
+        protected boolean findPosition() {
+            int[] pos = map.randomFloorTileFarFrom(px, py, 12 * tileSize);
             if (pos == null) pos = map.getRandomFloorTile();
-            if (pos != null && !map.isWall(pos[0], pos[1])) {
-                double x = pos[0] * tileSize + tileSize / 2.0;
-                double y = pos[1] * tileSize + tileSize / 2.0;
-
-                Entity enemy;
-                // 20% chance to spawn an Archer, 80% chance for Soldier
-                if (rng.nextDouble() < 0.20) {
-                    Weapon archerBow = new Bow(1, 120, 5, 8, 90);
-                    enemy = new Archer(x, y, archerBow);
-                } else {
-                    Weapon soldierSword = new Sword(2, 15, 5, 6, 60);
-                    enemy = new Soldier(x, y, soldierSword);
-                }
+            if (pos == null || map.isWall(pos[0], pos[1])) return false;
+            x = pos[0] * tileSize + tileSize / 2.0;
+            y = pos[1] * tileSize + tileSize / 2.0;
+            return true;
+        }
+    }
 
-                // Apply high perks (6-10 perks) to make them elite
-                applyHighPerkEnemyPerks(enemy, completedMaps);
+    /** Golen first, then high-perk and low-perk soldiers and archers. */
+    private final class PerkWave extends Wave {
+        private final int golenCount;
+        private final int regularEnemyCount;
+        private int golens, highPerk, lowPerk;
+        private int highPerkEnemyCount = -1, lowPerkEnemyCount;
+
+        PerkWave(TileMap map, Player player, List<Entity> out, int completedMaps, int tileSize, int totalCount) {
+            super(map, player, out, completedMaps, tileSize);
+            this.golenCount = calculateGolenSpawnCount(totalCount);
+            this.regularEnemyCount = totalCount - (golenCount * getGolenReplacementRatio());
+            countPerkEnemies();
+        }
 
-                out.add(enemy);
-            }
+        @Override
+        public boolean done() {
+            return golens == golenCount && highPerk == highPerkEnemyCount && lowPerk == lowPerkEnemyCount;
         }
 
-        // Spawn low-perk enemies (Soldiers and Archers with 0-5 perks)
-        for (int i = 0; i < lowPerkEnemyCount; i++) {
-            int[] pos = map.randomFloorTileFarFrom(player.getX(), player.getY(), 12 * tileSize);
-            if (pos == null) pos = map.getRandomFloorTile();
-            if (pos != null && !map.isWall(pos[0], pos[1])) {
-                double x = pos[0] * tileSize + tileSize / 2.0;
-                double y = pos[1] * tileSize + tileSize / 2.0;
-
-                Entity enemy;
-                // 20% chance to spawn an Archer, 80% chance for Soldier
-                if (rng.nextDouble() < 0.20) {
-                    Weapon archerBow = new Bow(1, 120, 5, 8, 90);
-                    enemy = new Archer(x, y, archerBow);
-                } else {
-                    Weapon soldierSword = new Sword(2, 15, 5, 6, 60);
-                    enemy = new Soldier(x, y, soldierSword);
+        @Override
+        protected Entity next() {
+            // Spawn Golen enemies first
+            if (golens < golenCount) {
+                golens++;
+                Entity golen = null;
+                if (findPosition()) {
+                    golen = pools.golen(x, y, enemyWeapon);
+                    // Golen get 5 perks by default to make them elite enemies
+                    applyGolenPerks(golen, completedMaps);
                 }
+                countPerkEnemies();
+                return golen;
+            }
 
-                // Apply regular perks (0-5 perks)
-                applyEnemyPerks(enemy, completedMaps);
-
-                out.add(enemy);
+            // Spawn high-perk enemies (Soldiers and Archers with 6+ perks), then low-perk ones (0-5 perks)
+            boolean high = highPerk < highPerkEnemyCount;
+            if (high) highPerk++;
+            else lowPerk++;
+            if (!findPosition()) return null;
+
+            Entity enemy;
+            // 20% chance to spawn an Archer, 80% chance for Soldier
+            if (rng.nextDouble() < 0.20) {
+                enemy = pools.archer(x, y, EnemyWeapons.ARCHER_BOW);
+            } else {
+                enemy = pools.soldier(x, y, EnemyWeapons.SOLDIER_SWORD);
             }
+            if (high) applyHighPerkEnemyPerks(enemy, completedMaps);
+            else applyEnemyPerks(enemy, completedMaps);
+            return enemy;
+        }
+
+        /** Once the Golen are placed: how many high-perk enemies there are, and low-perk ones left after they replace theirs. */
+        private void countPerkEnemies() {
+            if (golens < golenCount || highPerkEnemyCount >= 0) return;
+            // Each high-perk enemy replaces 20 low-perk enemies, so we need to calculate
+            // how many we can afford to replace while maintaining a minimum enemy count
+            highPerkEnemyCount = calculateHighPerkEnemyCount(regularEnemyCount, completedMaps);
+            lowPerkEnemyCount = Math.max(0, regularEnemyCount - (highPerkEnemyCount * HIGH_PERK_REPLACEMENT_RATIO));
         }
     }
 
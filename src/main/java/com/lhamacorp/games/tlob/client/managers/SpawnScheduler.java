@@ -0,0 +1,88 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import com.lhamacorp.games.tlob.client.entities.Entity;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Places a spawn wave over several ticks instead of all at once. Each {@link #tick()} places
+ * enemies until its time budget is spent (at least one per tick, so every wave finishes), and,
+ * with staged entry, no more than {@code maxPerTick} of them, so they arrive over time.
+ * The wave draws from the spawner and map RNGs in the same order however it is split up, and
+ * is frozen against the map (see {@link SpawnManager.Wave#freeze()}) when it is left unfinished,
+ * so a seed spawns the same enemies at any budget. Until it is done nothing else may draw from
+ * the spawner or the map: callers {@link #finish()} or {@link #cancel()} it before the next spawn.
+ */
+final class SpawnScheduler {
+
+    private final long budgetNs;
+    private final int maxPerTick;
+    private final LongSupplier clock;
+    private final Consumer<Entity> onEnter;
+    private SpawnManager.Wave wave;
+
+    /**
+     * @param budgetNs   time to spend placing per tick; 0 = no limit
+     * @param maxPerTick enemies to place per tick at most; 0 = no limit (with no budget either,
+     *                   waves are placed whole when they start)
+     * @param onEnter    called with each enemy once it is placed
+     */
+    SpawnScheduler(long budgetNs, int maxPerTick, Consumer<Entity> onEnter) {
+        this(budgetNs, maxPerTick, System::nanoTime, onEnter);
+    }
+
+    SpawnScheduler(long budgetNs, int maxPerTick, LongSupplier clock, Consumer<Entity> onEnter) {
+        this.budgetNs = Math.max(0, budgetNs);
+        this.maxPerTick = Math.max(0, maxPerTick);
+        this.clock = clock;
+        this.onEnter = onEnter;
+    }
+
+    /** Takes over placing {@code next}; the previous wave must be finished or cancelled. */
+    void start(SpawnManager.Wave next) {
+        if (wave != null) throw new IllegalStateException("a spawn wave is still being placed");
+        wave = next;
+        if (budgetNs == 0 && maxPerTick == 0) finish();
+        else if (wave.done()) wave = null;
+    }
+
+    /** Places the next slice of the wave; returns how many enemies entered. */
+    int tick() {
+        if (wave == null) return 0;
+        long deadline = clock.getAsLong() + budgetNs;
+        int entered = 0;
+        do {
+            Entity e = wave.step();
+            if (e != null) {
+                entered++;
+                onEnter.accept(e);
+            }
+        } while (!wave.done()
+            && (maxPerTick == 0 || entered < maxPerTick)
+            && (budgetNs == 0 || clock.getAsLong() < deadline));
+        if (wave.done()) wave = null;
+        else wave.freeze();
+        return entered;
+    }
+
+    /** Places the rest of the wave now. */
+    void finish() {
+        if (wave == null) return;
+        while (!wave.done()) {
+            Entity e = wave.step();
+            if (e != null) onEnter.accept(e);
+        }
+        wave = null;
+    }
+
+    /** Drops the rest of the wave (for when the spawner is reseeded and the map replaced anyway). */
+    void cancel() {
+        wave = null;
+    }
+
+    /** True while a wave is still being placed. */
+    boolean pending() {
+        return wave != null;
+    }
+}
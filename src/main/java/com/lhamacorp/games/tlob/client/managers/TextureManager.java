@@ -304,6 +304,11 @@ public final class TextureManager {
         return grassFrames[idx];
     }
 
+    /** Loads every texture now (all biomes at once), so the first getter call doesn't. Safe from any thread. */
+    public static void preload() {
+        ensureLoaded();
+    }
+
     // ===== Internal load =====
     private static synchronized void ensureLoaded() {
         if (loaded) return;
@@ -339,6 +339,16 @@ public class TileMap {
         return null;
     }
 
+    /**
+     * Copies this map with its tiles as they are now, drawing random tiles from this map's RNG.
+     * Picks made on the copy don't depend on walls destroyed afterwards.
+     */
+    public TileMap snapshot() {
+        int[][] copy = new int[width][];
+        for (int x = 0; x < width; x++) copy[x] = tiles[x].clone();
+        return new TileMap(copy, biome, rng);
+    }
+
     /**
      * Gets a random floor tile from the map.
      */
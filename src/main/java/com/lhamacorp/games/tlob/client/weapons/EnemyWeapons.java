@@ -0,0 +1,21 @@
+package com.lhamacorp.games.tlob.client.weapons;
+
+/**
+ * Shared weapon prototypes (flyweights, see {@link Weapon#share()}) for spawned enemies.
+ * Every enemy of a kind holds the same instance; a perk that changes reach or width gives
+ * that one enemy a private copy.
+ */
+public final class EnemyWeapons {
+
+    /** Biome spawns: soldiers, archers and golems alike. */
+    public static final Weapon SWORD = new Sword(2, 28, 12, 10, 16).share();
+
+    /** Classic spawns: soldiers. */
+    public static final Weapon SOLDIER_SWORD = new Sword(2, 15, 5, 6, 60).share();
+
+    /** Classic spawns: archers. */
+    public static final Weapon ARCHER_BOW = new Bow(1, 120, 5, 8, 90).share();
+
+    private EnemyWeapons() {
+    }
+}
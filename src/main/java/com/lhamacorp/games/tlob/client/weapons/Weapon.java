@@ -1,6 +1,6 @@
 package com.lhamacorp.games.tlob.client.weapons;
 
-public abstract class Weapon {
+public abstract class Weapon implements Cloneable {
 
     public static final int MAX_WEAPON_RANGE = 60;
     public static final int MAX_WEAPON_WIDTH = 10;
@@ -12,6 +12,8 @@ public abstract class Weapon {
     protected int damage;
     protected int duration;
     protected int cooldown;
+    /** Set by share(): several entities hold this instance, so it must not change. */
+    private boolean shared;
 
     public enum WeaponType {
         SWORD, AXE, BOW, DAGGER, MACE, SPEAR, WAND
@@ -21,6 +23,7 @@ public abstract class Weapon {
      * Sets the weapon's reach, capped at MAX_WEAPON_RANGE.
      */
     public void setReach(int reach) {
+        checkModifiable();
         this.reach = Math.min(reach, MAX_WEAPON_RANGE);
     }
 
@@ -28,6 +31,7 @@ public abstract class Weapon {
      * Sets the weapon's damage.
      */
     public void setDamage(int damage) {
+        checkModifiable();
         this.damage = damage;
     }
 
@@ -35,6 +39,7 @@ public abstract class Weapon {
      * Sets the weapon's width, capped at MAX_WEAPON_WIDTH.
      */
     public void setWidth(int width) {
+        checkModifiable();
         this.width = Math.min(width, MAX_WEAPON_WIDTH);
     }
 
@@ -87,4 +92,37 @@ public abstract class Weapon {
         return cooldown;
     }
 
+    /**
+     * Makes this weapon a shared prototype (flyweight) and returns it. Its setters throw from
+     * then on; an entity that modifies its weapon (perks) swaps a shared one for a {@link #copy()}.
+     */
+    public Weapon share() {
+        this.shared = true;
+        return this;
+    }
+
+    /**
+     * Checks if this weapon is a shared prototype.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Creates a private, modifiable copy of this weapon.
+     */
+    public Weapon copy() {
+        try {
+            Weapon w = (Weapon) super.clone();
+            w.shared = false;
+            return w;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void checkModifiable() {
+        if (shared) throw new IllegalStateException(name + " is a shared prototype; modify a copy()");
+    }
+
 }
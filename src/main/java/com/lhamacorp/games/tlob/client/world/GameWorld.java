@@ -2,6 +2,7 @@ package com.lhamacorp.games.tlob.client.world;
 
 import com.lhamacorp.games.tlob.client.entities.Entity;
 import com.lhamacorp.games.tlob.client.entities.Player;
+import com.lhamacorp.games.tlob.client.entities.UpdateContext;
 import com.lhamacorp.games.tlob.client.maps.TileMap;
 
 import java.util.*;
@@ -13,11 +14,12 @@ public final class GameWorld {
     /** 60 Hz fixed tick for the sim. Rendering can stay at 60 FPS. */
     public static final int TICK_RATE = 60;
 
-    private final TileMap map;
+    private TileMap map;
     private final Player player;
     private final List<Entity> enemies;
     private final Random rng;
     private final IdAllocator ids = new IdAllocator();
+    private final UpdateContext ctx = new UpdateContext();
     private int tick;
 
     /** Commands collected for the current tick (usually 0–2 items). */
@@ -26,18 +28,30 @@ public final class GameWorld {
         var input = VirtualInput.from(commands);
 
         // Player update (uses only sim data; no Swing)
-        player.update(input, map, enemies);
+        ctx.begin(tick, player, map, enemies, null).input(input, null);
+        player.update(ctx);
 
-        // Enemies
+        // Enemies act alone here (no group behavior), as they always have in the headless sim
+        ctx.begin(tick, player, map, null, null).perceive();
         for (int i = enemies.size() - 1; i >= 0; i--) {
             Entity e = enemies.get(i);
-            e.update(player, map);
-            if (!e.isAlive()) enemies.remove(i);
+            e.update(ctx);
+            if (!e.isAlive()) {
+                enemies.remove(i);
+                ids.release(e);
+            }
         }
         tick++;
     }
 
+    /** Switches to a new level map; the caller refills {@link #enemies()} (e.g. LevelManager.nextLevel). */
+    public void changeLevel(TileMap map) {
+        this.map = Objects.requireNonNull(map);
+    }
+
     public Snapshot snapshot() {
+        // enemies removed behind our back (level change, caller edits) would keep their ids forever
+        if (ids.size() > 1 + enemies.size()) ids.retainOnly(player, enemies);
         List<EntityState> states = new ArrayList<>(1 + enemies.size());
         states.add(EntityState.of(ids.id(player), EntityState.PLAYER, player));
         for (Entity e : enemies) states.add(EntityState.of(ids.id(e), EntityState.ENEMY, e));
@@ -65,6 +79,11 @@ public final class GameWorld {
         return rng;
     }
 
+    /** Entities currently holding an id (soak checks). */
+    public int idCount() {
+        return ids.size();
+    }
+
     public GameWorld(TileMap map, Player player, List<Entity> enemies, long seed) {
         this.map = Objects.requireNonNull(map);
         this.player = Objects.requireNonNull(player);
@@ -72,7 +91,7 @@ public final class GameWorld {
         this.rng = new Random(seed);
     }
 
-    /** Simple ID allocator without touching entity classes. */
+    /** Simple ID allocator without touching entity classes. Ids are never reused. */
     public static final class IdAllocator {
         private final IdentityHashMap<Object, Integer> ids = new IdentityHashMap<>();
         private final AtomicInteger next = new AtomicInteger(1);
@@ -80,5 +99,22 @@ public final class GameWorld {
         public int id(Object o) {
             return ids.computeIfAbsent(o, k -> next.getAndIncrement());
         }
+
+        /** Forgets an entity that left the world. */
+        public void release(Object o) {
+            ids.remove(o);
+        }
+
+        /** Forgets every entity except {@code keep} and the members of {@code live}. */
+        public void retainOnly(Object keep, Collection<?> live) {
+            Set<Object> alive = Collections.newSetFromMap(new IdentityHashMap<>());
+            alive.add(keep);
+            alive.addAll(live);
+            ids.keySet().retainAll(alive);
+        }
+
+        public int size() {
+            return ids.size();
+        }
     }
 }
@@ -1,10 +1,50 @@
 package com.lhamacorp.games.tlob.client.world;
 
-public final class InputState {
+public final class InputState implements PlayerInputView {
     public boolean up, down, left, right;
     public boolean attack, shift, defense, dash;
 
     public void clear() {
         up = down = left = right = attack = shift = defense = dash = false;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean left() {
+        return left;
+    }
+
+    @Override
+    public boolean right() {
+        return right;
+    }
+
+    @Override
+    public boolean up() {
+        return up;
+    }
+
+    @Override
+    public boolean down() {
+        return down;
+    }
+
+    @Override
+    public boolean sprint() {
+        return shift;
+    }
+
+    @Override
+    public boolean attack() {
+        return attack;
+    }
+
+    @Override
+    public boolean defense() {
+        return defense;
+    }
+
+    @Override
+    public boolean dash() {
+        return dash;
+    }
+}
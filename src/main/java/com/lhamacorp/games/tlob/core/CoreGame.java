@@ -1,21 +1,51 @@
 package com.lhamacorp.games.tlob.core;
 
 import com.lhamacorp.games.tlob.server.GameSession;
+import com.lhamacorp.games.tlob.server.TickTimes;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
 /**
  * Headless game runner (no UI). Starts the authoritative simulation loop
  * without accepting any network clients. Useful for testing core logic.
+ *
+ * Usage: CoreGame [seed] [tickrate] [--bots=N] [--enemies=N] [--stress]
+ *  - --bots / --enemies: in-process bot players and total enemy count (no sockets involved)
+ *  - --stress: instead of running live, steps fresh sessions as fast as possible over a grid of
+ *    player x enemy counts and prints simulation tick time percentiles against the tick budget.
+ *    Killed enemies are replaced once per second so each cell keeps roughly its enemy count.
+ *    Grid and length via -Dtlob.stress.players=1,8,32,128 -Dtlob.stress.enemies=16,256,1024,4096
+ *    -Dtlob.stress.warmup=300 -Dtlob.stress.ticks=1200
  */
 public final class CoreGame {
 
     public static void main(String[] args) {
-        long seed = (args.length >= 1) ? parseLong(args[0], pickSeed()) : pickSeed();
-        int tickrate = (args.length >= 2) ? parseInt(args[1], 60) : 60;
+        List<String> positional = new ArrayList<>();
+        int bots = 0, enemies = 0;
+        boolean stress = false;
+        for (String a : args) {
+            if (a.startsWith("--bots=")) bots = parseInt(a.substring(7), 0);
+            else if (a.startsWith("--enemies=")) enemies = parseInt(a.substring(10), 0);
+            else if (a.equals("--stress")) stress = true;
+            else positional.add(a);
+        }
+        long seed = (positional.size() >= 1) ? parseLong(positional.get(0), pickSeed()) : pickSeed();
+        int tickrate = (positional.size() >= 2) ? parseInt(positional.get(1), 60) : 60;
+
+        if (stress) {
+            stressReport(seed, tickrate);
+            return;
+        }
 
-        System.out.println("[CoreGame] starting headless simulation: seed=" + seed + ", tickrate=" + tickrate);
+        System.out.println("[CoreGame] starting headless simulation: seed=" + seed + ", tickrate=" + tickrate
+            + ", bots=" + bots + ", enemies=" + enemies);
         GameSession session = new GameSession(seed, tickrate);
+        session.spawnEnemies(enemies - session.enemyCount());
+        session.addBots(bots);
         Thread sim = new Thread(session, "GameSession");
         sim.setDaemon(true);
         sim.start();
@@ -31,12 +61,65 @@ public final class CoreGame {
         }
     }
 
+    /**
+     * One fresh session per (players, enemies) cell: warm up, then record simulation time only
+     * (bots think outside the measured step, and nothing is encoded or sent).
+     */
+    private static void stressReport(long seed, int tickrate) {
+        int[] playerSteps = parseInts(System.getProperty("tlob.stress.players", "1,8,32,128"));
+        int[] enemySteps = parseInts(System.getProperty("tlob.stress.enemies", "16,256,1024,4096"));
+        int warmup = Integer.getInteger("tlob.stress.warmup", 300);
+        int ticks = Math.max(1, Integer.getInteger("tlob.stress.ticks", 1200));
+        long budgetNs = 1_000_000_000L / tickrate;
+
+        System.out.printf(Locale.ROOT, "[CoreGame] stress: seed=%d tickrate=%d budget=%.2fms warmup=%d ticks=%d%n",
+            seed, tickrate, TickTimes.ms(budgetNs), warmup, ticks);
+        System.out.println("players enemies |   p50 ms   p90 ms   p99 ms   max ms  over | alive p/e  respawned");
+
+        String firstOver = null;
+        for (int enemies : enemySteps) {
+            for (int players : playerSteps) {
+                GameSession s = new GameSession(seed, tickrate);
+                s.spawnEnemies(enemies - s.enemyCount());
+                s.addBots(players);
+                long respawned = 0;
+                for (int i = 0; i < warmup + ticks; i++) {
+                    if (i == warmup) s.tickTimes().reset();
+                    if (i % tickrate == 0) {
+                        int missing = enemies - s.aliveEnemies();
+                        s.spawnEnemies(missing);
+                        respawned += Math.max(0, missing);
+                    }
+                    s.advance();
+                }
+                s.stop();
+
+                TickTimes t = s.tickTimes();
+                long p99 = t.percentile(99);
+                boolean over = p99 > budgetNs;
+                System.out.printf(Locale.ROOT, "%7d %7d | %8.3f %8.3f %8.3f %8.3f %5d | %d/%d %d%s%n",
+                    players, enemies,
+                    TickTimes.ms(t.percentile(50)), TickTimes.ms(t.percentile(90)), TickTimes.ms(p99),
+                    TickTimes.ms(t.percentile(100)), t.over(budgetNs),
+                    s.alivePlayers(), s.aliveEnemies(), respawned, over ? "  << p99 over budget" : "");
+                if (over && firstOver == null) firstOver = "players=" + players + " enemies=" + enemies;
+            }
+        }
+        System.out.println((firstOver == null)
+            ? "[CoreGame] p99 stayed within the tick budget for every cell"
+            : "[CoreGame] p99 first exceeds the tick budget at " + firstOver);
+    }
+
     private static long pickSeed() {
         long t = System.currentTimeMillis();
         long r = new Random().nextLong();
         return (t ^ (r * 0x9E3779B97F4A7C15L));
     }
 
+    private static int[] parseInts(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(v -> parseInt(v, -1)).filter(v -> v >= 0).toArray();
+    }
+
     private static int parseInt(String s, int def) {
         try { return Integer.parseInt(s.trim()); } catch (Exception e) { return def; }
     }
@@ -0,0 +1,59 @@
+package com.lhamacorp.games.tlob.core.math;
+
+/**
+ * 16.16 fixed-point scalars in a plain int (range ±32768, resolution 1/65536).
+ * - Integer-only arithmetic, so results are bit-identical on every JVM and CPU.
+ * - Multiplication rounds half up; division truncates toward zero like int division.
+ * - Conversions from double round to the nearest step, so quantized values round-trip exactly.
+ */
+public final class Fixed {
+    private Fixed() {
+    }
+
+    public static final int SHIFT = 16;
+    public static final int ONE = 1 << SHIFT;
+    public static final int HALF = ONE >> 1;
+    /** round(ONE / sqrt(2)) */
+    public static final int INV_SQRT2 = 46341;
+
+    public static int fromInt(int v) {
+        return v << SHIFT;
+    }
+
+    public static int fromDouble(double v) {
+        return (int) Math.round(v * ONE);
+    }
+
+    public static double toDouble(int f) {
+        return f / (double) ONE;
+    }
+
+    /** Rounds a double to the nearest 16.16 step. */
+    public static double quantize(double v) {
+        return toDouble(fromDouble(v));
+    }
+
+    public static int mul(int a, int b) {
+        return (int) (((long) a * b + HALF) >> SHIFT);
+    }
+
+    public static int div(int a, int b) {
+        return (int) (((long) a << SHIFT) / b);
+    }
+
+    /** sqrt of a non-negative 16.16 value (floor). */
+    public static int sqrt(int a) {
+        return (a <= 0) ? 0 : (int) isqrt((long) a << SHIFT);
+    }
+
+    private static final long ISQRT_MAX = 3037000499L; // floor(sqrt(Long.MAX_VALUE))
+
+    /** floor(sqrt(v)) for v >= 0; the double estimate is corrected with exact integer checks. */
+    public static long isqrt(long v) {
+        if (v <= 0) return 0;
+        long r = Math.min(ISQRT_MAX, (long) Math.sqrt((double) v));
+        while (r * r > v) r--;
+        while (r < ISQRT_MAX && (r + 1) * (r + 1) <= v) r++;
+        return r;
+    }
+}
@@ -0,0 +1,41 @@
+package com.lhamacorp.games.tlob.core.math;
+
+/**
+ * Sine/cosine lookup over binary angles: a full turn is {@link #SIZE} units, results are 16.16.
+ * The table is built with StrictMath, so it is identical everywhere; lookups never call trig.
+ * Octant angles (multiples of SIZE/8) match {@link Dir8}'s order.
+ */
+public final class FixedTrig {
+    private FixedTrig() {
+    }
+
+    public static final int BITS = 12;
+    public static final int SIZE = 1 << BITS; // binary angle units per turn
+    public static final int MASK = SIZE - 1;
+
+    private static final int[] SIN = new int[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            SIN[i] = (int) Math.round(StrictMath.sin(i * (2.0 * Math.PI / SIZE)) * Fixed.ONE);
+        }
+    }
+
+    public static int sin(int angle) {
+        return SIN[angle & MASK];
+    }
+
+    public static int cos(int angle) {
+        return SIN[(angle + (SIZE >> 2)) & MASK];
+    }
+
+    /** Binary angle of octant [0..7]. */
+    public static int octant(int octant) {
+        return (octant & 7) * (SIZE >> 3);
+    }
+
+    /** Binary angle nearest to a fraction of a full turn in [0, 1). */
+    public static int fromTurns(double turns) {
+        return (int) Math.floor(turns * SIZE) & MASK;
+    }
+}
@@ -0,0 +1,57 @@
+package com.lhamacorp.games.tlob.core.math;
+
+/**
+ * 2D vector helpers over 16.16 components ({@link Fixed}); static and allocation-free.
+ * Squared lengths are returned as 32.32 longs so they never overflow for map-sized vectors.
+ */
+public final class FixedVec {
+    private FixedVec() {
+    }
+
+    public static long dot(int ax, int ay, int bx, int by) {
+        return (long) ax * bx + (long) ay * by;
+    }
+
+    /** Squared length, 32.32. */
+    public static long len2(int x, int y) {
+        return (long) x * x + (long) y * y;
+    }
+
+    /** Length, 16.16. */
+    public static int len(int x, int y) {
+        return (int) Fixed.isqrt(len2(x, y));
+    }
+
+    /** Squared distance, 32.32. */
+    public static long dist2(int x0, int y0, int x1, int y1) {
+        return len2(x1 - x0, y1 - y0);
+    }
+
+    /** Squares a 16.16 value into 32.32, for comparisons against {@link #len2}. */
+    public static long sq(int f) {
+        return (long) f * f;
+    }
+
+    /** Component {@code c} of the unit vector along (x, y); 0 for a zero vector. */
+    public static int unit(int c, int x, int y) {
+        int l = len(x, y);
+        return (l == 0) ? 0 : Fixed.div(c, l);
+    }
+
+    /**
+     * Squared distance (32.32) from point p to the segment a-b: the capsule test is
+     * {@code segmentDist2(...) <= sq(radius)}.
+     */
+    public static long segmentDist2(int px, int py, int ax, int ay, int bx, int by) {
+        int vx = bx - ax, vy = by - ay;
+        int wx = px - ax, wy = py - ay;
+        long vv = len2(vx, vy) >> Fixed.SHIFT; // 16.16
+        int t = 0;
+        if (vv > 0) {
+            long tl = dot(wx, wy, vx, vy) / vv;
+            t = (int) Math.max(0, Math.min(Fixed.ONE, tl));
+        }
+        int cx = ax + Fixed.mul(t, vx), cy = ay + Fixed.mul(t, vy);
+        return dist2(px, py, cx, cy);
+    }
+}
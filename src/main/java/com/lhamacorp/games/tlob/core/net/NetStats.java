@@ -0,0 +1,204 @@
+package com.lhamacorp.games.tlob.core.net;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Link statistics for one connection, shared by the client overlay and the server log.
+ * - RTT from PING/PONG echoes: smoothed RTT (1/8 gain) and jitter (1/16 gain, RFC 3550 style).
+ * - Snapshot inter-arrival time and jitter; "dropped" = tick gaps beyond the usual step,
+ *   "late" = arrivals more than twice the usual interval after the previous one.
+ * - Bytes in/out, reported per second by {@link #roll(long)}.
+ * Byte counters are lock-free; everything else is guarded by this object's monitor.
+ */
+public final class NetStats {
+
+    private static final long WINDOW_NS = 1_000_000_000L;
+
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+
+    // RTT (ms)
+    private double rttMs = Double.NaN, srttMs = Double.NaN, rttJitterMs = 0.0;
+    private long pongs;
+
+    // Snapshots
+    private long lastSnapNs = 0L;
+    private int lastSnapTick = Integer.MIN_VALUE;
+    private int tickStep = Integer.MAX_VALUE;
+    private double snapIntervalMs = Double.NaN, snapJitterMs = 0.0;
+    private long snapshots, droppedSnapshots, lateSnapshots;
+
+    // Per-second rates
+    private long windowStartNs = Long.MIN_VALUE;
+    private long windowBytesIn, windowBytesOut;
+    private double inBps, outBps;
+
+    // ----- Recording -----
+
+    public void addBytesIn(long n) {
+        bytesIn.addAndGet(n);
+    }
+
+    public void addBytesOut(long n) {
+        bytesOut.addAndGet(n);
+    }
+
+    /**
+     * A PONG came back echoing {@code sentNs}; {@link Protocol#NO_PROBE} (a PONG without a usable
+     * time) is ignored. nanoTime may be negative or wrap, so only the difference is checked.
+     */
+    public synchronized void onPong(long sentNs, long nowNs) {
+        if (sentNs == Protocol.NO_PROBE || nowNs - sentNs < 0) return;
+        double sample = (nowNs - sentNs) / 1e6;
+        if (Double.isNaN(srttMs)) {
+            srttMs = sample;
+        } else {
+            rttJitterMs += (Math.abs(sample - rttMs) - rttJitterMs) / 16.0;
+            srttMs += (sample - srttMs) / 8.0;
+        }
+        rttMs = sample;
+        pongs++;
+    }
+
+    /** A snapshot for server tick {@code tick} arrived (client) or was sent (server). */
+    public synchronized void onSnapshot(int tick, long nowNs) {
+        snapshots++;
+        if (lastSnapTick != Integer.MIN_VALUE) {
+            int step = tick - lastSnapTick;
+            if (step > 0) {
+                if (step < tickStep) tickStep = step;
+                if (step > tickStep) droppedSnapshots += (step / tickStep) - 1;
+            }
+
+            double interval = (nowNs - lastSnapNs) / 1e6;
+            if (Double.isNaN(snapIntervalMs)) {
+                snapIntervalMs = interval;
+            } else {
+                if (interval > 2.0 * snapIntervalMs) lateSnapshots++;
+                snapJitterMs += (Math.abs(interval - snapIntervalMs) - snapJitterMs) / 16.0;
+                snapIntervalMs += (interval - snapIntervalMs) / 8.0;
+            }
+        }
+        lastSnapTick = tick;
+        lastSnapNs = nowNs;
+    }
+
+    /** Closes the current 1s window (if due) and updates the per-second byte rates. */
+    public synchronized void roll(long nowNs) {
+        if (windowStartNs == Long.MIN_VALUE) {
+            windowStartNs = nowNs;
+            windowBytesIn = bytesIn.get();
+            windowBytesOut = bytesOut.get();
+            return;
+        }
+        long el = nowNs - windowStartNs;
+        if (el < WINDOW_NS) return;
+
+        long in = bytesIn.get(), out = bytesOut.get();
+        inBps = (in - windowBytesIn) * 1e9 / el;
+        outBps = (out - windowBytesOut) * 1e9 / el;
+        windowBytesIn = in;
+        windowBytesOut = out;
+        windowStartNs = nowNs;
+    }
+
+    // ----- Reading -----
+
+    public synchronized double rttMs() {
+        return srttMs;
+    }
+
+    public synchronized double rttJitterMs() {
+        return rttJitterMs;
+    }
+
+    public synchronized double snapshotIntervalMs() {
+        return snapIntervalMs;
+    }
+
+    public synchronized long droppedSnapshots() {
+        return droppedSnapshots;
+    }
+
+    public synchronized long lateSnapshots() {
+        return lateSnapshots;
+    }
+
+    public synchronized double bytesInPerSec() {
+        return inBps;
+    }
+
+    public synchronized double bytesOutPerSec() {
+        return outBps;
+    }
+
+    /** Short lines for a HUD overlay. */
+    public synchronized String[] overlayLines() {
+        return new String[]{
+            "RTT: " + ms(srttMs) + " ±" + ms(rttJitterMs),
+            "Snap: " + ms(snapIntervalMs) + " ±" + ms(snapJitterMs),
+            "Drop/Late: " + droppedSnapshots + "/" + lateSnapshots,
+            "In: " + kb(inBps) + "  Out: " + kb(outBps)
+        };
+    }
+
+    /** One-line summary for logs. */
+    public synchronized String summary() {
+        return String.format(Locale.ROOT,
+            "rtt=%sms jitter=%sms snap=%sms snapJitter=%sms snaps=%d dropped=%d late=%d in=%.0fB/s out=%.0fB/s",
+            ms(srttMs), ms(rttJitterMs), ms(snapIntervalMs), ms(snapJitterMs),
+            snapshots, droppedSnapshots, lateSnapshots, inBps, outBps);
+    }
+
+    private static String ms(double v) {
+        return Double.isNaN(v) ? "-" : String.format(Locale.ROOT, "%.1f", v);
+    }
+
+    private static String kb(double bps) {
+        return String.format(Locale.ROOT, "%.1f KB/s", bps / 1024.0);
+    }
+
+    // ----- Stream wrappers -----
+
+    /** Wraps a socket input stream so every byte read is counted as "in". */
+    public InputStream countIn(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) addBytesIn(1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) addBytesIn(n);
+                return n;
+            }
+        };
+    }
+
+    /** Wraps a socket output stream so every byte written is counted as "out". */
+    public OutputStream countOut(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                addBytesOut(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                addBytesOut(len);
+            }
+        };
+    }
+}
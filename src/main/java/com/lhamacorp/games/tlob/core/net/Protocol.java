@@ -34,6 +34,8 @@ public final class Protocol {
 
     public static final class Snapshot {
         public int tick;
+        /** True if {@link #enemies} only holds changed enemies; missing ones keep their last state. */
+        public boolean enemiesDelta;
         public Map<Integer, PlayerSnap> players = new HashMap<>();
         public Map<Integer, EnemySnap> enemies = new HashMap<>();
     }
@@ -42,30 +44,50 @@ public final class Protocol {
 
     /** Parses "INPUT ..." line. Returns null if malformed. */
     public static Input parseInputLine(String line) {
-        if (line == null) return null;
-        line = line.trim();
-        if (!line.startsWith("INPUT")) return null;
-
         Input ci = new Input();
-        String[] parts = line.substring("INPUT".length()).trim().split("\\s+");
-        for (String p : parts) {
-            int eq = p.indexOf('=');
-            if (eq <= 0) continue;
-            String k = p.substring(0, eq);
-            String v = p.substring(eq + 1);
-            try {
-                switch (k) {
-                    case "t" -> ci.tick = parseInt(v, 0);
-                    case "dx" -> ci.dx = parseInt(v, 0);
-                    case "dy" -> ci.dy = parseInt(v, 0);
-                    case "sprint" -> ci.sprint = parseInt(v, 0) != 0;
-                    case "attack" -> ci.attack = parseInt(v, 0) != 0;
-                    case "facing" -> ci.facing = parseInt(v, -1);
-                }
-            } catch (Exception ignored) {
+        return parseInputLine(line, ci) ? ci : null;
+    }
+
+    /**
+     * Allocation-free variant: parses an "INPUT ..." line into a reused {@code out}.
+     * Unknown keys are ignored and malformed values fall back to defaults.
+     * Returns false (leaving {@code out} untouched) if the line is not an INPUT line.
+     */
+    public static boolean parseInputLine(String line, Input out) {
+        if (line == null) return false;
+        int n = line.length(), i = 0;
+        while (i < n && line.charAt(i) <= ' ') i++;
+        if (!line.startsWith("INPUT", i)) return false;
+        i += "INPUT".length();
+
+        out.tick = 0;
+        out.dx = 0;
+        out.dy = 0;
+        out.facing = -1;
+        out.sprint = false;
+        out.attack = false;
+
+        while (i < n) {
+            while (i < n && line.charAt(i) <= ' ') i++;
+            int ks = i;
+            while (i < n && line.charAt(i) > ' ' && line.charAt(i) != '=') i++;
+            int ke = i;
+            if (i >= n || line.charAt(i) != '=' || ke == ks) {
+                while (i < n && line.charAt(i) > ' ') i++;
+                continue;
             }
+            int vs = ++i;
+            while (i < n && line.charAt(i) > ' ') i++;
+            int ve = i;
+
+            if (isKey(line, ks, ke, "t")) out.tick = parseInt(line, vs, ve, 0);
+            else if (isKey(line, ks, ke, "dx")) out.dx = parseInt(line, vs, ve, 0);
+            else if (isKey(line, ks, ke, "dy")) out.dy = parseInt(line, vs, ve, 0);
+            else if (isKey(line, ks, ke, "sprint")) out.sprint = parseInt(line, vs, ve, 0) != 0;
+            else if (isKey(line, ks, ke, "attack")) out.attack = parseInt(line, vs, ve, 0) != 0;
+            else if (isKey(line, ks, ke, "facing")) out.facing = parseInt(line, vs, ve, -1);
         }
-        return ci;
+        return true;
     }
 
     public static Snapshot readSnapshot(java.io.Reader r) throws IOException {
@@ -86,6 +108,8 @@ public final class Protocol {
         for (String token : head.split("\\s+")) {
             if (token.startsWith("tick=")) {
                 s.tick = parseInt(token.substring(5), 0);
+            } else if (token.startsWith("edelta=")) {
+                s.enemiesDelta = !"0".equals(token.substring(7));
             }
         }
 
@@ -107,7 +131,7 @@ public final class Protocol {
                         case "sh" -> ps.sh = parseDouble(v, 0);
                         case "facing" -> ps.facing = parseInt(v, 0);
                         case "alive" -> ps.alive = !"0".equals(v);
-                        case "name" -> ps.name = urlEnc(v);
+                        case "name" -> ps.name = urlDec(v);
                     }
                 });
                 if (ps.id > 0) s.players.put(ps.id, ps);
@@ -131,6 +155,7 @@ public final class Protocol {
     // ---------- Serialization ----------
     public static void writeSnapshot(Snapshot s, Writer out) throws IOException {
         out.write("SNAPSHOT tick=" + s.tick + " players=" + s.players.size());
+        if (s.enemiesDelta) out.write(" edelta=1");
         out.write("\n");
         for (PlayerSnap ps : s.players.values()) {
             out.write("P id=" + ps.id +
@@ -150,6 +175,37 @@ public final class Protocol {
         out.flush();
     }
 
+    // ---------- Latency probes ----------
+
+    /** "PING t=&lt;sender nanoTime&gt;"; the peer answers with a PONG echoing the same t. */
+    public static String ping(long t) {
+        return "PING t=" + t;
+    }
+
+    public static String pong(long t) {
+        return "PONG t=" + t;
+    }
+
+    /**
+     * No probe time: nanoTime can be any long, negative included, so "missing" needs a value
+     * that a real clock reading will not hit in practice.
+     */
+    public static final long NO_PROBE = Long.MIN_VALUE;
+
+    /** Returns the t= value of a PING/PONG line, or {@link #NO_PROBE} if missing or malformed. */
+    public static long parseProbeTime(String line) {
+        if (line == null) return NO_PROBE;
+        int i = line.indexOf("t=");
+        if (i < 0) return NO_PROBE;
+        int end = i + 2;
+        while (end < line.length() && line.charAt(end) > ' ') end++;
+        try {
+            return Long.parseLong(line.substring(i + 2, end));
+        } catch (NumberFormatException e) {
+            return NO_PROBE;
+        }
+    }
+
     // ---------- Map transfer ----------
 
     public static final class MapData {
@@ -219,6 +275,30 @@ public final class Protocol {
         }
     }
 
+    private static boolean isKey(String s, int from, int to, String key) {
+        return (to - from) == key.length() && s.regionMatches(from, key, 0, key.length());
+    }
+
+    /** Integer.parseInt over s[from,to) without allocating; returns def if malformed or out of range. */
+    private static int parseInt(String s, int from, int to, int def) {
+        if (from >= to) return def;
+        boolean neg = false;
+        char c0 = s.charAt(from);
+        if (c0 == '-' || c0 == '+') {
+            neg = (c0 == '-');
+            if (++from >= to) return def;
+        }
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return def;
+            v = v * 10 + d;
+            if (v > (long) Integer.MAX_VALUE + 1) return def;
+        }
+        if (neg) v = -v;
+        return (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) ? def : (int) v;
+    }
+
     private static int parseInt(String s, int def) {
         try {
             return Integer.parseInt(s);
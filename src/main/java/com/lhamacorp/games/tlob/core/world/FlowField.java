@@ -0,0 +1,148 @@
+package com.lhamacorp.games.tlob.core.world;
+
+import java.util.Arrays;
+
+/**
+ * Shared multi-source flow field over a {@link GridMap}.
+ * - One BFS from every source tile (living players) gives each floor tile its
+ *   step distance to the closest source and the 8-way octant to walk next.
+ * - Recomputed only when the set of source tiles changes; reading a direction is O(1).
+ * - Diagonal steps never cut wall corners, so followers slide around cave pillars.
+ */
+public final class FlowField {
+
+    /** Octant value for tiles with no next step (source, wall or unreachable). */
+    public static final int NONE = -1;
+
+    // Octant order matches Dir8: 0=E, 1=SE, 2=S, 3=SW, 4=W, 5=NW, 6=N, 7=NE (screen y grows down)
+    private static final int[] OCT_DX = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] OCT_DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private final GridMap grid;
+    private final int w, h;
+    private final int[] dist;    // steps to closest source, -1 = unreachable
+    private final byte[] dir;    // octant toward closest source, NONE if none
+    private final int[] queue;
+
+    private int[] sources = new int[0];
+    private int sourceCount = 0;
+    private int[] scratch = new int[0];
+
+    public FlowField(GridMap grid) {
+        this.grid = grid;
+        this.w = grid.width();
+        this.h = grid.height();
+        this.dist = new int[w * h];
+        this.dir = new byte[w * h];
+        this.queue = new int[w * h];
+        Arrays.fill(dist, -1);
+        Arrays.fill(dir, (byte) NONE);
+    }
+
+    /**
+     * Sets the source tiles (as {@code ty * width + tx}) and rebuilds the field if they changed.
+     * Only the first {@code count} entries are read; order and duplicates do not matter.
+     * Returns true if the field was recomputed.
+     */
+    public boolean update(int[] tiles, int count) {
+        if (scratch.length < count) scratch = new int[Math.max(count, scratch.length * 2)];
+        System.arraycopy(tiles, 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+
+        if (count == sourceCount && Arrays.equals(scratch, 0, count, sources, 0, count)) return false;
+
+        if (sources.length < count) sources = new int[scratch.length];
+        System.arraycopy(scratch, 0, sources, 0, count);
+        sourceCount = count;
+        rebuild();
+        return true;
+    }
+
+    /** Tile index helper for {@link #update(int[], int)}. */
+    public int tileIndexAtWorld(double x, double y) {
+        int tx = (int) Math.floor(x / grid.tile());
+        int ty = (int) Math.floor(y / grid.tile());
+        if (tx < 0 || ty < 0 || tx >= w || ty >= h) return -1;
+        return ty * w + tx;
+    }
+
+    /** Octant toward the closest source from the tile under (x,y), or {@link #NONE}. */
+    public int directionAtWorld(double x, double y) {
+        int i = tileIndexAtWorld(x, y);
+        return (i < 0) ? NONE : dir[i];
+    }
+
+    /** Steps to the closest source from the tile under (x,y), or -1 if unreachable. */
+    public int distanceAtWorld(double x, double y) {
+        int i = tileIndexAtWorld(x, y);
+        return (i < 0) ? -1 : dist[i];
+    }
+
+    public int direction(int tx, int ty) {
+        if (tx < 0 || ty < 0 || tx >= w || ty >= h) return NONE;
+        return dir[ty * w + tx];
+    }
+
+    public int distance(int tx, int ty) {
+        if (tx < 0 || ty < 0 || tx >= w || ty >= h) return -1;
+        return dist[ty * w + tx];
+    }
+
+    public static int octantDx(int octant) {
+        return OCT_DX[octant & 7];
+    }
+
+    public static int octantDy(int octant) {
+        return OCT_DY[octant & 7];
+    }
+
+    // ----- Build -----
+
+    private void rebuild() {
+        Arrays.fill(dist, -1);
+        Arrays.fill(dir, (byte) NONE);
+
+        // 1) 4-connected BFS from all sources at once
+        int head = 0, tail = 0;
+        for (int s = 0; s < sourceCount; s++) {
+            int i = sources[s];
+            if (i < 0 || i >= dist.length || dist[i] == 0) continue;
+            if (grid.isWallTile(i % w, i / w)) continue;
+            dist[i] = 0;
+            queue[tail++] = i;
+        }
+        while (head < tail) {
+            int i = queue[head++];
+            int x = i % w, y = i / w, nd = dist[i] + 1;
+            if (x > 0) tail = visit(i - 1, x - 1, y, nd, tail);
+            if (x < w - 1) tail = visit(i + 1, x + 1, y, nd, tail);
+            if (y > 0) tail = visit(i - w, x, y - 1, nd, tail);
+            if (y < h - 1) tail = visit(i + w, x, y + 1, nd, tail);
+        }
+
+        // 2) per tile: step to the lowest-distance 8-neighbour (no corner cutting)
+        for (int q = 0; q < tail; q++) {
+            int i = queue[q];
+            if (dist[i] == 0) continue;
+            int x = i % w, y = i / w;
+            int best = dist[i], bestOct = NONE;
+            for (int o = 0; o < 8; o++) {
+                int nx = x + OCT_DX[o], ny = y + OCT_DY[o];
+                int nd = distance(nx, ny);
+                if (nd < 0 || nd >= best) continue;
+                if (OCT_DX[o] != 0 && OCT_DY[o] != 0
+                    && (grid.isWallTile(nx, y) || grid.isWallTile(x, ny))) continue;
+                best = nd;
+                bestOct = o;
+            }
+            dir[i] = (byte) bestOct;
+        }
+    }
+
+    private int visit(int i, int x, int y, int nd, int tail) {
+        if (dist[i] >= 0 || grid.isWallTile(x, y)) return tail;
+        dist[i] = nd;
+        queue[tail] = i;
+        return tail + 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.lhamacorp.games.tlob.core.world;
+
+import java.util.Arrays;
+
+/**
+ * Coarse "someone is near" mask over a {@link GridMap}, in chunks of a few tiles.
+ * - Stamped from player tiles: every chunk that comes within the radius of a player tile is awake.
+ * - Stamping is conservative (a player may stand anywhere inside its tile), so an entity in a
+ *   sleeping chunk is guaranteed to be farther than the radius from every player.
+ * - Depends only on the source tiles, so wake/sleep decisions are deterministic.
+ */
+public final class WakeGrid {
+
+    /** Chunk edge in tiles. */
+    public static final int CHUNK_TILES = 4;
+
+    private final int tile, chunkPx;
+    private final int cw, ch;
+    private final boolean[] awake;
+    private final double radius;
+
+    public WakeGrid(GridMap grid, double radiusPx) {
+        this.tile = grid.tile();
+        this.chunkPx = tile * CHUNK_TILES;
+        this.cw = (grid.width() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.ch = (grid.height() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.awake = new boolean[cw * ch];
+        this.radius = Math.max(0.0, radiusPx);
+    }
+
+    /** Re-stamps the mask from source tiles given as {@code ty * mapWidth + tx}. */
+    public void rebuild(int[] tiles, int count, int mapWidth) {
+        Arrays.fill(awake, false);
+        // pad by half a tile diagonal: the source may be anywhere inside its tile
+        final double r = radius + tile * 0.7072;
+        final double r2 = r * r;
+
+        for (int s = 0; s < count; s++) {
+            int i = tiles[s];
+            if (i < 0) continue;
+            double px = (i % mapWidth) * tile + tile / 2.0;
+            double py = (i / mapWidth) * tile + tile / 2.0;
+
+            int c0 = Math.max(0, (int) Math.floor((px - r) / chunkPx));
+            int c1 = Math.min(cw - 1, (int) Math.floor((px + r) / chunkPx));
+            int r0 = Math.max(0, (int) Math.floor((py - r) / chunkPx));
+            int r1 = Math.min(ch - 1, (int) Math.floor((py + r) / chunkPx));
+
+            for (int cy = r0; cy <= r1; cy++) {
+                for (int cx = c0; cx <= c1; cx++) {
+                    // closest point of the chunk rect to the source
+                    double qx = clamp(px, cx * chunkPx, (cx + 1) * chunkPx);
+                    double qy = clamp(py, cy * chunkPx, (cy + 1) * chunkPx);
+                    double dx = qx - px, dy = qy - py;
+                    if (dx * dx + dy * dy <= r2) awake[cy * cw + cx] = true;
+                }
+            }
+        }
+    }
+
+    /** True if the chunk under (x,y) is within the radius of some source. Out of bounds is asleep. */
+    public boolean isAwakeAtWorld(double x, double y) {
+        int cx = (int) Math.floor(x / chunkPx);
+        int cy = (int) Math.floor(y / chunkPx);
+        if (cx < 0 || cy < 0 || cx >= cw || cy >= ch) return false;
+        return awake[cy * cw + cx];
+    }
+
+    public double radius() {
+        return radius;
+    }
+
+    private static double clamp(double v, double lo, double hi) {
+        return (v < lo) ? lo : Math.min(v, hi);
+    }
+}
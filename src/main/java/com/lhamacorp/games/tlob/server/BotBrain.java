@@ -0,0 +1,91 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.math.Dir8;
+import com.lhamacorp.games.tlob.core.net.Protocol.Input;
+
+/**
+ * Decision-making for one in-process bot player (see {@link GameSession#addBot}).
+ * - Produces the same INPUT records a client would send; the session pushes them into the bot's
+ *   input ring, so bots go through the normal input/journal/simulation path.
+ * - Re-thinks every few ticks (staggered by id), like a human reacting at ~10 Hz:
+ *   flee when hurt, chase and swing at the nearest enemy in sight, wander otherwise.
+ * - Deterministic per id (own LCG); the session only feeds it positions.
+ */
+final class BotBrain {
+
+    private static final int THINK_TICKS = 6;
+    private static final double SIGHT = 400, SWING_RANGE = 44, HOLD_RANGE = 26;
+    private static final double FLEE_HP = 2.0, FLEE_RANGE = 150;
+
+    // 8-way octant -> unit step (y grows downwards, matching Dir8 angles)
+    private static final int[] OCT_DX = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] OCT_DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private final int id;
+    private final Input input = new Input();
+    private int lcg;
+    private int wanderTicks = 0;
+
+    BotBrain(int id, long seed) {
+        this.id = id;
+        int s = (int) (seed ^ (seed >>> 32)) ^ (id * 0x9E3779B9);
+        this.lcg = (s == 0) ? 1 : s;
+    }
+
+    /** True on the ticks this bot re-evaluates its surroundings. */
+    boolean thinksAt(int tick) {
+        return ((tick + id) % THINK_TICKS) == 0;
+    }
+
+    /**
+     * Updates the held decision. {@code ex/ey} is the nearest living enemy, or NaN if there is none.
+     * Between thinks the last decision is held, attack included (the swing cooldown paces it).
+     */
+    void think(double x, double y, double hp, double stamina, double ex, double ey) {
+        double dx = ex - x, dy = ey - y;
+        double d2 = dx * dx + dy * dy; // NaN when no enemy: every comparison below is false
+
+        input.attack = false;
+        input.sprint = false;
+        if (hp <= FLEE_HP && d2 <= FLEE_RANGE * FLEE_RANGE) {
+            move(Dir8.angleToOctant(Math.atan2(-dy, -dx)));
+            input.sprint = stamina >= 1.0;
+        } else if (d2 <= SIGHT * SIGHT) {
+            int oct = Dir8.angleToOctant(Math.atan2(dy, dx));
+            if (d2 > HOLD_RANGE * HOLD_RANGE) move(oct);
+            else stop(oct);
+            input.attack = d2 <= SWING_RANGE * SWING_RANGE;
+            input.sprint = d2 > 4 * SWING_RANGE * SWING_RANGE && stamina >= 4.0;
+        } else {
+            wander();
+        }
+    }
+
+    /** This tick's record, stamped with the tick like a client's. */
+    Input input(int tick) {
+        input.tick = tick;
+        return input;
+    }
+
+    private void wander() {
+        wanderTicks -= THINK_TICKS;
+        if (wanderTicks > 0) return;
+        lcg = lcg * 1664525 + 1013904223;
+        wanderTicks = 60 + ((lcg >>> 8) & 63);
+        int pick = (lcg >>> 20) & 15;
+        if (pick < 8) move(pick);
+        else stop(input.facing); // idle for a while
+    }
+
+    private void move(int oct) {
+        input.dx = OCT_DX[oct];
+        input.dy = OCT_DY[oct];
+        input.facing = oct;
+    }
+
+    private void stop(int facing) {
+        input.dx = 0;
+        input.dy = 0;
+        input.facing = facing;
+    }
+}
@@ -0,0 +1,42 @@
+package com.lhamacorp.games.tlob.server;
+
+/**
+ * Batch math over enemies held in primitive arrays (struct-of-arrays), for the enemy and sword phases.
+ * - Implementations must return identical results: same IEEE operations in the same order per element,
+ *   ties resolved toward the lower player index, hits reported in ascending index order.
+ * - {@link #create} picks the Vector API implementation when jdk.incubator.vector is available at
+ *   runtime (--add-modules jdk.incubator.vector) and falls back to the scalar one otherwise.
+ */
+interface EnemyKernels {
+
+    /**
+     * For each enemy i: nearest[i] = index of the closest player (lowest index on ties), or -1 if m == 0;
+     * dist2[i] = its squared distance (+inf if none).
+     */
+    void nearestPlayer(double[] ex, double[] ey, int n, double[] px, double[] py, int m, int[] nearest, double[] dist2);
+
+    /** inside[i] = dist2[i] <= r2[i] (aggro test). Returns how many are inside. */
+    int withinRadius(double[] dist2, double[] r2, int n, boolean[] inside);
+
+    /**
+     * Capsule test against segment a-b: writes the indices of points whose squared distance to the
+     * segment is <= r2 into {@code hits}, ascending. Returns the count.
+     */
+    int capsuleHits(double[] ex, double[] ey, int n, double ax, double ay, double bx, double by, double r2, int[] hits);
+
+    String name();
+
+    /** "vector" tries the SIMD kernels first; anything else is scalar. */
+    static EnemyKernels create(String mode) {
+        if ("vector".equalsIgnoreCase(mode)) {
+            try {
+                // loaded by name so the class (and the incubator module) stays optional at runtime
+                return (EnemyKernels) Class.forName("com.lhamacorp.games.tlob.server.VectorEnemyKernels")
+                    .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.out.println("[Session] Vector kernels unavailable (" + e + "), using scalar");
+            }
+        }
+        return new ScalarEnemyKernels();
+    }
+}
@@ -2,12 +2,18 @@ package com.lhamacorp.games.tlob.server;
 
 import com.lhamacorp.games.tlob.core.Constants;
 import com.lhamacorp.games.tlob.core.math.Dir8;
+import com.lhamacorp.games.tlob.core.math.Fixed;
+import com.lhamacorp.games.tlob.core.math.FixedTrig;
+import com.lhamacorp.games.tlob.core.math.FixedVec;
+import com.lhamacorp.games.tlob.core.net.NetStats;
 import com.lhamacorp.games.tlob.core.net.Protocol;
 import com.lhamacorp.games.tlob.core.net.Protocol.EnemySnap;
 import com.lhamacorp.games.tlob.core.net.Protocol.Input;
 import com.lhamacorp.games.tlob.core.net.Protocol.PlayerSnap;
 import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+import com.lhamacorp.games.tlob.core.world.FlowField;
 import com.lhamacorp.games.tlob.core.world.GridMap;
+import com.lhamacorp.games.tlob.core.world.WakeGrid;
 
 import java.io.*;
 import java.net.Socket;
@@ -16,13 +22,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -36,27 +50,75 @@ public final class GameSession implements Runnable {
     // ----- Config -----
     final long seed;
     final int tickrate;
+    final boolean fixedPoint;
     private static final Path SAVE_FILE = Path.of("save.json");
 
     // Map + physics (match client defaults)
     private static final int MAP_W = 80, MAP_H = 60;
-    private static final int PLAYER_HALF = 11;
-    private static final int ENEMY_HALF = 10;
+    static final int PLAYER_HALF = 11;
+    static final int ENEMY_HALF = 10;
 
     // Sword + enemy tuning (simple, deterministic)
-    private static final double SWORD_REACH = 30, SWORD_WIDTH = 16.0, SWORD_DMG = 2.0;
+    private static final double SWORD_REACH = 30, SWORD_WIDTH = 16.0, SWORD_DMG = 2.0, SWORD_KNOCKBACK = 4.0;
     private static final int SWORD_COOLDOWN_TICKS = 10, SWORD_DURATION_TICKS = 16;
 
     private static final double ENEMY_SPEED = 55.0;
     private static final double ENEMY_MELEE_RANGE = 14.0;
     private static final double ENEMY_DMG_PER_SEC = 1.0;
 
+    // Dormancy: enemies farther than this from every player skip simulation (must cover max aggro 360px)
+    private static final int SLEEP_RADIUS = Integer.getInteger("tlob.server.sleepRadius", 512);
+    // Sleeping enemies take one coarse wander step every N ticks (0 = frozen while asleep)
+    private static final int SLEEP_WANDER_TICKS = Integer.getInteger("tlob.server.sleepWanderTicks", 30);
+
+    // Input jitter buffer: one INPUT is consumed per tick; backlog beyond this depth is skipped
+    // (its attack presses are kept), and a starved player keeps its last movement this many ticks.
+    private static final int INPUT_RING_CAPACITY = 64;
+    private static final int INPUT_JITTER_DEPTH = 2;
+    private static final int INPUT_HOLD_TICKS = 3;
+
+    // Per-connection flood control, enforced in the reader before a line is decoded or parsed.
+    // A "strike" is a 1s window with more than INPUT_REJECT_TOLERANCE rejected lines.
+    private static final int INPUT_RATE = Integer.getInteger("tlob.server.inputRate", 90);   // lines/s
+    private static final int INPUT_BURST = Integer.getInteger("tlob.server.inputBurst", 90); // lines
+    private static final int INPUT_REJECT_TOLERANCE = 30;
+    private static final int INPUT_MAX_STRIKES = Integer.getInteger("tlob.server.inputMaxStrikes", 5);
+    private static final int MAX_LINE_BYTES = 512;
+
+    // Sharded enemy simulation: N vertical strips, one worker each (0 or 1 = single-threaded)
+    private static final int SHARDS = Integer.getInteger("tlob.server.shards", 0);
+
+    // Fixed-point mode: movement, distances, wander directions and sword tests use 16.16 integer math
+    // and positions stay on the 1/65536 grid, so a run is bit-identical on any machine (no Math.cos/hypot)
+    private static final boolean FIXED_POINT = Boolean.getBoolean("tlob.server.fixedPoint");
+
+    // Batch enemy kernels (off | scalar | vector): nearest player, aggro and sword capsule tests over
+    // primitive arrays; "vector" needs --add-modules jdk.incubator.vector and falls back to scalar.
+    // Double path only (fixed-point mode keeps its own math).
+    private static final String ENEMY_KERNELS = System.getProperty("tlob.server.enemyKernels", "off");
+
+    // Hot standby: replicas get a checkpoint when they attach and every N seconds, plus one journal line per tick
+    private static final int CHECKPOINT_SECS = Integer.getInteger("tlob.server.checkpointSecs", 5);
+    // Replica lines are queued for a writer thread; a replica whose queue fills is resynced, and cut
+    // after repeated overflows within one window (same policy as Relay's spectators)
+    private static final int REPLICA_QUEUE_LINES = Integer.getInteger("tlob.server.replicaQueueLines", 256);
+    private static final int REPLICA_MAX_OVERFLOWS = Integer.getInteger("tlob.server.replicaMaxOverflows", 5);
+    private static final long REPLICA_OVERFLOW_WINDOW_NS =
+        Integer.getInteger("tlob.server.replicaOverflowWindowMs", 30_000) * 1_000_000L;
+
     // ----- State -----
     private final AtomicInteger nextId = new AtomicInteger(1);
     private final Map<Integer, PlayerState> players = new ConcurrentHashMap<>();
+    private final List<PlayerState> roster = new ArrayList<>(); // players by ascending id, tick thread only
     private final List<EnemyState> enemies = new CopyOnWriteArrayList<>();
-    private final BlockingQueue<ClientPacket> inputQ = new LinkedBlockingQueue<>();
     private final List<ClientConn> conns = new CopyOnWriteArrayList<>();
+    private final List<ClientConn> replicas = new CopyOnWriteArrayList<>();
+    private final Queue<PlayerState> joins = new ConcurrentLinkedQueue<>(); // applied at tick start
+    private final Queue<Integer> leaves = new ConcurrentLinkedQueue<>();    // departed player ids, same
+    private int enemySeq = 0; // highest enemy id handed out
+    private final StringBuilder journal = new StringBuilder(128);
+    private boolean replaying = false; // standby: inputs come from the journal, not from rings
+    private final TickTimes tickTimes = new TickTimes(4096); // simulateTick only (no I/O)
 
     private static int lcgNext(int s) {
         return s * 1664525 + 1013904223;
@@ -67,18 +129,65 @@ public final class GameSession implements Runnable {
     }
 
     private final GridMap grid;
+    private final FlowField flow;
+    private final WakeGrid wake;
+    private final RegionWorkers<EnemyState> shards;
+    private int[] playerTiles = new int[8];
+
+    // Kernel scratch, struct-of-arrays (tick thread only)
+    private final EnemyKernels kernels;
+    private EnemyState[] kEnemies = new EnemyState[64];
+    private double[] kx = new double[64], ky = new double[64], kr2 = new double[64], kd2 = new double[64];
+    private int[] kIdx = new int[64];
+    private boolean[] kIn = new boolean[64];
+    private PlayerState[] kPlayers = new PlayerState[8];
+    private double[] kpx = new double[8], kpy = new double[8];
 
     volatile boolean running = true;
     int tick = 0;
 
     public GameSession(long seed, int tickrate) {
+        this(seed, tickrate, FIXED_POINT);
+    }
+
+    public GameSession(long seed, int tickrate, boolean fixedPoint) {
+        this(seed, tickrate, fixedPoint, true);
+    }
+
+    /**
+     * A session for a hot standby: same world, but nothing is restored from {@link #SAVE_FILE}.
+     * Its players come from the primary's journal and checkpoints; orphans are adopted on promotion.
+     */
+    static GameSession replica(long seed, int tickrate, boolean fixedPoint) {
+        return new GameSession(seed, tickrate, fixedPoint, false);
+    }
+
+    private GameSession(long seed, int tickrate, boolean fixedPoint, boolean restore) {
         this.seed = seed;
         this.tickrate = (tickrate <= 0) ? 60 : tickrate;
+        this.fixedPoint = fixedPoint;
+        this.kernels = (fixedPoint || "off".equalsIgnoreCase(ENEMY_KERNELS)) ? null : EnemyKernels.create(ENEMY_KERNELS);
         this.grid = new GridMap(MAP_W, MAP_H, seed);
+        this.flow = new FlowField(grid);
+        this.wake = new WakeGrid(grid, SLEEP_RADIUS);
+        this.shards = (SHARDS > 1)
+            ? new RegionWorkers<>(SHARDS, MAP_W * (double) Constants.TILE_SIZE, e -> e.x, this::updateEnemy)
+            : null;
         spawnInitialEnemies(seed);
-        try {
-            loadStateIfPresent();
-        } catch (Exception ignored) {
+        if (shards != null) {
+            System.out.printf("[Session] Sharded enemy simulation: %d regions%n", shards.regionCount());
+        }
+        if (fixedPoint) {
+            System.out.println("[Session] Fixed-point simulation (16.16)");
+        }
+        if (kernels != null) {
+            System.out.println("[Session] Enemy kernels: " + kernels.name());
+        }
+        if (restore) {
+            try {
+                loadState(SAVE_FILE);
+            } catch (Exception ignored) {
+            }
         }
     }
 
@@ -91,19 +200,13 @@ public final class GameSession implements Runnable {
         int id = nextId.getAndIncrement();
         String safeName = (name == null || name.isBlank()) ? ("P" + id) : sanitize(name);
 
-        // Spawn on a floor tile not too close to center (deterministic per id)
-        Random r = new Random(seed ^ (id * 0x9E3779B97F4A7C15L));
-        int[] t = grid.randomFloorTileFarFrom(
-            MAP_W * Constants.TILE_SIZE / 2.0,
-            MAP_H * Constants.TILE_SIZE / 2.0,
-            200, r);
-        double x = t[0] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
-        double y = t[1] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
-
-        PlayerState ps = players.computeIfAbsent(id, k -> new PlayerState(k, safeName, x, y));
+        // The player enters the simulation at the next tick start (so joins can be journaled)
+        PlayerState ps = spawnPlayer(id, safeName);
         ps.version = version;
 
-        ClientConn conn = new ClientConn(id, socket);
+        ClientConn conn = new ClientConn(id, socket, false);
+        ps.inputs = conn.inputs;
+        joins.add(ps);
         conns.add(conn);
 
         // Handshake
@@ -126,13 +229,187 @@ public final class GameSession implements Runnable {
         return id;
     }
 
+    /**
+     * Adds a snapshot subscriber (e.g. a {@link Relay}): same handshake minus YOU/WELCOME,
+     * no player is spawned and INPUT lines are ignored. It receives every broadcast.
+     */
+    int addSubscriber(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+
+        int id = nextId.getAndIncrement();
+        ClientConn conn = new ClientConn(id, socket, true);
+        conns.add(conn);
+
+        conn.send("HELLO proto=1");
+        conn.send("SEED " + seed);
+        conn.send("TICKRATE " + tickrate);
+        sendMap(conn);
+        conn.send("READY");
+
+        conn.startReader(line -> onClientLine(conn, line));
+
+        System.out.printf("[Session] Subscriber #%d joined (%s)%n", id, socket.getRemoteSocketAddress());
+        return id;
+    }
+
+
+    /**
+     * Adds a hot-standby replica (see {@link Standby}). It gets a checkpoint at the next tick,
+     * then one journal line per tick and a fresh checkpoint every CHECKPOINT_SECS. All of it goes
+     * through the replica's own queue and writer thread, so a slow standby never stalls the tick.
+     */
+    void addReplica(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        ClientConn conn = new ClientConn(0, socket, true);
+        conn.startWriter(REPLICA_QUEUE_LINES, "ReplicaWriter-" + socket.getPort());
+        conn.offer("REPL seed=" + seed + " tickrate=" + tickrate + " fixed=" + (fixedPoint ? 1 : 0)); // queue is empty
+        replicas.add(conn);
+        conn.startReader(line -> {
+            if (line != null) return;
+            replicas.remove(conn);
+            conn.close();
+            System.out.printf("[Session] Replica %s detached%n", socket.getRemoteSocketAddress());
+        });
+        System.out.printf("[Session] Replica %s attached%n", socket.getRemoteSocketAddress());
+    }
+
+    /**
+     * Adds an in-process bot player: no socket, its {@link BotBrain} fills the input ring on the
+     * tick thread, so it joins, journals and simulates exactly like a network client.
+     */
+    public int addBot(String name) {
+        int id = nextId.getAndIncrement();
+        PlayerState ps = spawnPlayer(id, (name == null || name.isBlank()) ? ("Bot" + id) : sanitize(name));
+        ps.isBot = true;
+        ps.inputs = new InputRing(INPUT_RING_CAPACITY);
+        ps.bot = new BotBrain(id, seed);
+        joins.add(ps);
+        return id;
+    }
+
+    public void addBots(int count) {
+        for (int i = 0; i < count; i++) addBot(null);
+    }
+
+    /** A bot leaves like a disconnecting client: removed (and journaled) at the next tick start. */
+    public void removeBot(int id) {
+        leaves.add(id);
+    }
+
+    /**
+     * Claims the players nobody drives any more, after a standby promotion or a restore from
+     * save: replicated bots get a fresh brain and input ring and play on; every other player
+     * without a connection leaves (journaled) at the next tick start, as if it had disconnected.
+     * There is no resume handshake, so those clients join again as new players. Call once, before
+     * the loop starts: {@link #loadState} does it for a primary, the promoter for a {@link #replica}.
+     * Returns how many players will leave.
+     */
+    int adoptOrphans() {
+        int leaving = 0;
+        for (PlayerState ps : roster) {
+            if (ps.inputs != null) continue;
+            if (ps.isBot) {
+                ps.inputs = new InputRing(INPUT_RING_CAPACITY);
+                ps.bot = new BotBrain(ps.id, seed);
+            } else {
+                leaves.add(ps.id);
+                leaving++;
+            }
+        }
+        return leaving;
+    }
+
+    /** Ids of the bots currently in the simulation. */
+    public List<Integer> botIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (PlayerState ps : players.values()) if (ps.bot != null) ids.add(ps.id);
+        return ids;
+    }
+
+    /** True if the player is in the simulation and alive. */
+    public boolean isAlive(int id) {
+        PlayerState ps = players.get(id);
+        return ps != null && ps.alive;
+    }
+
+    /**
+     * Spawns extra enemies with the initial spawn rules (deterministic per seed and enemy ids so far).
+     * Call before the session loop starts or between {@link #advance()} calls; shards and the
+     * enemy list are owned by the tick thread.
+     */
+    public void spawnEnemies(int count) {
+        if (count > 0) spawnEnemies(new Random(seed ^ (enemySeq * 0x9E3779B97F4A7C15L)), count);
+    }
+
+    /**
+     * One tick without the real-time loop or any I/O (no checkpoints, journal or snapshots):
+     * bots think, the simulation steps and its time is recorded. For headless drivers and stress runs.
+     */
+    public void advance() {
+        driveBots();
+        long t0 = System.nanoTime();
+        simulateTick();
+        tickTimes.record(System.nanoTime() - t0);
+        tick++;
+    }
+
+    /** Simulation time per tick; read from the thread that runs the session. */
+    public TickTimes tickTimes() {
+        return tickTimes;
+    }
+
+    public int playerCount() {
+        return players.size() + joins.size();
+    }
+
+    public int alivePlayers() {
+        int n = 0;
+        for (PlayerState ps : players.values()) if (ps.alive) n++;
+        return n;
+    }
+
+    public int enemyCount() {
+        return enemies.size();
+    }
+
+    public int aliveEnemies() {
+        int n = 0;
+        for (EnemyState e : enemies) if (e.alive) n++;
+        return n;
+    }
+
+    /**
+     * Sizes of everything the session keeps per player, enemy or connection, for soak runs.
+     * Read from the thread that drives the session (or accept slightly stale numbers).
+     */
+    public Map<String, Long> retainedCounts() {
+        Map<String, Long> m = new LinkedHashMap<>();
+        m.put("session.players", (long) players.size());
+        m.put("session.enemies", (long) enemies.size());
+        m.put("session.conns", (long) conns.size());
+        m.put("session.replicas", (long) replicas.size());
+        m.put("session.pending", (long) (joins.size() + leaves.size()));
+        if (shards != null) {
+            long n = 0;
+            for (int size : shards.sizes()) n += size;
+            m.put("session.shardEnemies", n);
+        }
+        m.put("session.kernelScratch", (long) kx.length);
+        return m;
+    }
+
+    /** Stops the loop and shard workers without saving (throwaway sessions, e.g. stress runs). */
+    public void stop() {
+        running = false;
+        if (shards != null) shards.close();
+    }
 
     /** Graceful stop and autosave. */
     public void shutdown() {
-        running = false;
+        stop();
         for (ClientConn c : conns) c.close();
         try {
-            saveState();
+            saveState(SAVE_FILE);
         } catch (Exception ignored) {
         }
     }
@@ -153,27 +430,34 @@ public final class GameSession implements Runnable {
             }
             last += stepNs;
 
-            // 1) inputs -> pending
-            List<ClientPacket> batch = new ArrayList<>(128);
-            inputQ.drainTo(batch);
-            for (ClientPacket cp : batch) {
-                PlayerState ps = players.get(cp.playerId);
-                if (ps != null && ps.alive) ps.pending = cp.msg;
+            // 1) simulate (players consume their own input rings, bots fill theirs), journal to replicas
+            sendCheckpoints();
+            driveBots();
+            long t0 = System.nanoTime();
+            String journalLine = simulateTick();
+            tickTimes.record(System.nanoTime() - t0);
+            for (ClientConn r : replicas) {
+                if (!r.needsFull) replicate(r, journalLine);
             }
 
-            // 2) simulate
-            updatePlayers();
-            updateEnemies();
-
-            // 3) broadcast snapshots at ~30 Hz (maintained for network efficiency)
+            // 2) broadcast snapshots at ~30 Hz (maintained for network efficiency)
             if ((tick % broadcastDiv) == 0) {
                 broadcastSnapshot();
             }
 
+            // 3) latency probes every 1s, per-connection link stats every 10s
+            if ((tick % tickrate) == 0) pingClients();
+            if ((tick % (tickrate * 10)) == 0) {
+                logNetStats();
+                if (tick > 0) System.out.printf("[Session] tick time: %s players=%d enemies=%d%n",
+                    tickTimes.summary(stepNs), alivePlayers(), aliveEnemies());
+                tickTimes.reset();
+            }
+
             // 4) autosave every 10s
             if ((tick % (tickrate * 10)) == 0) {
                 try {
-                    saveState();
+                    saveState(SAVE_FILE);
                 } catch (Exception ignored) {
                 }
             }
@@ -182,16 +466,95 @@ public final class GameSession implements Runnable {
         }
     }
 
+    /**
+     * One simulation step at the current tick (the caller advances {@link #tick}).
+     * Returns the journal line for this tick: joins and the input each player actually used,
+     * which is all a standby needs to replay the step.
+     */
+    String simulateTick() {
+        journal.setLength(0);
+        journal.append("J t=").append(tick);
+
+        for (PlayerState ps; (ps = joins.poll()) != null; ) {
+            if (addPlayer(ps)) {
+                journal.append(" join=").append(ps.id).append(':').append(Protocol.urlEnc(ps.name));
+                if (ps.isBot) journal.append(":bot");
+            }
+        }
+        for (Integer id; (id = leaves.poll()) != null; ) {
+            if (removePlayer(id)) journal.append(" leave=").append(id);
+        }
+        updatePlayers();
+        updatePlayerTiles();
+        updateEnemies();
+        if ((tick % tickrate) == 0) pruneDeadEnemies();
+        return journal.toString();
+    }
+
+    /** Adds a player unless its id is taken, keeping {@link #roster} in id order. */
+    private boolean addPlayer(PlayerState ps) {
+        if (players.putIfAbsent(ps.id, ps) != null) return false;
+        int i = roster.size();
+        while (i > 0 && roster.get(i - 1).id > ps.id) i--; // ids are handed out ascending: usually appends
+        roster.add(i, ps);
+        return true;
+    }
+
+    private boolean removePlayer(int id) {
+        PlayerState ps = players.remove(id);
+        if (ps == null) return false;
+        roster.remove(ps);
+        return true;
+    }
+
+    /**
+     * Rebuilds {@link #roster} from the map after bulk changes (checkpoint, save restore).
+     * Every per-tick loop walks the roster, so primary and standby visit players in the same order
+     * whatever the map's hashing history.
+     */
+    private void rebuildRoster() {
+        roster.clear();
+        roster.addAll(players.values());
+        roster.sort(Comparator.comparingInt(ps -> ps.id));
+    }
+
+    // ----- Per-tick: bots -----
+
+    /**
+     * Bots act like clients: each pushes one INPUT per tick into its own ring before the step.
+     * Never runs on a standby replaying a journal (bot inputs arrive through the journal there).
+     */
+    void driveBots() {
+        for (PlayerState ps : roster) {
+            BotBrain bot = ps.bot;
+            if (bot == null || !ps.alive) continue;
+            if (bot.thinksAt(tick)) {
+                double best = Double.POSITIVE_INFINITY, ex = Double.NaN, ey = Double.NaN;
+                for (EnemyState e : enemies) {
+                    if (!e.alive) continue;
+                    double dx = e.x - ps.x, dy = e.y - ps.y, d2 = dx * dx + dy * dy;
+                    if (d2 < best) {
+                        best = d2;
+                        ex = e.x;
+                        ey = e.y;
+                    }
+                }
+                bot.think(ps.x, ps.y, ps.hp, ps.stamina, ex, ey);
+            }
+            ps.inputs.offer(bot.input(tick));
+        }
+    }
+
     // ----- Per-tick: players -----
 
     private void updatePlayers() {
         final double dt = 1.0 / tickrate;
 
-        for (PlayerState ps : players.values()) {
+        for (PlayerState ps : roster) {
             if (!ps.alive) continue;  // <- do not update dead players
 
-            Input ci = ps.pending;
-            ps.pending = null;
+            Input ci = replaying ? replayInput(ps) : nextInput(ps);
+            if (ci != null) journalInput(ps.id, ci);
 
             int dx = 0, dy = 0, facing = ps.facing;
             boolean sprint = false, attack = false;
@@ -207,7 +570,7 @@ public final class GameSession implements Runnable {
             // normalize diagonal
             double vx = dx, vy = dy;
             if (vx != 0 && vy != 0) {
-                double inv = 1.0 / Math.sqrt(2.0);
+                double inv = fixedPoint ? Fixed.toDouble(Fixed.INV_SQRT2) : 1.0 / Math.sqrt(2.0);
                 vx *= inv;
                 vy *= inv;
             }
@@ -223,8 +586,8 @@ public final class GameSession implements Runnable {
             }
 
             // move with collisions
-            ps.x = moveAxis(ps.x, ps.y, vx * speed * dt, true, PLAYER_HALF);
-            ps.y = moveAxis(ps.x, ps.y, vy * speed * dt, false, PLAYER_HALF);
+            ps.x = moveAxis(ps.x, ps.y, step(vx, speed, dt), true, PLAYER_HALF);
+            ps.y = moveAxis(ps.x, ps.y, step(vy, speed, dt), false, PLAYER_HALF);
             ps.facing = facing;
 
             // timers
@@ -251,7 +614,65 @@ public final class GameSession implements Runnable {
         }
     }
 
+    /**
+     * Takes this tick's input from the player's ring (jitter buffer, in arrival = client tick order).
+     * Returns null when the player has no input for this tick. Never allocates.
+     */
+    private Input nextInput(PlayerState ps) {
+        InputRing ring = ps.inputs;
+        if (ring == null) return null;
+
+        Input in = ps.input;
+        boolean attack = false;
+        boolean got = false;
+
+        // catch up: drop backlog beyond the jitter depth, but never lose an attack press
+        for (int n = ring.size(); n > INPUT_JITTER_DEPTH + 1 && ring.poll(in); n--) {
+            attack |= in.attack;
+            got = true;
+        }
+        // stale records (client tick went backwards) are merged into the next one
+        while (ring.poll(in)) {
+            attack |= in.attack;
+            got = true;
+            if (in.tick >= ps.lastInputTick) break;
+        }
+
+        if (got) {
+            in.attack = attack;
+            ps.lastInputTick = Math.max(ps.lastInputTick, in.tick);
+            ps.holdTicks = 0;
+            ps.hasInput = true;
+            return in;
+        }
+
+        // starved this tick: keep moving briefly, never repeat an attack
+        if (ps.hasInput && ++ps.holdTicks <= INPUT_HOLD_TICKS) {
+            in.attack = false;
+            return in;
+        }
+        return null;
+    }
+
+    private Input replayInput(PlayerState ps) {
+        if (!ps.replayed) return null;
+        ps.replayed = false;
+        return ps.input;
+    }
+
+    private void journalInput(int id, Input in) {
+        journal.append(" in=").append(id)
+            .append(':').append(in.dx)
+            .append(':').append(in.dy)
+            .append(':').append(in.facing)
+            .append(':').append((in.sprint ? 1 : 0) | (in.attack ? 2 : 0));
+    }
+
     private void applySwordHits(PlayerState ps) {
+        if (fixedPoint) {
+            applySwordHitsFixed(ps);
+            return;
+        }
         // forward unit from 8-way facing
         double ang = Dir8.octantToAngle(ps.facing);
         double ux = Math.cos(ang), uy = Math.sin(ang);
@@ -266,6 +687,23 @@ public final class GameSession implements Runnable {
         double r2 = r * r;
 
         long swingTag = (((long) ps.id) << 32) | (ps.swingSeq & 0xFFFFFFFFL);
+        double kbx = ux * SWORD_KNOCKBACK, kby = uy * SWORD_KNOCKBACK;
+
+        if (kernels != null) {
+            int n = 0;
+            for (EnemyState e : enemies) {
+                if (!e.alive || e.lastSwingTag == swingTag) continue;
+                ensureKernelCapacity(n + 1);
+                kEnemies[n] = e;
+                kx[n] = e.x;
+                ky[n] = e.y;
+                n++;
+            }
+            // a hit only moves the enemy that was hit, so testing all first is the same as the loop below
+            int hits = kernels.capsuleHits(kx, ky, n, x0, y0, x1, y1, r2, kIdx);
+            for (int h = 0; h < hits; h++) hitEnemy(kEnemies[kIdx[h]], swingTag, kbx, kby);
+            return;
+        }
 
         for (EnemyState e : enemies) {
             if (!e.alive) continue;
@@ -281,68 +719,256 @@ public final class GameSession implements Runnable {
             double dx = e.x - cx, dy = e.y - cy;
             double d2 = dx * dx + dy * dy;
 
-            if (d2 <= r2) {
-                e.lastSwingTag = swingTag;
-                e.hp -= SWORD_DMG;
-                if (e.hp <= 0) {
-                    e.hp = 0;
-                    e.alive = false;
-                }
+            if (d2 <= r2) hitEnemy(e, swingTag, kbx, kby);
+        }
+    }
 
-                // small knockback along the swing direction
-                double kb = 4.0, nx = e.x + ux * kb, ny = e.y + uy * kb;
-                if (!grid.collidesBox(nx, e.y, ENEMY_HALF)) e.x = nx;
-                if (!grid.collidesBox(e.x, ny, ENEMY_HALF)) e.y = ny;
-            }
+    /**
+     * Damage, death and knockback for one capsule hit, shared by the double and 16.16 paths;
+     * they only differ in the hit test and in how {@code kbx/kby} (the push, px) are computed.
+     */
+    private void hitEnemy(EnemyState e, long swingTag, double kbx, double kby) {
+        e.lastSwingTag = swingTag;
+        e.hp -= SWORD_DMG;
+        if (e.hp <= 0) {
+            e.hp = 0;
+            e.alive = false;
+            e.deadTick = tick;
+        }
+        e.dirty = true;
+
+        // small knockback along the swing direction
+        double nx = e.x + kbx, ny = e.y + kby;
+        if (!grid.collidesBox(nx, e.y, ENEMY_HALF)) e.x = nx;
+        if (!grid.collidesBox(e.x, ny, ENEMY_HALF)) e.y = ny;
+    }
+
+    /** Same capsule test and knockback in 16.16: segment distance against the squared radius. */
+    private void applySwordHitsFixed(PlayerState ps) {
+        int ang = FixedTrig.octant(ps.facing);
+        int ux = FixedTrig.cos(ang), uy = FixedTrig.sin(ang);
+        int reach = Fixed.fromDouble(SWORD_REACH);
+
+        int x0 = Fixed.fromDouble(ps.x), y0 = Fixed.fromDouble(ps.y);
+        int x1 = x0 + Fixed.mul(ux, reach), y1 = y0 + Fixed.mul(uy, reach);
+        long r2 = FixedVec.sq(Fixed.fromDouble((SWORD_WIDTH * 0.5) + ENEMY_HALF));
+
+        long swingTag = (((long) ps.id) << 32) | (ps.swingSeq & 0xFFFFFFFFL);
+        int kb = Fixed.fromDouble(SWORD_KNOCKBACK);
+        double kbx = Fixed.toDouble(Fixed.mul(ux, kb)), kby = Fixed.toDouble(Fixed.mul(uy, kb));
+
+        for (EnemyState e : enemies) {
+            if (!e.alive) continue;
+            if (e.lastSwingTag == swingTag) continue;
+
+            long d2 = FixedVec.segmentDist2(Fixed.fromDouble(e.x), Fixed.fromDouble(e.y), x0, y0, x1, y1);
+            if (d2 <= r2) hitEnemy(e, swingTag, kbx, kby);
         }
     }
 
     // ----- Per-tick: enemies -----
 
+    /**
+     * Feeds living players' tiles to the flow field and the wake mask.
+     * Both only rebuild when some player changed tile.
+     */
+    private void updatePlayerTiles() {
+        int n = 0;
+        for (PlayerState ps : roster) {
+            if (!ps.alive) continue;
+            int i = flow.tileIndexAtWorld(ps.x, ps.y);
+            if (i < 0) continue;
+            if (n == playerTiles.length) playerTiles = Arrays.copyOf(playerTiles, n * 2);
+            playerTiles[n++] = i;
+        }
+        if (flow.update(playerTiles, n)) wake.rebuild(playerTiles, n, MAP_W);
+    }
+
+    /**
+     * Enemy phase. Each enemy only writes itself (so strips can run in parallel);
+     * melee hits on players are recorded as intents and applied afterwards in list order,
+     * which keeps results identical for any shard count.
+     */
     private void updateEnemies() {
-        final double dt = 1.0 / tickrate;
+        if (kernels != null) targetEnemies();
+        if (shards != null) {
+            shards.step();
+        } else {
+            for (EnemyState e : enemies) updateEnemy(e);
+        }
+        applyEnemyMelee();
+    }
 
+    /**
+     * Kernel pre-pass: nearest living player and aggro test for every awake enemy in one batch.
+     * Players do not move during the enemy phase, so this sees what each enemy's own scan would.
+     */
+    private void targetEnemies() {
+        int m = 0;
+        for (PlayerState ps : roster) {
+            if (!ps.alive) continue;
+            if (m == kPlayers.length) {
+                kPlayers = Arrays.copyOf(kPlayers, m * 2);
+                kpx = Arrays.copyOf(kpx, m * 2);
+                kpy = Arrays.copyOf(kpy, m * 2);
+            }
+            kPlayers[m] = ps;
+            kpx[m] = ps.x;
+            kpy[m] = ps.y;
+            m++;
+        }
+
+        int n = 0;
         for (EnemyState e : enemies) {
-            if (!e.alive) continue;
+            if (!e.alive || !wake.isAwakeAtWorld(e.x, e.y)) continue;
+            ensureKernelCapacity(n + 1);
+            kEnemies[n] = e;
+            kx[n] = e.x;
+            ky[n] = e.y;
+            kr2[n] = e.aggroRadius * e.aggroRadius;
+            n++;
+        }
+
+        kernels.nearestPlayer(kx, ky, n, kpx, kpy, m, kIdx, kd2);
+        kernels.withinRadius(kd2, kr2, n, kIn);
+        for (int i = 0; i < n; i++) {
+            EnemyState e = kEnemies[i];
+            e.target = (kIdx[i] < 0) ? null : kPlayers[kIdx[i]];
+            e.targetDist2 = kd2[i];
+            e.engaged = kIn[i];
+            kEnemies[i] = null;
+        }
+        Arrays.fill(kPlayers, 0, m, null);
+    }
+
+    private void ensureKernelCapacity(int n) {
+        if (n <= kx.length) return;
+        int cap = Math.max(n, kx.length * 2);
+        kEnemies = Arrays.copyOf(kEnemies, cap);
+        kx = Arrays.copyOf(kx, cap);
+        ky = Arrays.copyOf(ky, cap);
+        kr2 = Arrays.copyOf(kr2, cap);
+        kd2 = Arrays.copyOf(kd2, cap);
+        kIdx = Arrays.copyOf(kIdx, cap);
+        kIn = Arrays.copyOf(kIn, cap);
+    }
 
-            // find closest living player
-            PlayerState target = null;
+    /**
+     * Drops enemies that died at least a second ago: every broadcast since has carried their
+     * death, so clients and relays already forgot them. Runs inside the step (deterministic),
+     * so a standby prunes the same ones.
+     */
+    private void pruneDeadEnemies() {
+        boolean any = false;
+        for (EnemyState e : enemies) any |= !e.alive && tick - e.deadTick >= tickrate;
+        if (!any) return;
+        enemies.removeIf(e -> !e.alive && tick - e.deadTick >= tickrate);
+        if (shards != null) shards.removeIf(e -> !e.alive && tick - e.deadTick >= tickrate);
+    }
+
+    private void applyEnemyMelee() {
+        final double dt = 1.0 / tickrate;
+        for (EnemyState e : enemies) {
+            PlayerState target = e.meleeTarget;
+            if (target == null) continue;
+            e.meleeTarget = null;
+            if (!target.alive) continue;
+            target.hp = Math.max(0.0, target.hp - ENEMY_DMG_PER_SEC * dt);
+            if (target.hp == 0.0) target.alive = false;
+        }
+    }
+
+    private void updateEnemy(EnemyState e) {
+        final double dt = 1.0 / tickrate;
+        if (!e.alive) return;
+
+        // dormant: nobody within SLEEP_RADIUS -> optional coarse wander, no player scan
+        if (!wake.isAwakeAtWorld(e.x, e.y)) {
+            if (!e.asleep) {
+                e.asleep = true;
+                e.dirty = true; // flush the last awake position once
+            }
+            if (SLEEP_WANDER_TICKS > 0 && ((tick + e.id) % SLEEP_WANDER_TICKS) == 0) {
+                sleepWanderStep(e, dt * SLEEP_WANDER_TICKS);
+            }
+            return;
+        }
+        e.asleep = false;
+        e.dirty = true;
+
+        // find closest living player (precomputed in one batch when kernels are on)
+        PlayerState target = null;
+        boolean engaged, melee;
+        if (kernels != null) {
+            target = e.target;
+            e.target = null;
+            engaged = e.engaged;
+            melee = e.targetDist2 <= ENEMY_MELEE_RANGE * ENEMY_MELEE_RANGE;
+        } else {
             double best = Double.POSITIVE_INFINITY;
-            for (PlayerState ps : players.values()) {
+            for (PlayerState ps : roster) {
                 if (!ps.alive) continue;
-                double d = Math.hypot(ps.x - e.x, ps.y - e.y);
+                double d = distance(ps.x - e.x, ps.y - e.y);
                 if (d < best) {
                     best = d;
                     target = ps;
                 }
             }
-            if (target == null) continue;
+            engaged = !(best > e.aggroRadius);
+            melee = best <= ENEMY_MELEE_RANGE;
+        }
+        if (target == null) return;
 
-            if (best > e.aggroRadius) {
-                // --- wander when far (match SP feel) ---
-                if (--e.wanderTimer <= 0) pickNewWanderDir(e);
-                double vx = e.wanderDx * (0.6 * ENEMY_SPEED);
-                double vy = e.wanderDy * (0.6 * ENEMY_SPEED);
-                e.x = moveAxis(e.x, e.y, vx * dt, true, ENEMY_HALF);
-                e.y = moveAxis(e.x, e.y, vy * dt, false, ENEMY_HALF);
-                continue;
-            }
+        if (!engaged) {
+            // --- wander when far (match SP feel) ---
+            if (--e.wanderTimer <= 0) pickNewWanderDir(e);
+            e.x = moveAxis(e.x, e.y, step(e.wanderDx, 0.6 * ENEMY_SPEED, dt), true, ENEMY_HALF);
+            e.y = moveAxis(e.x, e.y, step(e.wanderDy, 0.6 * ENEMY_SPEED, dt), false, ENEMY_HALF);
+            return;
+        }
 
-            // --- engaged: melee or chase ---
-            if (best <= ENEMY_MELEE_RANGE) {
-                target.hp = Math.max(0.0, target.hp - ENEMY_DMG_PER_SEC * dt);
-                if (target.hp == 0.0) target.alive = false;
-                continue;
-            }
+        // --- engaged: melee or chase ---
+        if (melee) {
+            e.meleeTarget = target; // applied after the enemy phase
+            return;
+        }
 
-            double dx = target.x - e.x, dy = target.y - e.y, len = Math.hypot(dx, dy);
+        // follow the shared flow field toward the next tile center; straight line once on a player tile
+        double dx, dy;
+        int oct = flow.directionAtWorld(e.x, e.y);
+        if (oct != FlowField.NONE) {
+            final int ts = Constants.TILE_SIZE;
+            int nx = (int) Math.floor(e.x / ts) + FlowField.octantDx(oct);
+            int ny = (int) Math.floor(e.y / ts) + FlowField.octantDy(oct);
+            dx = nx * ts + ts / 2.0 - e.x;
+            dy = ny * ts + ts / 2.0 - e.y;
+        } else {
+            dx = target.x - e.x;
+            dy = target.y - e.y;
+        }
+        if (fixedPoint) {
+            int fdx = Fixed.fromDouble(dx), fdy = Fixed.fromDouble(dy);
+            dx = Fixed.toDouble(FixedVec.unit(fdx, fdx, fdy));
+            dy = Fixed.toDouble(FixedVec.unit(fdy, fdx, fdy));
+        } else {
+            double len = Math.hypot(dx, dy);
             if (len > 1e-6) {
                 dx /= len;
                 dy /= len;
             }
-            e.x = moveAxis(e.x, e.y, dx * ENEMY_SPEED * dt, true, ENEMY_HALF);
-            e.y = moveAxis(e.x, e.y, dy * ENEMY_SPEED * dt, false, ENEMY_HALF);
         }
+        e.x = moveAxis(e.x, e.y, step(dx, ENEMY_SPEED, dt), true, ENEMY_HALF);
+        e.y = moveAxis(e.x, e.y, step(dy, ENEMY_SPEED, dt), false, ENEMY_HALF);
+    }
+
+    /** One coarse wander step covering {@code span} seconds; marks the enemy dirty only if it moved. */
+    private void sleepWanderStep(EnemyState e, double span) {
+        pickNewWanderDir(e);
+        double dist = 0.6 * ENEMY_SPEED * span;
+        double ox = e.x, oy = e.y;
+        e.x = moveAxis(e.x, e.y, step(e.wanderDx, dist, 1.0), true, ENEMY_HALF);
+        e.y = moveAxis(e.x, e.y, step(e.wanderDy, dist, 1.0), false, ENEMY_HALF);
+        if (e.x != ox || e.y != oy) e.dirty = true;
     }
 
     // ----- Net out -----
@@ -355,11 +981,19 @@ public final class GameSession implements Runnable {
         }
     }
 
+    /**
+     * Awake enemies are sent every broadcast; sleeping and dead ones only when they changed
+     * (delta frame). Connections that just joined get one full frame with every enemy.
+     */
     private void broadcastSnapshot() {
+        boolean anyNeedsFull = false;
+        for (ClientConn c : conns) anyNeedsFull |= c.needsFull;
+
         Snapshot snap = new Snapshot();
         snap.tick = tick;
+        snap.enemiesDelta = true;
 
-        for (PlayerState ps : players.values()) {
+        for (PlayerState ps : roster) {
             PlayerSnap p = new PlayerSnap();
             p.id = ps.id;
             p.x = ps.x;
@@ -373,25 +1007,65 @@ public final class GameSession implements Runnable {
             snap.players.put(p.id, p);
         }
 
+        Snapshot full = null;
+        if (anyNeedsFull) {
+            full = new Snapshot();
+            full.tick = tick;
+            full.players = snap.players;
+        }
+
         for (EnemyState e : enemies) {
+            if (!e.dirty && full == null) continue;
             EnemySnap es = new EnemySnap();
             es.id = e.id;
             es.x = e.x;
             es.y = e.y;
             es.hp = e.hp;
             es.alive = e.alive;
-            snap.enemies.put(es.id, es);
+            if (e.dirty) snap.enemies.put(es.id, es);
+            if (full != null) full.enemies.put(es.id, es);
+            e.dirty = false;
         }
 
+        String deltaLine = encodeSnapshot(snap);
+        String fullLine = (full != null) ? encodeSnapshot(full) : null;
+        long now = System.nanoTime();
         for (ClientConn c : conns) {
-            try (StringWriter sw = new StringWriter()) {
-                Protocol.writeSnapshot(snap, sw);
-                c.send(sw.toString().trim());
-            } catch (IOException ignored) {
+            c.stats.onSnapshot(tick, now);
+            // a connection that joined after we checked gets its full frame next broadcast
+            if (c.needsFull && fullLine != null) {
+                c.send(fullLine);
+                c.needsFull = false;
+            } else {
+                c.send(deltaLine);
             }
         }
     }
 
+    private void pingClients() {
+        long now = System.nanoTime();
+        for (ClientConn c : conns) {
+            c.stats.roll(now);
+            c.send(Protocol.ping(now));
+        }
+    }
+
+    private void logNetStats() {
+        for (ClientConn c : conns) {
+            System.out.printf("[Session] #%d net: %s rejected=%d%n",
+                c.playerId, c.stats.summary(), c.rejectedLines + c.oversizeLines);
+        }
+    }
+
+    private static String encodeSnapshot(Snapshot snap) {
+        try (StringWriter sw = new StringWriter()) {
+            Protocol.writeSnapshot(snap, sw);
+            return sw.toString().trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
     // ----- Helpers -----
 
     private void pickNewWanderDir(EnemyState e) {
@@ -400,13 +1074,30 @@ public final class GameSession implements Runnable {
         e.wanderTimer = span;
 
         e.lcg = lcgNext(e.lcg);
+        if (fixedPoint) {
+            int ang = FixedTrig.fromTurns(lcg01(e.lcg));
+            e.wanderDx = Fixed.toDouble(FixedTrig.cos(ang));
+            e.wanderDy = Fixed.toDouble(FixedTrig.sin(ang));
+            return;
+        }
         double ang = lcg01(e.lcg) * Math.PI * 2.0;
         e.wanderDx = Math.cos(ang);
         e.wanderDy = Math.sin(ang);
     }
 
+    /** Displacement along a unit component at {@code speed} for {@code seconds}; snapped to 16.16 in fixed-point mode. */
+    private double step(double unit, double speed, double seconds) {
+        if (!fixedPoint) return unit * speed * seconds;
+        return Fixed.toDouble(Fixed.mul(Fixed.fromDouble(unit), Fixed.fromDouble(speed * seconds)));
+    }
+
+    private double distance(double dx, double dy) {
+        if (!fixedPoint) return Math.hypot(dx, dy);
+        return Fixed.toDouble(FixedVec.len(Fixed.fromDouble(dx), Fixed.fromDouble(dy)));
+    }
+
     /** Move one axis with tile collision; returns new coordinate for that axis. */
-    private double moveAxis(double x, double y, double delta, boolean xAxis, int half) {
+    double moveAxis(double x, double y, double delta, boolean xAxis, int half) {
         if (delta == 0) return xAxis ? x : y;
 
         double next = (xAxis ? x : y) + delta;
@@ -429,14 +1120,18 @@ public final class GameSession implements Runnable {
     }
 
     private void spawnInitialEnemies(long seed) {
-        Random r = new Random(seed ^ 0xBADC0FFEE123L);
-        for (int i = 0; i < 16; i++) {
+        spawnEnemies(new Random(seed ^ 0xBADC0FFEE123L), 16);
+    }
+
+    private void spawnEnemies(Random r, int count) {
+        int firstId = enemySeq + 1;
+        for (int i = 0; i < count; i++) {
             int[] t = grid.randomFloorTileFarFrom(
                 MAP_W * Constants.TILE_SIZE / 2.0,
                 MAP_H * Constants.TILE_SIZE / 2.0,
                 250, r);
             EnemyState e = new EnemyState();
-            e.id = i + 1;
+            e.id = firstId + i;
             e.x = t[0] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
             e.y = t[1] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
             e.hp = 1.0;           // <<< match Single Player
@@ -447,33 +1142,305 @@ public final class GameSession implements Runnable {
             e.lcg = (int) ((Double.doubleToLongBits(e.x) * 31 + Double.doubleToLongBits(e.y)) ^ 0x9E3779B9);
             if (e.lcg == 0) e.lcg = 1;
             pickNewWanderDir(e); // initialize wander
-            enemies.add(e);
+            addEnemy(e);
         }
     }
 
+    /** New player on a floor tile not too close to center (deterministic per id). */
+    private PlayerState spawnPlayer(int id, String name) {
+        Random r = new Random(seed ^ (id * 0x9E3779B97F4A7C15L));
+        int[] t = grid.randomFloorTileFarFrom(
+            MAP_W * Constants.TILE_SIZE / 2.0,
+            MAP_H * Constants.TILE_SIZE / 2.0,
+            200, r);
+        double x = t[0] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
+        double y = t[1] * Constants.TILE_SIZE + Constants.TILE_SIZE / 2.0;
+        return new PlayerState(id, name, x, y);
+    }
+
+    private void addEnemy(EnemyState e) {
+        enemySeq = Math.max(enemySeq, e.id);
+        enemies.add(e);
+        if (shards != null) shards.add(e);
+    }
+
+
+    /**
+     * Ends a player's connection as if its stream hit EOF (what the reader thread does).
+     * Returns false if the player has no open connection.
+     */
+    boolean endOfStream(int playerId) {
+        for (ClientConn c : conns) {
+            if (c.playerId == playerId && !c.subscriber) {
+                onClientLine(c, null);
+                return true;
+            }
+        }
+        return false;
+    }
 
     private void onClientLine(ClientConn conn, String line) {
         if (line == null) {
-            conns.remove(conn);
+            if (!conns.remove(conn)) return; // already ended (e.g. the reader after endOfStream)
             conn.close();
-            System.out.printf("[Session] Client #%d disconnected%n", conn.playerId);
+            if (!conn.subscriber) leaves.add(conn.playerId);
+            System.out.printf("[Session] %s #%d %s (lines=%d rejected=%d oversize=%d dropped=%d)%n",
+                conn.subscriber ? "Subscriber" : "Client", conn.playerId,
+                conn.flooded ? "dropped: input flood" : "disconnected",
+                conn.linesIn, conn.rejectedLines, conn.oversizeLines, conn.ringDrops);
+            return;
+        }
+        // reader thread owns conn.scratch; the ring copies primitives out of it
+        if (!conn.subscriber && Protocol.parseInputLine(line, conn.scratch)) {
+            if (!conn.inputs.offer(conn.scratch)) conn.ringDrops++;
             return;
         }
-        Protocol.Input msg = Protocol.parseInputLine(line);
-        if (msg != null) {
-            inputQ.offer(new ClientPacket(conn.playerId, msg));
+        if (line.startsWith("PING")) {
+            conn.send(Protocol.pong(Protocol.parseProbeTime(line)));
             return;
         }
+        if (line.startsWith("PONG")) {
+            conn.stats.onPong(Protocol.parseProbeTime(line), System.nanoTime());
+            return;
+        }
+        if (conn.subscriber) return; // read-only feed: anything else is ignored
         System.out.println("[Session] <-#" + conn.playerId + " " + line);
     }
 
-    // ----- Persistence (lightweight JSON, seed-gated) -----
+    // ----- Replication (hot standby) -----
+
+    private void sendCheckpoints() {
+        if (replicas.isEmpty()) return;
+        boolean periodic = (tick % (tickrate * Math.max(1, CHECKPOINT_SECS))) == 0;
+        String cp = null;
+        for (ClientConn r : replicas) {
+            if (!periodic && !r.needsFull) continue;
+            if (cp == null) cp = checkpoint();
+            if (replicate(r, cp)) r.needsFull = false;
+        }
+    }
+
+    /**
+     * Queues a line for a replica without blocking. On overflow the backlog is stale anyway: it is
+     * dropped and the replica waits for a checkpoint at the next tick (it rejects the journal lines
+     * it missed, so nothing is applied out of order). Returns false if the line was not queued.
+     */
+    private boolean replicate(ClientConn r, String line) {
+        if (r.offer(line)) return true;
+        if (!r.open) return false; // the reader notices and detaches it
+        r.clearQueue();
+        r.needsFull = true;
+        r.queueDrops++;
+        long now = System.nanoTime();
+        if (now - r.overflowWindowStartNs >= REPLICA_OVERFLOW_WINDOW_NS) {
+            r.overflowWindowStartNs = now;
+            r.overflows = 0;
+        }
+        if (++r.overflows >= REPLICA_MAX_OVERFLOWS) {
+            System.out.printf("[Session] Replica %s too slow, disconnecting (resyncs=%d)%n",
+                r.socket.getRemoteSocketAddress(), r.queueDrops);
+            replicas.remove(r);
+            r.close();
+        }
+        return false;
+    }
 
-    private void saveState() throws IOException {
+    /**
+     * Full simulation state before the current tick, as a CHECKPOINT ... ENDCHECKPOINT block.
+     * Doubles use Double.toString, which round-trips exactly.
+     */
+    String checkpoint() {
+        StringBuilder sb = new StringBuilder(256 + enemies.size() * 160);
+        sb.append("CHECKPOINT tick=").append(tick)
+            .append(" nextId=").append(nextId.get())
+            .append(" sum=").append(stateChecksum()).append('\n');
+        for (PlayerState ps : roster) {
+            sb.append("P id=").append(ps.id)
+                .append(" x=").append(ps.x).append(" y=").append(ps.y)
+                .append(" hp=").append(ps.hp).append(" st=").append(ps.stamina)
+                .append(" sh=").append(ps.shield).append(" mst=").append(ps.maxStamina)
+                .append(" spd=").append(ps.speedPps)
+                .append(" alive=").append(ps.alive ? 1 : 0).append(" spr=").append(ps.sprinting ? 1 : 0)
+                .append(" facing=").append(ps.facing).append(" at=").append(ps.attackTimer)
+                .append(" cd=").append(ps.attackCooldown).append(" seq=").append(ps.swingSeq)
+                .append(" bot=").append(ps.isBot ? 1 : 0)
+                .append(" name=").append(Protocol.urlEnc(ps.name)).append('\n');
+        }
+        for (EnemyState e : enemies) {
+            sb.append("E id=").append(e.id)
+                .append(" x=").append(e.x).append(" y=").append(e.y).append(" hp=").append(e.hp)
+                .append(" alive=").append(e.alive ? 1 : 0).append(" tag=").append(e.lastSwingTag)
+                .append(" aggro=").append(e.aggroRadius).append(" wt=").append(e.wanderTimer)
+                .append(" wdx=").append(e.wanderDx).append(" wdy=").append(e.wanderDy)
+                .append(" lcg=").append(e.lcg).append(" asleep=").append(e.asleep ? 1 : 0)
+                .append(" dead=").append(e.deadTick).append('\n');
+        }
+        sb.append("ENDCHECKPOINT");
+        return sb.toString();
+    }
+
+    /** Replaces the simulation state with a {@link #checkpoint()} block. Standby side only. */
+    void applyCheckpoint(String text) {
+        leaves.clear(); // the primary's journal decides who leaves from here on
+        String[] lines = text.split("\n");
+        Map<String, String> kv = new HashMap<>();
+        keyVals(lines[0], kv);
+        int cpTick = parseInt(kv.get("tick"), tick);
+        int cpNextId = parseInt(kv.get("nextId"), nextId.get());
+
+        Map<Integer, EnemyState> byId = new HashMap<>();
+        for (EnemyState e : enemies) byId.put(e.id, e);
+        Set<Integer> seenP = new HashSet<>(), seenE = new HashSet<>();
+
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            kv.clear();
+            keyVals(line, kv);
+            int id = parseInt(kv.get("id"), -1);
+            if (line.startsWith("P ") && id > 0) {
+                String name = Protocol.urlDec(kv.getOrDefault("name", "P" + id));
+                double x = parseDouble(kv.get("x"), 0), y = parseDouble(kv.get("y"), 0);
+                PlayerState ps = players.get(id);
+                if (ps == null || !ps.name.equals(name)) {
+                    ps = new PlayerState(id, name, x, y);
+                    players.put(id, ps);
+                }
+                ps.x = x;
+                ps.y = y;
+                ps.hp = parseDouble(kv.get("hp"), ps.hp);
+                ps.stamina = parseDouble(kv.get("st"), ps.stamina);
+                ps.shield = parseDouble(kv.get("sh"), ps.shield);
+                ps.maxStamina = parseDouble(kv.get("mst"), ps.maxStamina);
+                ps.speedPps = parseDouble(kv.get("spd"), ps.speedPps);
+                ps.alive = "1".equals(kv.get("alive"));
+                ps.sprinting = "1".equals(kv.get("spr"));
+                ps.facing = parseInt(kv.get("facing"), ps.facing);
+                ps.attackTimer = parseInt(kv.get("at"), 0);
+                ps.attackCooldown = parseInt(kv.get("cd"), 0);
+                ps.swingSeq = parseInt(kv.get("seq"), 0);
+                ps.isBot = "1".equals(kv.get("bot"));
+                seenP.add(id);
+            } else if (line.startsWith("E ") && id > 0) {
+                EnemyState e = byId.get(id);
+                if (e == null) {
+                    e = new EnemyState();
+                    e.id = id;
+                    e.x = parseDouble(kv.get("x"), 0);
+                    addEnemy(e);
+                }
+                e.x = parseDouble(kv.get("x"), e.x);
+                e.y = parseDouble(kv.get("y"), e.y);
+                e.hp = parseDouble(kv.get("hp"), e.hp);
+                e.alive = "1".equals(kv.get("alive"));
+                e.lastSwingTag = parseLong(kv.get("tag"), 0L);
+                e.aggroRadius = parseDouble(kv.get("aggro"), e.aggroRadius);
+                e.wanderTimer = parseInt(kv.get("wt"), e.wanderTimer);
+                e.wanderDx = parseDouble(kv.get("wdx"), e.wanderDx);
+                e.wanderDy = parseDouble(kv.get("wdy"), e.wanderDy);
+                e.lcg = parseInt(kv.get("lcg"), e.lcg);
+                e.asleep = "1".equals(kv.get("asleep"));
+                e.deadTick = parseInt(kv.get("dead"), 0);
+                e.meleeTarget = null;
+                e.dirty = true;
+                seenE.add(id);
+            }
+        }
+
+        players.keySet().retainAll(seenP);
+        rebuildRoster();
+        enemies.removeIf(e -> !seenE.contains(e.id));
+        if (shards != null) shards.removeIf(e -> !seenE.contains(e.id));
+        nextId.set(cpNextId);
+        tick = cpTick;
+    }
+
+    /**
+     * Replays one journal line from the primary. Returns false (and changes nothing) if it is
+     * not for the current tick; the standby then waits for the next checkpoint.
+     */
+    boolean applyJournal(String line) {
+        String[] tokens = line.split(" ");
+        if (tokens.length < 2 || !tokens[0].equals("J") || !tokens[1].equals("t=" + tick)) return false;
+
+        for (int i = 2; i < tokens.length; i++) {
+            String tok = tokens[i];
+            if (tok.startsWith("join=")) {
+                int c = tok.indexOf(':');
+                if (c < 0) continue;
+                int id = parseInt(tok.substring(5, c), -1);
+                if (id <= 0) continue;
+                int end = tok.lastIndexOf(':'); // names are url-encoded, so ':' only separates
+                boolean isBot = end > c && tok.substring(end + 1).equals("bot");
+                String name = tok.substring(c + 1, (end > c) ? end : tok.length());
+                PlayerState ps = spawnPlayer(id, Protocol.urlDec(name));
+                ps.isBot = isBot;
+                addPlayer(ps);
+                nextId.updateAndGet(n -> Math.max(n, id + 1));
+            } else if (tok.startsWith("leave=")) {
+                removePlayer(parseInt(tok.substring(6), -1));
+            } else if (tok.startsWith("in=")) {
+                String[] f = tok.substring(3).split(":");
+                if (f.length != 5) continue;
+                PlayerState ps = players.get(parseInt(f[0], -1));
+                if (ps == null) continue;
+                int flags = parseInt(f[4], 0);
+                ps.input.dx = parseInt(f[1], 0);
+                ps.input.dy = parseInt(f[2], 0);
+                ps.input.facing = parseInt(f[3], -1);
+                ps.input.sprint = (flags & 1) != 0;
+                ps.input.attack = (flags & 2) != 0;
+                ps.replayed = true;
+            }
+        }
+
+        replaying = true;
+        try {
+            simulateTick();
+        } finally {
+            replaying = false;
+        }
+        tick++;
+        return true;
+    }
+
+    /** Order-independent hash of the replicated state; equal on primary and standby when in sync. */
+    long stateChecksum() {
+        long h = tick;
+        for (PlayerState ps : roster) {
+            long p = ps.id;
+            p = p * 31 + Double.doubleToLongBits(ps.x);
+            p = p * 31 + Double.doubleToLongBits(ps.y);
+            p = p * 31 + Double.doubleToLongBits(ps.hp);
+            p = p * 31 + Double.doubleToLongBits(ps.stamina);
+            p = p * 31 + ps.facing;
+            p = p * 31 + (ps.alive ? 1 : 0);
+            h += p * 0x9E3779B97F4A7C15L;
+        }
+        for (EnemyState e : enemies) {
+            long q = e.id;
+            q = q * 31 + Double.doubleToLongBits(e.x);
+            q = q * 31 + Double.doubleToLongBits(e.y);
+            q = q * 31 + Double.doubleToLongBits(e.hp);
+            q = q * 31 + e.lcg;
+            q = q * 31 + (e.alive ? 1 : 0);
+            h += q * 0xC2B2AE3D27D4EB4FL;
+        }
+        return h;
+    }
+
+    private static void keyVals(String line, Map<String, String> out) {
+        for (String tok : line.split(" ")) {
+            int eq = tok.indexOf('=');
+            if (eq > 0) out.put(tok.substring(0, eq), tok.substring(eq + 1));
+        }
+    }
+
+
+    void saveState(Path file) throws IOException {
         StringBuilder sb = new StringBuilder(512);
         sb.append("{\"seed\":").append(seed).append(",\"tick\":").append(tick).append(",\"players\":[");
         boolean first = true;
-        for (PlayerState ps : players.values()) {
+        for (PlayerState ps : roster) {
             if (!first) sb.append(',');
             first = false;
             sb.append("{")
@@ -490,13 +1457,18 @@ public final class GameSession implements Runnable {
         }
         sb.append("]}");
 
-        Files.writeString(SAVE_FILE, sb.toString(),
+        Files.writeString(file, sb.toString(),
             StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
     }
 
-    private void loadStateIfPresent() throws IOException {
-        if (!Files.exists(SAVE_FILE)) return;
-        String json = Files.readString(SAVE_FILE, StandardCharsets.UTF_8);
+    /**
+     * Restores the players of a save for this seed. Nobody is connected to them (there is no
+     * resume handshake), so they leave at the first tick like disconnected clients, and only the
+     * id counter carries over: returning clients get fresh ids.
+     */
+    void loadState(Path file) throws IOException {
+        if (!Files.exists(file)) return;
+        String json = Files.readString(file, StandardCharsets.UTF_8);
         if (!json.contains("\"seed\":" + seed)) return; // ignore other sessions
 
         for (String obj : json.split("\\{")) {
@@ -513,7 +1485,9 @@ public final class GameSession implements Runnable {
             int facing = parseInt(extract(obj, "\"facing\":(\\d+)"), 0);
             boolean alive = "true".equalsIgnoreCase(extract(obj, "\"alive\":(true|false)"));
 
-            PlayerState ps = new PlayerState(id, (name == null ? ("P" + id) : name), x, y);
+            PlayerState ps = fixedPoint
+                ? new PlayerState(id, (name == null ? ("P" + id) : name), Fixed.quantize(x), Fixed.quantize(y))
+                : new PlayerState(id, (name == null ? ("P" + id) : name), x, y);
             ps.hp = hp;
             ps.stamina = st;
             ps.shield = sh;
@@ -522,24 +1496,43 @@ public final class GameSession implements Runnable {
             players.put(id, ps);
             nextId.updateAndGet(n -> Math.max(n, id + 1));
         }
-        System.out.printf("[Session] Loaded %d players from save%n", players.size());
+        rebuildRoster();
+        System.out.printf("[Session] Loaded %d players from save; %d without a connection will leave%n",
+            players.size(), adoptOrphans());
     }
 
     // ----- Connection wrapper -----
 
     private static final class ClientConn {
         final int playerId;
+        final boolean subscriber;
         final Socket socket;
-        final BufferedReader in;
+        final InputStream in;
         final BufferedWriter out;
         final Thread reader;
         volatile boolean open = true;
+        volatile boolean needsFull = true;
+        final InputRing inputs = new InputRing(INPUT_RING_CAPACITY);
+        final Input scratch = new Input();
+        final NetStats stats = new NetStats();
         private Consumer<String> onLine;
 
-        ClientConn(int playerId, Socket socket) throws IOException {
+        // Replicas only: outgoing lines are queued for a writer thread (see startWriter)
+        private BlockingQueue<String> outQueue;
+        private Thread writer;
+        long queueDrops = 0;                       // tick thread only
+        int overflows = 0;
+        long overflowWindowStartNs = System.nanoTime();
+
+        // Written only by the reader thread; read by others for logging
+        volatile long linesIn, rejectedLines, oversizeLines, ringDrops;
+        volatile boolean flooded = false;
+
+        ClientConn(int playerId, Socket socket, boolean subscriber) throws IOException {
             this.playerId = playerId;
+            this.subscriber = subscriber;
             this.socket = socket;
-            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.in = socket.getInputStream();
             this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
             this.reader = new Thread(this::pump, "ClientReader-" + playerId);
             this.reader.setDaemon(true);
@@ -550,24 +1543,100 @@ public final class GameSession implements Runnable {
             reader.start();
         }
 
+        /**
+         * Splits the byte stream into lines itself so that rate limiting and the length cap run
+         * before anything is decoded: rejected or oversized lines never become a String.
+         */
         private void pump() {
+            TokenBucket limiter = new TokenBucket(INPUT_RATE, INPUT_BURST, INPUT_REJECT_TOLERANCE, System.nanoTime());
+            byte[] buf = new byte[4096];
+            byte[] line = new byte[MAX_LINE_BYTES];
+            int len = 0;
+            boolean oversize = false;
+
             try (socket; in; out) {
-                String line;
-                while (open && (line = in.readLine()) != null) {
-                    if (onLine != null) onLine.accept(line);
+                int n;
+                read:
+                while (open && (n = in.read(buf)) > 0) {
+                    stats.addBytesIn(n);
+                    for (int i = 0; i < n; i++) {
+                        byte b = buf[i];
+                        if (b != '\n') {
+                            if (len < line.length) line[len++] = b;
+                            else oversize = true;
+                            continue;
+                        }
+
+                        long now = System.nanoTime();
+                        if (oversize) {
+                            oversizeLines++;
+                            limiter.reject(now);
+                        } else if (!limiter.tryAcquire(now)) {
+                            rejectedLines++;
+                        } else {
+                            int end = (len > 0 && line[len - 1] == '\r') ? len - 1 : len;
+                            linesIn++;
+                            if (onLine != null) onLine.accept(new String(line, 0, end, StandardCharsets.UTF_8));
+                        }
+                        len = 0;
+                        oversize = false;
+
+                        if (limiter.strikes() >= INPUT_MAX_STRIKES) {
+                            flooded = true;
+                            break read;
+                        }
+                    }
                 }
             } catch (IOException ignored) {
             } finally {
                 open = false;
+                if (onLine != null) onLine.accept(null);
+            }
+        }
+
+        /** Gives this connection a bounded outgoing queue drained by its own writer thread. */
+        void startWriter(int capacity, String name) {
+            outQueue = new ArrayBlockingQueue<>(Math.max(2, capacity));
+            writer = new Thread(this::drain, name);
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        /** Queues a line for the writer thread; false if closed or the queue is full. */
+        boolean offer(String s) {
+            return open && outQueue.offer(s);
+        }
+
+        void clearQueue() {
+            outQueue.clear();
+        }
+
+        /** Drains the queue; flushes only when it runs dry so a backlog goes out in one write. */
+        private void drain() {
+            try {
+                while (open) {
+                    String s = outQueue.take();
+                    synchronized (this) {
+                        out.write(s);
+                        out.write("\n");
+                        if (outQueue.isEmpty()) out.flush();
+                    }
+                    stats.addBytesOut(s.length() + 1L);
+                }
+            } catch (IOException | InterruptedException ignored) {
+            } finally {
+                close();
             }
         }
 
-        void send(String s) {
+        /** Called from the tick thread and the reader thread (PONG replies). */
+        synchronized void send(String s) {
             if (!open) return;
             try {
                 out.write(s);
                 out.write("\n");
                 out.flush();
+                stats.addBytesOut(s.length() + 1L); // protocol text is ASCII
             } catch (IOException e) {
                 open = false;
             }
@@ -575,6 +1644,7 @@ public final class GameSession implements Runnable {
 
         void close() {
             open = false;
+            if (writer != null) writer.interrupt(); // may be parked in take()
             try {
                 socket.close();
             } catch (IOException ignored) {
@@ -584,9 +1654,6 @@ public final class GameSession implements Runnable {
 
     // ----- Types -----
 
-    private record ClientPacket(int playerId, Input msg) {
-    }
-
     private static final class PlayerState {
         final int id;
         final String name;
@@ -596,7 +1663,13 @@ public final class GameSession implements Runnable {
         boolean alive = true, sprinting = false;
         int facing = 0, attackTimer = 0, attackCooldown = 0;
         int swingSeq = 0;
-        transient Input pending;
+        boolean isBot = false;                   // added by addBot (replicated, unlike the brain)
+        transient InputRing inputs;              // null for players restored from save or a checkpoint
+        transient final Input input = new Input(); // reused by the tick thread
+        transient int lastInputTick = Integer.MIN_VALUE, holdTicks = 0;
+        transient boolean hasInput = false;
+        transient boolean replayed = false;       // standby: input holds this tick's journal entry
+        transient BotBrain bot;                   // in-process bot (fills inputs itself), else null
 
         PlayerState(int id, String name, double x, double y) {
             this.id = id;
@@ -615,6 +1688,13 @@ public final class GameSession implements Runnable {
         int wanderTimer;
         double wanderDx, wanderDy;
         int lcg;
+        boolean asleep = false;
+        int deadTick;           // tick it was killed (pruned a second later)
+        boolean dirty = true;   // changed since the last broadcast
+        PlayerState meleeTarget; // melee intent from this tick's enemy phase
+        PlayerState target;      // kernel pre-pass: nearest living player, its squared distance, aggro test
+        double targetDist2;
+        boolean engaged;
     }
 
     // ----- Small utils -----
@@ -649,6 +1729,14 @@ public final class GameSession implements Runnable {
         }
     }
 
+    private static long parseLong(String s, long def) {
+        try {
+            return Long.parseLong(s);
+        } catch (Exception e) {
+            return def;
+        }
+    }
+
     private static double parseDouble(String s, double def) {
         try {
             return Double.parseDouble(s);
@@ -0,0 +1,79 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.net.Protocol.Input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-producer/single-consumer ring of INPUT records for one connection.
+ * - Producer: the connection's reader thread. Consumer: the session tick thread.
+ * - Records are stored as primitives in parallel arrays; offer/poll never allocate.
+ * - Lock-free: each side only writes its own cursor (release) and reads the other's (acquire).
+ */
+final class InputRing {
+
+    private static final int FLAG_SPRINT = 1;
+    private static final int FLAG_ATTACK = 2;
+
+    private final int mask;
+    private final int[] ticks;
+    private final byte[] dx, dy, facing, flags;
+
+    private final AtomicLong head = new AtomicLong(); // next slot to read (consumer-owned)
+    private final AtomicLong tail = new AtomicLong(); // next slot to write (producer-owned)
+
+    /** Capacity is rounded up to a power of two. */
+    InputRing(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = cap - 1;
+        this.ticks = new int[cap];
+        this.dx = new byte[cap];
+        this.dy = new byte[cap];
+        this.facing = new byte[cap];
+        this.flags = new byte[cap];
+    }
+
+    // ----- Producer side -----
+
+    /** Copies the input into the ring. Returns false (and drops it) if the ring is full. */
+    boolean offer(Input in) {
+        long t = tail.get();
+        if (t - head.getAcquire() > mask) return false;
+
+        int i = (int) t & mask;
+        ticks[i] = in.tick;
+        dx[i] = (byte) Math.max(-1, Math.min(1, in.dx));
+        dy[i] = (byte) Math.max(-1, Math.min(1, in.dy));
+        facing[i] = (byte) ((in.facing < 0) ? -1 : (in.facing & 7));
+        flags[i] = (byte) ((in.sprint ? FLAG_SPRINT : 0) | (in.attack ? FLAG_ATTACK : 0));
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    // ----- Consumer side -----
+
+    /** Number of records waiting (a lower bound while the producer is writing). */
+    int size() {
+        return (int) (tail.getAcquire() - head.get());
+    }
+
+    /** Moves the oldest record into {@code out}. Returns false if the ring is empty. */
+    boolean poll(Input out) {
+        long h = head.get();
+        if (h >= tail.getAcquire()) return false;
+
+        int i = (int) h & mask;
+        out.tick = ticks[i];
+        out.dx = dx[i];
+        out.dy = dy[i];
+        out.facing = facing[i];
+        out.sprint = (flags[i] & FLAG_SPRINT) != 0;
+        out.attack = (flags[i] & FLAG_ATTACK) != 0;
+        head.setRelease(h + 1);
+        return true;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,154 @@
+package com.lhamacorp.games.tlob.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Spatially sharded stepping: the world is cut into vertical strips, each owned by one worker.
+ * - {@link #step()} runs every worker over its own strip and returns once all have finished
+ *   (common start/end barrier with the calling tick thread), so state is consistent afterwards.
+ * - Entities whose x left their strip are handed off to the new owner after the barrier,
+ *   i.e. only at tick boundaries.
+ * - The step function must only write the entity it is given; anything shared (players,
+ *   grid, flow field) is read-only while workers run.
+ * - If the step function throws, that strip stops stepping for the tick and {@link #step()}
+ *   rethrows on the tick thread once all workers are done, as the serial loop would.
+ * - A step never silently does nothing: if the barriers break or the tick thread is
+ *   interrupted, the workers are shut down and {@link #step()} throws.
+ */
+final class RegionWorkers<T> implements AutoCloseable {
+
+    private final int count;
+    private final double regionWidth;
+    private final ToDoubleFunction<T> xOf;
+    private final Consumer<T> stepFn;
+    private final List<List<T>> regions = new ArrayList<>();
+    private final CyclicBarrier start, end;
+    private final Thread[] workers;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean open = true;
+    private long handoffs = 0;
+
+    RegionWorkers(int count, double worldWidth, ToDoubleFunction<T> xOf, Consumer<T> stepFn) {
+        this.count = Math.max(1, count);
+        this.regionWidth = worldWidth / this.count;
+        this.xOf = xOf;
+        this.stepFn = stepFn;
+        this.start = new CyclicBarrier(this.count + 1);
+        this.end = new CyclicBarrier(this.count + 1);
+        this.workers = new Thread[this.count];
+        for (int r = 0; r < this.count; r++) {
+            regions.add(new ArrayList<>());
+            final int region = r;
+            workers[r] = new Thread(() -> loop(region), "RegionWorker-" + r);
+            workers[r].setDaemon(true);
+            workers[r].start();
+        }
+    }
+
+    /** Assigns an entity to the strip under its current x. Call from the tick thread only. */
+    void add(T e) {
+        regions.get(regionOf(xOf.applyAsDouble(e))).add(e);
+    }
+
+    /** Removes entities matching the predicate from every strip. Call from the tick thread only. */
+    void removeIf(Predicate<T> p) {
+        for (List<T> list : regions) list.removeIf(p);
+    }
+
+    /**
+     * Runs one parallel step over all strips, then hands off border crossers.
+     * @throws IllegalStateException if a worker's step failed (the first failure is the cause);
+     *         the workers stay usable, but the entities after it in that strip were not stepped.
+     *         Also thrown if the workers are closed, the tick thread is interrupted or a barrier
+     *         breaks; the workers are closed then, since strips may be part-way through the tick.
+     */
+    void step() {
+        if (!open) throw new IllegalStateException("region workers are closed");
+        try {
+            start.await();
+            end.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("region step interrupted", e);
+        } catch (BrokenBarrierException e) {
+            close();
+            throw new IllegalStateException("region step barrier broken", e);
+        }
+        Throwable failed = failure.getAndSet(null);
+        if (failed != null) throw new IllegalStateException("region step failed", failed);
+        handOff();
+    }
+
+    int regionCount() {
+        return count;
+    }
+
+    /** Entities per strip, for load-balance logging. */
+    int[] sizes() {
+        int[] s = new int[count];
+        for (int r = 0; r < count; r++) s[r] = regions.get(r).size();
+        return s;
+    }
+
+    long handoffs() {
+        return handoffs;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        for (Thread t : workers) t.interrupt();
+        start.reset();
+        end.reset();
+    }
+
+    // ----- Internals -----
+
+    private int regionOf(double x) {
+        int r = (int) Math.floor(x / regionWidth);
+        return (r < 0) ? 0 : Math.min(count - 1, r);
+    }
+
+    private void loop(int region) {
+        List<T> mine = regions.get(region);
+        while (open) {
+            try {
+                start.await();
+                try {
+                    for (int i = 0, n = mine.size(); i < n; i++) stepFn.accept(mine.get(i));
+                } catch (Throwable ex) {
+                    // keep the first; the end barrier must still be reached or the tick thread hangs
+                    failure.compareAndSet(null, ex);
+                }
+                end.await();
+            } catch (InterruptedException | BrokenBarrierException e) {
+                if (!open) return;
+            }
+        }
+    }
+
+    private void handOff() {
+        for (int r = 0; r < count; r++) {
+            List<T> list = regions.get(r);
+            for (int i = list.size() - 1; i >= 0; i--) {
+                T e = list.get(i);
+                int owner = regionOf(xOf.applyAsDouble(e));
+                if (owner == r) continue;
+                // swap-remove: order inside a strip does not matter
+                int last = list.size() - 1;
+                list.set(i, list.get(last));
+                list.remove(last);
+                regions.get(owner).add(e);
+                handoffs++;
+            }
+        }
+    }
+}
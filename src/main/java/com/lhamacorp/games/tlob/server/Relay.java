@@ -0,0 +1,326 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.net.Protocol;
+import com.lhamacorp.games.tlob.core.net.Protocol.MapData;
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spectator fan-out: one subscriber connection to a {@link Server}, many read-only viewers.
+ *
+ * Relay:
+ *  - connects to the server's subscriber port and receives the snapshot stream once
+ *  - keeps a merged world view ({@link RelayFeed}) so viewers can join at any time
+ *  - forwards every n-th frame (decimation), each encoded once for all viewers
+ *  - gives each viewer a bounded queue and its own writer thread; a viewer that falls behind
+ *    has its backlog dropped and is resynced with a full frame, and is cut after repeated overflows
+ *    within one window (a viewer that keeps up in bursts but never catches up is still cut)
+ *  - answers viewer PINGs directly, between frames, so probes are never dropped with the backlog
+ *
+ * Viewers speak the normal client protocol minus YOU, so the regular client works as a spectator.
+ *
+ * Usage: Relay [upstreamHost] [upstreamPort] [listenPort] [every]
+ */
+public class Relay {
+
+    private static final int QUEUE_FRAMES = Integer.getInteger("tlob.relay.queueFrames", 16);
+    private static final int MAX_OVERFLOWS = Integer.getInteger("tlob.relay.maxOverflows", 5);
+    private static final long OVERFLOW_WINDOW_NS = Integer.getInteger("tlob.relay.overflowWindowMs", 10_000) * 1_000_000L;
+    private static final int MAX_LINE_BYTES = 512;
+
+    private final RelayFeed feed;
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    private volatile String handshake; // HELLO..READY block, set once upstream is ready
+    private long framesIn = 0, framesOut = 0;
+
+    Relay(int every) {
+        this.feed = new RelayFeed(every);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = (args.length >= 1) ? args[0] : "localhost";
+        int upstreamPort = (args.length >= 2) ? parseInt(args[1], 7778) : 7778;
+        int listenPort = (args.length >= 3) ? parseInt(args[2], 7779) : 7779;
+        int every = (args.length >= 4) ? parseInt(args[3], 1) : 1;
+
+        Relay relay = new Relay(every);
+        System.out.println("[Relay] Upstream " + host + ":" + upstreamPort + ", spectators on port " + listenPort
+            + ", every=" + Math.max(1, every));
+
+        Thread acceptor = new Thread(() -> relay.acceptLoop(listenPort), "RelayAcceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        try (Socket up = new Socket(host, upstreamPort)) {
+            relay.pumpUpstream(up);
+        } finally {
+            relay.closeAll();
+        }
+        System.out.println("[Relay] Upstream closed; shutting down");
+    }
+
+    // ----- Upstream -----
+
+    /** Reads the handshake, then forwards snapshots until the server goes away. */
+    void pumpUpstream(Socket up) throws IOException {
+        up.setTcpNoDelay(true);
+        BufferedReader in = new BufferedReader(new InputStreamReader(up.getInputStream(), StandardCharsets.UTF_8));
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(up.getOutputStream(), StandardCharsets.UTF_8));
+
+        StringBuilder hs = new StringBuilder(256);
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.startsWith("MAP")) {
+                MapData md = Protocol.readMap(in, line);
+                try (StringWriter sw = new StringWriter()) {
+                    Protocol.writeMap(md.w, md.h, (x, y) -> md.walls[y][x], sw);
+                    hs.append(sw);
+                }
+            } else if (line.equals("READY")) {
+                hs.append("READY\nWELCOME spectator");
+                break;
+            } else if (!line.isEmpty()) {
+                hs.append(line).append('\n');
+            }
+        }
+        if (line == null) return;
+        handshake = hs.toString();
+
+        long lastLog = System.nanoTime();
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("SNAPSHOT")) {
+                Snapshot s = Protocol.readSnapshot(in, line);
+                if (s == null) continue;
+                framesIn++;
+                if (feed.accept(s)) publish();
+            } else if (line.startsWith("PING")) {
+                out.write(Protocol.pong(Protocol.parseProbeTime(line)));
+                out.write("\n");
+                out.flush();
+            }
+
+            long now = System.nanoTime();
+            if (now - lastLog >= 10_000_000_000L) {
+                lastLog = now;
+                logStats();
+            }
+        }
+    }
+
+    /** Encodes the due frame once and hands it to every viewer without blocking on any of them. */
+    private void publish() {
+        String delta = feed.takeDelta();
+        String full = null;
+        for (Spectator sp : spectators) {
+            String frame;
+            if (sp.needsFull) {
+                if (full == null) full = feed.fullFrame();
+                frame = full;
+            } else {
+                frame = delta;
+            }
+            if (sp.queue.offer(frame)) {
+                sp.needsFull = false;
+            } else {
+                overflow(sp);
+            }
+        }
+        framesOut++;
+    }
+
+    /** The viewer's backlog is stale anyway: drop it and resync with a full frame next time. */
+    private void overflow(Spectator sp) {
+        sp.queue.clear();
+        sp.needsFull = true;
+        sp.dropped++;
+        long now = System.nanoTime();
+        if (now - sp.overflowWindowStartNs >= OVERFLOW_WINDOW_NS) {
+            sp.overflowWindowStartNs = now;
+            sp.overflows = 0;
+        }
+        if (++sp.overflows >= MAX_OVERFLOWS) {
+            System.out.printf("[Relay] Spectator #%d too slow, disconnecting (dropped=%d)%n", sp.id, sp.dropped);
+            sp.close();
+        }
+    }
+
+    private void logStats() {
+        long dropped = 0;
+        for (Spectator sp : spectators) dropped += sp.dropped;
+        System.out.printf("[Relay] tick=%d enemies=%d spectators=%d framesIn=%d framesOut=%d dropped=%d%n",
+            feed.tick(), feed.enemyCount(), spectators.size(), framesIn, framesOut, dropped);
+    }
+
+    // ----- Spectators -----
+
+    private void acceptLoop(int port) {
+        try (ServerSocket server = new ServerSocket()) {
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress("0.0.0.0", port));
+
+            while (true) {
+                Socket s = server.accept();
+                String hs = handshake;
+                if (hs == null) { // upstream not ready yet
+                    try {
+                        s.close();
+                    } catch (IOException ignored) {
+                    }
+                    continue;
+                }
+                try {
+                    addSpectator(s, hs);
+                } catch (IOException e) {
+                    System.out.println("[Relay] Failed to add spectator: " + e.getMessage());
+                    try {
+                        s.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("[Relay] Spectator port closed: " + e.getMessage());
+        }
+    }
+
+    private void addSpectator(Socket s, String hs) throws IOException {
+        s.setTcpNoDelay(true);
+        Spectator sp = new Spectator(nextId.getAndIncrement(), s);
+        sp.queue.offer(hs); // queue is empty: the handshake always goes first
+        spectators.add(sp);
+        sp.start();
+        System.out.printf("[Relay] Spectator #%d joined (%s)%n", sp.id, s.getRemoteSocketAddress());
+    }
+
+    private void closeAll() {
+        for (Spectator sp : spectators) sp.close();
+    }
+
+    private final class Spectator {
+        final int id;
+        final Socket socket;
+        final BufferedWriter out;
+        final BlockingQueue<String> queue = new ArrayBlockingQueue<>(Math.max(2, QUEUE_FRAMES));
+        volatile boolean open = true;
+        volatile boolean needsFull = true;
+
+        private Thread writer, reader;
+
+        // Upstream thread only (dropped is also logged on close; approximate is fine)
+        volatile long dropped = 0;
+        int overflows = 0;
+        long overflowWindowStartNs = System.nanoTime();
+
+        Spectator(int id, Socket socket) throws IOException {
+            this.id = id;
+            this.socket = socket;
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        void start() {
+            writer = new Thread(this::writeLoop, "RelayWriter-" + id);
+            writer.setDaemon(true);
+            writer.start();
+            reader = new Thread(this::readLoop, "RelayReader-" + id);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /** Drains the queue; flushes only when it runs dry so a backlog goes out in one write. */
+        private void writeLoop() {
+            try {
+                while (open) {
+                    String s = queue.take();
+                    synchronized (out) {
+                        out.write(s);
+                        out.write("\n");
+                        if (queue.isEmpty()) out.flush();
+                    }
+                }
+            } catch (IOException | InterruptedException ignored) {
+            } finally {
+                close();
+            }
+        }
+
+        /** Viewers are read-only: lines are discarded except PINGs. Long lines are cut, never buffered. */
+        private void readLoop() {
+            byte[] buf = new byte[1024];
+            byte[] line = new byte[MAX_LINE_BYTES];
+            int len = 0;
+            try (InputStream in = socket.getInputStream()) {
+                int n;
+                while (open && (n = in.read(buf)) > 0) {
+                    for (int i = 0; i < n; i++) {
+                        byte b = buf[i];
+                        if (b != '\n') {
+                            if (len < line.length) line[len++] = b;
+                            continue;
+                        }
+                        if (len > 4 && line[0] == 'P' && line[1] == 'I' && line[2] == 'N' && line[3] == 'G') {
+                            String ping = new String(line, 0, len, StandardCharsets.UTF_8);
+                            sendPong(Protocol.pong(Protocol.parseProbeTime(ping)));
+                        }
+                        len = 0;
+                    }
+                }
+            } catch (IOException ignored) {
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Writes a PONG between two frames rather than through the frame queue, which may be full
+         * (or cleared on overflow); also flushes whatever the writer had buffered before it.
+         */
+        private void sendPong(String pong) throws IOException {
+            synchronized (out) {
+                out.write(pong);
+                out.write("\n");
+                out.flush();
+            }
+        }
+
+        synchronized void close() {
+            if (!open) return;
+            open = false;
+            spectators.remove(this);
+            if (writer != null) writer.interrupt(); // may be parked in take()
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            System.out.printf("[Relay] Spectator #%d left (dropped=%d)%n", id, dropped);
+        }
+    }
+
+    // --- utils ---
+
+    private static int parseInt(String s, int def) {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (Exception e) {
+            return def;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.net.Protocol;
+import com.lhamacorp.games.tlob.core.net.Protocol.EnemySnap;
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot state kept by a {@link Relay} for its spectators (single-threaded: the upstream reader).
+ * - Merges the upstream stream (full frames + enemy deltas) into one world view, so a spectator
+ *   joining late or resyncing after an overflow can be sent a full frame without asking upstream.
+ * - Decimation: a frame is due once {@code every} upstream frames arrived since the last one;
+ *   enemy changes from the skipped frames are folded into the next emitted delta, so nothing
+ *   is lost, only coarser.
+ */
+final class RelayFeed {
+
+    private final int every;
+
+    private final Snapshot world = new Snapshot();
+    private Map<Integer, EnemySnap> pending = new HashMap<>();
+    private boolean pendingFull = false;
+    private boolean haveFull = false;
+    private int sinceEmit = 0;
+
+    RelayFeed(int every) {
+        this.every = Math.max(1, every);
+    }
+
+    /** Folds one upstream frame in. Returns true if a frame is due for spectators. */
+    boolean accept(Snapshot s) {
+        world.tick = s.tick;
+        world.players = s.players; // players are always sent in full
+        if (!s.enemiesDelta) {
+            world.enemies.clear();
+            pending.clear();
+            pendingFull = true;
+            haveFull = true;
+        }
+        for (EnemySnap es : s.enemies.values()) {
+            pending.put(es.id, es);
+            // dead enemies are forwarded once as a change, then forgotten
+            if (es.alive) world.enemies.put(es.id, es);
+            else world.enemies.remove(es.id);
+        }
+        return haveFull && ++sinceEmit >= every;
+    }
+
+    /** True once a full upstream frame was merged, i.e. {@link #fullFrame()} is complete. */
+    boolean ready() {
+        return haveFull;
+    }
+
+    /** Encodes the changes since the last call (a full frame if upstream sent one) and clears them. */
+    String takeDelta() {
+        Snapshot d = new Snapshot();
+        d.tick = world.tick;
+        d.players = world.players;
+        d.enemies = pending;
+        d.enemiesDelta = !pendingFull;
+        String line = encode(d);
+        pending = new HashMap<>();
+        pendingFull = false;
+        sinceEmit = 0;
+        return line;
+    }
+
+    /** Encodes the merged world as a full frame. */
+    String fullFrame() {
+        Snapshot f = new Snapshot();
+        f.tick = world.tick;
+        f.players = world.players;
+        f.enemies = world.enemies;
+        return encode(f);
+    }
+
+    int tick() {
+        return world.tick;
+    }
+
+    int enemyCount() {
+        return world.enemies.size();
+    }
+
+    private static String encode(Snapshot snap) {
+        try (StringWriter sw = new StringWriter()) {
+            Protocol.writeSnapshot(snap, sw);
+            return sw.toString().trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
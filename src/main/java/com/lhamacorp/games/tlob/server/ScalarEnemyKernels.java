@@ -0,0 +1,67 @@
+package com.lhamacorp.games.tlob.server;
+
+/** Reference implementation of {@link EnemyKernels}; also the tail loop of the vector one. */
+final class ScalarEnemyKernels implements EnemyKernels {
+
+    @Override
+    public void nearestPlayer(double[] ex, double[] ey, int n, double[] px, double[] py, int m, int[] nearest, double[] dist2) {
+        nearestPlayer(ex, ey, 0, n, px, py, m, nearest, dist2);
+    }
+
+    static void nearestPlayer(double[] ex, double[] ey, int from, int to,
+                              double[] px, double[] py, int m, int[] nearest, double[] dist2) {
+        for (int i = from; i < to; i++) {
+            double best = Double.POSITIVE_INFINITY;
+            int idx = -1;
+            for (int j = 0; j < m; j++) {
+                double dx = ex[i] - px[j], dy = ey[i] - py[j];
+                double d2 = dx * dx + dy * dy;
+                if (d2 < best) {
+                    best = d2;
+                    idx = j;
+                }
+            }
+            nearest[i] = idx;
+            dist2[i] = best;
+        }
+    }
+
+    @Override
+    public int withinRadius(double[] dist2, double[] r2, int n, boolean[] inside) {
+        return withinRadius(dist2, r2, 0, n, inside);
+    }
+
+    static int withinRadius(double[] dist2, double[] r2, int from, int to, boolean[] inside) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            inside[i] = dist2[i] <= r2[i];
+            if (inside[i]) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int capsuleHits(double[] ex, double[] ey, int n, double ax, double ay, double bx, double by, double r2, int[] hits) {
+        return capsuleHits(ex, ey, 0, n, ax, ay, bx, by, r2, hits, 0);
+    }
+
+    static int capsuleHits(double[] ex, double[] ey, int from, int to,
+                           double ax, double ay, double bx, double by, double r2, int[] hits, int count) {
+        double vx = bx - ax, vy = by - ay;
+        double vv = vx * vx + vy * vy;
+        for (int i = from; i < to; i++) {
+            double wx = ex[i] - ax, wy = ey[i] - ay;
+            double t = (vv <= 1e-9) ? 0.0 : (wx * vx + wy * vy) / vv;
+            if (t < 0.0) t = 0.0;
+            else if (t > 1.0) t = 1.0;
+            double dx = ex[i] - (ax + t * vx), dy = ey[i] - (ay + t * vy);
+            if (dx * dx + dy * dy <= r2) hits[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -1,6 +1,7 @@
 package com.lhamacorp.games.tlob.server;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
@@ -8,6 +9,11 @@ import java.util.Random;
 
 /**
  * Thin acceptor that delegates all protocol/IO to GameSession.
+ * With -Dtlob.server.subscriberPort=N it also accepts snapshot subscribers (see Relay),
+ * with -Dtlob.server.replicaPort=N hot-standby replicas, and with
+ * -Dtlob.server.standbyOf=host:port it runs as such a standby until the primary dies (see Standby).
+ * Subscriber and replica ports are unauthenticated, so they bind to loopback unless
+ * -Dtlob.server.privilegedBind=addr names another interface (e.g. a private network address).
  *
  * GameSession:
  *  - sends HELLO/SEED/TICKRATE/YOU/READY/WELCOME
@@ -22,13 +28,26 @@ public class Server {
         int port = (args.length >= 1) ? parseInt(args[0], 7777) : 7777;
         Long forcedSeed = (args.length >= 2) ? parseLong(args[1], null) : null;
 
-        long seed = (forcedSeed != null) ? forcedSeed : pickSeed();
-        int tickrate = 60;
+        // Standby mode: replicate a primary until it dies, then take over on our own port
+        String standbyOf = System.getProperty("tlob.server.standbyOf");
+        if (standbyOf != null && !standbyOf.isBlank()) {
+            String[] hp = standbyOf.trim().split(":");
+            SESSION = Standby.follow(hp[0], (hp.length > 1) ? parseInt(hp[1], 7780) : 7780);
+            if (SESSION == null) return;
+            // replicated players have no connection here: bots are taken over, clients must rejoin
+            int leaving = SESSION.adoptOrphans();
+            System.out.println("[SeedServer] Standby promoted at tick " + SESSION.tick
+                + "; listening on port " + port + ", seed=" + SESSION.seed + ", tickrate=" + SESSION.tickrate
+                + ", disconnected players leaving=" + leaving);
+        } else {
+            long seed = (forcedSeed != null) ? forcedSeed : pickSeed();
+            int tickrate = 60;
 
-        System.out.println("[SeedServer] Listening on port " + port + ", seed=" + seed + ", tickrate=" + tickrate);
+            System.out.println("[SeedServer] Listening on port " + port + ", seed=" + seed + ", tickrate=" + tickrate);
+            SESSION = new GameSession(seed, tickrate);
+        }
 
         // Start the authoritative session loop
-        SESSION = new GameSession(seed, tickrate);
         Thread sim = new Thread(SESSION, "GameSession");
         sim.setDaemon(true);
         sim.start();
@@ -36,6 +55,11 @@ public class Server {
         // Optional: clean shutdown
         Runtime.getRuntime().addShutdownHook(new Thread(SESSION::shutdown, "SessionShutdown"));
 
+        // Optional privileged ports, loopback only by default (see privilegedBind):
+        // snapshot subscribers (relays) and hot-standby replicas
+        acceptInBackground(Integer.getInteger("tlob.server.subscriberPort", 0), "subscriber", SESSION::addSubscriber);
+        acceptInBackground(Integer.getInteger("tlob.server.replicaPort", 0), "replica", SESSION::addReplica);
+
         try (ServerSocket server = new ServerSocket()) {
             server.setReuseAddress(true);
             server.bind(new InetSocketAddress("0.0.0.0", port));
@@ -57,6 +81,48 @@ public class Server {
         }
     }
 
+    private interface SocketHandler {
+        void accept(Socket s) throws IOException;
+    }
+
+    private static void acceptInBackground(int port, String what, SocketHandler handler) {
+        if (port <= 0) return;
+        Thread t = new Thread(() -> acceptLoop(port, what, handler), "Acceptor-" + what);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Address for the privileged ports: tlob.server.privilegedBind if set, else loopback. */
+    private static InetAddress privilegedBind() throws IOException {
+        String addr = System.getProperty("tlob.server.privilegedBind");
+        if (addr == null || addr.isBlank()) return InetAddress.getLoopbackAddress();
+        return InetAddress.getByName(addr.trim());
+    }
+
+    private static void acceptLoop(int port, String what, SocketHandler handler) {
+        try (ServerSocket server = new ServerSocket()) {
+            InetAddress bind = privilegedBind();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(bind, port));
+            System.out.println("[SeedServer] Accepting " + what + "s on " + bind.getHostAddress() + ":" + port);
+
+            while (true) {
+                Socket s = server.accept();
+                try {
+                    handler.accept(s);
+                } catch (IOException e) {
+                    System.out.println("[SeedServer] Failed to add " + what + ": " + e.getMessage());
+                    try {
+                        s.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("[SeedServer] " + what + " port closed: " + e.getMessage());
+        }
+    }
+
     // --- utils ---
 
     private static long pickSeed() {
@@ -0,0 +1,134 @@
+package com.lhamacorp.games.tlob.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hot standby: follows a primary's replication stream and replays it into a local GameSession.
+ *
+ * Stream (from GameSession.addReplica):
+ *  - "REPL seed=.. tickrate=.. fixed=0|1" once (the standby runs in the same math mode)
+ *  - CHECKPOINT ... ENDCHECKPOINT on attach and every few seconds (full state before that tick)
+ *  - "J t=.." once per tick (joins + the input each player used), replayed deterministically
+ *
+ * A missed or out-of-order journal line drops the standby out of sync until the next checkpoint.
+ * Periodic checkpoints that land on the standby's own tick are checksum-compared first, so drift
+ * shows up in the log. When the primary goes away after a successful sync, {@link #follow}
+ * returns the session so the caller can promote it (adopt its orphaned players, start its loop
+ * and open the client port).
+ */
+final class Standby {
+
+    private static final long RETRY_MS = 1000;
+
+    private GameSession session;
+    private boolean synced = false, everSynced = false;
+    private long checkpoints = 0, drifts = 0, journals = 0, gaps = 0;
+
+    private Standby() {
+    }
+
+    /** Blocks until the primary is gone after at least one sync; retries connecting until then. */
+    static GameSession follow(String host, int port) {
+        Standby sb = new Standby();
+        while (true) {
+            try (Socket s = new Socket()) {
+                s.connect(new InetSocketAddress(host, port), 4000);
+                s.setTcpNoDelay(true);
+                System.out.println("[Standby] Following primary " + host + ":" + port);
+                sb.pump(new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                if (!sb.everSynced) System.out.println("[Standby] Primary unavailable: " + e.getMessage());
+            }
+            if (sb.everSynced) {
+                System.out.printf("[Standby] Primary lost at tick %d (checkpoints=%d journals=%d drifts=%d gaps=%d)%n",
+                    sb.session.tick, sb.checkpoints, sb.journals, sb.drifts, sb.gaps);
+                return sb.session;
+            }
+            try {
+                Thread.sleep(RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private void pump(BufferedReader in) throws IOException {
+        synced = false;
+        long lastLog = System.nanoTime();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("J ")) {
+                if (!synced) continue;
+                if (session.applyJournal(line)) {
+                    journals++;
+                } else {
+                    synced = false;
+                    gaps++;
+                    System.out.printf("[Standby] Journal gap at tick %d; waiting for checkpoint%n", session.tick);
+                }
+            } else if (line.startsWith("CHECKPOINT")) {
+                onCheckpoint(readBlock(in, line));
+            } else if (line.startsWith("REPL")) {
+                onHello(line);
+            }
+
+            long now = System.nanoTime();
+            if (now - lastLog >= 10_000_000_000L && session != null) {
+                lastLog = now;
+                System.out.printf("[Standby] tick=%d synced=%s checkpoints=%d drifts=%d gaps=%d%n",
+                    session.tick, synced, checkpoints, drifts, gaps);
+            }
+        }
+    }
+
+    private void onHello(String line) {
+        long seed = 0L;
+        int tickrate = 60;
+        boolean fixed = false;
+        for (String tok : line.split(" ")) {
+            if (tok.startsWith("seed=")) seed = Long.parseLong(tok.substring(5));
+            else if (tok.startsWith("tickrate=")) tickrate = Integer.parseInt(tok.substring(9));
+            else if (tok.startsWith("fixed=")) fixed = tok.equals("fixed=1");
+        }
+        if (session != null && session.seed == seed && session.tickrate == tickrate && session.fixedPoint == fixed) return;
+        session = GameSession.replica(seed, tickrate, fixed); // a restarted primary with a new seed starts over
+        everSynced = false;
+        System.out.println("[Standby] Replicating seed=" + seed + ", tickrate=" + tickrate + (fixed ? ", fixed-point" : ""));
+    }
+
+    private void onCheckpoint(String block) {
+        if (session == null) return;
+        int cpTick = -1;
+        long sum = 0L;
+        int eol = block.indexOf('\n');
+        for (String tok : block.substring(0, (eol < 0) ? block.length() : eol).split(" ")) {
+            if (tok.startsWith("tick=")) cpTick = Integer.parseInt(tok.substring(5));
+            else if (tok.startsWith("sum=")) sum = Long.parseLong(tok.substring(4));
+        }
+        if (synced && cpTick == session.tick && session.stateChecksum() != sum) {
+            drifts++;
+            System.out.printf("[Standby] Drift at tick %d; state replaced from checkpoint%n", cpTick);
+        }
+        session.applyCheckpoint(block);
+        checkpoints++;
+        if (!everSynced) System.out.printf("[Standby] Synced at tick %d%n", cpTick);
+        synced = true;
+        everSynced = true;
+    }
+
+    private static String readBlock(BufferedReader in, String head) throws IOException {
+        StringBuilder sb = new StringBuilder(4096).append(head);
+        String line;
+        while ((line = in.readLine()) != null) {
+            sb.append('\n').append(line);
+            if (line.equals("ENDCHECKPOINT")) break;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.lhamacorp.games.tlob.server;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Simulation time per tick, for finding where the simulation (not the network) runs out of budget.
+ * - Keeps the last {@code capacity} samples in a ring; percentiles are nearest-rank over those.
+ * - Recording never allocates; reading sorts a copy, so call it from logs and reports, not per tick.
+ * Single-threaded (the session tick thread, or whoever drives {@link GameSession#advance()}).
+ */
+public final class TickTimes {
+
+    private final long[] ring;
+    private int next = 0, size = 0;
+    private long total = 0;
+
+    public TickTimes(int capacity) {
+        this.ring = new long[Math.max(1, capacity)];
+    }
+
+    public void record(long nanos) {
+        ring[next] = nanos;
+        next = (next + 1 == ring.length) ? 0 : next + 1;
+        if (size < ring.length) size++;
+        total++;
+    }
+
+    /** Drops the retained samples (e.g. after a warm-up); the lifetime count is kept. */
+    public void reset() {
+        next = 0;
+        size = 0;
+    }
+
+    /** Samples currently retained. */
+    public int size() {
+        return size;
+    }
+
+    /** Ticks recorded since creation. */
+    public long total() {
+        return total;
+    }
+
+    /** Nearest-rank percentile ({@code q} in 0..100) of the retained samples, in ns; 0 when empty. */
+    public long percentile(double q) {
+        return percentile(sorted(), q);
+    }
+
+    /** Retained samples strictly above {@code budgetNs}. */
+    public int over(long budgetNs) {
+        int n = 0;
+        for (int i = 0; i < size; i++) if (ring[i] > budgetNs) n++;
+        return n;
+    }
+
+    /** One-line summary for logs (milliseconds). */
+    public String summary(long budgetNs) {
+        long[] s = sorted();
+        return String.format(Locale.ROOT, "ticks=%d p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms over=%d",
+            size, ms(percentile(s, 50)), ms(percentile(s, 90)), ms(percentile(s, 99)),
+            ms(percentile(s, 100)), over(budgetNs));
+    }
+
+    public static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private long[] sorted() {
+        long[] s = Arrays.copyOf(ring, size); // before the first wrap the samples are at the front
+        Arrays.sort(s);
+        return s;
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0L;
+        int rank = (int) Math.ceil(Math.max(0.0, Math.min(100.0, q)) / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,67 @@
+package com.lhamacorp.games.tlob.server;
+
+/**
+ * Token bucket for one connection's reader thread (not thread-safe by design).
+ * - Refills {@code ratePerSec} tokens per second up to {@code burst}.
+ * - Tracks "strikes": 1-second windows with more than {@code tolerance} rejections in a row.
+ */
+final class TokenBucket {
+
+    private static final long WINDOW_NS = 1_000_000_000L;
+
+    private final double ratePerNs;
+    private final double burst;
+    private final int tolerance;
+
+    private double tokens;
+    private long lastNs;
+
+    private long windowStartNs;
+    private int windowRejects;
+    private int strikes;
+
+    TokenBucket(double ratePerSec, double burst, int tolerance, long nowNs) {
+        this.ratePerNs = ratePerSec / 1e9;
+        this.burst = Math.max(1.0, burst);
+        this.tolerance = Math.max(0, tolerance);
+        this.tokens = this.burst;
+        this.lastNs = nowNs;
+        this.windowStartNs = nowNs;
+    }
+
+    /** Takes one token if available; otherwise records a rejection. */
+    boolean tryAcquire(long nowNs) {
+        rollWindow(nowNs);
+        long el = nowNs - lastNs;
+        if (el > 0) {
+            tokens = Math.min(burst, tokens + el * ratePerNs);
+            lastNs = nowNs;
+        }
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        reject(nowNs);
+        return false;
+    }
+
+    /** Records a rejection that did not go through {@link #tryAcquire} (e.g. an oversized line). */
+    void reject(long nowNs) {
+        rollWindow(nowNs);
+        windowRejects++;
+    }
+
+    /** Consecutive windows over tolerance, including the current one if it already is. */
+    int strikes() {
+        return strikes + ((windowRejects > tolerance) ? 1 : 0);
+    }
+
+    private void rollWindow(long nowNs) {
+        if (nowNs - windowStartNs < WINDOW_NS) return;
+        strikes = (windowRejects > tolerance) ? strikes + 1 : 0;
+        // a silent gap of more than one window is clean time
+        if (nowNs - windowStartNs >= 2 * WINDOW_NS) strikes = 0;
+        windowRejects = 0;
+        windowStartNs = nowNs;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lhamacorp.games.tlob.server;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link EnemyKernels} on jdk.incubator.vector: one lane per enemy, players/segment broadcast.
+ * Uses separate mul/add (never fma) so every lane rounds exactly like the scalar loop; the
+ * remainder that does not fill a vector goes through {@link ScalarEnemyKernels}.
+ * Only loaded via {@link EnemyKernels#create}, so a JVM without the module never touches it.
+ */
+final class VectorEnemyKernels implements EnemyKernels {
+
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+
+    private final double[] lanes = new double[S.length()];
+
+    @Override
+    public void nearestPlayer(double[] ex, double[] ey, int n, double[] px, double[] py, int m, int[] nearest, double[] dist2) {
+        int upper = S.loopBound(n);
+        DoubleVector inf = DoubleVector.broadcast(S, Double.POSITIVE_INFINITY);
+        DoubleVector none = DoubleVector.broadcast(S, -1.0);
+        for (int i = 0; i < upper; i += S.length()) {
+            DoubleVector x = DoubleVector.fromArray(S, ex, i);
+            DoubleVector y = DoubleVector.fromArray(S, ey, i);
+            DoubleVector best = inf, idx = none;
+            for (int j = 0; j < m; j++) {
+                DoubleVector dx = x.sub(px[j]), dy = y.sub(py[j]);
+                DoubleVector d2 = dx.mul(dx).add(dy.mul(dy));
+                VectorMask<Double> closer = d2.compare(VectorOperators.LT, best);
+                best = best.blend(d2, closer);
+                idx = idx.blend(j, closer);
+            }
+            best.intoArray(dist2, i);
+            idx.intoArray(lanes, 0);
+            for (int k = 0; k < lanes.length; k++) nearest[i + k] = (int) lanes[k];
+        }
+        ScalarEnemyKernels.nearestPlayer(ex, ey, upper, n, px, py, m, nearest, dist2);
+    }
+
+    @Override
+    public int withinRadius(double[] dist2, double[] r2, int n, boolean[] inside) {
+        int upper = S.loopBound(n);
+        int count = 0;
+        for (int i = 0; i < upper; i += S.length()) {
+            VectorMask<Double> in = DoubleVector.fromArray(S, dist2, i)
+                .compare(VectorOperators.LE, DoubleVector.fromArray(S, r2, i));
+            in.intoArray(inside, i);
+            count += in.trueCount();
+        }
+        return count + ScalarEnemyKernels.withinRadius(dist2, r2, upper, n, inside);
+    }
+
+    @Override
+    public int capsuleHits(double[] ex, double[] ey, int n, double ax, double ay, double bx, double by, double r2, int[] hits) {
+        double vx = bx - ax, vy = by - ay;
+        double vv = vx * vx + vy * vy;
+        boolean degenerate = vv <= 1e-9;
+        int upper = S.loopBound(n);
+        int count = 0;
+        for (int i = 0; i < upper; i += S.length()) {
+            DoubleVector x = DoubleVector.fromArray(S, ex, i);
+            DoubleVector y = DoubleVector.fromArray(S, ey, i);
+            DoubleVector t;
+            if (degenerate) {
+                t = DoubleVector.zero(S);
+            } else {
+                DoubleVector wx = x.sub(ax), wy = y.sub(ay);
+                t = wx.mul(vx).add(wy.mul(vy)).div(vv);
+                // same clamp as the scalar branch (keeps -0.0, unlike max/min)
+                t = t.blend(0.0, t.compare(VectorOperators.LT, 0.0));
+                t = t.blend(1.0, t.compare(VectorOperators.GT, 1.0));
+            }
+            DoubleVector dx = x.sub(t.mul(vx).add(ax)), dy = y.sub(t.mul(vy).add(ay));
+            long bits = dx.mul(dx).add(dy.mul(dy)).compare(VectorOperators.LE, r2).toLong();
+            while (bits != 0) {
+                hits[count++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ScalarEnemyKernels.capsuleHits(ex, ey, upper, n, ax, ay, bx, by, r2, hits, count);
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + S.length() + "x64)";
+    }
+}
@@ -0,0 +1,201 @@
+package com.lhamacorp.games.tlob.soak;
+
+import com.lhamacorp.games.tlob.client.entities.Entity;
+import com.lhamacorp.games.tlob.client.entities.Player;
+import com.lhamacorp.games.tlob.client.managers.AudioManager;
+import com.lhamacorp.games.tlob.client.managers.BiomeEnemySpawner;
+import com.lhamacorp.games.tlob.client.managers.LevelManager;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import com.lhamacorp.games.tlob.client.world.AttackCmd;
+import com.lhamacorp.games.tlob.client.world.GameWorld;
+import com.lhamacorp.games.tlob.client.world.InputCommand;
+import com.lhamacorp.games.tlob.client.world.MoveCmd;
+import com.lhamacorp.games.tlob.core.Constants;
+import com.lhamacorp.games.tlob.server.GameSession;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Long-run memory soak: fast-forwards hours of simulated play (no rendering, sockets or pacing)
+ * and exits with status 1 if the heap or any retained-object count keeps growing.
+ *
+ * Usage: Soak [server|client|both] [seed]
+ *  - server: one GameSession with bots that fight, die, quit and are replaced by new joins;
+ *    killed enemies are topped up every second.
+ *  - client: one GameWorld through level churn; a scripted player clears levels (or moves on
+ *    after a few minutes), dies and restarts, and starts a new run after maxLevel levels
+ *    (spawn counts grow 1.4x per level). A snapshot is taken every tick.
+ *
+ * -Dtlob.soak.hours=24 (simulated, per side), -Dtlob.soak.sampleMinutes=15,
+ * -Dtlob.soak.bots=16, -Dtlob.soak.enemies=256, -Dtlob.soak.maxLevel=6,
+ * -Dtlob.soak.maxGrowth=0.25, -Dtlob.soak.slack=64, -Dtlob.soak.heapSlackMb=32 (see SoakMonitor)
+ */
+public final class Soak {
+
+    private static final int TICKRATE = 60;
+    private static final int TS = Constants.TILE_SIZE;
+
+    private static final double HOURS = Double.parseDouble(System.getProperty("tlob.soak.hours", "24"));
+    private static final int SAMPLE_MINUTES = Integer.getInteger("tlob.soak.sampleMinutes", 15);
+    private static final int BOTS = Integer.getInteger("tlob.soak.bots", 16);
+    private static final int ENEMIES = Integer.getInteger("tlob.soak.enemies", 256);
+    private static final int MAX_LEVEL = Integer.getInteger("tlob.soak.maxLevel", 6);
+    private static final int MAX_LEVEL_TICKS = TICKRATE * 180;
+
+    private Soak() {
+    }
+
+    public static void main(String[] args) {
+        String mode = (args.length >= 1) ? args[0] : "both";
+        long seed = (args.length >= 2) ? parseLong(args[1], 1L) : 1L;
+        long ticks = (long) (HOURS * 3600 * TICKRATE);
+        long sampleTicks = Math.max(1, SAMPLE_MINUTES) * 60L * TICKRATE;
+        double maxGrowth = Double.parseDouble(System.getProperty("tlob.soak.maxGrowth", "0.25"));
+        long slack = Integer.getInteger("tlob.soak.slack", 64);
+        long heapSlackMb = Integer.getInteger("tlob.soak.heapSlackMb", 32);
+
+        AudioManager.setEnabled(false);
+        List<String> failures = new ArrayList<>();
+        if (mode.equals("server") || mode.equals("both")) {
+            failures.addAll(report("server", soakServer(seed, ticks, sampleTicks), maxGrowth, slack, heapSlackMb));
+        }
+        if (mode.equals("client") || mode.equals("both")) {
+            failures.addAll(report("client", soakClient(seed, ticks, sampleTicks), maxGrowth, slack, heapSlackMb));
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("[Soak] PASS: no unbounded growth");
+        } else {
+            for (String f : failures) System.out.println("[Soak] FAIL: " + f);
+            System.exit(1);
+        }
+    }
+
+    private static List<String> report(String side, SoakMonitor m, double maxGrowth, long slack, long heapSlackMb) {
+        System.out.println("[Soak] " + side + " samples:");
+        System.out.print(m.table());
+        List<String> failures = new ArrayList<>();
+        for (String f : m.check(maxGrowth, slack, heapSlackMb)) failures.add(side + ": " + f);
+        return failures;
+    }
+
+    // ----- Server -----
+
+    static SoakMonitor soakServer(long seed, long ticks, long sampleTicks) {
+        System.out.printf("[Soak] server: %.1f simulated hours, bots=%d enemies=%d%n", ticks / (3600.0 * TICKRATE), BOTS, ENEMIES);
+        GameSession s = new GameSession(seed, TICKRATE);
+        Random r = new Random(seed);
+        SoakMonitor m = new SoakMonitor();
+        s.spawnEnemies(ENEMIES - s.enemyCount());
+        s.addBots(BOTS);
+
+        long deaths = 0, quits = 0, t0 = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            if (t % TICKRATE == 0) {
+                s.spawnEnemies(ENEMIES - s.aliveEnemies());
+                // dead bots leave and someone new joins; now and then a live one quits too
+                for (int id : s.botIds()) {
+                    boolean dead = !s.isAlive(id);
+                    if (!dead && r.nextInt(Math.max(1, BOTS) * 60) != 0) continue;
+                    s.removeBot(id);
+                    s.addBot(null);
+                    if (dead) deaths++;
+                    else quits++;
+                }
+            }
+            s.advance();
+
+            if (t % sampleTicks == 0 || t == ticks - 1) {
+                Map<String, Long> v = new LinkedHashMap<>();
+                v.put("heap.usedMb", SoakMonitor.heapUsedMb());
+                v.put("jvm.threads", (long) Thread.activeCount());
+                v.putAll(s.retainedCounts());
+                m.sample(t / TICKRATE, v);
+            }
+        }
+        s.stop();
+        System.out.printf("[Soak] server done in %.1fs: ticks=%d deaths=%d quits=%d%n",
+            (System.nanoTime() - t0) / 1e9, ticks, deaths, quits);
+        return m;
+    }
+
+    // ----- Client -----
+
+    static SoakMonitor soakClient(long seed, long ticks, long sampleTicks) {
+        System.out.printf("[Soak] client: %.1f simulated hours, maxLevel=%d%n", ticks / (3600.0 * TICKRATE), MAX_LEVEL);
+        Random root = new Random(seed);
+        LevelManager levels = new LevelManager(80, 60, new Random(root.nextLong()));
+        BiomeEnemySpawner spawner = new BiomeEnemySpawner(new Sword(2, 28, 12, 10, 16), new Random(root.nextLong()));
+        int[] spawn = levels.map().findSpawnTile();
+        Player player = new Player(spawn[0] * TS + TS / 2.0, spawn[1] * TS + TS / 2.0, new Sword(2, 28, 10, 10, 16));
+        List<Entity> enemies = new ArrayList<>();
+        spawner.spawn(levels.map(), player, enemies, levels.completed(), TS);
+        GameWorld world = new GameWorld(levels.map(), player, enemies, seed);
+        SoakMonitor m = new SoakMonitor();
+
+        List<InputCommand> cmds = new ArrayList<>(2);
+        long levelsDone = 0, deaths = 0, runs = 0, t0 = System.nanoTime();
+        int levelTicks = 0;
+        for (long t = 0; t < ticks; t++) {
+            if (!player.isAlive() || levels.completed() >= MAX_LEVEL) {
+                if (player.isAlive()) runs++;
+                else deaths++;
+                levels.restart(player, spawner, enemies, TS);
+                world.changeLevel(levels.map());
+                levelTicks = 0;
+            } else if (enemies.isEmpty() || levelTicks >= MAX_LEVEL_TICKS) {
+                levels.nextLevel(player, spawner, enemies, TS);
+                world.changeLevel(levels.map());
+                levelsDone++;
+                levelTicks = 0;
+            }
+
+            scriptedInput(player, enemies, cmds);
+            world.tick(cmds);
+            world.snapshot();
+            levelTicks++;
+
+            if (t % sampleTicks == 0 || t == ticks - 1) {
+                Map<String, Long> v = new LinkedHashMap<>();
+                v.put("heap.usedMb", SoakMonitor.heapUsedMb());
+                v.put("jvm.threads", (long) Thread.activeCount());
+                v.put("world.ids", (long) world.idCount());
+                v.put("world.enemies", (long) enemies.size());
+                m.sample(t / TICKRATE, v);
+            }
+        }
+        System.out.printf("[Soak] client done in %.1fs: ticks=%d levels=%d deaths=%d runs=%d%n",
+            (System.nanoTime() - t0) / 1e9, ticks, levelsDone, deaths, runs);
+        return m;
+    }
+
+    /** Walks at the nearest enemy and swings when close; idles when the level is empty. */
+    private static void scriptedInput(Player player, List<Entity> enemies, List<InputCommand> out) {
+        out.clear();
+        Entity target = null;
+        double best = Double.POSITIVE_INFINITY;
+        for (Entity e : enemies) {
+            double dx = e.getX() - player.getX(), dy = e.getY() - player.getY(), d2 = dx * dx + dy * dy;
+            if (d2 < best) {
+                best = d2;
+                target = e;
+            }
+        }
+        if (target == null) return;
+        double dx = target.getX() - player.getX(), dy = target.getY() - player.getY();
+        out.add(new MoveCmd((Math.abs(dx) > 8) ? (int) Math.signum(dx) : 0, (Math.abs(dy) > 8) ? (int) Math.signum(dy) : 0, false));
+        if (best <= 40 * 40) out.add(new AttackCmd());
+    }
+
+    private static long parseLong(String s, long def) {
+        try {
+            return Long.parseLong(s.trim());
+        } catch (Exception e) {
+            return def;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.lhamacorp.games.tlob.soak;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Time series of heap and retained-object counts for a soak run, plus the growth verdict.
+ * - Each {@link #sample} records named values (e.g. "session.enemies") at a simulated time.
+ * - Verdict: the first quarter of the run is warm-up. For each series, the peak of the last
+ *   quarter may exceed the peak of the second quarter by at most {@code maxGrowth} (relative)
+ *   plus {@code slack} (absolute, so small populations can fluctuate). A leak grows linearly
+ *   with simulated time, so it fails this regardless of run length.
+ */
+public final class SoakMonitor {
+
+    private final List<Long> times = new ArrayList<>();
+    private final Map<String, List<Long>> series = new LinkedHashMap<>();
+
+    /** Records one set of values; series that skip a sample simply have fewer points. */
+    public void sample(long simSeconds, Map<String, Long> values) {
+        times.add(simSeconds);
+        for (Map.Entry<String, Long> v : values.entrySet()) {
+            series.computeIfAbsent(v.getKey(), k -> new ArrayList<>()).add(v.getValue());
+        }
+    }
+
+    /** Used heap after a full collection, in MB (System.gc is a hint; two passes settle most heaps). */
+    public static long heapUsedMb() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+    }
+
+    public int samples() {
+        return times.size();
+    }
+
+    /** Growth violations, one line each; empty when every series stayed flat. Needs >= 4 samples. */
+    public List<String> check(double maxGrowth, long slack, long heapSlackMb) {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> s : series.entrySet()) {
+            List<Long> v = s.getValue();
+            int n = v.size();
+            if (n < 4) continue;
+            long early = peak(v, n / 4, n / 2);
+            long late = peak(v, n - n / 4, n);
+            long allowed = (long) Math.floor(early * (1.0 + maxGrowth)) + (s.getKey().startsWith("heap.") ? heapSlackMb : slack);
+            if (late > allowed) {
+                out.add(String.format(Locale.ROOT, "%s grew from %d to %d (allowed %d)", s.getKey(), early, late, allowed));
+            }
+        }
+        return out;
+    }
+
+    /** Fixed-width table of every sample, one row per sample. */
+    public String table() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%10s", "sim h"));
+        for (String name : series.keySet()) sb.append(String.format(Locale.ROOT, " %14s", shortName(name)));
+        sb.append('\n');
+        for (int i = 0; i < times.size(); i++) {
+            sb.append(String.format(Locale.ROOT, "%10.2f", times.get(i) / 3600.0));
+            for (List<Long> v : series.values()) {
+                sb.append((i < v.size()) ? String.format(Locale.ROOT, " %14d", v.get(i)) : String.format(Locale.ROOT, " %14s", "-"));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static long peak(List<Long> v, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = Math.max(0, from); i < Math.min(v.size(), Math.max(from + 1, to)); i++) max = Math.max(max, v.get(i));
+        return max;
+    }
+
+    /** Column header: the part after the subsystem prefix, cut to the column width. */
+    private static String shortName(String name) {
+        String n = name.substring(name.lastIndexOf('.') + 1);
+        return (n.length() <= 14) ? n : n.substring(0, 14);
+    }
+}
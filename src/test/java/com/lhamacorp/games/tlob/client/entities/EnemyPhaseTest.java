@@ -0,0 +1,165 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.Bow;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyPhaseTest {
+
+    private static final int TS = 32;
+    private static final int W = 60, H = 45;
+
+    @Test
+    void testParallelRunMatchesSerialRunTickForTick() throws Exception {
+        TileMap map = new TileMap(new int[W][H], new Random(3));
+        Random r = new Random(5);
+        EnemyStore a = new EnemyStore();
+        for (int i = 0; i < 300; i++) {
+            double x = (2 + r.nextInt(W - 4)) * TS + 16, y = (2 + r.nextInt(H - 4)) * TS + 16;
+            a.add(switch (i % 3) {
+                case 0 -> new Soldier(x, y, new Sword(1, 30, 20, 500, 1000));
+                case 1 -> new Archer(x, y, new Bow(1, 200, 5, 8, 50));
+                default -> new Golen(x, y, new Sword(2, 40, 20, 500, 1000));
+            });
+        }
+        EnemyStore b = new EnemyStore();
+        for (Entity e : a) b.add(copyOf(e));
+
+        World serial = new World(map, a, new EnemyPhase());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            World parallel = new World(map, b, new EnemyPhase(1, pool));
+            for (int tick = 0; tick < 400; tick++) {
+                serial.step(tick);
+                parallel.step(tick);
+                assertEquals(serial.state(), parallel.state(), "tick " + tick);
+            }
+            assertTrue(serial.player.getHealth() < serial.player.getMaxHealth(), "enemies should have landed hits");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testHitsLandInCommitNotDuringPhase() {
+        TileMap map = new TileMap(new int[20][20], new Random(1));
+        Player p = new Player(160, 160, new Sword(1, 30, 20, 500, 1000));
+        EnemyStore enemies = new EnemyStore();
+        double[] healthSeen = new double[1];
+        enemies.add(new Soldier(600, 600, new Sword(1, 30, 20, 500, 1000)) {
+            @Override
+            public void update(UpdateContext ctx) {
+                healthSeen[0] = ctx.player().getHealth();
+            }
+        });
+        enemies.add(new Soldier(150, 160, new Sword(1, 30, 20, 500, 1000)));
+        UpdateContext ctx = new UpdateContext().begin(0, p, map, enemies, null).perceive();
+        new EnemyPhase().run(ctx);
+
+        // the probe updated after the attacker (back to front) and still saw full health
+        assertEquals(p.getMaxHealth(), healthSeen[0]);
+        assertTrue(p.getHealth() < p.getMaxHealth());
+    }
+
+    @Test
+    void testEveryHitRecordedInAPhaseLandsInOrder() {
+        TileMap map = new TileMap(new int[20][20], new Random(1));
+        Player p = new Player(160, 160, new Sword(1, 30, 20, 500, 1000));
+        EnemyStore enemies = new EnemyStore();
+        enemies.add(new Soldier(150, 160, new Sword(1, 30, 20, 500, 1000)) {
+            @Override
+            public void update(UpdateContext ctx) {
+                // more hits in one tick than any enemy makes today
+                hitPlayer(ctx.player(), 1.0, 150, 160);
+                hitPlayer(ctx.player(), 0.5, 160, 170);
+                hitPlayer(ctx.player(), 0.25, 160, 150);
+                assertEquals(p.getMaxHealth(), ctx.player().getHealth());
+            }
+        });
+        new EnemyPhase().run(new UpdateContext().begin(0, p, map, enemies, null).perceive());
+
+        assertEquals(p.getMaxHealth() - 1.75, p.getHealth(), 1e-9);
+        assertTrue(p.knockbackY > 0, "last hit (from above) sets the knockback");
+
+        // outside a phase hits land at once
+        enemies.get(0).hitPlayer(p, 0.5, 150, 160);
+        assertEquals(p.getMaxHealth() - 2.25, p.getHealth(), 1e-9);
+    }
+
+    @Test
+    void testDeadEnemiesGoBackToThePools() {
+        TileMap map = new TileMap(new int[20][20], new Random(1));
+        Player p = new Player(160, 160, new Sword(1, 30, 20, 500, 1000));
+        EnemyPools pools = new EnemyPools();
+        EnemyStore enemies = new EnemyStore();
+        Soldier dead = pools.soldier(400, 400, new Sword(1, 30, 20, 500, 1000));
+        enemies.add(dead);
+        enemies.add(pools.soldier(500, 500, new Sword(1, 30, 20, 500, 1000)));
+        dead.damage(100);
+
+        new EnemyPhase().recycleInto(pools).run(new UpdateContext().begin(0, p, map, enemies, null).perceive());
+        assertEquals(1, enemies.size());
+        assertEquals(1, pools.free());
+        assertSame(dead, pools.soldier(64, 64, new Sword(1, 30, 20, 500, 1000)));
+        assertTrue(dead.isAlive());
+    }
+
+    /** Player plus enemies driven the way SinglePlayerGameManager drives them. */
+    private static final class World {
+        final TileMap map;
+        final EnemyStore enemies;
+        final EnemyPhase phase;
+        final Player player = new Player(W / 2 * TS + 16, H / 2 * TS + 16, new Sword(1, 30, 20, 500, 1000));
+        final EntityGrid grid = new EntityGrid();
+        final UpdateContext ctx = new UpdateContext();
+
+        World(TileMap map, EnemyStore enemies, EnemyPhase phase) {
+            this.map = map;
+            this.enemies = enemies;
+            this.phase = phase;
+            player.increaseMaxHealthByPercent(1000);
+            player.setHealth(player.getMaxHealth());
+            grid.rebuild(enemies, W * TS, H * TS);
+        }
+
+        void step(long tick) {
+            ctx.begin(tick, player, map, enemies, grid);
+            player.update(ctx);
+            ctx.perceive();
+            phase.run(ctx);
+        }
+
+        String state() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(player.getX()).append(',').append(player.getY()).append(',').append(player.getHealth());
+            for (Entity e : enemies) sb.append(';').append(e.getX()).append(',').append(e.getY());
+            return sb.toString();
+        }
+    }
+
+    /** Field-for-field copy (fresh buffers, not in any grid or store), since enemies seed their AI from the clock. */
+    private static Entity copyOf(Entity e) throws Exception {
+        Entity c = e.getClass().getConstructor(double.class, double.class, com.lhamacorp.games.tlob.client.weapons.Weapon.class)
+            .newInstance(e.x, e.y, e.weapon);
+        for (Class<?> k = e.getClass(); k != Object.class; k = k.getSuperclass()) {
+            for (Field f : k.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || List.class.isAssignableFrom(f.getType())) continue;
+                if (f.getName().startsWith("grid") || f.getType() == EnemyStore.class || f.getName().equals("slot")) continue;
+                f.setAccessible(true);
+                Object v = f.get(e);
+                if (v instanceof double[] arr) v = arr.clone();
+                f.set(c, v);
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,55 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyStoreTest {
+
+    @Test
+    void testSwapRemoveKeepsSlotsInStep() {
+        EnemyStore store = new EnemyStore();
+        List<Entity> all = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Entity e = new Soldier(i * 10, 0, new Sword(1, 30, 20, 500, 1000));
+            all.add(e);
+            store.add(e);
+        }
+
+        Entity last = store.get(39);
+        Entity removed = store.remove(5);
+        assertSame(all.get(5), removed);
+        assertSame(last, store.get(5));
+        assertEquals(39, store.size());
+        assertEquals(-1, store.indexOf(removed));
+        assertEquals(5, store.indexOf(last));
+
+        assertTrue(store.remove((Object) all.get(0)));
+        assertFalse(store.remove((Object) all.get(0)));
+        store.removeIf(e -> e.getX() >= 300);
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(i, store.indexOf(store.get(i)));
+            assertTrue(store.get(i).getX() < 300);
+        }
+        assertEquals(28, store.size());
+
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertFalse(store.contains(last));
+        store.add(last); // detached by clear, so it can join again
+        assertEquals(0, store.indexOf(last));
+    }
+
+    @Test
+    void testEntityJoinsOneStoreAtATime() {
+        Entity e = new Soldier(0, 0, new Sword(1, 30, 20, 500, 1000));
+        EnemyStore store = new EnemyStore();
+        store.add(e);
+        assertThrows(IllegalArgumentException.class, () -> store.add(e));
+        assertThrows(IllegalArgumentException.class, () -> new EnemyStore().add(e));
+    }
+}
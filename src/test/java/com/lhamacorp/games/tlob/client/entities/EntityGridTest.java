@@ -0,0 +1,124 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.weapons.Bow;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityGridTest {
+
+    private static final int W = 80 * 32, H = 60 * 32;
+
+    @Test
+    void testRadiusQueriesMatchScanWhileEntitiesMove() {
+        Random r = new Random(7);
+        List<Entity> all = population(r, 400);
+        EntityGrid grid = new EntityGrid();
+        grid.rebuild(all, W, H);
+        assertEquals(400, grid.size());
+
+        List<Entity> out = new ArrayList<>();
+        for (int step = 0; step < 50; step++) {
+            for (Entity e : all) {
+                e.x += (r.nextDouble() - 0.5) * 40;
+                e.y += (r.nextDouble() - 0.5) * 40;
+                grid.move(e);
+            }
+            for (int q = 0; q < 20; q++) {
+                Entity self = all.get(r.nextInt(all.size()));
+                double radius = 20 + r.nextDouble() * 150;
+                grid.queryRadius(self.x, self.y, radius, self, out);
+                assertEquals(scanRadius(all, self, radius), new HashSet<>(out));
+            }
+        }
+    }
+
+    @Test
+    void testRemovedAndDeadEntitiesAreNotReturned() {
+        Random r = new Random(11);
+        List<Entity> all = population(r, 200);
+        EntityGrid grid = new EntityGrid();
+        grid.rebuild(all, W, H);
+
+        for (int i = 0; i < 50; i++) grid.remove(all.get(i));
+        for (int i = 50; i < 100; i++) all.get(i).damage(100);
+        assertEquals(150, grid.size());
+
+        List<Entity> out = new ArrayList<>();
+        grid.queryRadius(W / 2.0, H / 2.0, W + H, null, out);
+        assertEquals(new HashSet<>(all.subList(100, 200)), new HashSet<>(out));
+
+        grid.remove(all.get(0)); // not a member any more: no-op
+        grid.move(all.get(0)); // non-members are inserted
+        assertEquals(151, grid.size());
+    }
+
+    @Test
+    void testRectQueriesMatchBoundsIntersection() {
+        Random r = new Random(3);
+        List<Entity> all = population(r, 300);
+        EntityGrid grid = new EntityGrid();
+        grid.rebuild(all, W, H);
+
+        List<Entity> out = new ArrayList<>();
+        for (int q = 0; q < 500; q++) {
+            Rectangle rect = new Rectangle(r.nextInt(W) - 20, r.nextInt(H) - 20, 1 + r.nextInt(60), 1 + r.nextInt(60));
+            Set<Entity> expected = new HashSet<>();
+            for (Entity e : all) if (e.getBounds().intersects(rect)) expected.add(e);
+
+            grid.queryRect(rect, null, out);
+            assertEquals(expected, new HashSet<>(out));
+            assertEquals(!expected.isEmpty(), grid.anyIntersecting(rect, null));
+        }
+    }
+
+    @Test
+    void testOutOfWorldPositionsClampToBorderCells() {
+        EntityGrid grid = new EntityGrid();
+        Soldier far = new Soldier(-500, H + 500, new Sword(1, 30, 20, 500, 1000));
+        grid.rebuild(List.of(far), W, H);
+
+        List<Entity> out = new ArrayList<>();
+        assertEquals(1, grid.queryRadius(-490, H + 490, 20, null, out));
+        assertTrue(grid.anyIntersecting(new Rectangle(-505, H + 495, 4, 4), null));
+    }
+
+    @Test
+    void testNearbyFoesIsTheSameWithAndWithoutGrid() {
+        Random r = new Random(5);
+        List<Entity> all = population(r, 300);
+        EntityGrid grid = new EntityGrid();
+        grid.rebuild(all, W, H);
+
+        for (Entity e : all) {
+            Set<Entity> scanned = new HashSet<>(e.nearbyFoes(all, null, 80));
+            assertEquals(scanned, new HashSet<>(e.nearbyFoes(all, grid, 80)));
+            assertFalse(scanned.contains(e));
+        }
+    }
+
+    private static List<Entity> population(Random r, int n) {
+        List<Entity> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            double x = r.nextDouble() * W, y = r.nextDouble() * H;
+            out.add((i % 3 == 0) ? new Archer(x, y, new Bow(1, 120, 5, 8, 90)) : new Soldier(x, y, new Sword(1, 30, 20, 500, 1000)));
+        }
+        return out;
+    }
+
+    private static Set<Entity> scanRadius(List<Entity> all, Entity self, double radius) {
+        Set<Entity> out = new HashSet<>();
+        for (Entity e : all) {
+            if (e != self && e.isAlive() && Math.hypot(e.x - self.x, e.y - self.y) <= radius) out.add(e);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,107 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.EnemyWeapons;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import com.lhamacorp.games.tlob.client.weapons.Weapon;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityPoolTest {
+
+    /** Fields the constructor rolls from the clock-seeded LCG, so two fresh enemies differ in them too. */
+    private static final Set<String> ROLLED = Set.of(
+        "lcg", "speedScale", "baseSpeedScale", "aimNoiseRad", "strafeStrength", "strafeFreqHz", "strafePhase",
+        "aggressionRadius", "baseAttackCooldown", "baseAttackDuration", "wanderBehavior", "wanderSpeedVariation",
+        "wanderDirectionChangeChance", "prefersStraightPaths", "idleTimeVariation", "isAggressive", "isCautious",
+        "curiosityLevel", "prefersGroupMovement", "patrolPointsX", "patrolPointsY", "wanderDx", "wanderDy",
+        "preferredDistance", "tacticalRadius", "prefersHighGround", "retreatChance", "flankingTendency",
+        "coverSeeking", "isTactical", "isCowardly", "precisionLevel");
+
+    @Test
+    void testAcquireResetsToFreshState() throws Exception {
+        EnemyPools pools = new EnemyPools();
+        List<Entity> used = new ArrayList<>(List.of(
+            pools.soldier(300, 300, EnemyWeapons.SWORD),
+            pools.archer(330, 300, EnemyWeapons.SWORD),
+            pools.golen(300, 340, EnemyWeapons.SWORD)));
+        wearOut(used);
+        pools.releaseAll(used);
+        assertEquals(3, pools.free());
+
+        Weapon sword = new Sword(1, 30, 20, 500, 1000);
+        assertFresh(new Soldier(64, 96, sword), pools.soldier(64, 96, sword));
+        assertFresh(new Archer(64, 96, sword), pools.archer(64, 96, sword));
+        assertFresh(new Golen(64, 96, sword), pools.golen(64, 96, sword));
+        assertEquals(3, pools.created());
+        assertEquals(3, pools.reused());
+        assertEquals(0, pools.free());
+    }
+
+    @Test
+    void testReleaseRules() {
+        EnemyPools pools = new EnemyPools();
+        Soldier s = pools.soldier(0, 0, EnemyWeapons.SWORD);
+        pools.release(s);
+        assertThrows(IllegalStateException.class, () -> pools.release(s));
+
+        Soldier stored = new Soldier(0, 0, EnemyWeapons.SWORD);
+        EnemyStore store = new EnemyStore();
+        store.add(stored);
+        assertThrows(IllegalArgumentException.class, () -> pools.release(stored));
+
+        // a subclass isn't a Soldier to reuse: left to the GC
+        pools.release(new Soldier(0, 0, EnemyWeapons.SWORD) { });
+        assertEquals(1, pools.free());
+        assertSame(s, pools.soldier(5, 5, EnemyWeapons.SWORD));
+    }
+
+    /** Fights the player for a while, takes perks and damage: dirties as much state as it can. */
+    private static void wearOut(List<Entity> enemies) {
+        TileMap map = new TileMap(new int[30][30], new Random(1));
+        Player p = new Player(310, 310, new Sword(1, 30, 20, 500, 1000));
+        p.increaseMaxHealthByPercent(1000);
+        p.setHealth(p.getMaxHealth());
+        UpdateContext ctx = new UpdateContext();
+        for (Entity e : enemies) {
+            e.setDeathListener(dead -> { });
+            e.increaseMaxHealthByPercent(0.5);
+            e.increaseMoveSpeedByPercent(0.5);
+            e.increaseAttackDamageByPercent(0.5);
+            e.increaseWeaponRangeByPercent(0.5);
+            e.increaseWeaponWidth(1);
+            e.increaseArmor(0.5);
+        }
+        for (int tick = 0; tick < 400; tick++) {
+            ctx.begin(tick, p, map, enemies, null).perceive();
+            for (Entity e : enemies) e.update(ctx);
+            if (tick == 200) for (Entity e : enemies) {
+                e.applyKnockback(e.getX() - 5, e.getY());
+                e.damage(1.5);
+            }
+        }
+        for (Entity e : enemies) {
+            assertNotSame(EnemyWeapons.SWORD, e.getWeapon(), "weapon perks copy the shared prototype");
+            e.damage(1000);
+        }
+    }
+
+    private static void assertFresh(Entity fresh, Entity reused) throws Exception {
+        assertSame(fresh.getClass(), reused.getClass());
+        for (Class<?> k = fresh.getClass(); k != Object.class; k = k.getSuperclass()) {
+            for (Field f : k.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || ROLLED.contains(f.getName())) continue;
+                f.setAccessible(true);
+                assertEquals(f.get(fresh), f.get(reused), k.getSimpleName() + "." + f.getName());
+            }
+        }
+    }
+}
@@ -82,7 +82,7 @@ class GolenTest {
         double initialY = golen.getY();
         
         // Update with player at distance
-        golen.update(mockPlayer, mockMap);
+        golen.update(new UpdateContext().begin(0, mockPlayer, mockMap, null, null).perceive());
         
         // Golen should move towards player (may not move every update due to timers)
         // This test verifies the update method doesn't crash
@@ -99,7 +99,7 @@ class GolenTest {
         
         // Update multiple times to trigger attack
         for (int i = 0; i < 10; i++) {
-            golen.update(nearbyPlayer, mockMap);
+            golen.update(new UpdateContext().begin(0, nearbyPlayer, mockMap, null, null).perceive());
         }
         
         // Verify the update method works without crashing
@@ -121,7 +121,7 @@ class GolenTest {
         Player farPlayer = new Player(500.0, 500.0, weapon);
         
         for (int i = 0; i < 5; i++) {
-            golen.update(farPlayer, mockMap);
+            golen.update(new UpdateContext().begin(0, farPlayer, mockMap, null, null).perceive());
         }
         
         // Verify the update method works without crashing
@@ -152,7 +152,7 @@ class GolenTest {
         assertNotNull(golen);
         
         // Update should not crash even with wall collision
-        golen.update(mockPlayer, mockMap);
+        golen.update(new UpdateContext().begin(0, mockPlayer, mockMap, null, null).perceive());
         assertNotNull(golen);
     }
 
@@ -167,7 +167,7 @@ class GolenTest {
         enemies.add(ally2);
         
         // Update with enemies list
-        golen.update(mockPlayer, mockMap, enemies);
+        golen.update(new UpdateContext().begin(0, mockPlayer, mockMap, enemies, null).perceive());
         
         // Verify the update method works without crashing
         assertNotNull(golen);
@@ -180,7 +180,7 @@ class GolenTest {
         Player nearbyPlayer = new Player(130.0, 100.0, weapon);
         
         // Update to trigger charge-up
-        golen.update(nearbyPlayer, mockMap);
+        golen.update(new UpdateContext().begin(0, nearbyPlayer, mockMap, null, null).perceive());
         
         // Verify the update method works without crashing
         assertNotNull(golen);
@@ -194,7 +194,7 @@ class GolenTest {
         
         // Update multiple times to trigger attack and recovery
         for (int i = 0; i < 15; i++) {
-            golen.update(nearbyPlayer, mockMap);
+            golen.update(new UpdateContext().begin(0, nearbyPlayer, mockMap, null, null).perceive());
         }
         
         // Verify the update method works without crashing
@@ -200,7 +200,7 @@ class PlayerTest {
         };
         
         // Update player with block input
-        player.update(mockInput, mockMap, enemies);
+        player.update(new UpdateContext().begin(0, player, mockMap, enemies, null).input(mockInput, null));
         
         // Player should now be blocking
         assertTrue(player.isBlocking());
@@ -246,10 +246,10 @@ class PlayerTest {
         };
         
         // Update player with both block and attack input
-        player.update(mockInput, mockMap, enemies);
+        player.update(new UpdateContext().begin(0, player, mockMap, enemies, null).input(mockInput, null));
         
         // Try to attack while blocking
-        player.update(mockInput, mockMap, enemies);
+        player.update(new UpdateContext().begin(0, player, mockMap, enemies, null).input(mockInput, null));
     }
     
     @Test
@@ -278,7 +278,7 @@ class PlayerTest {
         };
         
         // Update player with block input
-        player.update(mockInput, mockMap, enemies);
+        player.update(new UpdateContext().begin(0, player, mockMap, enemies, null).input(mockInput, null));
         assertTrue(player.isBlocking());
         
         double initialStamina = player.getStamina();
@@ -363,7 +363,7 @@ class PlayerTest {
         inputState.defense = true;
         
         // Update player with input state
-        player.update(inputState, mockMap, enemies);
+        player.update(new UpdateContext().begin(0, player, mockMap, enemies, null).input(inputState, null));
         
         // Player should respond to input (facing should change due to movement)
         // Note: We can't easily test exact facing without complex movement calculations
@@ -0,0 +1,113 @@
+package com.lhamacorp.games.tlob.client.entities;
+
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import com.lhamacorp.games.tlob.client.world.InputState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateContextTest {
+
+    private static final int TS = 32;
+
+    private TileMap map;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        int[][] tiles = new int[20][20];
+        tiles[5][5] = TileMap.FLOOR_PLANTS;
+        map = new TileMap(tiles, new Random(1));
+        player = new Player(3 * TS + 16, 4 * TS + 16, new Sword(1, 30, 20, 500, 1000));
+    }
+
+    @Test
+    void testPerceiveSnapshotsPlayerTileAndHiding() {
+        UpdateContext ctx = new UpdateContext().begin(0, player, map, null, null).perceive();
+        assertEquals(player.getX(), ctx.playerX());
+        assertEquals(3, ctx.playerTileX());
+        assertEquals(4, ctx.playerTileY());
+        assertFalse(ctx.playerHidden());
+
+        player.setPosition(5 * TS + 16, 5 * TS + 16);
+        ctx.begin(1, player, map, null, null).perceive();
+        assertEquals(5, ctx.playerTileX());
+        assertTrue(ctx.playerHidden());
+    }
+
+    @Test
+    void testPlayerVelocityIsDisplacementBetweenConsecutiveTicks() {
+        UpdateContext ctx = new UpdateContext();
+        ctx.begin(10, player, map, null, null).perceive();
+        assertEquals(0, ctx.playerVx());
+
+        player.setPosition(player.getX() + 3, player.getY() - 2);
+        ctx.begin(11, player, map, null, null).perceive();
+        assertEquals(3, ctx.playerVx(), 1e-9);
+        assertEquals(-2, ctx.playerVy(), 1e-9);
+
+        // a skipped tick (pause, level change) doesn't count as motion
+        player.setPosition(player.getX() + 50, player.getY());
+        ctx.begin(13, player, map, null, null).perceive();
+        assertEquals(0, ctx.playerVx());
+    }
+
+    @Test
+    void testBeginClearsPlayerInput() {
+        InputState keys = new InputState();
+        keys.right = true;
+        UpdateContext ctx = new UpdateContext().begin(0, player, map, List.of(), null).input(keys, null);
+        double x0 = player.getX();
+        player.update(ctx);
+        assertTrue(player.getX() > x0);
+
+        ctx.begin(1, player, map, List.of(), null);
+        double x1 = player.getX();
+        player.update(ctx);
+        assertEquals(x1, player.getX());
+    }
+
+    @Test
+    void testReusedContextBehavesLikeFreshOne() {
+        Soldier sa = new Soldier(150, 150, new Sword(1, 30, 20, 500, 1000));
+        Soldier sb = new Soldier(150, 150, new Sword(1, 30, 20, 500, 1000));
+        sa.roll(7); // same personality and AI RNG state for both (the constructor mixes in the clock)
+        sb.roll(7);
+        List<Entity> a = new ArrayList<>(List.of(sa));
+        List<Entity> b = new ArrayList<>(List.of(sb));
+        Player pa = new Player(300, 300, new Sword(1, 30, 20, 500, 1000));
+        Player pb = new Player(300, 300, new Sword(1, 30, 20, 500, 1000));
+        pa.maxHealth = pa.health = pb.maxHealth = pb.health = 1000; // keep it alive for the whole chase
+
+        UpdateContext reused = new UpdateContext();
+        for (int t = 0; t < 200; t++) {
+            // the player paces back and forth, so the soldier chases, closes in and swings
+            double px = 300 + (((t / 50) % 2 == 0) ? t % 50 : 50 - t % 50) * 2;
+            pa.setPosition(px, 300);
+            pb.setPosition(px, 300);
+            sa.update(new UpdateContext().begin(t, pa, map, a, null).perceive());
+            sb.update(reused.begin(t, pb, map, b, null).perceive());
+            assertEquals(sa.getX(), sb.getX(), "tick " + t);
+            assertEquals(sa.getY(), sb.getY(), "tick " + t);
+        }
+        // same attacks landed on the same ticks
+        assertTrue(pa.getHealth() < pa.getMaxHealth());
+        assertEquals(pa.getHealth(), pb.getHealth());
+    }
+
+    @Test
+    void testHiddenPlayerIsNotAttacked() {
+        // standing in the plants at tile (5,5), next to a soldier
+        double px = 5 * TS + 16, py = 5 * TS + 16;
+        Player p = new Player(px, py, new Sword(1, 30, 20, 500, 1000));
+        List<Entity> enemies = new ArrayList<>(List.of(new Soldier(px - 10, py, new Sword(1, 30, 20, 500, 1000))));
+        enemies.get(0).update(new UpdateContext().begin(0, p, map, enemies, null).perceive());
+        assertEquals(p.getMaxHealth(), p.getHealth());
+    }
+}
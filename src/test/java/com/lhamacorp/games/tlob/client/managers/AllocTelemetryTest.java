@@ -0,0 +1,94 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocTelemetryTest {
+
+    private static final long SEC = 1_000_000_000L;
+
+    private static volatile Object sink;
+
+    @Test
+    void testInactiveUntilOverlayShown() {
+        AllocTelemetry t = new AllocTelemetry(null);
+        assertFalse(t.active());
+        assertEquals(-1, t.mark());
+
+        t.setOverlay(true);
+        assertTrue(t.active());
+        assertTrue(t.mark() >= 0);
+    }
+
+    @Test
+    void testWindowRollsIntoOverlayLines() {
+        AllocTelemetry t = new AllocTelemetry(null);
+        t.setOverlay(true);
+        t.tickDone(t.mark(), 0, 0); // opens the window
+
+        for (int i = 0; i < 60; i++) {
+            long mark = t.mark();
+            sink = new byte[64 * 1024];
+            t.tickDone(mark, i, i * SEC / 60);
+        }
+        assertEquals("Alloc: measuring...", t.overlayLines()[0]);
+
+        t.onGcPause(2.5);
+        t.tickDone(t.mark(), 60, SEC);
+        String[] lines = t.overlayLines();
+        assertTrue(lines[0].startsWith("Alloc/tick: 6"), lines[0]); // 64 KB array + a header
+        assertEquals("GC: 1 pauses, 2.5 ms (max 2.5)", lines[4]);
+    }
+
+    @Test
+    void testFrameTimesAndLongestGap() throws InterruptedException {
+        AllocTelemetry t = new AllocTelemetry(null);
+        t.setOverlay(true);
+        t.setRenderMode("active");
+        t.tickDone(t.mark(), 0, 0);
+
+        t.frameDone(t.mark(), System.nanoTime());
+        Thread.sleep(30);
+        t.frameDone(t.mark(), System.nanoTime());
+        t.tickDone(t.mark(), 60, SEC);
+
+        String frame = t.overlayLines()[3];
+        assertTrue(frame.startsWith("Frame: "), frame);
+        assertTrue(frame.endsWith("(active)"), frame);
+        double gapMs = Double.parseDouble(frame.replaceAll(".*gap ([0-9.]+) max.*", "$1"));
+        assertTrue(gapMs >= 25, frame);
+    }
+
+    @Test
+    void testCsvGetsHeaderAndOneRowPerWindow() throws IOException {
+        Path dir = Files.createTempDirectory("tlob-telemetry");
+        Path csv = dir.resolve("out/telemetry.csv");
+        AllocTelemetry t = new AllocTelemetry(csv);
+        assertTrue(t.active());
+
+        long frame = t.mark();
+        sink = new byte[10_000];
+        t.frameDone(frame, System.nanoTime());
+        for (int s = 0; s <= 3; s++) t.tickDone(t.mark(), s * 60, s * SEC);
+        t.close();
+
+        List<String> rows = Files.readAllLines(csv);
+        Files.delete(csv);
+        Files.delete(csv.getParent());
+        Files.delete(dir);
+        assertEquals(AllocTelemetry.CSV_HEADER, rows.get(0));
+        assertEquals(4, rows.size());
+        String[] first = rows.get(1).split(",");
+        assertEquals(AllocTelemetry.CSV_HEADER.split(",").length, first.length);
+        assertEquals("60", first[1]);
+        assertEquals("1", first[5]);                            // one frame
+        assertTrue(Long.parseLong(first[6]) >= 10_000);         // its bytes
+        assertEquals("repaint", first[first.length - 1]);
+    }
+}
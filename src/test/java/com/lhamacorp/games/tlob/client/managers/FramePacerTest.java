@@ -0,0 +1,63 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramePacerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testStepsFollowTheSimClock() {
+        FramePacer p = new FramePacer(100.0, 5, 0);
+        assertEquals(1, p.stepsDue(0));
+        assertEquals(0, p.stepsDue(5 * MS));
+        assertEquals(1, p.stepsDue(10 * MS));
+        assertEquals(2, p.stepsDue(30 * MS));
+        assertEquals(40 * MS, p.nextTickNs());
+        assertEquals(0, p.droppedTicks());
+    }
+
+    @Test
+    void testCatchUpIsCappedAndBacklogDropped() {
+        FramePacer p = new FramePacer(100.0, 3, 0);
+        p.stepsDue(0);
+        // 1 s stall: 100 steps due, only 3 run
+        assertEquals(3, p.stepsDue(1000 * MS));
+        assertEquals(97, p.droppedTicks());
+        assertEquals(1010 * MS, p.nextTickNs());
+        assertEquals(0, p.stepsDue(1005 * MS));
+        assertEquals(1, p.stepsDue(1010 * MS));
+    }
+
+    @Test
+    void testFramesArePacedToTargetFps() {
+        FramePacer p = new FramePacer(60.0, 5, 0);
+        assertTrue(p.frameDue(0, 50));
+        assertFalse(p.frameDue(10 * MS, 50));
+        assertTrue(p.frameDue(20 * MS, 50));
+        assertEquals(40 * MS, p.nextFrameNs());
+
+        // uncapped
+        assertTrue(p.frameDue(21 * MS, 0));
+        assertTrue(p.frameDue(21 * MS, 0));
+    }
+
+    @Test
+    void testFrameClockRestartsAfterStall() {
+        FramePacer p = new FramePacer(60.0, 5, 0);
+        p.frameDue(0, 50);
+        assertTrue(p.frameDue(500 * MS, 50));
+        // no burst of missed frames
+        assertFalse(p.frameDue(501 * MS, 50));
+        assertEquals(520 * MS, p.nextFrameNs());
+    }
+
+    @Test
+    void testSleepUntilWaitsForDeadline() {
+        long deadline = System.nanoTime() + 5 * MS;
+        FramePacer.sleepUntil(deadline);
+        assertTrue(System.nanoTime() >= deadline);
+    }
+}
@@ -200,6 +200,36 @@ class KeyManagerTest {
         assertFalse(keyManager.mute);
     }
 
+    @Test
+    void testNetOverlayKeyToggle() {
+        assertFalse(keyManager.netOverlay);
+
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F3));
+        assertTrue(keyManager.netOverlay);
+
+        // Held key does not toggle again
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F3));
+        assertTrue(keyManager.netOverlay);
+
+        keyManager.keyReleased(createKeyEvent(KeyEvent.VK_F3));
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F3));
+        assertFalse(keyManager.netOverlay);
+    }
+
+    @Test
+    void testAllocOverlayKeyToggle() {
+        assertFalse(keyManager.allocOverlay);
+
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F4));
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F4));
+        assertTrue(keyManager.allocOverlay);
+        assertFalse(keyManager.netOverlay);
+
+        keyManager.keyReleased(createKeyEvent(KeyEvent.VK_F4));
+        keyManager.keyPressed(createKeyEvent(KeyEvent.VK_F4));
+        assertFalse(keyManager.allocOverlay);
+    }
+
     // ===== Mouse Input =====
 
     @Test
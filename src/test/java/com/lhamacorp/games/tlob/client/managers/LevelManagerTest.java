@@ -0,0 +1,100 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import com.lhamacorp.games.tlob.client.entities.Entity;
+import com.lhamacorp.games.tlob.client.entities.Player;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.EnemyWeapons;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelManagerTest {
+
+    private static final int TS = 32;
+    private static final long SEED = 42L;
+
+    @Test
+    void testBackgroundGenerationMatchesSynchronous() {
+        ExecutorService pregen = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(play(null), play(pregen));
+        } finally {
+            pregen.shutdown();
+        }
+    }
+
+    @Test
+    void testRejectedPregenFallsBackToSynchronous() {
+        Executor rejecting = r -> {
+            throw new RejectedExecutionException("shut down");
+        };
+        assertEquals(play(null), play(rejecting));
+    }
+
+    @Test
+    void testLevelChangesWithoutSpawnerLeaveTheWaveToTheCaller() {
+        LevelManager spawning = new LevelManager(80, 60, new Random(SEED));
+        LevelManager bare = new LevelManager(80, 60, new Random(SEED));
+        Player p1 = new Player(0, 0, new Sword(2, 28, 10, 10, 16));
+        Player p2 = new Player(0, 0, new Sword(2, 28, 10, 10, 16));
+        List<Entity> spawned = new ArrayList<>();
+        List<Entity> own = new ArrayList<>();
+
+        spawning.nextLevel(p1, new SpawnManager(EnemyWeapons.SWORD, new Random(SEED)), spawned, TS);
+        bare.nextLevel(p2, TS);
+        assertTrue(own.isEmpty());
+        // the caller's wave, from a spawner in the same state, is the one the spawning overload places
+        new SpawnManager(EnemyWeapons.SWORD, new Random(SEED)).begin(bare.map(), p2, own, bare.completed(), TS).finish();
+        assertEquals(describe(spawning, p1, spawned), describe(bare, p2, own));
+
+        spawning.restart(p1, new SpawnManager(EnemyWeapons.SWORD, new Random(SEED)), spawned, TS);
+        own.clear();
+        bare.restart(p2, TS);
+        assertTrue(own.isEmpty());
+        new SpawnManager(EnemyWeapons.SWORD, new Random(SEED)).begin(bare.map(), p2, own, bare.completed(), TS).finish();
+        assertEquals(describe(spawning, p1, spawned), describe(bare, p2, own));
+    }
+
+    /** Levels 1-4 (into the second biome), a restart, then 3 more levels; every map and wave, as text. */
+    private static List<String> play(Executor background) {
+        LevelManager levels = new LevelManager(80, 60, new Random(SEED), background);
+        SpawnManager spawner = new SpawnManager(EnemyWeapons.SWORD, new Random(SEED));
+        Player player = new Player(0, 0, new Sword(2, 28, 10, 10, 16));
+        List<Entity> enemies = new ArrayList<>();
+        List<String> seen = new ArrayList<>();
+        seen.add(describe(levels, player, enemies));
+        for (int i = 0; i < 4; i++) {
+            levels.nextLevel(player, spawner, enemies, TS);
+            seen.add(describe(levels, player, enemies));
+        }
+        levels.restart(player, spawner, enemies, TS);
+        seen.add(describe(levels, player, enemies));
+        for (int i = 0; i < 3; i++) {
+            levels.nextLevel(player, spawner, enemies, TS);
+            seen.add(describe(levels, player, enemies));
+        }
+        return seen;
+    }
+
+    private static String describe(LevelManager levels, Player player, List<Entity> enemies) {
+        TileMap map = levels.map();
+        StringBuilder sb = new StringBuilder();
+        sb.append(levels.completed()).append(' ').append(map.getBiome())
+            .append(" player ").append(player.getX()).append(',').append(player.getY()).append('\n');
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) sb.append((char) ('A' + map.getTileAt(x, y)));
+            sb.append('\n');
+        }
+        for (Entity e : enemies) sb.append(e.getName()).append('@').append(e.getX()).append(',').append(e.getY()).append(' ');
+        return sb.toString();
+    }
+}
@@ -518,6 +518,27 @@ class SpawnManagerTest {
         System.out.println("=== END TEST ===\n");
     }
 
+    @Test
+    void testRespawnRecyclesThePreviousWave() {
+        List<Entity> enemies = new ArrayList<>();
+        spawnManager.spawn(mockMap, mockPlayer, enemies, 6, 32);
+        List<Entity> first = new ArrayList<>(enemies);
+        assertEquals(first.size(), spawnManager.pools().created());
+
+        spawnManager.spawn(mockMap, mockPlayer, enemies, 6, 32);
+        assertFalse(enemies.isEmpty());
+        long recycled = enemies.stream().filter(e -> first.stream().anyMatch(old -> old == e)).count();
+        assertTrue(recycled > 0, "the old wave should be recycled");
+        assertEquals(recycled, spawnManager.pools().reused());
+        assertEquals(first.size() + enemies.size(), spawnManager.pools().created() + spawnManager.pools().reused());
+        for (Entity enemy : enemies) {
+            assertTrue(enemy.isAlive());
+            if (!enemy.hasHealthPerk()) assertEquals(enemy.getMaxHealth(), enemy.getHealth());
+            // perks that widen a weapon gave that enemy its own copy; the rest share one prototype
+            if (!enemy.hasWidthPerk() && !enemy.hasRangePerk()) assertTrue(enemy.getWeapon().isShared());
+        }
+    }
+
     // Helper methods
     private Entity findEnemyWithHealthPerk(List<Entity> enemies) {
         for (Entity enemy : enemies) {
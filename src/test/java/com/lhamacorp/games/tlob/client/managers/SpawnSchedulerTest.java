@@ -0,0 +1,140 @@
+package com.lhamacorp.games.tlob.client.managers;
+
+import com.lhamacorp.games.tlob.client.entities.Entity;
+import com.lhamacorp.games.tlob.client.entities.Player;
+import com.lhamacorp.games.tlob.client.maps.Biome;
+import com.lhamacorp.games.tlob.client.maps.MapGenerator;
+import com.lhamacorp.games.tlob.client.maps.TileMap;
+import com.lhamacorp.games.tlob.client.weapons.EnemyWeapons;
+import com.lhamacorp.games.tlob.client.weapons.Sword;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpawnSchedulerTest {
+
+    private static final int TS = 32;
+    /** Large enough for Golen and high-perk enemies. */
+    private static final int COMPLETED = 14;
+
+    @Test
+    void testIncrementalWaveMatchesSpawn() {
+        for (boolean biome : new boolean[]{false, true}) {
+            List<Entity> whole = new ArrayList<>();
+            spawner(biome).spawn(map(), player(), whole, COMPLETED, TS);
+
+            List<Entity> out = new ArrayList<>();
+            List<Entity> entered = new ArrayList<>();
+            // every clock read advances 1 us: about 50 enemies per 50 us tick
+            SpawnScheduler s = new SpawnScheduler(50_000, 0, fakeClock(1_000), entered::add);
+            s.start(spawner(biome).begin(map(), player(), out, COMPLETED, TS));
+            int ticks = 0;
+            while (s.pending()) {
+                assertTrue(s.tick() <= 50);
+                ticks++;
+            }
+            assertTrue(ticks > 1, "the wave should take several ticks");
+            assertEquals(describe(whole), describe(out), biome ? "biome spawner" : "spawn manager");
+            assertEquals(out, entered);
+        }
+    }
+
+    @Test
+    void testDestroyedWallsDontMoveLaterEnemies() {
+        List<Entity> whole = new ArrayList<>();
+        spawner(true).spawn(map(), player(), whole, COMPLETED, TS);
+
+        TileMap live = map();
+        List<Entity> out = new ArrayList<>();
+        SpawnScheduler s = new SpawnScheduler(0, 5, e -> {});
+        s.start(spawner(true).begin(live, player(), out, COMPLETED, TS));
+        s.tick();
+        for (int x = 0; x < live.getWidth(); x++) {
+            for (int y = 0; y < live.getHeight(); y++) live.damageWall(x, y, 1000);
+        }
+        while (s.pending()) s.tick();
+        assertEquals(describe(whole), describe(out));
+    }
+
+    @Test
+    void testStagedEntryCapsArrivalsPerTick() {
+        List<Entity> out = new ArrayList<>();
+        int[] entered = new int[1];
+        SpawnScheduler s = new SpawnScheduler(0, 3, e -> entered[0]++);
+        s.start(spawner(true).begin(map(), player(), out, 3, TS));
+        assertEquals(0, out.size(), "nothing enters before the first tick");
+        while (s.pending()) {
+            int before = out.size();
+            int n = s.tick();
+            assertTrue(n >= 1 && n <= 3);
+            assertEquals(before + n, out.size());
+        }
+        assertEquals(out.size(), entered[0]);
+        assertTrue(out.size() > 3);
+    }
+
+    @Test
+    void testNoLimitsPlacesWholeWaveOnStart() {
+        List<Entity> whole = new ArrayList<>();
+        spawner(true).spawn(map(), player(), whole, COMPLETED, TS);
+
+        List<Entity> out = new ArrayList<>();
+        int[] entered = new int[1];
+        SpawnScheduler s = new SpawnScheduler(0, 0, e -> entered[0]++);
+        s.start(spawner(true).begin(map(), player(), out, COMPLETED, TS));
+        assertFalse(s.pending());
+        assertEquals(0, s.tick());
+        assertEquals(describe(whole), describe(out));
+        assertEquals(out.size(), entered[0]);
+    }
+
+    @Test
+    void testStartRequiresThePreviousWaveToBeDone() {
+        SpawnManager spawner = spawner(true);
+        TileMap map = map();
+        List<Entity> out = new ArrayList<>();
+        SpawnScheduler s = new SpawnScheduler(0, 1, e -> {});
+        s.start(spawner.begin(map, player(), out, COMPLETED, TS));
+        assertThrows(IllegalStateException.class, () -> s.start(spawner.begin(map, player(), new ArrayList<>(), COMPLETED, TS)));
+
+        s.cancel();
+        assertFalse(s.pending());
+        assertEquals(0, s.tick());
+    }
+
+    private static SpawnManager spawner(boolean biome) {
+        return biome
+            ? new BiomeEnemySpawner(EnemyWeapons.SWORD, new Random(7))
+            : new SpawnManager(EnemyWeapons.SWORD, new Random(7));
+    }
+
+    private static TileMap map() {
+        int[][] tiles = new MapGenerator(80, 60, Biome.FOREST, new Random(1)).generate();
+        return new TileMap(tiles, Biome.FOREST, new Random(2));
+    }
+
+    private static Player player() {
+        return new Player(40 * TS + 16, 30 * TS + 16, new Sword(2, 28, 10, 10, 16));
+    }
+
+    private static LongSupplier fakeClock(long stepNs) {
+        long[] now = new long[1];
+        return () -> now[0] += stepNs;
+    }
+
+    /** What the spawner decided for each enemy (AI personality rolls come from the clock, not the seed). */
+    private static String describe(List<Entity> enemies) {
+        StringBuilder sb = new StringBuilder();
+        for (Entity e : enemies) {
+            sb.append(e.getClass().getSimpleName()).append('@').append(e.getX()).append(',').append(e.getY())
+                .append(" hp=").append(e.getMaxHealth()).append(" armor=").append(e.getArmor())
+                .append(" speed=").append(e.getSpeed()).append(" perks=").append(e.getPerkCount()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -69,7 +69,7 @@ public class WeaponTest {
         Entity entity = new Entity(0, 0, 20, 20, 1.0, 1.0, 1.0, 1.0, 0, 0, new Weapon() {}, "TestEntity", Alignment.NEUTRAL) {
             // Anonymous subclass for testing
             @Override
-            public void update(Object... args) {
+            public void update(com.lhamacorp.games.tlob.client.entities.UpdateContext ctx) {
                 // No-op for testing
             }
             
@@ -93,4 +93,31 @@ public class WeaponTest {
         entity.increaseWeaponWidth(2);
         assertEquals(Weapon.MAX_WEAPON_WIDTH, weapon.getWidth()); // Should still be capped
     }
+
+    @Test
+    public void testSharedPrototypeIsCopiedOnWrite() {
+        Weapon prototype = new Sword(2, 28, 5, 10, 16).share();
+        assertThrows(IllegalStateException.class, () -> prototype.setReach(30));
+
+        Entity entity = new Entity(0, 0, 20, 20, 1.0, 1.0, 1.0, 1.0, 0, 0, prototype, "TestEntity", Alignment.NEUTRAL) {
+            @Override
+            public void update(com.lhamacorp.games.tlob.client.entities.UpdateContext ctx) {
+            }
+
+            @Override
+            public void draw(java.awt.Graphics2D g, int screenX, int screenY) {
+            }
+        };
+        entity.increaseWeaponWidth(2);
+        entity.increaseWeaponRangeByPercent(0.5);
+
+        Weapon own = entity.getWeapon();
+        assertNotSame(prototype, own);
+        assertFalse(own.isShared());
+        assertEquals(7, own.getWidth());
+        assertEquals(42, own.getReach());
+        // the prototype the other entities hold is untouched
+        assertEquals(5, prototype.getWidth());
+        assertEquals(28, prototype.getReach());
+    }
 }
@@ -0,0 +1,38 @@
+package com.lhamacorp.games.tlob.client.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameWorldTest {
+
+    @Test
+    void testIdsAreStableAndNeverReused() {
+        GameWorld.IdAllocator ids = new GameWorld.IdAllocator();
+        Object a = new Object(), b = new Object();
+        int ia = ids.id(a);
+        assertEquals(ia, ids.id(a));
+        int ib = ids.id(b);
+        assertNotEquals(ia, ib);
+
+        ids.release(a);
+        assertEquals(1, ids.size());
+        assertTrue(ids.id(new Object()) > ib);
+    }
+
+    @Test
+    void testRetainOnlyDropsDepartedEntities() {
+        GameWorld.IdAllocator ids = new GameWorld.IdAllocator();
+        Object player = new Object(), live = new Object();
+        int ip = ids.id(player), il = ids.id(live);
+        for (int i = 0; i < 100; i++) ids.id(new Object());
+        assertEquals(102, ids.size());
+
+        ids.retainOnly(player, List.of(live));
+        assertEquals(2, ids.size());
+        assertEquals(ip, ids.id(player));
+        assertEquals(il, ids.id(live));
+    }
+}
@@ -0,0 +1,98 @@
+package com.lhamacorp.games.tlob.core.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedTest {
+
+    private static final double EPS = 2.0 / Fixed.ONE;
+
+    @Test
+    void testConversionsRoundTrip() {
+        assertEquals(Fixed.ONE, Fixed.fromInt(1));
+        assertEquals(1.5, Fixed.toDouble(Fixed.fromDouble(1.5)));
+        assertEquals(-3.25, Fixed.toDouble(Fixed.fromDouble(-3.25)));
+
+        double q = Fixed.quantize(123.456789);
+        assertEquals(q, Fixed.quantize(q));
+        assertEquals(123.456789, q, EPS);
+    }
+
+    @Test
+    void testMulDiv() {
+        int a = Fixed.fromDouble(2.5), b = Fixed.fromDouble(-1.25);
+        assertEquals(-3.125, Fixed.toDouble(Fixed.mul(a, b)), EPS);
+        assertEquals(-2.0, Fixed.toDouble(Fixed.div(a, b)), EPS);
+        assertEquals(1.0 / Math.sqrt(2.0), Fixed.toDouble(Fixed.INV_SQRT2), EPS);
+    }
+
+    @Test
+    void testIsqrtIsExactFloor() {
+        Random r = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long v = r.nextLong() & Long.MAX_VALUE;
+            long s = Fixed.isqrt(v);
+            assertTrue(s * s <= v);
+            assertTrue(s == 3037000499L || (s + 1) * (s + 1) > v);
+        }
+        assertEquals(0, Fixed.isqrt(0));
+        assertEquals(3037000499L, Fixed.isqrt(Long.MAX_VALUE));
+        assertEquals(2.0, Fixed.toDouble(Fixed.sqrt(Fixed.fromInt(4))));
+    }
+
+    @Test
+    void testTrigTableMatchesMath() {
+        for (int a = 0; a < FixedTrig.SIZE; a++) {
+            double rad = a * 2.0 * Math.PI / FixedTrig.SIZE;
+            assertEquals(Math.sin(rad), Fixed.toDouble(FixedTrig.sin(a)), EPS);
+            assertEquals(Math.cos(rad), Fixed.toDouble(FixedTrig.cos(a)), EPS);
+        }
+        assertEquals(FixedTrig.sin(5), FixedTrig.sin(5 + FixedTrig.SIZE));
+    }
+
+    @Test
+    void testOctantsFollowDir8() {
+        for (int o = 0; o < 8; o++) {
+            double ang = Dir8.octantToAngle(o);
+            int b = FixedTrig.octant(o);
+            assertEquals(Math.cos(ang), Fixed.toDouble(FixedTrig.cos(b)), EPS);
+            assertEquals(Math.sin(ang), Fixed.toDouble(FixedTrig.sin(b)), EPS);
+        }
+        assertEquals(Fixed.ONE, FixedTrig.cos(FixedTrig.octant(0)));
+        assertEquals(Fixed.ONE, FixedTrig.sin(FixedTrig.octant(2)));
+    }
+
+    @Test
+    void testVectorHelpers() {
+        int x = Fixed.fromInt(3), y = Fixed.fromInt(4);
+        assertEquals(Fixed.fromInt(5), FixedVec.len(x, y));
+        assertEquals(0.6, Fixed.toDouble(FixedVec.unit(x, x, y)), EPS);
+        assertEquals(0, FixedVec.unit(x, 0, 0));
+    }
+
+    @Test
+    void testSegmentDistanceMatchesDouble() {
+        Random r = new Random(5);
+        for (int i = 0; i < 5_000; i++) {
+            double ax = r.nextDouble() * 2000, ay = r.nextDouble() * 2000;
+            double bx = ax + r.nextDouble() * 60 - 30, by = ay + r.nextDouble() * 60 - 30;
+            double px = ax + r.nextDouble() * 80 - 40, py = ay + r.nextDouble() * 80 - 40;
+
+            long d2 = FixedVec.segmentDist2(Fixed.fromDouble(px), Fixed.fromDouble(py),
+                Fixed.fromDouble(ax), Fixed.fromDouble(ay), Fixed.fromDouble(bx), Fixed.fromDouble(by));
+            double fixedDist = Math.sqrt(d2 / (double) (1L << 32));
+            assertEquals(segmentDist(px, py, ax, ay, bx, by), fixedDist, 0.01);
+        }
+    }
+
+    private static double segmentDist(double px, double py, double ax, double ay, double bx, double by) {
+        double vx = bx - ax, vy = by - ay;
+        double vv = vx * vx + vy * vy;
+        double t = (vv <= 1e-9) ? 0.0 : ((px - ax) * vx + (py - ay) * vy) / vv;
+        t = Math.max(0.0, Math.min(1.0, t));
+        return Math.hypot(px - (ax + t * vx), py - (ay + t * vy));
+    }
+}
@@ -0,0 +1,103 @@
+package com.lhamacorp.games.tlob.core.net;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetStatsTest {
+
+    private static final long MS = 1_000_000L;
+
+    private NetStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new NetStats();
+    }
+
+    @Test
+    void testRttStartsUnknown() {
+        assertTrue(Double.isNaN(stats.rttMs()));
+    }
+
+    @Test
+    void testRttSmoothingAndJitter() {
+        stats.onPong(1_000 * MS, 1_040 * MS);
+        assertEquals(40.0, stats.rttMs(), 1e-9);
+        assertEquals(0.0, stats.rttJitterMs(), 1e-9);
+
+        stats.onPong(2_000 * MS, 2_080 * MS);
+        assertEquals(45.0, stats.rttMs(), 1e-9);          // 40 + (80 - 40) / 8
+        assertEquals(2.5, stats.rttJitterMs(), 1e-9);     // |80 - 40| / 16
+    }
+
+    @Test
+    void testInvalidPongIsIgnored() {
+        stats.onPong(Protocol.NO_PROBE, 10 * MS);
+        stats.onPong(20 * MS, 10 * MS);
+        assertTrue(Double.isNaN(stats.rttMs()));
+    }
+
+    @Test
+    void testNegativeAndWrappingClockReadingsAreValid() {
+        stats.onPong(-50 * MS, -10 * MS);
+        assertEquals(40.0, stats.rttMs(), 1e-9);
+
+        NetStats wrapped = new NetStats();
+        wrapped.onPong(Long.MAX_VALUE - 5 * MS, Long.MAX_VALUE - 5 * MS + 30 * MS);
+        assertEquals(30.0, wrapped.rttMs(), 1e-9);
+    }
+
+    @Test
+    void testSnapshotGapsCountAsDropped() {
+        long t = 0;
+        for (int tick = 0; tick <= 10; tick += 2) stats.onSnapshot(tick, t += 33 * MS);
+        assertEquals(0, stats.droppedSnapshots());
+
+        stats.onSnapshot(16, t += 33 * MS); // 12 and 14 missing
+        assertEquals(2, stats.droppedSnapshots());
+    }
+
+    @Test
+    void testLateSnapshots() {
+        long t = 0;
+        for (int tick = 0; tick < 10; tick += 2) stats.onSnapshot(tick, t += 33 * MS);
+        assertEquals(0, stats.lateSnapshots());
+        assertEquals(33.0, stats.snapshotIntervalMs(), 1e-6);
+
+        stats.onSnapshot(10, t + 200 * MS);
+        assertEquals(1, stats.lateSnapshots());
+    }
+
+    @Test
+    void testByteRatesPerSecond() throws Exception {
+        InputStream in = stats.countIn(new ByteArrayInputStream(new byte[300]));
+        OutputStream out = stats.countOut(new ByteArrayOutputStream());
+
+        stats.roll(0);
+        assertEquals(300, in.readAllBytes().length);
+        out.write(new byte[100]);
+        out.write(7);
+        stats.roll(500 * MS); // window not over yet
+        assertEquals(0.0, stats.bytesInPerSec(), 1e-9);
+
+        stats.roll(2_000 * MS);
+        assertEquals(150.0, stats.bytesInPerSec(), 1e-9);
+        assertEquals(50.5, stats.bytesOutPerSec(), 1e-9);
+    }
+
+    @Test
+    void testProbeLines() {
+        assertEquals(123L, Protocol.parseProbeTime(Protocol.ping(123L)));
+        assertEquals(456L, Protocol.parseProbeTime(Protocol.pong(456L)));
+        assertEquals(-7L, Protocol.parseProbeTime(Protocol.ping(-7L)));
+        assertEquals(Protocol.NO_PROBE, Protocol.parseProbeTime("PING"));
+        assertEquals(Protocol.NO_PROBE, Protocol.parseProbeTime("PONG t=abc"));
+    }
+}
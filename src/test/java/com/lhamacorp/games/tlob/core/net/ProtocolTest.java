@@ -0,0 +1,73 @@
+package com.lhamacorp.games.tlob.core.net;
+
+import com.lhamacorp.games.tlob.core.net.Protocol.Input;
+import com.lhamacorp.games.tlob.core.net.Protocol.PlayerSnap;
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtocolTest {
+
+    @Test
+    void testParseInputLine() {
+        Input in = Protocol.parseInputLine("INPUT t=42 dx=-1 dy=1 sprint=1 attack=0 facing=5");
+        assertNotNull(in);
+        assertEquals(42, in.tick);
+        assertEquals(-1, in.dx);
+        assertEquals(1, in.dy);
+        assertTrue(in.sprint);
+        assertFalse(in.attack);
+        assertEquals(5, in.facing);
+    }
+
+    @Test
+    void testParseInputLineRejectsOtherMessages() {
+        assertNull(Protocol.parseInputLine(null));
+        assertNull(Protocol.parseInputLine("LOGIN name=x"));
+        assertFalse(Protocol.parseInputLine("SNAPSHOT tick=1", new Input()));
+    }
+
+    @Test
+    void testParseInputLineDefaultsOnMalformedValues() {
+        Input in = Protocol.parseInputLine("  INPUT t=abc dx= dy=+1 facing=9999999999 foo=1 bare attack=1  ");
+        assertNotNull(in);
+        assertEquals(0, in.tick);
+        assertEquals(0, in.dx);
+        assertEquals(1, in.dy);
+        assertEquals(-1, in.facing);
+        assertTrue(in.attack);
+    }
+
+    @Test
+    void testParseInputLineResetsReusedTarget() {
+        Input in = new Input();
+        assertTrue(Protocol.parseInputLine("INPUT t=1 dx=1 attack=1 facing=2", in));
+        assertTrue(Protocol.parseInputLine("INPUT t=2", in));
+        assertEquals(2, in.tick);
+        assertEquals(0, in.dx);
+        assertFalse(in.attack);
+        assertEquals(-1, in.facing);
+    }
+
+    @Test
+    void testSnapshotRoundTripKeepsPlayerName() throws Exception {
+        Snapshot s = new Snapshot();
+        s.tick = 7;
+        PlayerSnap p = new PlayerSnap();
+        p.id = 3;
+        p.name = "Sir Belga & co";
+        p.alive = true;
+        s.players.put(p.id, p);
+
+        StringWriter sw = new StringWriter();
+        Protocol.writeSnapshot(s, sw);
+        Snapshot back = Protocol.readSnapshot(new StringReader(sw.toString()));
+
+        assertEquals(7, back.tick);
+        assertEquals("Sir Belga & co", back.players.get(3).name);
+    }
+}
@@ -0,0 +1,110 @@
+package com.lhamacorp.games.tlob.core.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowFieldTest {
+
+    private GridMap grid;
+    private FlowField flow;
+
+    @BeforeEach
+    void setUp() {
+        grid = new GridMap(80, 60, 12345L);
+        flow = new FlowField(grid);
+    }
+
+    @Test
+    void testSourceTileHasZeroDistanceAndNoDirection() {
+        int[] t = grid.randomFloorTileFarFrom(0, 0, 0, new Random(1));
+        flow.update(new int[]{t[1] * grid.width() + t[0]}, 1);
+
+        assertEquals(0, flow.distance(t[0], t[1]));
+        assertEquals(FlowField.NONE, flow.direction(t[0], t[1]));
+    }
+
+    @Test
+    void testWallsAreUnreachable() {
+        int[] t = grid.randomFloorTileFarFrom(0, 0, 0, new Random(2));
+        flow.update(new int[]{t[1] * grid.width() + t[0]}, 1);
+
+        assertEquals(-1, flow.distance(0, 0));
+        assertEquals(FlowField.NONE, flow.direction(0, 0));
+    }
+
+    @Test
+    void testFollowingDirectionsReachesSource() {
+        int[] src = grid.randomFloorTileFarFrom(0, 0, 0, new Random(3));
+        flow.update(new int[]{src[1] * grid.width() + src[0]}, 1);
+
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                if (flow.distance(x, y) <= 0) continue;
+
+                int cx = x, cy = y, steps = 0;
+                while (flow.distance(cx, cy) > 0) {
+                    int o = flow.direction(cx, cy);
+                    assertNotEquals(FlowField.NONE, o);
+                    int nx = cx + FlowField.octantDx(o), ny = cy + FlowField.octantDy(o);
+                    assertFalse(grid.isWallTile(nx, ny));
+                    assertTrue(flow.distance(nx, ny) < flow.distance(cx, cy));
+                    cx = nx;
+                    cy = ny;
+                    assertTrue(++steps <= grid.width() * grid.height());
+                }
+                assertEquals(src[0], cx);
+                assertEquals(src[1], cy);
+            }
+        }
+    }
+
+    @Test
+    void testDiagonalStepsDoNotCutCorners() {
+        int[] src = grid.randomFloorTileFarFrom(0, 0, 0, new Random(4));
+        flow.update(new int[]{src[1] * grid.width() + src[0]}, 1);
+
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                int o = flow.direction(x, y);
+                if (o == FlowField.NONE) continue;
+                int ox = FlowField.octantDx(o), oy = FlowField.octantDy(o);
+                if (ox != 0 && oy != 0) {
+                    assertFalse(grid.isWallTile(x + ox, y));
+                    assertFalse(grid.isWallTile(x, y + oy));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRebuildsOnlyWhenSourcesChange() {
+        Random r = new Random(5);
+        int[] a = grid.randomFloorTileFarFrom(0, 0, 0, r);
+        int[] b = grid.randomFloorTileFarFrom(0, 0, 0, r);
+        int ia = a[1] * grid.width() + a[0];
+        int ib = b[1] * grid.width() + b[0];
+
+        assertTrue(flow.update(new int[]{ia, ib}, 2));
+        assertFalse(flow.update(new int[]{ib, ia}, 2));
+        assertFalse(flow.update(new int[]{ia, ib, 999}, 2));
+        assertTrue(flow.update(new int[]{ia}, 1));
+    }
+
+    @Test
+    void testDirectionAtWorldMatchesTileLookup() {
+        int[] src = grid.randomFloorTileFarFrom(0, 0, 0, new Random(6));
+        flow.update(new int[]{src[1] * grid.width() + src[0]}, 1);
+
+        int ts = grid.tile();
+        for (int y = 0; y < grid.height(); y++) {
+            for (int x = 0; x < grid.width(); x++) {
+                assertEquals(flow.direction(x, y), flow.directionAtWorld(x * ts + 5.5, y * ts + ts - 1));
+            }
+        }
+        assertEquals(FlowField.NONE, flow.directionAtWorld(-10, -10));
+    }
+}
@@ -0,0 +1,68 @@
+package com.lhamacorp.games.tlob.core.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WakeGridTest {
+
+    private GridMap grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new GridMap(80, 60, 777L);
+    }
+
+    @Test
+    void testEverythingSleepsWithoutSources() {
+        WakeGrid wake = new WakeGrid(grid, 300);
+        wake.rebuild(new int[0], 0, grid.width());
+
+        assertFalse(wake.isAwakeAtWorld(100, 100));
+        assertFalse(wake.isAwakeAtWorld(1200, 900));
+    }
+
+    @Test
+    void testAwakeAroundSourceAndAsleepFarAway() {
+        WakeGrid wake = new WakeGrid(grid, 300);
+        int tx = 10, ty = 10;
+        wake.rebuild(new int[]{ty * grid.width() + tx}, 1, grid.width());
+
+        double px = tx * grid.tile() + grid.tile() / 2.0;
+        double py = ty * grid.tile() + grid.tile() / 2.0;
+        assertTrue(wake.isAwakeAtWorld(px, py));
+        assertTrue(wake.isAwakeAtWorld(px + 290, py));
+        assertFalse(wake.isAwakeAtWorld(px + 1500, py + 1000));
+    }
+
+    @Test
+    void testSleepingPointsAreAlwaysBeyondRadius() {
+        double radius = 200;
+        WakeGrid wake = new WakeGrid(grid, radius);
+        int w = grid.width(), ts = grid.tile();
+        int[] src = {20 * w + 30, 40 * w + 55};
+        wake.rebuild(src, src.length, w);
+
+        for (int y = 0; y < grid.height() * ts; y += 7) {
+            for (int x = 0; x < w * ts; x += 7) {
+                if (wake.isAwakeAtWorld(x, y)) continue;
+                for (int i : src) {
+                    // farthest-case: source standing on the tile corner nearest to (x,y)
+                    double sx = Math.max((i % w) * ts, Math.min(x, (i % w + 1) * ts));
+                    double sy = Math.max((i / w) * ts, Math.min(y, (i / w + 1) * ts));
+                    assertTrue(Math.hypot(x - sx, y - sy) > radius);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOutOfBoundsIsAsleep() {
+        WakeGrid wake = new WakeGrid(grid, 10_000);
+        wake.rebuild(new int[]{5 * grid.width() + 5}, 1, grid.width());
+
+        assertFalse(wake.isAwakeAtWorld(-1, -1));
+        assertTrue(wake.isAwakeAtWorld(0, 0));
+    }
+}
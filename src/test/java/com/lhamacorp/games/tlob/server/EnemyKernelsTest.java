@@ -0,0 +1,97 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyKernelsTest {
+
+    private final EnemyKernels scalar = new ScalarEnemyKernels();
+    private final EnemyKernels vector = EnemyKernels.create("vector"); // scalar if the module is missing
+
+    @Test
+    void testNearestPlayerMatchesScalarAndBruteForce() {
+        Random r = new Random(3);
+        for (int n : new int[]{0, 1, 7, 33, 1000}) {
+            double[] ex = coords(r, n), ey = coords(r, n);
+            double[] px = coords(r, 5), py = coords(r, 5);
+            int[] n1 = new int[n], n2 = new int[n];
+            double[] d1 = new double[n], d2 = new double[n];
+
+            scalar.nearestPlayer(ex, ey, n, px, py, 5, n1, d1);
+            vector.nearestPlayer(ex, ey, n, px, py, 5, n2, d2);
+            assertArrayEquals(n1, n2);
+            for (int i = 0; i < n; i++) {
+                assertEquals(Double.doubleToLongBits(d1[i]), Double.doubleToLongBits(d2[i]));
+                for (int j = 0; j < 5; j++) {
+                    assertTrue(Math.hypot(ex[i] - px[j], ey[i] - py[j]) >= Math.sqrt(d1[i]) - 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTiesGoToLowerPlayerIndex() {
+        double[] ex = new double[9], ey = new double[9];
+        double[] px = {10, -10, 0}, py = {0, 0, 10};
+        int[] nearest = new int[9];
+        double[] d2 = new double[9];
+
+        vector.nearestPlayer(ex, ey, 9, px, py, 3, nearest, d2);
+        for (int i = 0; i < 9; i++) assertEquals(0, nearest[i]);
+
+        scalar.nearestPlayer(ex, ey, 9, px, py, 0, nearest, d2);
+        assertEquals(-1, nearest[0]);
+        assertEquals(Double.POSITIVE_INFINITY, d2[0]);
+    }
+
+    @Test
+    void testWithinRadiusMatchesScalar() {
+        Random r = new Random(4);
+        int n = 101;
+        double[] d2 = coords(r, n), r2 = coords(r, n);
+        r2[3] = d2[3]; // boundary is inside
+        boolean[] a = new boolean[n], b = new boolean[n];
+
+        int ca = scalar.withinRadius(d2, r2, n, a);
+        int cb = vector.withinRadius(d2, r2, n, b);
+        assertEquals(ca, cb);
+        assertTrue(a[3]);
+        for (int i = 0; i < n; i++) assertEquals(a[i], b[i]);
+    }
+
+    @Test
+    void testCapsuleHitsMatchScalar() {
+        Random r = new Random(5);
+        for (int rep = 0; rep < 50; rep++) {
+            int n = 1 + r.nextInt(300);
+            double ax = 500 + r.nextDouble() * 100, ay = 500 + r.nextDouble() * 100;
+            double bx = ax + r.nextDouble() * 60 - 30, by = ay + r.nextDouble() * 60 - 30;
+            if (rep == 0) {
+                bx = ax; // degenerate segment
+                by = ay;
+            }
+            double[] ex = new double[n], ey = new double[n];
+            for (int i = 0; i < n; i++) {
+                ex[i] = ax + r.nextDouble() * 100 - 50;
+                ey[i] = ay + r.nextDouble() * 100 - 50;
+            }
+            int[] h1 = new int[n], h2 = new int[n];
+            int c1 = scalar.capsuleHits(ex, ey, n, ax, ay, bx, by, 18 * 18, h1);
+            int c2 = vector.capsuleHits(ex, ey, n, ax, ay, bx, by, 18 * 18, h2);
+            assertEquals(c1, c2);
+            for (int k = 0; k < c1; k++) {
+                assertEquals(h1[k], h2[k]);
+                if (k > 0) assertTrue(h1[k] > h1[k - 1]);
+            }
+        }
+    }
+
+    private static double[] coords(Random r, int n) {
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) a[i] = r.nextDouble() * 2000;
+        return a;
+    }
+}
@@ -0,0 +1,202 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionBotsTest {
+
+    private static final long SEED = 4242L;
+
+    @Test
+    void testBotsJoinMoveAndFight() {
+        GameSession s = new GameSession(SEED, 60);
+        s.addBots(6);
+        String start = null;
+        for (int i = 0; i < 900; i++) {
+            s.advance();
+            if (i == 0) start = playerLines(s.checkpoint());
+        }
+
+        assertEquals(6, s.playerCount());
+        assertEquals(900, s.tickTimes().size());
+        assertNotEquals(start, playerLines(s.checkpoint()), "bots should have moved");
+        assertTrue(s.checkpoint().contains("name=Bot1"));
+        assertTrue(s.aliveEnemies() < 16, "bots should have killed something");
+    }
+
+    @Test
+    void testBotInputsAreJournaledAndReplay() {
+        GameSession primary = new GameSession(SEED, 60);
+        primary.addBots(4);
+        List<String> journal = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            primary.driveBots();
+            journal.add(primary.simulateTick());
+            primary.tick++;
+        }
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        for (String line : journal) assertTrue(standby.applyJournal(line));
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+    }
+
+    @Test
+    void testSpawnEnemiesContinuesIds() {
+        GameSession a = new GameSession(SEED, 60);
+        GameSession b = new GameSession(SEED, 60);
+        a.spawnEnemies(100);
+        b.spawnEnemies(100);
+        assertEquals(116, a.enemyCount());
+        assertEquals(a.checkpoint(), b.checkpoint());
+        assertTrue(a.checkpoint().contains("E id=116 "));
+
+        a.addBots(8);
+        for (int i = 0; i < 600; i++) a.advance();
+        a.spawnEnemies(1);
+        assertTrue(a.checkpoint().contains("E id=117 "));
+    }
+
+    @Test
+    void testLeavesAndEnemyPruningReplay() {
+        GameSession primary = new GameSession(SEED, 60);
+        primary.addBots(6);
+        List<String> journal = new ArrayList<>();
+        String cp = null;
+        for (int i = 0; i < 900; i++) {
+            if (i == 300) primary.removeBot(primary.botIds().get(0));
+            if (i == 450) cp = primary.checkpoint();
+            primary.driveBots();
+            journal.add(primary.simulateTick());
+            primary.tick++;
+        }
+
+        assertEquals(5, primary.playerCount());
+        assertTrue(String.join("\n", journal).contains(" leave="));
+        assertTrue(primary.enemyCount() < 16, "dead enemies should have been pruned");
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        standby.applyCheckpoint(cp);
+        for (String line : journal.subList(450, journal.size())) assertTrue(standby.applyJournal(line));
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+    }
+
+    @Test
+    void testDisconnectedClientIsRemoved() throws Exception {
+        GameSession s = new GameSession(SEED, 60);
+        int id = s.addClient(new IdleSocket(), "Leaver", null);
+        s.advance();
+        assertEquals(1, s.playerCount());
+        assertEquals(1L, (long) s.retainedCounts().get("session.conns"));
+
+        assertTrue(s.endOfStream(id)); // what the reader does on EOF
+        assertFalse(s.endOfStream(id), "the connection is gone");
+        assertEquals(0L, (long) s.retainedCounts().get("session.conns"));
+        s.advance();
+        assertEquals(0, s.playerCount());
+    }
+
+    @Test
+    void testPlayersRestoredFromSaveLeave() throws Exception {
+        GameSession saved = new GameSession(SEED, 60);
+        saved.addBots(3);
+        saved.advance();
+        Path file = Files.createTempFile("tlob-save", ".json");
+        try {
+            saved.saveState(file);
+
+            GameSession s = new GameSession(SEED, 60);
+            s.loadState(file);
+            assertEquals(3, s.playerCount());
+            String journal = s.simulateTick();
+            assertEquals(0, s.playerCount(), "nobody is connected to restored players");
+            for (int id = 1; id <= 3; id++) assertTrue(journal.contains(" leave=" + id), journal);
+
+            assertEquals(4, s.addBot(null), "ids continue after the restored ones");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testCheckpointDropsLeavesQueuedByAStaleSave() throws Exception {
+        GameSession primary = new GameSession(SEED, 60);
+        primary.addBots(3);
+        List<String> journal = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            primary.driveBots();
+            journal.add(primary.simulateTick());
+            primary.tick++;
+        }
+        String cp = primary.checkpoint();
+        Path file = Files.createTempFile("tlob-save", ".json");
+        try {
+            primary.saveState(file);
+
+            // a standby that picked up the primary's save still follows the primary afterwards
+            GameSession standby = GameSession.replica(SEED, 60, false);
+            standby.loadState(file);
+            standby.applyCheckpoint(cp);
+            for (int i = 0; i < 120; i++) {
+                primary.driveBots();
+                journal.add(primary.simulateTick());
+                primary.tick++;
+            }
+            for (String line : journal.subList(120, journal.size())) assertTrue(standby.applyJournal(line));
+            assertEquals(3, standby.playerCount());
+            assertEquals(primary.checkpoint(), standby.checkpoint());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** A client socket that sends nothing until it is closed, then EOF; writes are discarded. */
+    private static final class IdleSocket extends Socket {
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        closed.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return -1;
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public void setTcpNoDelay(boolean on) {
+        }
+
+        @Override
+        public synchronized void close() {
+            closed.countDown();
+        }
+    }
+
+    private static String playerLines(String checkpoint) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : checkpoint.split("\n")) if (line.startsWith("P ")) sb.append(line).append('\n');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.math.Fixed;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionReplicationTest {
+
+    private static final long SEED = 4242L;
+
+    @Test
+    void testCheckpointRoundTrip() {
+        GameSession primary = new GameSession(SEED, 60);
+        for (int i = 0; i < 45; i++) step(primary);
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        standby.applyCheckpoint(primary.checkpoint());
+
+        assertEquals(primary.tick, standby.tick);
+        assertEquals(primary.stateChecksum(), standby.stateChecksum());
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+    }
+
+    @Test
+    void testJournalReplayStaysInSync() {
+        GameSession primary = new GameSession(SEED, 60);
+        for (int i = 0; i < 10; i++) step(primary);
+        String cp = primary.checkpoint();
+
+        List<String> journal = new ArrayList<>();
+        for (int i = 0; i < 200; i++) journal.add(step(primary));
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        standby.applyCheckpoint(cp);
+        for (String line : journal) assertTrue(standby.applyJournal(line));
+
+        assertEquals(primary.tick, standby.tick);
+        assertEquals(primary.stateChecksum(), standby.stateChecksum());
+    }
+
+    @Test
+    void testCheckpointMidGameWithPlayers() {
+        GameSession primary = new GameSession(SEED, 60);
+        List<String> script = script(400);
+
+        String cp = null;
+        for (String line : script) {
+            if (primary.tick == 120) cp = primary.checkpoint();
+            assertTrue(primary.applyJournal(line));
+        }
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        standby.applyCheckpoint(cp);
+        for (String line : script.subList(120, script.size())) assertTrue(standby.applyJournal(line));
+
+        assertEquals(primary.stateChecksum(), standby.stateChecksum());
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+        assertTrue(standby.checkpoint().contains("name=Sir+Belga"));
+    }
+
+    @Test
+    void testFixedPointModeKeepsPositionsOnGridAndReplays() {
+        GameSession primary = new GameSession(SEED, 60, true);
+        List<String> script = script(300);
+        String cp = null;
+        for (String line : script) {
+            if (primary.tick == 50) cp = primary.checkpoint();
+            assertTrue(primary.applyJournal(line));
+        }
+
+        for (String line : primary.checkpoint().split("\n")) {
+            for (String tok : line.split(" ")) {
+                if (!tok.startsWith("x=") && !tok.startsWith("y=")) continue;
+                double v = Double.parseDouble(tok.substring(2));
+                assertEquals(v, Fixed.quantize(v), tok);
+            }
+        }
+
+        GameSession standby = GameSession.replica(SEED, 60, true);
+        standby.applyCheckpoint(cp);
+        for (String line : script.subList(50, script.size())) assertTrue(standby.applyJournal(line));
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+    }
+
+    @Test
+    void testJournalForWrongTickIsRejected() {
+        GameSession primary = new GameSession(SEED, 60);
+        String first = step(primary);
+        String second = step(primary);
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        long before = standby.stateChecksum();
+        assertFalse(standby.applyJournal(second));
+        assertEquals(0, standby.tick);
+        assertEquals(before, standby.stateChecksum());
+        assertTrue(standby.applyJournal(first));
+        assertFalse(standby.applyJournal("garbage"));
+    }
+
+    @Test
+    void testPromotedStandbyKeepsBotsAndDropsClients() {
+        GameSession primary = new GameSession(SEED, 60);
+        int bot = primary.addBot("Robo");
+        String joined = step(primary);
+        assertTrue(joined.contains(" join=" + bot + ":Robo:bot"), joined);
+        assertTrue(primary.checkpoint().contains(" bot=1 "));
+
+        GameSession relay = GameSession.replica(SEED, 60, false);
+        assertTrue(relay.applyJournal("J t=0 join=7:Hero join=8:bot join=" + bot + ":Robo:bot"));
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        standby.applyCheckpoint(relay.checkpoint()); // the bot flag survives checkpoints too
+
+        assertEquals(2, standby.adoptOrphans());
+        String leaves = step(standby);
+        assertTrue(leaves.contains(" leave=7") && leaves.contains(" leave=8"), leaves);
+        assertFalse(leaves.contains(" leave=" + bot), leaves);
+        assertEquals(List.of(bot), standby.botIds());
+        assertFalse(standby.isAlive(7));
+        assertTrue(standby.isAlive(bot));
+        assertEquals(0, standby.adoptOrphans(), "the adopted bot is driven now");
+    }
+
+    @Test
+    void testPlayersAreVisitedInIdOrder() {
+        GameSession primary = GameSession.replica(SEED, 60, false);
+        assertTrue(primary.applyJournal("J t=0 join=40:A join=3:B join=1000:C join=17:D"));
+        assertTrue(primary.applyJournal("J t=1 leave=3 join=2:E"));
+
+        List<Integer> ids = new ArrayList<>();
+        for (String line : primary.checkpoint().split("\n")) {
+            if (line.startsWith("P id=")) ids.add(Integer.parseInt(line.substring(5, line.indexOf(' ', 5))));
+        }
+        assertEquals(List.of(2, 17, 40, 1000), ids);
+
+        GameSession standby = GameSession.replica(SEED, 60, false);
+        assertTrue(standby.applyJournal("J t=0 join=1000:C join=5:X"));
+        standby.applyCheckpoint(primary.checkpoint()); // different map history, same order
+        assertEquals(primary.checkpoint(), standby.checkpoint());
+    }
+
+    /** Two players walking back and forth and swinging, as journal lines from tick 0. */
+    private static List<String> script(int ticks) {
+        List<String> script = new ArrayList<>();
+        for (int t = 0; t < ticks; t++) {
+            String line = "J t=" + t;
+            if (t == 0) line += " join=1:Hero join=2:Sir%20Belga";
+            int dx = ((t / 40) % 2 == 0) ? 1 : -1;
+            line += " in=1:" + dx + ":0:" + (dx > 0 ? 0 : 4) + ":" + ((t % 25 == 0) ? 2 : 0);
+            line += " in=2:0:" + dx + ":2:" + ((t % 3 == 0) ? 1 : 0);
+            script.add(line);
+        }
+        return script;
+    }
+
+    private static String step(GameSession s) {
+        String line = s.simulateTick();
+        s.tick++;
+        return line;
+    }
+}
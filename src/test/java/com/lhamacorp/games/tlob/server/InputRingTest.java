@@ -0,0 +1,99 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.net.Protocol.Input;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRingTest {
+
+    private InputRing ring;
+
+    @BeforeEach
+    void setUp() {
+        ring = new InputRing(4);
+    }
+
+    private static Input input(int tick, int dx, int dy, boolean attack) {
+        Input in = new Input();
+        in.tick = tick;
+        in.dx = dx;
+        in.dy = dy;
+        in.attack = attack;
+        in.facing = 3;
+        return in;
+    }
+
+    @Test
+    void testCapacityIsPowerOfTwo() {
+        assertEquals(4, ring.capacity());
+        assertEquals(8, new InputRing(5).capacity());
+        assertEquals(2, new InputRing(1).capacity());
+    }
+
+    @Test
+    void testPollReturnsRecordsInOrder() {
+        assertTrue(ring.offer(input(1, 1, 0, false)));
+        assertTrue(ring.offer(input(2, 0, -1, true)));
+        assertEquals(2, ring.size());
+
+        Input out = new Input();
+        assertTrue(ring.poll(out));
+        assertEquals(1, out.tick);
+        assertEquals(1, out.dx);
+        assertFalse(out.attack);
+
+        assertTrue(ring.poll(out));
+        assertEquals(2, out.tick);
+        assertEquals(-1, out.dy);
+        assertEquals(3, out.facing);
+        assertTrue(out.attack);
+
+        assertFalse(ring.poll(out));
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void testOfferFailsWhenFull() {
+        for (int i = 0; i < 4; i++) assertTrue(ring.offer(input(i, 0, 0, false)));
+        assertFalse(ring.offer(input(99, 0, 0, false)));
+
+        Input out = new Input();
+        assertTrue(ring.poll(out));
+        assertTrue(ring.offer(input(5, 0, 0, false)));
+    }
+
+    @Test
+    void testDirectionsAreClamped() {
+        ring.offer(input(1, 7, -9, false));
+        Input out = new Input();
+        ring.poll(out);
+        assertEquals(1, out.dx);
+        assertEquals(-1, out.dy);
+    }
+
+    @Test
+    void testProducerAndConsumerThreads() throws Exception {
+        InputRing big = new InputRing(64);
+        final int total = 100_000;
+        Thread producer = new Thread(() -> {
+            Input in = new Input();
+            for (int i = 1; i <= total; ) {
+                in.tick = i;
+                if (big.offer(in)) i++;
+                else Thread.onSpinWait();
+            }
+        });
+        producer.start();
+
+        Input out = new Input();
+        int expected = 1;
+        while (expected <= total) {
+            if (big.poll(out)) assertEquals(expected++, out.tick);
+            else Thread.onSpinWait();
+        }
+        producer.join();
+        assertEquals(0, big.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionWorkersTest {
+
+    private static final class Body {
+        double x, vx;
+        int steps;
+
+        Body(double x, double vx) {
+            this.x = x;
+            this.vx = vx;
+        }
+    }
+
+    private static void move(Body b) {
+        b.x += b.vx;
+        if (b.x < 0 || b.x > 1000) b.vx = -b.vx;
+        b.steps++;
+    }
+
+    private static List<Body> bodies(int n) {
+        List<Body> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) list.add(new Body((i * 37) % 1000, ((i % 7) - 3) * 5.0));
+        return list;
+    }
+
+    @Test
+    void testEveryEntityStepsOncePerTick() {
+        List<Body> list = bodies(500);
+        try (RegionWorkers<Body> w = new RegionWorkers<>(4, 1000, b -> b.x, RegionWorkersTest::move)) {
+            list.forEach(w::add);
+            for (int t = 0; t < 50; t++) w.step();
+        }
+        for (Body b : list) assertEquals(50, b.steps);
+    }
+
+    @Test
+    void testMatchesSerialStepping() {
+        List<Body> serial = bodies(300);
+        List<Body> sharded = bodies(300);
+        for (int t = 0; t < 100; t++) serial.forEach(RegionWorkersTest::move);
+
+        try (RegionWorkers<Body> w = new RegionWorkers<>(3, 1000, b -> b.x, RegionWorkersTest::move)) {
+            sharded.forEach(w::add);
+            for (int t = 0; t < 100; t++) w.step();
+            assertTrue(w.handoffs() > 0);
+        }
+        for (int i = 0; i < serial.size(); i++) assertEquals(serial.get(i).x, sharded.get(i).x);
+    }
+
+    @Test
+    void testEntitiesLiveInTheStripUnderThem() {
+        List<Body> list = bodies(200);
+        try (RegionWorkers<Body> w = new RegionWorkers<>(4, 1000, b -> b.x, RegionWorkersTest::move)) {
+            list.forEach(w::add);
+            for (int t = 0; t < 20; t++) w.step();
+
+            int[] expected = new int[4];
+            for (Body b : list) expected[Math.max(0, Math.min(3, (int) Math.floor(b.x / 250)))]++;
+            assertArrayEquals(expected, w.sizes());
+        }
+    }
+
+    @Test
+    void testRemoveIf() {
+        List<Body> list = bodies(100);
+        try (RegionWorkers<Body> w = new RegionWorkers<>(2, 1000, b -> b.x, RegionWorkersTest::move)) {
+            list.forEach(w::add);
+            w.removeIf(b -> b.vx == 0);
+            int total = 0;
+            for (int s : w.sizes()) total += s;
+            assertEquals(list.stream().filter(b -> b.vx != 0).count(), total);
+        }
+    }
+
+    @Test
+    void testStepFailureReachesTheTickThread() {
+        List<Body> list = bodies(100);
+        RuntimeException boom = new RuntimeException("boom");
+        boolean[] fail = {true};
+        try (RegionWorkers<Body> w = new RegionWorkers<>(4, 1000, b -> b.x, b -> {
+            if (fail[0] && b == list.get(10)) throw boom;
+            move(b);
+        })) {
+            list.forEach(w::add);
+            IllegalStateException ex = assertThrows(IllegalStateException.class, w::step);
+            assertSame(boom, ex.getCause());
+
+            fail[0] = false;
+            w.step(); // the barriers survive a failed step
+        }
+        assertEquals(1, list.get(10).steps);
+        assertTrue(list.stream().filter(b -> b.steps == 2).count() > list.size() / 2,
+            "the other strips finished their step");
+    }
+
+    @Test
+    void testInterruptedStepThrowsInsteadOfSkipping() {
+        List<Body> list = bodies(100);
+        try (RegionWorkers<Body> w = new RegionWorkers<>(4, 1000, b -> b.x, RegionWorkersTest::move)) {
+            list.forEach(w::add);
+            Thread.currentThread().interrupt();
+            assertThrows(IllegalStateException.class, w::step);
+            assertTrue(Thread.interrupted(), "interrupt status is kept");
+            assertThrows(IllegalStateException.class, w::step, "closed workers do not skip silently");
+        }
+        for (Body b : list) assertEquals(0, b.steps);
+    }
+}
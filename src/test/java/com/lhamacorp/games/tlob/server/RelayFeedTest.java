@@ -0,0 +1,90 @@
+package com.lhamacorp.games.tlob.server;
+
+import com.lhamacorp.games.tlob.core.net.Protocol;
+import com.lhamacorp.games.tlob.core.net.Protocol.EnemySnap;
+import com.lhamacorp.games.tlob.core.net.Protocol.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelayFeedTest {
+
+    @Test
+    void testNothingIsDueBeforeFirstFullFrame() {
+        RelayFeed feed = new RelayFeed(1);
+        assertFalse(feed.accept(frame(1, true, enemy(1, 10, true))));
+        assertFalse(feed.ready());
+
+        assertTrue(feed.accept(frame(2, false, enemy(1, 12, true))));
+        assertTrue(feed.ready());
+    }
+
+    @Test
+    void testDeltasMergeIntoFullFrame() throws Exception {
+        RelayFeed feed = new RelayFeed(1);
+        feed.accept(frame(1, false, enemy(1, 10, true), enemy(2, 20, true), enemy(3, 30, true)));
+        feed.accept(frame(2, true, enemy(2, 25, true)));
+        feed.accept(frame(3, true, enemy(3, 30, false)));
+
+        Snapshot full = read(feed.fullFrame());
+        assertFalse(full.enemiesDelta);
+        assertEquals(3, full.tick);
+        assertEquals(2, full.enemies.size());
+        assertEquals(25.0, full.enemies.get(2).x, 1e-9);
+        assertNull(full.enemies.get(3)); // dead ones are not kept
+    }
+
+    @Test
+    void testDecimationFoldsSkippedChanges() throws Exception {
+        RelayFeed feed = new RelayFeed(3);
+        feed.accept(frame(1, false, enemy(1, 10, true), enemy(2, 20, true)));
+        feed.takeDelta();
+
+        assertFalse(feed.accept(frame(2, true, enemy(1, 11, true))));
+        assertFalse(feed.accept(frame(3, true, enemy(2, 20, false))));
+        assertTrue(feed.accept(frame(4, true, enemy(1, 12, true))));
+
+        Snapshot d = read(feed.takeDelta());
+        assertTrue(d.enemiesDelta);
+        assertEquals(4, d.tick);
+        assertEquals(12.0, d.enemies.get(1).x, 1e-9);
+        assertFalse(d.enemies.get(2).alive); // the death is still delivered
+
+        Snapshot empty = read(feed.takeDelta());
+        assertTrue(empty.enemies.isEmpty());
+    }
+
+    @Test
+    void testFullUpstreamFrameIsForwardedAsFull() throws Exception {
+        RelayFeed feed = new RelayFeed(1);
+        feed.accept(frame(1, false, enemy(1, 10, true)));
+        assertFalse(read(feed.takeDelta()).enemiesDelta);
+
+        feed.accept(frame(2, true, enemy(1, 11, true)));
+        assertTrue(read(feed.takeDelta()).enemiesDelta);
+    }
+
+    private static Snapshot frame(int tick, boolean delta, EnemySnap... es) {
+        Snapshot s = new Snapshot();
+        s.tick = tick;
+        s.enemiesDelta = delta;
+        for (EnemySnap e : es) s.enemies.put(e.id, e);
+        return s;
+    }
+
+    private static EnemySnap enemy(int id, double x, boolean alive) {
+        EnemySnap e = new EnemySnap();
+        e.id = id;
+        e.x = x;
+        e.y = 5;
+        e.hp = 3;
+        e.alive = alive;
+        return e;
+    }
+
+    private static Snapshot read(String line) throws Exception {
+        return Protocol.readSnapshot(new StringReader(line + "\n"));
+    }
+}
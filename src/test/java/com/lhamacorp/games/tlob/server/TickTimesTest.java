@@ -0,0 +1,47 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickTimesTest {
+
+    @Test
+    void testNearestRankPercentiles() {
+        TickTimes t = new TickTimes(1000);
+        for (int i = 100; i >= 1; i--) t.record(i); // order must not matter
+
+        assertEquals(50, t.percentile(50));
+        assertEquals(90, t.percentile(90));
+        assertEquals(99, t.percentile(99));
+        assertEquals(100, t.percentile(100));
+        assertEquals(1, t.percentile(0));
+    }
+
+    @Test
+    void testRingKeepsOnlyLatestSamples() {
+        TickTimes t = new TickTimes(4);
+        for (int i = 1; i <= 10; i++) t.record(i * 1000L);
+
+        assertEquals(4, t.size());
+        assertEquals(10, t.total());
+        assertEquals(7000, t.percentile(0));
+        assertEquals(10_000, t.percentile(100));
+    }
+
+    @Test
+    void testOverBudgetAndReset() {
+        TickTimes t = new TickTimes(16);
+        t.record(5);
+        t.record(20);
+        t.record(30);
+        assertEquals(2, t.over(10));
+
+        t.reset();
+        assertEquals(0, t.size());
+        assertEquals(0, t.percentile(99));
+        assertEquals(0, t.over(10));
+        assertEquals(3, t.total());
+        assertTrue(t.summary(10).startsWith("ticks=0 "));
+    }
+}
@@ -0,0 +1,66 @@
+package com.lhamacorp.games.tlob.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SEC = 1_000_000_000L;
+
+    @Test
+    void testBurstThenReject() {
+        TokenBucket b = new TokenBucket(10, 5, 100, 0);
+        for (int i = 0; i < 5; i++) assertTrue(b.tryAcquire(0));
+        assertFalse(b.tryAcquire(0));
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        TokenBucket b = new TokenBucket(10, 5, 100, 0);
+        for (int i = 0; i < 5; i++) b.tryAcquire(0);
+        assertFalse(b.tryAcquire(0));
+
+        // 10/s -> one token per 100ms
+        assertTrue(b.tryAcquire(SEC / 10));
+        assertFalse(b.tryAcquire(SEC / 10));
+    }
+
+    @Test
+    void testRefillIsCappedAtBurst() {
+        TokenBucket b = new TokenBucket(10, 3, 100, 0);
+        int ok = 0;
+        for (int i = 0; i < 10; i++) if (b.tryAcquire(60 * SEC)) ok++;
+        assertEquals(3, ok);
+    }
+
+    @Test
+    void testStrikesCountConsecutiveBadWindows() {
+        TokenBucket b = new TokenBucket(1, 1, 2, 0);
+        for (int w = 0; w < 3; w++) {
+            long t = w * SEC;
+            for (int i = 0; i < 10; i++) b.tryAcquire(t);
+        }
+        assertEquals(3, b.strikes());
+    }
+
+    @Test
+    void testCleanWindowResetsStrikes() {
+        TokenBucket b = new TokenBucket(1, 1, 2, 0);
+        for (int i = 0; i < 10; i++) b.tryAcquire(0);
+        assertEquals(1, b.strikes());
+
+        b.tryAcquire(SEC);          // new window, within budget
+        b.tryAcquire(2 * SEC);      // closes the clean window
+        assertEquals(0, b.strikes());
+    }
+
+    @Test
+    void testExplicitRejectCountsTowardsStrikes() {
+        TokenBucket b = new TokenBucket(100, 100, 1, 0);
+        b.reject(0);
+        assertEquals(0, b.strikes());
+        b.reject(0);
+        assertEquals(1, b.strikes());
+    }
+}
@@ -0,0 +1,44 @@
+package com.lhamacorp.games.tlob.soak;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoakMonitorTest {
+
+    @Test
+    void testBoundedSeriesPass() {
+        SoakMonitor m = new SoakMonitor();
+        for (int i = 0; i < 40; i++) {
+            m.sample(i * 60L, Map.of("session.enemies", 250L + (i % 7) * 10, "heap.usedMb", 40L + (i % 3)));
+        }
+        assertTrue(m.check(0.25, 16, 8).isEmpty());
+    }
+
+    @Test
+    void testLinearGrowthFails() {
+        SoakMonitor m = new SoakMonitor();
+        for (int i = 0; i < 40; i++) {
+            m.sample(i * 60L, Map.of("session.enemies", 256L + i * 20, "heap.usedMb", 40L));
+        }
+        List<String> f = m.check(0.25, 16, 8);
+        assertEquals(1, f.size());
+        assertTrue(f.get(0).startsWith("session.enemies grew"));
+    }
+
+    @Test
+    void testWarmupIsIgnoredAndHeapUsesItsOwnSlack() {
+        SoakMonitor m = new SoakMonitor();
+        for (int i = 0; i < 20; i++) {
+            long warm = (i < 5) ? i * 10L : 50L; // climbs during the first quarter, then flat
+            m.sample(i, Map.of("world.ids", warm, "heap.usedMb", (i < 15) ? 100L : 130L));
+        }
+        assertTrue(m.check(0.0, 0, 30).isEmpty());
+        assertEquals(1, m.check(0.0, 0, 29).size());
+        assertEquals(20, m.samples());
+        assertTrue(m.table().contains("ids"));
+    }
+}